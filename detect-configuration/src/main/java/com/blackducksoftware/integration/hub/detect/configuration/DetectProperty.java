@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.configuration;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_BAZEL;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_BITBAKE;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_BLACKDUCK_SERVER;
+import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_CLANG;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_CLEANUP;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_CONDA;
 import static com.blackducksoftware.integration.hub.detect.configuration.DetectProperty.PropertyConstants.GROUP_CPAN;
@@ -214,6 +215,11 @@ public enum DetectProperty {
     @HelpDescription("If set, this will aggregate all the BOMs to create a single BDIO file with the name provided.")
     DETECT_BOM_AGGREGATE_NAME("detect.bom.aggregate.name", "Aggregate BDIO File Name", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_CLANG, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of dependency files to pass to each invocation of the Linux package manager (dpkg, rpm or apk) when finding the packages that own them. A value of 1 queries one file at a time.")
+    @HelpDetailed("Projects with many included headers run much faster with a larger value, such as 200, since the number of package manager processes then grows with the number of packages rather than the number of files. Values above 1000 are reduced to 1000, and a batch also ends early if its file paths would make the command line too long. If an invocation fails, its files are retried in smaller batches.")
+    DETECT_CLANG_PACKAGE_LOOKUP_BATCH_SIZE("detect.clang.package.lookup.batch.size", "Clang Package Lookup Batch Size", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
     @HelpGroup(primary = GROUP_CLEANUP, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("If true, the files created by Detect will be cleaned up.")
     DETECT_CLEANUP("detect.cleanup", "Cleanup Output", "3.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
@@ -254,6 +260,66 @@ public enum DetectProperty {
     @HelpDescription("The timestamp format to use as the default project version")
     DETECT_DEFAULT_PROJECT_VERSION_TIMEFORMAT("detect.default.project.version.timeformat", "Default Project Version Name Timestamp Format", "3.0.0", PropertyType.STRING, PropertyAuthority.None, "yyyy-MM-dd\\'T\\'HH:mm:ss.SSS"),
 
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, lockfile detectors will reuse the extraction result of a previous run when their input files and relevant properties have not changed.")
+    @HelpDetailed("Applies to the NPM package lock and shrinkwrap, Yarn, Gemfile.lock, Podfile.lock, composer.lock, packrat.lock and Gopkg.lock detectors. Results are stored in the tools folder of the output directory, keyed by a hash of the input files, the relevant properties and the Detect version.")
+    DETECT_DETECTOR_EXTRACTION_CACHE("detect.detector.extraction.cache", "Detector Extraction Cache", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of extractions that may run at the same time, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_DETECTOR_EXTRACTION_PARALLEL_PROCESSORS("detect.detector.extraction.parallel.processors", "Detector Extraction Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("A comma-separated list of DETECTOR_TYPE:LIMIT pairs setting how many extractions of a detector type may run at the same time when extracting in parallel, such as NPM:4,YARN:4. Detector types not listed run one extraction at a time.")
+    DETECT_DETECTOR_EXTRACTION_TYPE_LIMITS("detect.detector.extraction.type.limits", "Detector Extraction Type Limits", "5.3.0", PropertyType.STRING_ARRAY, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of detectors that may be prepared for extraction at the same time, defaults to 1, but if you specify -1, the number of processors on the machine will be used. Preparing a detector finds its executables and downloads its inspectors.")
+    DETECT_DETECTOR_PREPARATION_PARALLEL_PROCESSORS("detect.detector.preparation.parallel.processors", "Detector Preparation Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, detectors will be prepared as soon as the search finds them and extracted as soon as they are prepared, instead of searching, preparing and extracting in separate phases.")
+    @HelpDetailed("The preparation and extraction parallel processors and extraction type limits still apply. Reports are still written once each phase has finished for every detector.")
+    DETECT_DETECTOR_PIPELINE("detect.detector.pipeline", "Detector Pipeline", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the executables found on the PATH and the output of their version checks will be remembered across runs.")
+    @HelpDetailed("Stored in the tools folder of the output directory. A found executable is reused while the PATH and its directories are unchanged, a version check while the executable is unchanged. Executables given by a path property are never searched for.")
+    DETECT_EXECUTABLE_CACHE("detect.executable.cache", "Executable Cache", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If set, every executable detect finds on the PATH and every executable it runs, with its output, will be recorded to this file.")
+    @HelpDetailed("The file can be given to detect.executable.capture.replay.path to repeat the run without the build tools installed, for example to profile parsing and BDIO generation in isolation. The output of each executable is written to a folder next to the file, named after it with '.output' appended, which must be kept with the file. Paths in the run directory and per-run ids (UUIDs) are recorded as placeholders. The files an executable leaves in its extraction output directory, or names after a per-run id in its arguments, are recorded in that folder too. Password arguments are masked, but the recorded output is stored as is.")
+    DETECT_EXECUTABLE_CAPTURE_RECORD_PATH("detect.executable.capture.record.path", "Executable Capture Record Path", "5.3.0", PropertyType.STRING, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If set, executables will not be run. Their output will be replayed from this file, recorded by an earlier run with detect.executable.capture.record.path.")
+    @HelpDetailed("Executables are matched on their working directory, path and arguments, with the run directory, the extraction output directory and per-run ids replaced, so the source should be at the same path as when it was recorded. The files recorded with an executable are restored before its output is replayed, such as the Gradle and NuGet inspector reports and the Maven dependency trees. Files an executable writes anywhere else are not restored. An executable that was not recorded fails as if it could not be run.")
+    DETECT_EXECUTABLE_CAPTURE_REPLAY_PATH("detect.executable.capture.replay.path", "Executable Capture Replay Path", "5.3.0", PropertyType.STRING, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of external processes detect may run at the same time, across all detectors and tools. If you specify -1, the number of processors on the machine will be used.")
+    @HelpDetailed("Processes that cannot start yet wait in the order they were requested. This bounds the load placed on the machine when extractions run in parallel.")
+    DETECT_EXECUTABLE_PARALLEL_PROCESSES("detect.executable.parallel.processes", "Executable Parallel Processes", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "-1"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("A comma-separated list of EXECUTABLE_TYPE:LIMIT pairs setting how many processes of an executable type may run at the same time, such as MVN:1,GRADLE:2. The mvnw and gradlew wrappers count as MVN and GRADLE, and the package managers the Clang detector queries count as DPKG, RPM and APK. Executable types not listed are only limited by detect.executable.parallel.processes.")
+    DETECT_EXECUTABLE_TYPE_LIMITS("detect.executable.type.limits", "Executable Type Limits", "5.3.0", PropertyType.STRING_ARRAY, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of seconds an executable may run before it and every process it started are stopped. Set to 0 to let executables run until they finish.")
+    @HelpDetailed("A stopped executable is first asked to exit and is killed if it is still running 10 seconds later. The detector that ran it reports a TIMEOUT extraction result.")
+    DETECT_EXECUTABLE_TIMEOUT("detect.executable.timeout", "Executable Timeout", "5.3.0", PropertyType.LONG, PropertyAuthority.None, "0"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("A comma-separated list of EXECUTABLE_TYPE:SECONDS pairs overriding detect.executable.timeout for an executable type, such as GRADLE:1800,DOTNET:600. The mvnw and gradlew wrappers count as MVN and GRADLE, and the package managers the Clang detector queries count as DPKG, RPM and APK. Use 0 to let an executable type run until it finishes.")
+    DETECT_EXECUTABLE_TYPE_TIMEOUTS("detect.executable.type.timeouts", "Executable Type Timeouts", "5.3.0", PropertyType.STRING_ARRAY, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of characters of output an executable may produce before its output is written to a file in the run directory instead of being kept in memory. Set to 0 to always keep output in memory.")
+    @HelpDetailed("Spilled output is written to the 'executables' folder of the run directory, which is included in the diagnostic zip and removed with the run directory when cleanup is enabled.")
+    DETECT_EXECUTABLE_OUTPUT_SPILL_THRESHOLD("detect.executable.output.spill.threshold", "Executable Output Spill Threshold", "5.3.0", PropertyType.LONG, PropertyAuthority.None, "16777216"),
+
     @HelpGroup(primary = GROUP_PATHS, additional = { GROUP_DETECTOR, SEARCH_GROUP_GLOBAL, GROUP_SOURCE_SCAN })
     @HelpDescription("Depth from source paths to search for files to determine if a detector applies.")
     DETECT_DETECTOR_SEARCH_DEPTH("detect.detector.search.depth", "Detector Search Depth", "3.2.0", PropertyType.INTEGER, PropertyAuthority.None, "0"),
@@ -276,6 +342,15 @@ public enum DetectProperty {
     @HelpDetailed("If true, these directories will be excluded from the detector search: " + DetectorSearchExcludedDirectories.DIRECTORY_NAMES)
     DETECT_DETECTOR_SEARCH_EXCLUSION_DEFAULTS("detect.detector.search.exclusion.defaults", "Detector Exclude Default Directories", "3.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
 
+    @HelpGroup(primary = GROUP_PATHS, additional = { GROUP_DETECTOR, SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of threads used to search directories for applicable detectors, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_DETECTOR_SEARCH_PARALLEL_PROCESSORS("detect.detector.search.parallel.processors", "Detector Search Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_PATHS, additional = { GROUP_DETECTOR, SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the detector search will ignore the search results cached from previous runs and search every directory from scratch.")
+    @HelpDetailed("Detect remembers the subdirectories of each searched directory and the detectors that found no files there, keyed by the directory path, modification time and file key. Directories that have not changed since the previous run reuse those results. The cache is kept in the tools folder of the output directory.")
+    DETECT_DETECTOR_SEARCH_FORCE_COLD("detect.detector.search.force.cold", "Detector Search Force Cold", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
     @HelpDescription("If true, during initialization Detect will check for Black Duck connectivity and exit with status code 0 if it cannot connect.")
     DETECT_DISABLE_WITHOUT_BLACKDUCK("detect.disable.without.blackduck", "Check For Valid Black Duck Connection", "4.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
@@ -328,6 +403,11 @@ public enum DetectProperty {
     @HelpDescription("If set to true, we will attempt to run 'init' and 'ensure' which can modify your development environment.")
     DETECT_GO_RUN_DEP_INIT("detect.go.run.dep.init", "Godep Run init/ensure", "3.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
 
+    @HelpGroup(primary = GROUP_GRADLE, additional = { GROUP_SOURCE_SCAN })
+    @HelpDescription("If true, every Gradle extraction in a run will use the Gradle daemon, and the daemons started by Detect will be stopped once all detectors are complete.")
+    @HelpDetailed("Sharing one daemon avoids starting a new Gradle process for every nested build. The daemons are registered in the run directory, so they are not shared with other builds, and only they are stopped, also when the run fails.")
+    DETECT_GRADLE_DAEMON_REUSE("detect.gradle.daemon.reuse", "Gradle Daemon Reuse", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_GRADLE, additional = { GROUP_SOURCE_SCAN })
     @HelpDescription("Gradle build command")
     DETECT_GRADLE_BUILD_COMMAND("detect.gradle.build.command", "Gradle Build Command", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -360,6 +440,10 @@ public enum DetectProperty {
     @HelpDescription("Path of the Gradle executable")
     DETECT_GRADLE_PATH("detect.gradle.path", "Gradle Executable", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GRADLE, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of Gradle inspector reports to parse at the same time, one report is written per Gradle project. If you specify -1, the number of processors on the machine will be used.")
+    DETECT_GRADLE_REPORT_PARALLEL_PROCESSORS("detect.gradle.report.parallel.processors", "Gradle Report Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "-1"),
+
     @HelpGroup(primary = GROUP_HEX, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("The path of the rebar3 executable")
     DETECT_HEX_REBAR3_PATH("detect.hex.rebar3.path", "Rebar3 Executable", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -392,6 +476,11 @@ public enum DetectProperty {
     @HelpDescription("The name of the dependency scope to include")
     DETECT_MAVEN_SCOPE("detect.maven.scope", "Dependency Scope Included", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_MAVEN, additional = { GROUP_SOURCE_SCAN })
+    @HelpDescription("If true, dependency:tree writes each module's tree to a tgf file in the module's target directory and those files are parsed instead of the console output.")
+    @HelpDetailed("Requires maven-dependency-plugin 2.2 or later. The files are named after the run and are deleted once they have been parsed.")
+    DETECT_MAVEN_TREE_OUTPUT_FILES("detect.maven.tree.output.files", "Maven Tree Output Files", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_REPORT, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("When set to true, a Black Duck notices report in text form will be created in your source directory")
     DETECT_NOTICES_REPORT("detect.notices.report",  "Generate Notices Report", "3.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
@@ -628,6 +717,11 @@ public enum DetectProperty {
     @HelpGroup(primary = GROUP_YARN, additional = { SEARCH_GROUP_GLOBAL })
     DETECT_YARN_PATH("detect.yarn.path", "Yarn Executable", "4.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpDescription("If true, the dependency graph will be built from yarn.lock and package.json alone, without running yarn list, so yarn does not need to be installed.")
+    @HelpGroup(primary = GROUP_YARN, additional = { SEARCH_GROUP_GLOBAL, GROUP_SOURCE_SCAN })
+    @HelpDetailed("The dependencies in package.json are the direct dependencies, and each yarn.lock entry supplies the resolved version and dependencies of a package. If there is no package.json, every yarn.lock entry that no other entry depends on is treated as a direct dependency.")
+    DETECT_YARN_LOCKFILE_ONLY("detect.yarn.lockfile.only", "Yarn Lockfile Only", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpDescription("Set this to true to only scan production dependencies")
     @HelpGroup(primary = GROUP_YARN, additional = { SEARCH_GROUP_GLOBAL, GROUP_SOURCE_SCAN })
     DETECT_YARN_PROD_ONLY("detect.yarn.prod.only", "Include Yarn Production Dependencies Only", "4.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
@@ -989,6 +1083,7 @@ public enum DetectProperty {
         //Detector Groups
         public static final String GROUP_BAZEL = "bazel";
         public static final String GROUP_BITBAKE = "bitbake";
+        public static final String GROUP_CLANG = "clang";
         public static final String GROUP_CONDA = "conda";
         public static final String GROUP_CPAN = "cpan";
         public static final String GROUP_DOCKER = "docker";
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.type;
 
 public enum ExecutableType {
+    APK,
     BASH,
     BITBAKE,
     CONDA,
@@ -31,6 +32,7 @@ public enum ExecutableType {
     CPANM,
     DOCKER,
     DOTNET,
+    DPKG,
     GO,
     GO_DEP("dep"),
     GRADLE,
@@ -47,6 +49,7 @@ public enum ExecutableType {
     PYTHON,
     PYTHON3,
     REBAR3,
+    RPM,
     YARN,
     JAVA,
     BAZEL;
@@ -64,4 +67,18 @@ public enum ExecutableType {
     public String getExecutable() {
         return executableName;
     }
+
+    /**
+     * The executable type a wrapper script stands in for, so that runs of mvnw and gradlew are limited like MVN and GRADLE.
+     */
+    public ExecutableType getBaseType() {
+        switch (this) {
+            case GRADLEW:
+                return GRADLE;
+            case MVNW:
+                return MVN;
+            default:
+                return this;
+        }
+    }
 }
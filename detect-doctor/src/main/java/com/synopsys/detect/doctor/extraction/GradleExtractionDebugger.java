@@ -7,11 +7,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleDaemonManager;
 import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorExtractor;
 import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleReportParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.synopsys.detect.doctor.diagnosticparser.DetectRunInfo;
@@ -33,7 +35,8 @@ public class GradleExtractionDebugger {
 
         File outputDirectory = new File(detectRunInfo.getExtractionsFolder(), extraction.extractionIdentifier);
 
-        GradleInspectorExtractor gradleInspectorExtractor = new GradleInspectorExtractor(executableRunner, detectFileFinder, new GradleReportParser(new ExternalIdFactory()), detectConfiguration);
+        GradleInspectorExtractor gradleInspectorExtractor = new GradleInspectorExtractor(executableRunner, detectFileFinder, new GradleReportParser(new ExternalIdFactory()), detectConfiguration,
+            new GradleDaemonManager(executableRunner, new EventSystem(), false, null), 1);
 
         Extraction extractionResult = gradleInspectorExtractor.extract(mockSourceFile, "", "", outputDirectory);
 
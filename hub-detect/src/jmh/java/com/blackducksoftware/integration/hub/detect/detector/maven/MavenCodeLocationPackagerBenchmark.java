@@ -0,0 +1,107 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.maven;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Compares parsing the dependency:tree output of a synthetic reactor with the line parser and with the packager it replaced.
+ * Run it with: gradlew :hub-detect:jmh -Pjmh.include=MavenCodeLocationPackagerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MavenCodeLocationPackagerBenchmark {
+    private static final String[] SCOPES = { "compile", "test", "provided", "runtime" };
+
+    @Param({ "10", "200" })
+    public int modules;
+
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private String mavenOutput;
+
+    @Setup
+    public void createReactorOutput() {
+        final String newline = System.lineSeparator();
+        final StringBuilder output = new StringBuilder();
+        output.append("[INFO] Scanning for projects...").append(newline);
+        for (int module = 0; module < modules; module++) {
+            output.append("[INFO] ------------------------------------------------------------------------").append(newline);
+            output.append("[INFO] Building module-").append(module).append(" 1.0.0").append(newline);
+            output.append("[INFO] ------------------------------------------------------------------------").append(newline);
+            output.append("[INFO] --- maven-dependency-plugin:3.1.1:tree (default-cli) @ module-").append(module).append(" ---").append(newline);
+            output.append("[INFO] com.example:module-").append(module).append(":jar:1.0.0").append(newline);
+            // 40 direct dependencies, each with 4 children that have 2 children of their own
+            for (int direct = 0; direct < 40; direct++) {
+                final boolean lastDirect = direct == 39;
+                output.append("[INFO] ").append(lastDirect ? "\\- " : "+- ").append(component("direct", module, direct, SCOPES[direct % SCOPES.length])).append(newline);
+                for (int child = 0; child < 4; child++) {
+                    final boolean lastChild = child == 3;
+                    final String childIndent = lastDirect ? "   " : "|  ";
+                    output.append("[INFO] ").append(childIndent).append(lastChild ? "\\- " : "+- ").append(component("child", direct, child, "compile")).append(newline);
+                    for (int grandchild = 0; grandchild < 2; grandchild++) {
+                        output.append("[INFO] ").append(childIndent).append(lastChild ? "   " : "|  ").append(grandchild == 1 ? "\\- " : "+- ").append(component("grandchild", child, grandchild, "compile")).append(newline);
+                    }
+                }
+            }
+            output.append("[INFO] ").append(newline);
+        }
+        output.append("[INFO] ------------------------------------------------------------------------").append(newline);
+        output.append("[INFO] BUILD SUCCESS").append(newline);
+        mavenOutput = output.toString();
+    }
+
+    private String component(final String kind, final int parent, final int index, final String scope) {
+        return String.format("org.example.%s%d:%s-%d:jar:%d.%d.0:%s", kind, parent, kind, index, parent, index, scope);
+    }
+
+    @Benchmark
+    public List<MavenParseResult> baselinePackager() {
+        return new BaselineMavenCodeLocationPackager(externalIdFactory).extractCodeLocations("/source", mavenOutput, "compile", null, null);
+    }
+
+    @Benchmark
+    public List<MavenParseResult> lineParser() {
+        return new MavenCodeLocationPackager(externalIdFactory).extractCodeLocations("/source", new StringReader(mavenOutput), "compile", null, null);
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.npm;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmDependency;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Compares resolving every 'requires' entry of a large synthetic package-lock through the name index and through the linear sibling scan it replaced.
+ * Run it with: gradlew :hub-detect:jmh -Pjmh.include=NpmLockfileParserBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NpmLockfileParserBenchmark {
+    private static final int REQUIRES_PER_PACKAGE = 5;
+
+    @Param({ "1000", "5000" })
+    public int packages;
+
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private final NpmLockfileParser npmLockfileParser = new NpmLockfileParser(new Gson(), externalIdFactory);
+    private String lockFileText;
+    private NpmDependency rootDependency;
+
+    @Setup
+    public void createLockFile() throws IOException {
+        // a flat, hoisted top level like npm writes, where every tenth package also nests its own copy of a shared name
+        final StringBuilder lockFile = new StringBuilder();
+        lockFile.append("{ \"name\": \"benchmark\", \"version\": \"1.0.0\", \"lockfileVersion\": 1, \"requires\": true, \"dependencies\": {");
+        for (int index = 0; index < packages; index++) {
+            lockFile.append(index == 0 ? "" : ",").append(" \"package-").append(index).append("\": { \"version\": \"1.0.").append(index).append("\", \"requires\": {");
+            for (int required = 1; required <= REQUIRES_PER_PACKAGE; required++) {
+                lockFile.append(required == 1 ? "" : ",").append(" \"package-").append((index + required * 97) % packages).append("\": \"^1.0.0\"");
+            }
+            lockFile.append(" }");
+            if (index % 10 == 0) {
+                lockFile.append(", \"dependencies\": { \"package-").append((index + 97) % packages).append("\": { \"version\": \"2.0.0\" } }");
+            }
+            lockFile.append(" }");
+        }
+        lockFile.append(" } }");
+        lockFileText = lockFile.toString();
+
+        final JsonReader jsonReader = new JsonReader(new StringReader(lockFileText));
+        rootDependency = new NpmDependencyConverter(externalIdFactory).convertLockFile(jsonReader, Optional.empty());
+    }
+
+    @Benchmark
+    public int indexedLookup() {
+        int resolved = 0;
+        for (final NpmDependency dependency : rootDependency.getDependencies()) {
+            resolved += dependency.getRequires().stream().filter(required -> npmLockfileParser.lookupDependency(dependency, required.getName()) != null).count();
+        }
+        return resolved;
+    }
+
+    @Benchmark
+    public int linearLookup() {
+        int resolved = 0;
+        for (final NpmDependency dependency : rootDependency.getDependencies()) {
+            resolved += dependency.getRequires().stream().filter(required -> baselineLookupDependency(dependency, required.getName()) != null).count();
+        }
+        return resolved;
+    }
+
+    @Benchmark
+    public NpmParseResult parse() {
+        return npmLockfileParser.parse("/source", Optional.empty(), lockFileText, true);
+    }
+
+    // the lookup NpmLockfileParser used before NpmDependency indexed its children by name
+    private NpmDependency baselineLookupDependency(final NpmDependency npmDependency, final String name) {
+        for (final NpmDependency current : npmDependency.getDependencies()) {
+            if (current.getName().equals(name)) {
+                return current;
+            }
+        }
+
+        if (npmDependency.getParent().isPresent()) {
+            return baselineLookupDependency(npmDependency.getParent().get(), name);
+        } else {
+            return null;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.springframework.context.annotation.Scope;
 
 import com.blackducksoftware.integration.hub.detect.configuration.ConnectionManager;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigurationFactory;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectorOptionFactory;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
@@ -75,6 +76,7 @@ import com.blackducksoftware.integration.hub.detect.detector.go.GoVendorDetector
 import com.blackducksoftware.integration.hub.detect.detector.go.GoVendorExtractor;
 import com.blackducksoftware.integration.hub.detect.detector.go.GoVndrDetector;
 import com.blackducksoftware.integration.hub.detect.detector.go.GoVndrExtractor;
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleDaemonManager;
 import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorDetector;
 import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorExtractor;
@@ -122,6 +124,7 @@ import com.blackducksoftware.integration.hub.detect.detector.sbt.SbtResolutionCa
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnListParser;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockDetector;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockExtractor;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockGraphParser;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockParser;
 import com.blackducksoftware.integration.hub.detect.tool.bazel.BazelCodeLocationBuilder;
 import com.blackducksoftware.integration.hub.detect.tool.bazel.BazelDetector;
@@ -133,8 +136,11 @@ import com.blackducksoftware.integration.hub.detect.tool.bazel.BazelQueryXmlOutp
 import com.blackducksoftware.integration.hub.detect.tool.bazel.XPathParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
@@ -177,6 +183,12 @@ public class DetectorBeanConfiguration {
     public ArtifactResolver artifactResolver;
     @Autowired
     public DetectInfo detectInfo;
+    @Autowired
+    public ExecutableResolutionCache executableResolutionCache;
+    @Autowired
+    public DetectConfigurationFactory detectConfigurationFactory;
+    @Autowired
+    public EventSystem eventSystem;
 
     @Bean
     public DetectorOptionFactory detectorOptionFactory() {
@@ -210,6 +222,11 @@ public class DetectorBeanConfiguration {
         return new CodeLocationAssembler(externalIdFactory);
     }
 
+    @Bean
+    public ExtractionCache extractionCache() {
+        return new ExtractionCache(directoryManager, detectConfiguration, detectInfo);
+    }
+
     @Bean
     public BazelExtractor bazelExtractor() {
         BazelQueryXmlOutputParser parser = new BazelQueryXmlOutputParser(new XPathParser());
@@ -239,7 +256,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public PodlockExtractor podlockExtractor() {
-        return new PodlockExtractor(podlockParser(), externalIdFactory);
+        return new PodlockExtractor(podlockParser(), externalIdFactory, extractionCache());
     }
 
     @Bean
@@ -269,12 +286,12 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public PackratLockExtractor packratLockExtractor() {
-        return new PackratLockExtractor(packratPackager(), externalIdFactory, detectFileFinder);
+        return new PackratLockExtractor(packratPackager(), externalIdFactory, detectFileFinder, extractionCache());
     }
 
     @Bean
     public GoDepExtractor goDepExtractor() {
-        return new GoDepExtractor(depPackager(), externalIdFactory);
+        return new GoDepExtractor(depPackager(), externalIdFactory, extractionCache());
     }
 
     @Bean
@@ -309,7 +326,14 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public GradleInspectorExtractor gradleInspectorExtractor() {
-        return new GradleInspectorExtractor(executableRunner, detectFileFinder, gradleReportParser(), detectConfiguration);
+        return new GradleInspectorExtractor(executableRunner, detectFileFinder, gradleReportParser(), detectConfiguration, gradleDaemonManager(),
+            detectConfigurationFactory.getGradleReportParallelProcessors());
+    }
+
+    @Bean
+    public GradleDaemonManager gradleDaemonManager() {
+        final boolean reuseDaemon = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_GRADLE_DAEMON_REUSE, PropertyAuthority.None);
+        return new GradleDaemonManager(executableRunner, eventSystem, reuseDaemon, directoryManager.getSharedDirectory("gradle-daemon"));
     }
 
     @Bean
@@ -334,7 +358,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public MavenCliExtractor mavenCliExtractor() {
-        return new MavenCliExtractor(executableRunner, mavenCodeLocationPackager(), detectConfiguration);
+        return new MavenCliExtractor(executableRunner, mavenCodeLocationPackager(), detectConfiguration, detectFileFinder);
     }
 
     @Bean
@@ -344,7 +368,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public BazelExecutableFinder bazelExecutableFinder() {
-        return new BazelExecutableFinder(executableRunner, directoryManager, executableFinder, detectConfiguration);
+        return new BazelExecutableFinder(executableRunner, directoryManager, executableFinder, detectConfiguration, executableResolutionCache);
     }
 
     @Bean
@@ -364,12 +388,12 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public NpmLockfileExtractor npmLockfileExtractor() {
-        return new NpmLockfileExtractor(npmLockfilePackager(), detectConfiguration);
+        return new NpmLockfileExtractor(npmLockfilePackager(), detectConfiguration, extractionCache());
     }
 
     @Bean
     public NpmExecutableFinder npmExecutableFinder() {
-        return new NpmExecutableFinder(directoryManager, executableFinder, executableRunner, detectConfiguration);
+        return new NpmExecutableFinder(directoryManager, executableFinder, executableRunner, detectConfiguration, executableResolutionCache);
     }
 
     @Bean
@@ -394,7 +418,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public ComposerLockExtractor composerLockExtractor() {
-        return new ComposerLockExtractor(packagistParser());
+        return new ComposerLockExtractor(packagistParser(), extractionCache());
     }
 
     @Bean
@@ -439,7 +463,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public GemlockExtractor gemlockExtractor() {
-        return new GemlockExtractor(externalIdFactory);
+        return new GemlockExtractor(externalIdFactory, extractionCache());
     }
 
     @Bean
@@ -459,7 +483,12 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public YarnLockExtractor yarnLockExtractor() {
-        return new YarnLockExtractor(externalIdFactory, yarnListParser(), executableRunner, detectConfiguration);
+        return new YarnLockExtractor(externalIdFactory, yarnListParser(), yarnLockGraphParser(), executableRunner, detectConfiguration, extractionCache(), gson);
+    }
+
+    @Bean
+    public YarnLockGraphParser yarnLockGraphParser() {
+        return new YarnLockGraphParser(externalIdFactory);
     }
 
     @Bean
@@ -497,7 +526,7 @@ public class DetectorBeanConfiguration {
     @Bean
     @Scope(scopeName = BeanDefinition.SCOPE_PROTOTYPE)
     public ClangDetector clangBomTool(final DetectorEnvironment environment) {
-        return new ClangDetector(environment, executableRunner, detectFileFinder, clangLinuxPackageManagers(), clangExtractor());
+        return new ClangDetector(environment, executableRunner, executableFinder, executableResolutionCache, detectFileFinder, clangLinuxPackageManagers(), clangExtractor());
     }
 
     @Bean
@@ -643,6 +672,7 @@ public class DetectorBeanConfiguration {
     @Bean
     @Scope(scopeName = BeanDefinition.SCOPE_PROTOTYPE)
     public YarnLockDetector yarnLockBomTool(final DetectorEnvironment environment) {
-        return new YarnLockDetector(environment, detectFileFinder, cacheableExecutableFinder, yarnLockExtractor());
+        final boolean lockfileOnly = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_LOCKFILE_ONLY, PropertyAuthority.None);
+        return new YarnLockDetector(environment, detectFileFinder, cacheableExecutableFinder, yarnLockExtractor(), lockfileOnly);
     }
 }
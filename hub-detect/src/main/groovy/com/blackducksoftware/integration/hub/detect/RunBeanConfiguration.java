@@ -23,8 +23,11 @@
  */
 package com.blackducksoftware.integration.hub.detect;
 
+import java.io.File;
+
 import javax.xml.parsers.DocumentBuilder;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
@@ -44,7 +47,13 @@ import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.Offlin
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.OnlineBlackDuckSignatureScanner;
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableCapture;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableCapture.CaptureMode;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableGovernor;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.RecordingExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ReplayExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
 import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectRun;
@@ -131,12 +140,50 @@ public class RunBeanConfiguration {
 
     @Bean
     public ExecutableRunner executableRunner() {
-        return new ExecutableRunner();
+        final ExecutableCapture executableCapture = executableCapture();
+        if (executableCapture.isReplaying()) {
+            return new ReplayExecutableRunner(executableCapture);
+        }
+        final long spillThreshold = detectConfiguration.getLongProperty(DetectProperty.DETECT_EXECUTABLE_OUTPUT_SPILL_THRESHOLD, PropertyAuthority.None);
+        final ExecutableRunner executableRunner = new ExecutableRunner(directoryManager, spillThreshold, executableGovernor(), detectConfigurationFactory().createExecutableTimeoutOptions());
+        if (executableCapture.isRecording()) {
+            return new RecordingExecutableRunner(executableRunner, executableCapture);
+        }
+        return executableRunner;
+    }
+
+    @Bean
+    public ExecutableCapture executableCapture() {
+        final String replayPath = detectConfiguration.getProperty(DetectProperty.DETECT_EXECUTABLE_CAPTURE_REPLAY_PATH, PropertyAuthority.None);
+        final String recordPath = detectConfiguration.getProperty(DetectProperty.DETECT_EXECUTABLE_CAPTURE_RECORD_PATH, PropertyAuthority.None);
+        if (StringUtils.isNotBlank(replayPath)) {
+            final ExecutableCapture executableCapture = new ExecutableCapture(CaptureMode.REPLAY, new File(replayPath), directoryManager.getRunHomeDirectory(), directoryManager.getExtractionsOutputDirectory());
+            executableCapture.load();
+            return executableCapture;
+        } else if (StringUtils.isNotBlank(recordPath)) {
+            return new ExecutableCapture(CaptureMode.RECORD, new File(recordPath), directoryManager.getRunHomeDirectory(), directoryManager.getExtractionsOutputDirectory());
+        }
+        return new ExecutableCapture(CaptureMode.NONE, null);
+    }
+
+    @Bean
+    public ExecutableGovernor executableGovernor() {
+        return new ExecutableGovernor(detectConfigurationFactory().createExecutableGovernorOptions(), eventSystem);
     }
 
     @Bean
     public ExecutableFinder executableManager() {
-        return new ExecutableFinder(detectFileFinder(), detectInfo);
+        return new ExecutableFinder(detectFileFinder(), detectInfo, executableResolutionCache(), executableCapture());
+    }
+
+    @Bean
+    public ExecutableResolutionCache executableResolutionCache() {
+        if (!detectConfiguration.getBooleanProperty(DetectProperty.DETECT_EXECUTABLE_CACHE, PropertyAuthority.None)) {
+            return new ExecutableResolutionCache();
+        }
+        final ExecutableResolutionCache executableResolutionCache = new ExecutableResolutionCache(directoryManager.getPermanentDirectory(ExecutableResolutionCache.CACHE_DIRECTORY_NAME));
+        executableResolutionCache.load();
+        return executableResolutionCache;
     }
 
     @Bean
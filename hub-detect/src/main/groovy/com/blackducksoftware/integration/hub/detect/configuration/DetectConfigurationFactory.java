@@ -25,15 +25,30 @@ package com.blackducksoftware.integration.hub.detect.configuration;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.lifecycle.run.RunOptions;
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.BlackDuckSignatureScannerOptions;
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+import com.blackducksoftware.integration.hub.detect.util.DetectEnumUtil;
 import com.blackducksoftware.integration.hub.detect.util.EnumUtilExtension;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableGovernorOptions;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableTimeoutOptions;
 import com.blackducksoftware.integration.hub.detect.util.filter.DetectOverrideableFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectToolFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.BlackduckReportOptions;
@@ -44,6 +59,8 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.SearchOption
 import com.synopsys.integration.blackduck.api.enumeration.PolicySeverityType;
 
 public class DetectConfigurationFactory {
+    private final Logger logger = LoggerFactory.getLogger(DetectConfigurationFactory.class);
+
     DetectConfiguration detectConfiguration;
 
     public DetectConfigurationFactory(final DetectConfiguration detectConfiguration) {
@@ -92,7 +109,7 @@ public class DetectConfigurationFactory {
         return new AirGapOptions(dockerOverride, gradleOverride, nugetOverride);
     }
 
-    public SearchOptions createSearchOptions(final File directory) {
+    public SearchOptions createSearchOptions(final File directory, final File searchCacheFile) {
         final List<String> excludedDirectories = Arrays.asList(detectConfiguration.getStringArrayProperty(DetectProperty.DETECT_DETECTOR_SEARCH_EXCLUSION, PropertyAuthority.None));
         final List<String> excludedDirectoryPatterns = Arrays.asList(detectConfiguration.getStringArrayProperty(DetectProperty.DETECT_DETECTOR_SEARCH_EXCLUSION_PATTERNS, PropertyAuthority.None));
         final boolean forceNestedSearch = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_SEARCH_CONTINUE, PropertyAuthority.None);
@@ -100,7 +117,58 @@ public class DetectConfigurationFactory {
         final String excluded = detectConfiguration.getProperty(DetectProperty.DETECT_EXCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         final String included = detectConfiguration.getProperty(DetectProperty.DETECT_INCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         final DetectOverrideableFilter bomToolFilter = new DetectOverrideableFilter(excluded, included);
-        return new SearchOptions(directory, excludedDirectories, excludedDirectoryPatterns, forceNestedSearch, maxDepth, bomToolFilter);
+        final int parallelProcessors = resolveParallelProcessors(DetectProperty.DETECT_DETECTOR_SEARCH_PARALLEL_PROCESSORS);
+        final boolean forceColdSearch = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_SEARCH_FORCE_COLD, PropertyAuthority.None);
+        return new SearchOptions(directory, excludedDirectories, excludedDirectoryPatterns, forceNestedSearch, maxDepth, bomToolFilter, parallelProcessors, searchCacheFile, forceColdSearch);
+    }
+
+    public ExtractionOptions createExtractionOptions() {
+        final int parallelProcessors = resolveParallelProcessors(DetectProperty.DETECT_DETECTOR_EXTRACTION_PARALLEL_PROCESSORS);
+        final Map<DetectorType, Integer> typeLimits = parseTypeLimits(DetectProperty.DETECT_DETECTOR_EXTRACTION_TYPE_LIMITS, DetectorType.class, UnaryOperator.identity(), "DETECTOR_TYPE:LIMIT",
+            DetectConfigurationFactory::toLimit);
+        return new ExtractionOptions(parallelProcessors, typeLimits);
+    }
+
+    public ExecutableGovernorOptions createExecutableGovernorOptions() {
+        final int maxProcesses = resolveParallelProcessors(DetectProperty.DETECT_EXECUTABLE_PARALLEL_PROCESSES);
+        final Map<ExecutableType, Integer> typeLimits = parseTypeLimits(DetectProperty.DETECT_EXECUTABLE_TYPE_LIMITS, ExecutableType.class, ExecutableType::getBaseType, "EXECUTABLE_TYPE:LIMIT",
+            DetectConfigurationFactory::toLimit);
+        return new ExecutableGovernorOptions(maxProcesses, typeLimits);
+    }
+
+    public ExecutableTimeoutOptions createExecutableTimeoutOptions() {
+        final long defaultTimeoutSeconds = detectConfiguration.getLongProperty(DetectProperty.DETECT_EXECUTABLE_TIMEOUT, PropertyAuthority.None);
+        final Map<ExecutableType, Long> typeTimeouts = parseTypeLimits(DetectProperty.DETECT_EXECUTABLE_TYPE_TIMEOUTS, ExecutableType.class, ExecutableType::getBaseType, "EXECUTABLE_TYPE:SECONDS",
+            Function.identity());
+        return new ExecutableTimeoutOptions(defaultTimeoutSeconds, typeTimeouts);
+    }
+
+    /**
+     * Parses a list of TYPE:NUMBER pairs, logging and skipping the pairs that do not name a type or give a whole number.
+     */
+    private <T extends Enum<T>, V> Map<T, V> parseTypeLimits(final DetectProperty property, final Class<T> typeClass, final UnaryOperator<T> typeMapper, final String expectedFormat,
+        final Function<Long, V> valueMapper) {
+        final Map<T, V> typeLimits = new EnumMap<>(typeClass);
+        for (final String typeLimit : detectConfiguration.getStringArrayProperty(property, PropertyAuthority.None)) {
+            final String[] pieces = typeLimit.split(":");
+            final Optional<T> type = pieces.length == 2 ? DetectEnumUtil.getValueOf(typeClass, pieces[0].trim().toUpperCase()) : Optional.empty();
+            final long value = pieces.length == 2 && NumberUtils.isDigits(pieces[1].trim()) ? NumberUtils.toLong(pieces[1].trim(), -1) : -1;
+            if (type.isPresent() && value >= 0) {
+                typeLimits.put(typeMapper.apply(type.get()), valueMapper.apply(value));
+            } else {
+                logger.warn(String.format("Ignoring '%s' in %s, it should look like %s.", typeLimit, property.getPropertyKey(), expectedFormat));
+            }
+        }
+        return typeLimits;
+    }
+
+    private static Integer toLimit(final long value) {
+        return (int) Math.min(Math.max(value, 1), Integer.MAX_VALUE);
+    }
+
+    public PreparationOptions createPreparationOptions() {
+        final int parallelProcessors = resolveParallelProcessors(DetectProperty.DETECT_DETECTOR_PREPARATION_PARALLEL_PROCESSORS);
+        return new PreparationOptions(parallelProcessors);
     }
 
     public BdioOptions createBdioOptions() {
@@ -166,6 +234,18 @@ public class DetectConfigurationFactory {
         return new PolicyCheckOptions(severitiesToFailPolicyCheck);
     }
 
+    public int getGradleReportParallelProcessors() {
+        return resolveParallelProcessors(DetectProperty.DETECT_GRADLE_REPORT_PARALLEL_PROCESSORS);
+    }
+
+    private int resolveParallelProcessors(final DetectProperty detectProperty) {
+        final int parallelProcessors = detectConfiguration.getIntegerProperty(detectProperty, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Math.max(parallelProcessors, 1);
+    }
+
     public long getTimeoutInSeconds() {
         if (detectConfiguration.wasPropertyActuallySet(DetectProperty.DETECT_API_TIMEOUT)) {
             final long timeout = detectConfiguration.getLongProperty(DetectProperty.DETECT_API_TIMEOUT, PropertyAuthority.None);
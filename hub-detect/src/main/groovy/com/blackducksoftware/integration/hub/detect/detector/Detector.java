@@ -46,6 +46,13 @@ public abstract class Detector {
      */
     public abstract DetectorResult applicable();
 
+    /*
+     * Return true only when applicable() looks at nothing but the names of the directory's direct entries. Only then can a cached not-applicable result be trusted while the directory itself is unmodified.
+     */
+    public boolean isApplicableCacheable() {
+        return false;
+    }
+
     /*
      * Extractable may be as heavy as needed, and may (and sometimes should) fail. Make web requests, install inspectors or run executables.
      */
@@ -64,6 +71,10 @@ public abstract class Detector {
         return detectorType;
     }
 
+    public DetectorEnvironment getEnvironment() {
+        return environment;
+    }
+
     public String getDescriptiveName() {
         return String.format("%s - %s", getDetectorType().toString(), getName());
     }
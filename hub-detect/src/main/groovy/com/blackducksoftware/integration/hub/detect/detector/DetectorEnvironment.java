@@ -27,6 +27,7 @@ import java.io.File;
 import java.util.Set;
 
 import com.blackducksoftware.integration.hub.detect.util.filter.DetectFilter;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
 
 public class DetectorEnvironment {
 
@@ -35,6 +36,7 @@ public class DetectorEnvironment {
     private final int depth;
     private final DetectFilter detectorFilter;
     private final boolean forceNestedSearch;
+    private DirectoryIndex directoryIndex;
 
     public DetectorEnvironment(final File directory, final Set<Detector> appliedToParent, final int depth, final DetectFilter detectorFilter, final boolean forceNestedSearch) {
         this.directory = directory;
@@ -48,6 +50,16 @@ public class DetectorEnvironment {
         return directory;
     }
 
+    /*
+     * Every detector searching this environment shares the index, so the directory is only listed once no matter how many detectors look for files in it.
+     */
+    public synchronized DirectoryIndex getDirectoryIndex() {
+        if (directoryIndex == null) {
+            directoryIndex = new DirectoryIndex(directory);
+        }
+        return directoryIndex;
+    }
+
     public Set<Detector> getAppliedToParent() {
         return appliedToParent;
     }
@@ -60,7 +60,7 @@ public class BitbakeDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        foundBuildEnvScript = detectFileFinder.findFile(environment.getDirectory(), bitbakeDetectorOptions.getBuildEnvName());
+        foundBuildEnvScript = detectFileFinder.findFile(environment.getDirectoryIndex(), bitbakeDetectorOptions.getBuildEnvName());
         if (foundBuildEnvScript == null) {
             return new FileNotFoundDetectorResult(DetectProperty.DETECT_BITBAKE_BUILD_ENV_NAME.getDefaultValue());
         }
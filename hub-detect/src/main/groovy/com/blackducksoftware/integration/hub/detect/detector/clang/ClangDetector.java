@@ -31,6 +31,8 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
@@ -46,27 +48,37 @@ public class ClangDetector extends Detector {
     private File jsonCompilationDatabaseFile = null;
     private final DetectFileFinder fileFinder;
     private final ExecutableRunner executableRunner;
+    private final ExecutableFinder executableFinder;
+    private final ExecutableResolutionCache executableResolutionCache;
     private final List<ClangLinuxPackageManager> availablePkgMgrs;
 
     private ClangLinuxPackageManager selectedPkgMgr;
 
-    public ClangDetector(final DetectorEnvironment environment, final ExecutableRunner executableRunner, final DetectFileFinder fileFinder, final List<ClangLinuxPackageManager> pkgMgrs, final ClangExtractor clangExtractor) {
+    public ClangDetector(final DetectorEnvironment environment, final ExecutableRunner executableRunner, final ExecutableFinder executableFinder, final ExecutableResolutionCache executableResolutionCache,
+        final DetectFileFinder fileFinder, final List<ClangLinuxPackageManager> pkgMgrs, final ClangExtractor clangExtractor) {
         super(environment, "Clang", DetectorType.CLANG);
         this.fileFinder = fileFinder;
         this.availablePkgMgrs = pkgMgrs;
         this.executableRunner = executableRunner;
+        this.executableFinder = executableFinder;
+        this.executableResolutionCache = executableResolutionCache;
         this.clangExtractor = clangExtractor;
     }
 
     @Override
     public DetectorResult applicable() {
-        jsonCompilationDatabaseFile = fileFinder.findFile(environment.getDirectory(), JSON_COMPILATION_DATABASE_FILENAME);
+        jsonCompilationDatabaseFile = fileFinder.findFile(environment.getDirectoryIndex(), JSON_COMPILATION_DATABASE_FILENAME);
         if (jsonCompilationDatabaseFile == null) {
             return new FileNotFoundDetectorResult(JSON_COMPILATION_DATABASE_FILENAME);
         }
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         try {
@@ -85,7 +97,7 @@ public class ClangDetector extends Detector {
 
     private ClangLinuxPackageManager findPkgMgr(File workingDirectory) throws IntegrationException {
         for (final ClangLinuxPackageManager pkgMgrCandidate : availablePkgMgrs) {
-            if (pkgMgrCandidate.applies(workingDirectory, executableRunner)) {
+            if (pkgMgrCandidate.applies(workingDirectory, executableRunner, executableFinder, executableResolutionCache)) {
                 return pkgMgrCandidate;
             }
         }
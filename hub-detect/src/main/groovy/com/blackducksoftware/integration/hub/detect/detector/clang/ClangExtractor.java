@@ -54,6 +54,10 @@ import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 
 public class ClangExtractor {
+    // keeps each package manager command line well under the operating system's limit on argument length (ARG_MAX)
+    private static final int MAX_PACKAGE_LOOKUP_BATCH_SIZE = 1000;
+    private static final int MAX_PACKAGE_LOOKUP_BATCH_LENGTH = 100000;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final Set<File> processedDependencyFiles = new HashSet<>(200);
     private final Set<PackageDetails> processedDependencies = new HashSet<>(40);
@@ -88,13 +92,13 @@ public class ClangExtractor {
             logger.debug(String.format("extract() called; compileCommandsJsonFilePath: %s", jsonCompilationDatabaseFile.getAbsolutePath()));
             final Set<File> unManagedDependencyFiles = ConcurrentHashMap.newKeySet(64);
             final List<CompileCommand> compileCommands = CompileCommandsJsonFile.parseJsonCompilationDatabaseFile(gson, jsonCompilationDatabaseFile);
-            final List<Dependency> bdioComponents = compileCommands.parallelStream()
-                                                        .flatMap(compileCommandToDependencyFilePathsConverter(outputDirectory))
-                                                        .collect(Collectors.toSet()).parallelStream()
-                                                        .filter(StringUtils::isNotBlank)
-                                                        .map(File::new)
-                                                        .filter(fileIsNewPredicate())
-                                                        .flatMap(dependencyFileToLinuxPackagesConverter(rootDir, unManagedDependencyFiles, pkgMgr))
+            final Stream<File> dependencyFiles = compileCommands.parallelStream()
+                                                     .flatMap(compileCommandToDependencyFilePathsConverter(outputDirectory))
+                                                     .collect(Collectors.toSet()).parallelStream()
+                                                     .filter(StringUtils::isNotBlank)
+                                                     .map(File::new)
+                                                     .filter(fileIsNewPredicate());
+            final List<Dependency> bdioComponents = findLinuxPackages(dependencyFiles, rootDir, unManagedDependencyFiles, pkgMgr)
                                                         .collect(Collectors.toSet()).parallelStream()
                                                         .flatMap(linuxPackageToBdioComponentsConverter(pkgMgr))
                                                         .collect(Collectors.toList());
@@ -131,6 +135,54 @@ public class ClangExtractor {
         };
     }
 
+    private Stream<PackageDetails> findLinuxPackages(final Stream<File> dependencyFiles, final File sourceDir, final Set<File> unManagedDependencyFiles, final ClangLinuxPackageManager pkgMgr) {
+        final int batchSize = findPackageLookupBatchSize();
+        if (batchSize <= 1) {
+            return dependencyFiles.flatMap(dependencyFileToLinuxPackagesConverter(sourceDir, unManagedDependencyFiles, pkgMgr));
+        }
+
+        final List<DependencyFileDetails> sortedDependencyFiles = dependencyFiles.sorted()
+                                                                      .map(f -> new DependencyFileDetails(fileFinder.isFileUnderDir(sourceDir, f), f))
+                                                                      .collect(Collectors.toList());
+        final List<List<DependencyFileDetails>> batches = createBatches(sortedDependencyFiles, batchSize);
+        logger.debug(String.format("Querying package manager for %d dependency files in %d batches", sortedDependencyFiles.size(), batches.size()));
+        return batches.parallelStream()
+                   .flatMap(batch -> pkgMgr.getPackages(sourceDir, executableRunner, unManagedDependencyFiles, batch).stream());
+    }
+
+    private int findPackageLookupBatchSize() {
+        if (detectConfiguration == null) {
+            return 1;
+        }
+        final int batchSize = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_CLANG_PACKAGE_LOOKUP_BATCH_SIZE, PropertyAuthority.None);
+        if (batchSize > MAX_PACKAGE_LOOKUP_BATCH_SIZE) {
+            logger.warn(String.format("The Clang package lookup batch size %d is too large, %d will be used instead.", batchSize, MAX_PACKAGE_LOOKUP_BATCH_SIZE));
+            return MAX_PACKAGE_LOOKUP_BATCH_SIZE;
+        }
+        return batchSize;
+    }
+
+    // a batch ends once it holds batchSize files or its paths would make the command line too long
+    private List<List<DependencyFileDetails>> createBatches(final List<DependencyFileDetails> dependencyFiles, final int batchSize) {
+        final List<List<DependencyFileDetails>> batches = new ArrayList<>();
+        List<DependencyFileDetails> batch = new ArrayList<>(batchSize);
+        int batchLength = 0;
+        for (final DependencyFileDetails dependencyFile : dependencyFiles) {
+            final int pathLength = dependencyFile.getFile().getAbsolutePath().length() + 1;
+            if (!batch.isEmpty() && (batch.size() >= batchSize || batchLength + pathLength > MAX_PACKAGE_LOOKUP_BATCH_LENGTH)) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+                batchLength = 0;
+            }
+            batch.add(dependencyFile);
+            batchLength += pathLength;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
     private Function<File, Stream<PackageDetails>> dependencyFileToLinuxPackagesConverter(final File sourceDir, final Set<File> unManagedDependencyFiles, final ClangLinuxPackageManager pkgMgr) {
         return (final File f) -> {
             logger.trace(String.format("Querying package manager for %s", f.getAbsolutePath()));
@@ -24,13 +24,17 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 import org.slf4j.Logger;
 
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.synopsys.integration.bdio.model.Forge;
@@ -55,11 +59,18 @@ public abstract class ClangLinuxPackageManager {
         this.pkgMgrGetOwnerCmdArgs = pkgMgrGetOwnerCmdArgs;
     }
 
-    public boolean applies(File workingDirectory, final ExecutableRunner executor) {
+    public boolean applies(File workingDirectory, final ExecutableRunner executor, final ExecutableFinder executableFinder, final ExecutableResolutionCache executableResolutionCache) {
         try {
-            final ExecutableOutput versionOutput = executor.execute(workingDirectory, getPkgMgrName(), getCheckPresenceCommandArgs());
-            logger.debug(String.format("packageStatusOutput: %s", versionOutput.getStandardOutput()));
-            if (versionOutput.getStandardOutput().contains(getCheckPresenceCommandOutputExpectedText())) {
+            final File pkgMgrExecutable = executableFinder.findExecutableFileFromSystemPath(getPkgMgrName());
+            if (pkgMgrExecutable == null) {
+                logger.debug(String.format("Unable to find %s on the PATH; concluding that the %s package manager is not present.", getPkgMgrName(), getPkgMgrName()));
+                return false;
+            }
+            final String pkgMgrPath = pkgMgrExecutable.getAbsolutePath();
+            final String versionOutput = executableResolutionCache.probe(pkgMgrPath, getCheckPresenceCommandArgs(), null,
+                () -> executor.execute(workingDirectory, pkgMgrPath, getCheckPresenceCommandArgs()).getStandardOutput());
+            logger.debug(String.format("packageStatusOutput: %s", versionOutput));
+            if (versionOutput.contains(getCheckPresenceCommandOutputExpectedText())) {
                 logger.info(String.format("Found package manager %s", getPkgMgrName()));
                 return true;
             }
@@ -72,21 +83,39 @@ public abstract class ClangLinuxPackageManager {
     }
 
     public List<PackageDetails> getPackages(File workingDirectory, final ExecutableRunner executableRunner, final Set<File> unManagedDependencyFiles, final DependencyFileDetails dependencyFile) {
+        return getPackages(workingDirectory, executableRunner, unManagedDependencyFiles, Collections.singletonList(dependencyFile));
+    }
+
+    // every file is passed to a single package manager invocation, each of them reports the owner of each file on its own line
+    // if the package manager can't be started (for example because the argument list is too long), each half of the files is retried on its own
+    // other failures, such as a timeout, would only repeat for every half, so they are not retried
+    public List<PackageDetails> getPackages(File workingDirectory, final ExecutableRunner executableRunner, final Set<File> unManagedDependencyFiles, final List<DependencyFileDetails> dependencyFiles) {
         final List<PackageDetails> dependencyDetailsList = new ArrayList<>(3);
         try {
             final List<String> fileSpecificGetOwnerArgs = new ArrayList<>(pkgMgrGetOwnerCmdArgs);
-            fileSpecificGetOwnerArgs.add(dependencyFile.getFile().getAbsolutePath());
+            for (final DependencyFileDetails dependencyFile : dependencyFiles) {
+                fileSpecificGetOwnerArgs.add(dependencyFile.getFile().getAbsolutePath());
+            }
             final ExecutableOutput queryPackageOutput = executableRunner.executeQuietly(workingDirectory, pkgMgrCmdString, fileSpecificGetOwnerArgs);
             logger.debug(String.format("queryPackageOutput: %s", queryPackageOutput));
             this.addToPackageList(executableRunner, workingDirectory, dependencyDetailsList, queryPackageOutput.getStandardOutput());
             return dependencyDetailsList;
         } catch (final ExecutableRunnerException e) {
+            if (dependencyFiles.size() > 1 && e.getCause() instanceof IOException) {
+                logger.debug(String.format("Error executing %s for %d files, retrying them in smaller batches: %s", pkgMgrCmdString, dependencyFiles.size(), e.getMessage()));
+                final int middle = dependencyFiles.size() / 2;
+                dependencyDetailsList.addAll(getPackages(workingDirectory, executableRunner, unManagedDependencyFiles, dependencyFiles.subList(0, middle)));
+                dependencyDetailsList.addAll(getPackages(workingDirectory, executableRunner, unManagedDependencyFiles, dependencyFiles.subList(middle, dependencyFiles.size())));
+                return dependencyDetailsList;
+            }
             logger.error(String.format("Error executing %s: %s", pkgMgrCmdString, e.getMessage()));
-            if (!dependencyFile.isInBuildDir()) {
-                logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
-                unManagedDependencyFiles.add(dependencyFile.getFile());
-            } else {
-                logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+            for (final DependencyFileDetails dependencyFile : dependencyFiles) {
+                if (!dependencyFile.isInBuildDir()) {
+                    logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+                    unManagedDependencyFiles.add(dependencyFile.getFile());
+                } else {
+                    logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+                }
             }
             return dependencyDetailsList;
         }
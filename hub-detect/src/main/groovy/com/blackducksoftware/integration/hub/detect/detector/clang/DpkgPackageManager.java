@@ -26,7 +26,9 @@ package com.blackducksoftware.integration.hub.detect.detector.clang;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +45,7 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
     private static final String WHO_OWNS_OPTION = "-S";
     private static final String GET_PKG_INFO_OPTION = "-s";
     private static final Logger logger = LoggerFactory.getLogger(DpkgPackageManager.class);
+    private final Map<String, Optional<String>> packageVersions = new ConcurrentHashMap<>();
 
     public DpkgPackageManager() {
         super(logger, PKG_MGR_NAME, PKG_MGR_NAME, Arrays.asList(Forge.UBUNTU, Forge.DEBIAN), VERSION_COMMAND_ARGS,
@@ -62,7 +65,7 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
             final String packageName = packageNameArchParts[0];
             final String packageArch = packageNameArchParts[1];
             logger.debug(String.format("package name: %s; arch: %s", packageName, packageArch));
-            final Optional<String> packageVersion = getPackageVersion(executableRunner, workingDirectory, packageName);
+            final Optional<String> packageVersion = getCachedPackageVersion(executableRunner, workingDirectory, packageName);
             final PackageDetails dependencyDetails = new PackageDetails(packageName, packageVersion.orElse(null), packageArch);
             dependencyDetailsList.add(dependencyDetails);
         }
@@ -77,6 +80,11 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
         return packageLine.matches(".+:.+: .+");
     }
 
+    // many files belong to the same few packages, so each package is only asked for its version once, even by batches running in parallel
+    private Optional<String> getCachedPackageVersion(final ExecutableRunner executableRunner, File workingDirectory, final String packageName) {
+        return packageVersions.computeIfAbsent(packageName, name -> getPackageVersion(executableRunner, workingDirectory, name));
+    }
+
     private Optional<String> getPackageVersion(final ExecutableRunner executableRunner, File workingDirectory, final String packageName) {
         try {
             final ExecutableOutput packageStatusOutput = executableRunner.executeQuietly(workingDirectory, PKG_MGR_NAME, GET_PKG_INFO_OPTION, packageName);
@@ -51,7 +51,7 @@ public class PodlockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        foundPodlock = fileFinder.findFile(environment.getDirectory(), PODFILE_LOCK_FILENAME);
+        foundPodlock = fileFinder.findFile(environment.getDirectoryIndex(), PODFILE_LOCK_FILENAME);
         if (foundPodlock == null) {
             return new FileNotFoundDetectorResult(PODFILE_LOCK_FILENAME);
         }
@@ -59,6 +59,11 @@ public class PodlockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.detector.cocoapods;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
@@ -43,13 +45,19 @@ public class PodlockExtractor {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final PodlockParser podlockParser;
     private final ExternalIdFactory externalIdFactory;
+    private final ExtractionCache extractionCache;
 
-    public PodlockExtractor(final PodlockParser podlockParser, final ExternalIdFactory externalIdFactory) {
+    public PodlockExtractor(final PodlockParser podlockParser, final ExternalIdFactory externalIdFactory, final ExtractionCache extractionCache) {
         this.podlockParser = podlockParser;
         this.externalIdFactory = externalIdFactory;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File podlock) {
+        return extractionCache.extract("podlock", directory, Collections.singletonList(podlock), Collections.emptyList(), () -> extractPodlock(directory, podlock));
+    }
+
+    private Extraction extractPodlock(final File directory, final File podlock) {
         String podLockText;
         try {
             logger.trace(String.format("Reading from the pod lock file %s", podlock.getAbsolutePath()));
@@ -57,7 +57,7 @@ public class CondaCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File ymlFile = fileFinder.findFile(environment.getDirectory(), ENVIRONEMNT_YML);
+        final File ymlFile = fileFinder.findFile(environment.getDirectoryIndex(), ENVIRONEMNT_YML);
         if (ymlFile == null) {
             return new FileNotFoundDetectorResult(ENVIRONEMNT_YML);
         }
@@ -65,6 +65,11 @@ public class CondaCliDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         condaExe = cacheableExecutableFinder.getExecutable(CacheableExecutableType.CONDA);
@@ -33,6 +33,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigur
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.conda.CondaListParser.CondaListLineParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
@@ -72,15 +73,15 @@ public class CondaCliExtractor {
                 condaListOptions.add(condaEnvironmentName);
             }
             condaListOptions.add("--json");
-            final Executable condaListExecutable = new Executable(directory, condaExe, condaListOptions);
-            final ExecutableOutput condaListOutput = executableRunner.execute(condaListExecutable);
-
-            final String listJsonText = condaListOutput.getStandardOutput();
 
             final ExecutableOutput condaInfoOutput = executableRunner.execute(workingDirectory, condaExe, "info", "--json");
             final String infoJsonText = condaInfoOutput.getStandardOutput();
 
-            final DependencyGraph dependencyGraph = condaListParser.parse(listJsonText, infoJsonText);
+            final CondaListLineParser lineParser = condaListParser.createListLineParser(infoJsonText);
+            final Executable condaListExecutable = new Executable(directory, condaExe, condaListOptions);
+            executableRunner.executeStreaming(condaListExecutable, lineParser);
+
+            final DependencyGraph dependencyGraph = lineParser.getGraph();
             final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.ANACONDA, directory.toString());
             final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.CONDA, directory.toString(), externalId, dependencyGraph).build();
 
@@ -26,8 +26,10 @@ package com.blackducksoftware.integration.hub.detect.detector.conda;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
@@ -62,6 +64,75 @@ public class CondaListParser {
         return graph;
     }
 
+    public CondaListLineParser createListLineParser(final String infoJsonText) {
+        final CondaInfo condaInfo = gson.fromJson(infoJsonText, CondaInfo.class);
+        return new CondaListLineParser(condaInfo.platform);
+    }
+
+    /**
+     * Parses the json array written by conda list --json one line at a time, so it can be fed from the running process.
+     * Each element of the array is collected on its own and bound as soon as its closing brace is read, so the whole array is never held as text.
+     */
+    public class CondaListLineParser implements Consumer<String> {
+        private final String platform;
+        private final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        private final StringBuilder elementText = new StringBuilder();
+        private boolean inArray = false;
+        private int depth = 0;
+        private boolean inString = false;
+        private boolean escaped = false;
+
+        private CondaListLineParser(final String platform) {
+            this.platform = platform;
+        }
+
+        @Override
+        public void accept(final String line) {
+            for (final char character : line.toCharArray()) {
+                if (depth > 0) {
+                    elementText.append(character);
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (character == '\\') {
+                        escaped = true;
+                    } else if (character == '"') {
+                        inString = false;
+                    }
+                } else if (character == '"') {
+                    inString = true;
+                } else if (character == '{') {
+                    if (depth == 0) {
+                        if (!inArray) {
+                            throw new JsonSyntaxException("Expected the conda list to be a json array but found: " + line);
+                        }
+                        elementText.setLength(0);
+                        elementText.append(character);
+                    }
+                    depth++;
+                } else if (character == '}') {
+                    depth--;
+                    if (depth == 0) {
+                        final CondaListElement condaListElement = gson.fromJson(elementText.toString(), CondaListElement.class);
+                        graph.addChildToRoot(condaListElementToDependency(platform, condaListElement));
+                    }
+                } else if (depth == 0 && character == '[') {
+                    inArray = true;
+                } else if (depth == 0 && character == ']') {
+                    inArray = false;
+                }
+            }
+            if (depth > 0) {
+                elementText.append('\n');
+            }
+        }
+
+        public DependencyGraph getGraph() {
+            return graph;
+        }
+    }
+
     public Dependency condaListElementToDependency(final String platform, final CondaListElement element) {
         final String name = element.name;
         final String version = String.format("%s-%s-%s", element.version, element.buildString, platform);
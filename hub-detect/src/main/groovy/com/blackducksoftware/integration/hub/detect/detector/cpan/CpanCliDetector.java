@@ -58,7 +58,7 @@ public class CpanCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File makeFile = fileFinder.findFile(environment.getDirectory(), MAKEFILE);
+        final File makeFile = fileFinder.findFile(environment.getDirectoryIndex(), MAKEFILE);
         if (makeFile == null) {
             return new FileNotFoundDetectorResult(MAKEFILE);
         }
@@ -66,6 +66,11 @@ public class CpanCliDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         final File cpan = cacheableExecutableFinder.getExecutable(CacheableExecutableType.CPAN);
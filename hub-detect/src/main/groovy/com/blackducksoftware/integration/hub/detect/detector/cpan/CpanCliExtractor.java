@@ -24,9 +24,13 @@
 package com.blackducksoftware.integration.hub.detect.detector.cpan;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
@@ -55,13 +59,14 @@ public class CpanCliExtractor {
         try {
             File workingDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
 
-            final ExecutableOutput cpanListOutput = executableRunner.execute(workingDirectory, cpanExe, "-l");
-            final List<String> listText = cpanListOutput.getStandardOutputAsList();
+            final Map<String, String> nameVersionMap = new HashMap<>();
+            final Executable cpanListExecutable = new Executable(workingDirectory, cpanExe, Arrays.asList("-l"));
+            executableRunner.executeStreaming(cpanListExecutable, line -> cpanListParser.addNameVersion(nameVersionMap, line));
 
             final ExecutableOutput showdepsOutput = executableRunner.execute(workingDirectory, cpanmExe, "--showdeps", ".");
             final List<String> showdeps = showdepsOutput.getStandardOutputAsList();
 
-            final DependencyGraph dependencyGraph = cpanListParser.parse(listText, showdeps);
+            final DependencyGraph dependencyGraph = cpanListParser.parse(nameVersionMap, showdeps);
             final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.CPAN, directory.toString());
             final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.CPAN, directory.toString(), externalId, dependencyGraph).build();
             return new Extraction.Builder().success(detectCodeLocation).build();
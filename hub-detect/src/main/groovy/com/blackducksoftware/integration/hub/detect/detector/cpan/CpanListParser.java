@@ -50,7 +50,10 @@ public class CpanListParser {
     }
 
     public DependencyGraph parse(final List<String> cpanListText, final List<String> directDependenciesText) {
-        final Map<String, String> nameVersionMap = createNameVersionMap(cpanListText);
+        return parse(createNameVersionMap(cpanListText), directDependenciesText);
+    }
+
+    public DependencyGraph parse(final Map<String, String> nameVersionMap, final List<String> directDependenciesText) {
         final List<String> directModuleNames = getDirectModuleNames(directDependenciesText);
 
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
@@ -73,25 +76,32 @@ public class CpanListParser {
         final Map<String, String> nameVersionMap = new HashMap<>();
 
         for (final String line : listText) {
-            if (StringUtils.isBlank(line)) {
-                continue;
-            }
+            addNameVersion(nameVersionMap, line);
+        }
 
-            if (StringUtils.countMatches(line, "\t") != 1 || line.trim().contains(" ")) {
-                continue;
-            }
+        return nameVersionMap;
+    }
 
-            try {
-                final String[] module = line.trim().split("\t");
-                final String name = module[0].trim();
-                final String version = module[1].trim();
-                nameVersionMap.put(name, version);
-            } catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
-                logger.debug(String.format("Failed to handle the following line:%s", line));
-            }
+    /**
+     * Adds a single line of cpan -l output to the name version map, so the map can be filled from the running process.
+     */
+    public void addNameVersion(final Map<String, String> nameVersionMap, final String line) {
+        if (StringUtils.isBlank(line)) {
+            return;
         }
 
-        return nameVersionMap;
+        if (StringUtils.countMatches(line, "\t") != 1 || line.trim().contains(" ")) {
+            return;
+        }
+
+        try {
+            final String[] module = line.trim().split("\t");
+            final String name = module[0].trim();
+            final String version = module[1].trim();
+            nameVersionMap.put(name, version);
+        } catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+            logger.debug(String.format("Failed to handle the following line:%s", line));
+        }
     }
 
     List<String> getDirectModuleNames(final List<String> directDependenciesText) {
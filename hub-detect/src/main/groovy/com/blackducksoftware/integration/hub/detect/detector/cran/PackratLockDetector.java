@@ -51,7 +51,7 @@ public class PackratLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        packratlock = fileFinder.findFile(environment.getDirectory(), PACKRATLOCK_FILE_NAME);
+        packratlock = fileFinder.findFile(environment.getDirectoryIndex(), PACKRATLOCK_FILE_NAME);
         if (packratlock == null) {
             return new FileNotFoundDetectorResult(PACKRATLOCK_FILE_NAME);
         }
@@ -59,6 +59,11 @@ public class PackratLockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
@@ -26,6 +26,8 @@ package com.blackducksoftware.integration.hub.detect.detector.cran;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -46,14 +49,20 @@ public class PackratLockExtractor {
     private final PackratPackager packratPackager;
     private final ExternalIdFactory externalIdFactory;
     private final DetectFileFinder detectFileFinder;
+    private final ExtractionCache extractionCache;
 
-    public PackratLockExtractor(final PackratPackager packratPackager, final ExternalIdFactory externalIdFactory, final DetectFileFinder detectFileFinder) {
+    public PackratLockExtractor(final PackratPackager packratPackager, final ExternalIdFactory externalIdFactory, final DetectFileFinder detectFileFinder, final ExtractionCache extractionCache) {
         this.packratPackager = packratPackager;
         this.externalIdFactory = externalIdFactory;
         this.detectFileFinder = detectFileFinder;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File packratlock) {
+        return extractionCache.extract("packrat lock", directory, Arrays.asList(packratlock, new File(directory, "DESCRIPTION")), Collections.emptyList(), () -> extractPackratLock(directory, packratlock));
+    }
+
+    private Extraction extractPackratLock(final File directory, final File packratlock) {
         try {
             String projectName = "";
             String projectVersion = "";
@@ -63,7 +63,7 @@ public class GoCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final List<File> found = fileFinder.findFiles(environment.getDirectory(), GOFILE_FILENAME_PATTERN);
+        final List<File> found = fileFinder.findFiles(environment.getDirectoryIndex(), GOFILE_FILENAME_PATTERN);
         if (found == null || found.size() == 0) {
             return new FileNotFoundDetectorResult(GOFILE_FILENAME_PATTERN);
         }
@@ -71,6 +71,11 @@ public class GoCliDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         goExe = cacheableExecutableFinder.getExecutable(CacheableExecutableType.GO);
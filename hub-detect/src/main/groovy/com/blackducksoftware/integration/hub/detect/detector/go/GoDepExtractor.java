@@ -24,10 +24,12 @@
 package com.blackducksoftware.integration.hub.detect.detector.go;
 
 import java.io.File;
+import java.util.Collections;
 
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -37,13 +39,24 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 public class GoDepExtractor {
     private final DepPackager depPackager;
     private final ExternalIdFactory externalIdFactory;
+    private final ExtractionCache extractionCache;
 
-    public GoDepExtractor(final DepPackager depPackager, final ExternalIdFactory externalIdFactory) {
+    public GoDepExtractor(final DepPackager depPackager, final ExternalIdFactory externalIdFactory, final ExtractionCache extractionCache) {
         this.depPackager = depPackager;
         this.externalIdFactory = externalIdFactory;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File goExe, final String goDepInspector) {
+        // without a Gopkg.lock the result comes from running dep, which is not a function of the files
+        final File gopkgLock = new File(directory, "Gopkg.lock");
+        if (!gopkgLock.isFile()) {
+            return extractDependencies(directory, goDepInspector);
+        }
+        return extractionCache.extract("go dep", directory, Collections.singletonList(gopkgLock), Collections.emptyList(), () -> extractDependencies(directory, goDepInspector));
+    }
+
+    private Extraction extractDependencies(final File directory, final String goDepInspector) {
         try {
             DependencyGraph graph = depPackager.makeDependencyGraph(directory.toString(), goDepInspector);
             if (graph == null) {
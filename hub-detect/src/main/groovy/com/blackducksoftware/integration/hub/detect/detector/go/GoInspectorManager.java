@@ -60,10 +60,11 @@ public class GoInspectorManager {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public String evaluate() throws DetectorException {
+    public synchronized String evaluate() throws DetectorException {
         try {
             if (!hasResolvedInspector) {
                 resolvedGoDep = install();
+                hasResolvedInspector = StringUtils.isNotBlank(resolvedGoDep);
             }
 
             return resolvedGoDep;
@@ -62,7 +62,7 @@ public class GoLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File lock = fileFinder.findFile(environment.getDirectory(), GOPKG_LOCK_FILENAME);
+        final File lock = fileFinder.findFile(environment.getDirectoryIndex(), GOPKG_LOCK_FILENAME);
         if (lock == null) {
             return new FileNotFoundDetectorResult(GOPKG_LOCK_FILENAME);
         }
@@ -70,6 +70,11 @@ public class GoLockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         goExe = cacheableExecutableFinder.getExecutable(CacheableExecutableType.GO);
@@ -51,7 +51,7 @@ public class GoVndrDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        vndrConfig = fileFinder.findFile(environment.getDirectory(), VNDR_CONF_FILENAME);
+        vndrConfig = fileFinder.findFile(environment.getDirectoryIndex(), VNDR_CONF_FILENAME);
         if (vndrConfig == null) {
             return new FileNotFoundDetectorResult(VNDR_CONF_FILENAME);
         }
@@ -59,6 +59,11 @@ public class GoVndrDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
@@ -0,0 +1,101 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+
+/**
+ * Lets every gradle extraction in a run share a daemon, one per gradle version. The daemons are registered in a directory owned by this run,
+ * so they are never reused by other builds and stopping them leaves the user's own daemons running.
+ */
+public class GradleDaemonManager {
+    private static final String DAEMON_REGISTRY_PROPERTY = "org.gradle.daemon.registry.base";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ExecutableRunner executableRunner;
+    private final boolean reuseDaemon;
+    private final File daemonRegistryDirectory;
+    private final Map<String, File> usedGradleExecutables = new ConcurrentHashMap<>();
+
+    public GradleDaemonManager(final ExecutableRunner executableRunner, final EventSystem eventSystem, final boolean reuseDaemon, final File daemonRegistryDirectory) {
+        this.executableRunner = executableRunner;
+        this.reuseDaemon = reuseDaemon;
+        this.daemonRegistryDirectory = daemonRegistryDirectory;
+
+        if (reuseDaemon) {
+            eventSystem.registerListener(Event.DetectorsComplete, event -> stopDaemons());
+            // a run that fails before the detectors are complete still stops its daemons
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stopDaemons, "gradle-daemon-stop"));
+        }
+    }
+
+    public List<String> getDaemonArguments(final File directory, final String gradleExe) {
+        if (!reuseDaemon) {
+            return Collections.emptyList();
+        }
+        usedGradleExecutables.putIfAbsent(gradleExe, directory);
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("--daemon");
+        arguments.add(createRegistryArgument());
+        return arguments;
+    }
+
+    public synchronized void stopDaemons() {
+        for (final Map.Entry<String, File> usedGradleExecutable : usedGradleExecutables.entrySet()) {
+            final List<String> arguments = new ArrayList<>();
+            arguments.add("--stop");
+            arguments.add(createRegistryArgument());
+            try {
+                final ExecutableOutput output = executableRunner.executeQuietly(new Executable(usedGradleExecutable.getValue(), usedGradleExecutable.getKey(), arguments));
+                if (output.getReturnCode() != 0) {
+                    logger.debug(String.format("Stopping the gradle daemon for %s returned a non-zero exit code: %d", usedGradleExecutable.getKey(), output.getReturnCode()));
+                }
+            } catch (final ExecutableRunnerException e) {
+                logger.debug(String.format("Unable to stop the gradle daemon for %s: %s", usedGradleExecutable.getKey(), e.getMessage()));
+            }
+        }
+        usedGradleExecutables.clear();
+    }
+
+    private String createRegistryArgument() {
+        return String.format("-D%s=%s", DAEMON_REGISTRY_PROPERTY, daemonRegistryDirectory.getAbsolutePath());
+    }
+
+}
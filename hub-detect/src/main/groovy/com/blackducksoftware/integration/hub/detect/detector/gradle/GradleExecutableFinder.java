@@ -44,7 +44,7 @@ public class GradleExecutableFinder {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public String findGradle(final DetectorEnvironment environment) {
+    public synchronized String findGradle(final DetectorEnvironment environment) {
         String resolvedGradle = null;
         final String userProvidedGradlePath = detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_PATH, PropertyAuthority.None);
         final String gradlePath = executableFinder.getExecutablePathOrOverride(ExecutableType.GRADLEW, false, environment.getDirectory(), userProvidedGradlePath);
@@ -64,7 +64,7 @@ public class GradleInspectorDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File buildGradle = fileFinder.findFile(environment.getDirectory(), BUILD_GRADLE_FILENAME);
+        final File buildGradle = fileFinder.findFile(environment.getDirectoryIndex(), BUILD_GRADLE_FILENAME);
         if (buildGradle == null) {
             return new FileNotFoundDetectorResult(BUILD_GRADLE_FILENAME);
         }
@@ -72,6 +72,11 @@ public class GradleInspectorDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         gradleExe = gradleFinder.findGradle(environment);
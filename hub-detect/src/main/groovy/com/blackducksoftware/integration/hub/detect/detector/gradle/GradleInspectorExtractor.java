@@ -28,6 +28,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -51,13 +57,19 @@ public class GradleInspectorExtractor {
     private final DetectFileFinder detectFileFinder;
     private final GradleReportParser gradleReportParser;
     private final DetectConfiguration detectConfiguration;
+    private final GradleDaemonManager gradleDaemonManager;
+    private final int parallelProcessors;
+    // shared by every gradle extraction, so extractions running side by side do not multiply the parse threads
+    private ExecutorService reportExecutor;
 
     public GradleInspectorExtractor(final ExecutableRunner executableRunner, final DetectFileFinder detectFileFinder,
-        final GradleReportParser gradleReportParser, final DetectConfiguration detectConfiguration) {
+        final GradleReportParser gradleReportParser, final DetectConfiguration detectConfiguration, final GradleDaemonManager gradleDaemonManager, final int parallelProcessors) {
         this.executableRunner = executableRunner;
         this.detectFileFinder = detectFileFinder;
         this.gradleReportParser = gradleReportParser;
         this.detectConfiguration = detectConfiguration;
+        this.gradleDaemonManager = gradleDaemonManager;
+        this.parallelProcessors = parallelProcessors;
     }
 
     public Extraction extract(final File directory, final String gradleExe, final String gradleInspector, final File outputDirectory) {
@@ -73,6 +85,7 @@ public class GradleInspectorExtractor {
             arguments.add(String.format("--init-script=%s", gradleInspector));
             arguments.add(String.format("-DGRADLEEXTRACTIONDIR=%s", outputDirectory.getCanonicalPath()));
             arguments.add("--info");
+            arguments.addAll(gradleDaemonManager.getDaemonArguments(directory, gradleExe));
 
             final Executable executable = new Executable(directory, gradleExe, arguments);
             final ExecutableOutput output = executableRunner.execute(executable);
@@ -85,8 +98,9 @@ public class GradleInspectorExtractor {
                 String projectName = null;
                 String projectVersion = null;
                 if (codeLocationFiles != null) {
-                    codeLocationFiles.stream()
-                        .map(codeLocationFile -> gradleReportParser.parseDependencies(codeLocationFile))
+                    // sorted so the code locations come out in the same order on every run
+                    final List<File> sortedCodeLocationFiles = codeLocationFiles.stream().sorted().collect(Collectors.toList());
+                    parseReports(sortedCodeLocationFiles).stream()
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .forEach(codeLocations::add);
@@ -110,4 +124,36 @@ public class GradleInspectorExtractor {
         }
     }
 
+    // the results are returned in the order of the report files, however long each one takes to parse
+    List<Optional<DetectCodeLocation>> parseReports(final List<File> codeLocationFiles) throws InterruptedException, ExecutionException {
+        final int reportProcessors = Math.max(Math.min(parallelProcessors, codeLocationFiles.size()), 1);
+        if (reportProcessors == 1) {
+            return codeLocationFiles.stream()
+                       .map(gradleReportParser::parseDependencies)
+                       .collect(Collectors.toList());
+        }
+
+        logger.debug(String.format("Parsing %d gradle reports, up to %d at a time.", codeLocationFiles.size(), reportProcessors));
+        final List<Callable<Optional<DetectCodeLocation>>> parses = codeLocationFiles.stream()
+                                                                        .map(codeLocationFile -> (Callable<Optional<DetectCodeLocation>>) () -> gradleReportParser.parseDependencies(codeLocationFile))
+                                                                        .collect(Collectors.toList());
+        final List<Optional<DetectCodeLocation>> codeLocations = new ArrayList<>();
+        for (final Future<Optional<DetectCodeLocation>> parse : getReportExecutor().invokeAll(parses)) {
+            codeLocations.add(parse.get());
+        }
+        return codeLocations;
+    }
+
+    // the threads are daemons, so the idle pool never keeps detect from exiting
+    private synchronized ExecutorService getReportExecutor() {
+        if (reportExecutor == null) {
+            reportExecutor = Executors.newFixedThreadPool(parallelProcessors, runnable -> {
+                final Thread thread = new Thread(runnable, "gradle-report-parser");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return reportExecutor;
+    }
+
 }
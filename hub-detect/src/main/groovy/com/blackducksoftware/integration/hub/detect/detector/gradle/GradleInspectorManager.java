@@ -25,8 +25,11 @@ package com.blackducksoftware.integration.hub.detect.detector.gradle;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +49,8 @@ import freemarker.template.Configuration;
 
 public class GradleInspectorManager {
     private static final String GRADLE_DIR_NAME = "gradle";
-    private static final String GENERATED_GRADLE_SCRIPT_NAME = "init-detect.gradle";
+    private static final String RESOLVED_VERSION_FILE_NAME = "resolved-inspector-version.txt";
+    private static final long RESOLVED_VERSION_MAX_AGE_MS = TimeUnit.HOURS.toMillis(24);
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final DirectoryManager directoryManager;
@@ -67,23 +71,24 @@ public class GradleInspectorManager {
         this.artifactResolver = artifactResolver;
     }
 
-    public String getGradleInspector() throws DetectorException {
+    public synchronized String getGradleInspector() throws DetectorException {
         if (!hasResolvedInspector) {
             hasResolvedInspector = true;
             try {
                 final File airGapPath = deriveGradleAirGapDir();
-                final File generatedGradleScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_SCRIPT_NAME);
+                // generated scripts are kept across runs, each one is named after its template and inspector version
+                final File gradleScriptDirectory = directoryManager.getPermanentDirectory(GRADLE_DIR_NAME);
                 GradleScriptCreator gradleScriptCreator = new GradleScriptCreator(detectConfiguration, configuration);
                 if (airGapPath == null) {
-                    Optional<String> version = findVersion();
+                    Optional<String> version = findVersion(gradleScriptDirectory);
                     if (version.isPresent()) {
                         logger.info("Resolved the gradle inspector version: " + version.get());
-                        generatedGradleScriptPath = gradleScriptCreator.generateOnlineScript(generatedGradleScriptFile, version.get());
+                        generatedGradleScriptPath = gradleScriptCreator.generateOnlineScript(gradleScriptDirectory, version.get());
                     } else {
                         throw new DetectorException("Unable to find the gradle inspector version from artifactory.");
                     }
                 } else {
-                    generatedGradleScriptPath = gradleScriptCreator.generateAirGapScript(generatedGradleScriptFile, airGapPath.getCanonicalPath());
+                    generatedGradleScriptPath = gradleScriptCreator.generateAirGapScript(gradleScriptDirectory, airGapPath.getCanonicalPath());
                 }
             } catch (final Exception e) {
                 throw new DetectorException(e);
@@ -116,9 +121,31 @@ public class GradleInspectorManager {
         return gradleInspectorAirGapDirectory;
     }
 
-    private Optional<String> findVersion() throws IntegrationException, DetectUserFriendlyException, IOException {
+    // the latest version found in artifactory is remembered for a day, so most runs do not need to ask for it
+    Optional<String> findVersion(final File gradleScriptDirectory) throws IntegrationException, DetectUserFriendlyException, IOException {
         String gradleVersion = detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION, PropertyAuthority.None);
-        return artifactResolver.resolveArtifactVersion(ArtifactoryConstants.ARTIFACTORY_URL, ArtifactoryConstants.GRADLE_INSPECTOR_REPO, ArtifactoryConstants.GRADLE_INSPECTOR_PROPERTY, gradleVersion);
+        if (StringUtils.isNotBlank(gradleVersion)) {
+            return artifactResolver.resolveArtifactVersion(ArtifactoryConstants.ARTIFACTORY_URL, ArtifactoryConstants.GRADLE_INSPECTOR_REPO, ArtifactoryConstants.GRADLE_INSPECTOR_PROPERTY, gradleVersion);
+        }
+
+        final File resolvedVersionFile = new File(gradleScriptDirectory, RESOLVED_VERSION_FILE_NAME);
+        if (resolvedVersionFile.isFile() && System.currentTimeMillis() - resolvedVersionFile.lastModified() < RESOLVED_VERSION_MAX_AGE_MS) {
+            final String resolvedVersion = FileUtils.readFileToString(resolvedVersionFile, StandardCharsets.UTF_8).trim();
+            if (StringUtils.isNotBlank(resolvedVersion)) {
+                logger.debug("Using the gradle inspector version resolved by a previous run: " + resolvedVersion);
+                return Optional.of(resolvedVersion);
+            }
+        }
+
+        final Optional<String> resolvedVersion = artifactResolver.resolveArtifactVersion(ArtifactoryConstants.ARTIFACTORY_URL, ArtifactoryConstants.GRADLE_INSPECTOR_REPO, ArtifactoryConstants.GRADLE_INSPECTOR_PROPERTY, gradleVersion);
+        if (resolvedVersion.isPresent()) {
+            try {
+                FileUtils.writeStringToFile(resolvedVersionFile, resolvedVersion.get(), StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                logger.debug("Unable to remember the resolved gradle inspector version: " + e.getMessage());
+            }
+        }
+        return resolvedVersion;
     }
 
 }
@@ -59,12 +59,13 @@ public class GradleReportParser {
 
     private final ExternalIdFactory externalIdFactory;
 
-    private GradleReportConfigurationParser gradleReportConfigurationParser = new GradleReportConfigurationParser();
-
     public GradleReportParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
+    /**
+     * Safe to call for several files at the same time, all parsing state is local to the call.
+     */
     public Optional<DetectCodeLocation> parseDependencies(final File codeLocationFile) {
         DetectCodeLocation codeLocation = null;
         String projectSourcePath = "";
@@ -74,6 +75,7 @@ public class GradleReportParser {
         boolean processingMetaData = false;
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
         final DependencyHistory history = new DependencyHistory();
+        GradleReportConfigurationParser gradleReportConfigurationParser = new GradleReportConfigurationParser();
 
         try (FileInputStream dependenciesInputStream = new FileInputStream(codeLocationFile); BufferedReader reader = new BufferedReader(new InputStreamReader(dependenciesInputStream, StandardCharsets.UTF_8));) {
             while (reader.ready()) {
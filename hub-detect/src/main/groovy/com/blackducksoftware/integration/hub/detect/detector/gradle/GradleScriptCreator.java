@@ -24,11 +24,17 @@
 package com.blackducksoftware.integration.hub.detect.detector.gradle;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
@@ -48,6 +54,9 @@ public class GradleScriptCreator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private static final String GRADLE_SCRIPT_TEMPLATE_FILENAME = "init-script-gradle.ftl";
+    private static final String GENERATED_GRADLE_SCRIPT_PREFIX = "init-detect-";
+    private static final String GENERATED_GRADLE_SCRIPT_SUFFIX = ".gradle";
+    private static final long UNUSED_SCRIPT_MAX_AGE_MS = TimeUnit.DAYS.toMillis(30);
 
     private DetectConfiguration detectConfiguration;
     private Configuration configuration;
@@ -58,18 +67,18 @@ public class GradleScriptCreator {
         this.configuration = configuration;
     }
 
-    public String generateAirGapScript(File scriptFile, String airGapLibs) throws IOException, TemplateException {
-        return generateGradleScript(scriptFile, airGapLibs, null);
+    public String generateAirGapScript(File scriptDirectory, String airGapLibs) throws IOException, TemplateException {
+        return generateGradleScript(scriptDirectory, airGapLibs, null);
     }
 
-    public String generateOnlineScript(File scriptFile, String inspectorVersion) throws IOException, TemplateException {
-        return generateGradleScript(scriptFile, null, inspectorVersion);
+    public String generateOnlineScript(File scriptDirectory, String inspectorVersion) throws IOException, TemplateException {
+        return generateGradleScript(scriptDirectory, null, inspectorVersion);
     }
 
     //You must provide EITHER an airGapLibs OR an inspectorVersion.
-    private String generateGradleScript(File scriptFile, String airGapLibs, String inspectorVersion) throws IOException, TemplateException {
-        logger.debug("Generating the gradle script file.");
-        final Map<String, String> gradleScriptData = new HashMap<>();
+    //The script is named after a hash of the template and its data, so a script rendered by an earlier run with the same inputs is used as is.
+    private String generateGradleScript(File scriptDirectory, String airGapLibs, String inspectorVersion) throws IOException, TemplateException {
+        final Map<String, String> gradleScriptData = new TreeMap<>();
         gradleScriptData.put("airGapLibsPath", StringEscapeUtils.escapeJava(airGapLibs));
         gradleScriptData.put("gradleInspectorVersion", StringEscapeUtils.escapeJava(inspectorVersion));
         gradleScriptData.put("excludedProjectNames", detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_EXCLUDED_PROJECTS, PropertyAuthority.None));
@@ -84,15 +93,73 @@ public class GradleScriptCreator {
         }
         gradleScriptData.put("customRepositoryUrl", customRepository);
 
-        populateGradleScriptWithData(scriptFile, gradleScriptData);
-        logger.trace(String.format("Successfully created gradle script: %s", scriptFile.getCanonicalPath()));
+        final Template gradleScriptTemplate = configuration.getTemplate(GRADLE_SCRIPT_TEMPLATE_FILENAME);
+        final File scriptFile = new File(scriptDirectory, GENERATED_GRADLE_SCRIPT_PREFIX + createScriptKey(gradleScriptTemplate, gradleScriptData) + GENERATED_GRADLE_SCRIPT_SUFFIX);
+        if (scriptFile.isFile()) {
+            logger.debug(String.format("Using the previously generated gradle script: %s", scriptFile.getCanonicalPath()));
+            // touched on every use, so only scripts that no run has used for a while are pruned
+            scriptFile.setLastModified(System.currentTimeMillis());
+        } else {
+            logger.debug("Generating the gradle script file.");
+            populateGradleScriptWithData(scriptFile, gradleScriptTemplate, gradleScriptData);
+            logger.trace(String.format("Successfully created gradle script: %s", scriptFile.getCanonicalPath()));
+        }
+        pruneUnusedScripts(scriptDirectory, scriptFile);
         return scriptFile.getCanonicalPath();
     }
 
-    private void populateGradleScriptWithData(File generatedGradleScriptFile, Map<String, String> gradleScriptData) throws IOException, TemplateException {
-        final Template gradleScriptTemplate = configuration.getTemplate(GRADLE_SCRIPT_TEMPLATE_FILENAME);
-        try (final Writer fileWriter = new FileWriter(generatedGradleScriptFile)) {
-            gradleScriptTemplate.process(gradleScriptData, fileWriter);
+    // a new script is kept whenever the template, inspector version or gradle properties change, so the old ones would otherwise pile up
+    private void pruneUnusedScripts(File scriptDirectory, File currentScriptFile) {
+        final File[] scriptFiles = scriptDirectory.listFiles((directory, name) -> name.startsWith(GENERATED_GRADLE_SCRIPT_PREFIX) && name.endsWith(GENERATED_GRADLE_SCRIPT_SUFFIX));
+        if (scriptFiles == null) {
+            return;
+        }
+        final long oldestUse = System.currentTimeMillis() - UNUSED_SCRIPT_MAX_AGE_MS;
+        for (final File scriptFile : scriptFiles) {
+            if (!scriptFile.equals(currentScriptFile) && scriptFile.lastModified() < oldestUse) {
+                if (scriptFile.delete()) {
+                    logger.debug(String.format("Removed the unused gradle script: %s", scriptFile.getAbsolutePath()));
+                } else {
+                    logger.debug(String.format("Unable to remove the unused gradle script: %s", scriptFile.getAbsolutePath()));
+                }
+            }
+        }
+    }
+
+    // written next to the script and moved into place, so a concurrent run never sees a partly written script
+    private void populateGradleScriptWithData(File generatedGradleScriptFile, Template gradleScriptTemplate, Map<String, String> gradleScriptData) throws IOException, TemplateException {
+        createScriptDirectory(generatedGradleScriptFile.getParentFile());
+        final File temporaryScriptFile = File.createTempFile(GENERATED_GRADLE_SCRIPT_PREFIX, ".tmp", generatedGradleScriptFile.getParentFile());
+        try {
+            try (final Writer fileWriter = Files.newBufferedWriter(temporaryScriptFile.toPath(), StandardCharsets.UTF_8)) {
+                gradleScriptTemplate.process(gradleScriptData, fileWriter);
+            }
+            Files.move(temporaryScriptFile.toPath(), generatedGradleScriptFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryScriptFile.toPath());
+        }
+    }
+
+    private void createScriptDirectory(File scriptDirectory) throws IOException {
+        if (!scriptDirectory.isDirectory() && !scriptDirectory.mkdirs()) {
+            throw new IOException("Unable to create the gradle script directory: " + scriptDirectory.getAbsolutePath());
+        }
+    }
+
+    private String createScriptKey(Template gradleScriptTemplate, Map<String, String> gradleScriptData) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(gradleScriptTemplate.toString().getBytes(StandardCharsets.UTF_8));
+            for (final Map.Entry<String, String> entry : gradleScriptData.entrySet()) {
+                digest.update((entry.getKey() + "=" + entry.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            final StringBuilder key = new StringBuilder();
+            for (final byte keyByte : digest.digest()) {
+                key.append(String.format("%02x", keyByte));
+            }
+            return key.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            return Integer.toHexString(Objects.hash(gradleScriptTemplate.toString(), gradleScriptData));
         }
     }
 }
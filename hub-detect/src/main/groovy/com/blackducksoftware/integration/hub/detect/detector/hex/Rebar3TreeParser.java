@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.hex;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,13 +58,32 @@ public class Rebar3TreeParser {
     }
 
     public RebarParseResult parseRebarTreeOutput(final List<String> dependencyTreeOutput, final String sourcePath) {
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
-        final DependencyHistory history = new DependencyHistory();
-        Dependency project = null;
+        final RebarTreeLineParser lineParser = createLineParser(sourcePath);
+        dependencyTreeOutput.forEach(lineParser);
+        return lineParser.finish();
+    }
+
+    public RebarTreeLineParser createLineParser(final String sourcePath) {
+        return new RebarTreeLineParser(sourcePath);
+    }
+
+    /**
+     * Parses the output of rebar3 tree one line at a time, so it can be fed from the running process.
+     */
+    public class RebarTreeLineParser implements Consumer<String> {
+        private final String sourcePath;
+        private final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        private final DependencyHistory history = new DependencyHistory();
+        private Dependency project = null;
+
+        private RebarTreeLineParser(final String sourcePath) {
+            this.sourcePath = sourcePath;
+        }
 
-        for (final String line : dependencyTreeOutput) {
+        @Override
+        public void accept(final String line) {
             if (!line.contains(HORIZONTAL_SEPARATOR_CHARACTER)) {
-                continue;
+                return;
             }
 
             final Dependency currentDependency = createDependencyFromLine(line);
@@ -87,14 +107,16 @@ public class Rebar3TreeParser {
             history.add(currentDependency);
         }
 
-        if (project == null) {
-            final ExternalId projectExternalId = externalIdFactory.createPathExternalId(Forge.HEX, sourcePath);
-            project = new Dependency("", "", projectExternalId);
-        }
+        public RebarParseResult finish() {
+            if (project == null) {
+                final ExternalId projectExternalId = externalIdFactory.createPathExternalId(Forge.HEX, sourcePath);
+                project = new Dependency("", "", projectExternalId);
+            }
 
-        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.HEX, project.name, project.version);
-        final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.HEX, sourcePath, externalId, graph).build();
-        return new RebarParseResult(project.name, project.version, codeLocation);
+            final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.HEX, project.name, project.version);
+            final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.HEX, sourcePath, externalId, graph).build();
+            return new RebarParseResult(project.name, project.version, codeLocation);
+        }
     }
 
     protected Dependency createDependencyFromLine(final String line) {
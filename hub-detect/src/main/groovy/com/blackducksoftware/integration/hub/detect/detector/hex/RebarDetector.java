@@ -57,7 +57,7 @@ public class RebarDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File rebar = fileFinder.findFile(environment.getDirectory(), REBAR_CONFIG);
+        final File rebar = fileFinder.findFile(environment.getDirectoryIndex(), REBAR_CONFIG);
         if (rebar == null) {
             return new FileNotFoundDetectorResult(REBAR_CONFIG);
         }
@@ -65,6 +65,11 @@ public class RebarDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         rebarExe = cacheableExecutableFinder.getExecutable(CacheableExecutableType.REBAR3);
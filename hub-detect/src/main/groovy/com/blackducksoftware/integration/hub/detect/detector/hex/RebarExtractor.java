@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.blackducksoftware.integration.hub.detect.detector.hex.Rebar3TreeParser.RebarTreeLineParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
@@ -54,8 +55,9 @@ public class RebarExtractor {
             arguments.add("tree");
 
             final Executable rebar3TreeExe = new Executable(directory, envVars, rebarExe.toString(), arguments);
-            final List<String> output = executableRunner.execute(rebar3TreeExe).getStandardOutputAsList();
-            final RebarParseResult parseResult = rebarTreeParser.parseRebarTreeOutput(output, directory.toString());
+            final RebarTreeLineParser lineParser = rebarTreeParser.createLineParser(directory.toString());
+            executableRunner.executeStreaming(rebar3TreeExe, lineParser);
+            final RebarParseResult parseResult = lineParser.finish();
 
             codeLocations.add(parseResult.getCodeLocation());
 
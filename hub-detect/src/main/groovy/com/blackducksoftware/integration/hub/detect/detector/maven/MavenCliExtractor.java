@@ -24,32 +24,47 @@
 package com.blackducksoftware.integration.hub.detect.detector.maven;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCodeLocationPackager.MavenOutputLineParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 
 public class MavenCliExtractor {
+    private static final String TREE_OUTPUT_FILE_PREFIX = "detect-dependency-tree-";
+
     private final ExecutableRunner executableRunner;
     private final MavenCodeLocationPackager mavenCodeLocationPackager;
     private final DetectConfiguration detectConfiguration;
+    private final DetectFileFinder detectFileFinder;
 
-    public MavenCliExtractor(final ExecutableRunner executableRunner, final MavenCodeLocationPackager mavenCodeLocationPackager, final DetectConfiguration detectConfiguration) {
+    public MavenCliExtractor(final ExecutableRunner executableRunner, final MavenCodeLocationPackager mavenCodeLocationPackager, final DetectConfiguration detectConfiguration, final DetectFileFinder detectFileFinder) {
         this.executableRunner = executableRunner;
         this.mavenCodeLocationPackager = mavenCodeLocationPackager;
         this.detectConfiguration = detectConfiguration;
+        this.detectFileFinder = detectFileFinder;
     }
 
     public Extraction extract(final File directory, final String mavenExe) {
@@ -68,38 +83,82 @@ public class MavenCliExtractor {
             }
             arguments.add("dependency:tree");
 
+            final String mavenScope = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_SCOPE, PropertyAuthority.None);
+            final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
+            final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
+            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_MAVEN_TREE_OUTPUT_FILES, PropertyAuthority.None)) {
+                return extractFromTreeOutputFiles(directory, mavenExe, arguments, mavenScope, excludedModules, includedModules);
+            }
+            final MavenOutputLineParser lineParser = mavenCodeLocationPackager.createLineParser(directory.toString(), mavenScope, excludedModules, includedModules);
+
             final Executable mvnExecutable = new Executable(directory, mavenExe, arguments);
-            final ExecutableOutput mvnOutput = executableRunner.execute(mvnExecutable);
+            final ExecutableOutput mvnOutput = executableRunner.executeStreaming(mvnExecutable, lineParser);
 
             if (mvnOutput.getReturnCode() == 0) {
-
-                final String mavenScope = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_SCOPE, PropertyAuthority.None);
-                final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
-                final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
-                final List<MavenParseResult> mavenResults = mavenCodeLocationPackager.extractCodeLocations(directory.toString(), mvnOutput.getStandardOutput(),
-                    mavenScope, excludedModules, includedModules);
-
-                final List<DetectCodeLocation> codeLocations = mavenResults.stream()
-                                                                   .map(it -> it.codeLocation)
-                                                                   .collect(Collectors.toList());
-
-                final Optional<MavenParseResult> firstWithName = mavenResults.stream()
-                                                                     .filter(it -> StringUtils.isNoneBlank(it.projectName))
-                                                                     .findFirst();
-
-                final Extraction.Builder builder = new Extraction.Builder().success(codeLocations);
-                if (firstWithName.isPresent()) {
-                    builder.projectName(firstWithName.get().projectName);
-                    builder.projectVersion(firstWithName.get().projectVersion);
-                }
-                return builder.build();
+                return createExtraction(lineParser.finish());
             } else {
-                final Extraction.Builder builder = new Extraction.Builder().failure(String.format("Executing command '%s' returned a non-zero exit code %s", String.join(" ", arguments), mvnOutput.getReturnCode()));
-                return builder.build();
+                return createFailure(arguments, mvnOutput.getReturnCode());
             }
         } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
         }
     }
 
+    // a relative output file is resolved against the base directory of each module, so every module writes its own tree
+    private Extraction extractFromTreeOutputFiles(final File directory, final String mavenExe, final List<String> arguments, final String mavenScope, final String excludedModules, final String includedModules)
+        throws ExecutableRunnerException {
+        final String outputFileName = TREE_OUTPUT_FILE_PREFIX + UUID.randomUUID().toString() + ".tgf";
+        arguments.add("-DoutputType=tgf");
+        arguments.add("-DoutputFile=target/" + outputFileName);
+
+        final Executable mvnExecutable = new Executable(directory, mavenExe, arguments);
+        final ExecutableOutput mvnOutput = executableRunner.execute(mvnExecutable);
+
+        // the root module is parsed first, so its name is used for the project
+        final List<File> outputFiles = detectFileFinder.findAllFilesToMaxDepth(directory, outputFileName).stream()
+                                           .sorted(Comparator.comparingInt((File file) -> file.toPath().getNameCount()).thenComparing(File::getPath))
+                                           .collect(Collectors.toList());
+        try {
+            if (mvnOutput.getReturnCode() != 0) {
+                return createFailure(arguments, mvnOutput.getReturnCode());
+            }
+            final List<MavenParseResult> mavenResults = outputFiles.parallelStream()
+                                                            .map(outputFile -> parseTreeOutputFile(directory, outputFile, mavenScope, excludedModules, includedModules))
+                                                            .flatMap(List::stream)
+                                                            .collect(Collectors.toList());
+            return createExtraction(mavenResults);
+        } finally {
+            outputFiles.forEach(FileUtils::deleteQuietly);
+        }
+    }
+
+    private List<MavenParseResult> parseTreeOutputFile(final File directory, final File outputFile, final String mavenScope, final String excludedModules, final String includedModules) {
+        try (Reader reader = Files.newBufferedReader(outputFile.toPath(), StandardCharsets.UTF_8)) {
+            return mavenCodeLocationPackager.extractCodeLocationsFromTgf(directory.toString(), reader, mavenScope, excludedModules, includedModules);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Extraction createExtraction(final List<MavenParseResult> mavenResults) {
+        final List<DetectCodeLocation> codeLocations = mavenResults.stream()
+                                                           .map(it -> it.codeLocation)
+                                                           .collect(Collectors.toList());
+
+        final Optional<MavenParseResult> firstWithName = mavenResults.stream()
+                                                             .filter(it -> StringUtils.isNoneBlank(it.projectName))
+                                                             .findFirst();
+
+        final Extraction.Builder builder = new Extraction.Builder().success(codeLocations);
+        if (firstWithName.isPresent()) {
+            builder.projectName(firstWithName.get().projectName);
+            builder.projectVersion(firstWithName.get().projectVersion);
+        }
+        return builder.build();
+    }
+
+    private Extraction createFailure(final List<String> arguments, final int returnCode) {
+        return new Extraction.Builder().failure(String.format("Executing command '%s' returned a non-zero exit code %s", String.join(" ", arguments), returnCode)).build();
+    }
+
 }
@@ -23,13 +23,21 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.maven;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +54,7 @@ import com.synopsys.integration.util.ExcludedIncludedFilter;
 public class MavenCodeLocationPackager {
     public static final List<String> indentationStrings = Arrays.asList("+- ", "|  ", "\\- ", "   ");
     public static final List<String> KNOWN_SCOPES = Arrays.asList("compile", "provided", "runtime", "test", "system", "import");
+    private static final int INDENTATION_LENGTH = 3;
 
     private static final Logger logger = LoggerFactory.getLogger(MavenCodeLocationPackager.class);
     public static final String ORPHAN_LIST_PARENT_NODE_NAME = "Additional_Components";
@@ -53,15 +62,6 @@ public class MavenCodeLocationPackager {
     public static final String ORPHAN_LIST_PARENT_NODE_VERSION = "none";
 
     private final ExternalIdFactory externalIdFactory;
-    private List<MavenParseResult> codeLocations = new ArrayList<>();
-    private MavenParseResult currentMavenProject = null;
-    private Stack<Dependency> dependencyParentStack = new Stack<>();
-    // in-scope components found in an out-of-scope tree go in the orphans list
-    private final List<Dependency> orphans = new ArrayList<>();
-    private boolean parsingProjectSection;
-    private int level;
-    private boolean inOutOfScopeTree=false;
-    private MutableDependencyGraph currentGraph = null;
 
     public MavenCodeLocationPackager(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
@@ -69,76 +69,187 @@ public class MavenCodeLocationPackager {
 
     // mavenTextOutput should be the full output of mvn dependency:tree (no scope applied); scope filtering is now done by this method
     public List<MavenParseResult> extractCodeLocations(final String sourcePath, final String mavenOutputText, final String targetScope, final String excludedModules, final String includedModules) {
-        final ExcludedIncludedFilter filter = new ExcludedIncludedFilter(excludedModules, includedModules);
-        codeLocations = new ArrayList<>();
-        currentMavenProject = null;
-        dependencyParentStack = new Stack<>();
-        parsingProjectSection = false;
-        currentGraph = new MutableMapDependencyGraph();
-
-        level = 0;
-        for (final String currentLine : mavenOutputText.split(System.lineSeparator())) {
-            String line = currentLine.trim();
-            if (!isLineRelevant(line)) {
+        return extractCodeLocations(sourcePath, new StringReader(mavenOutputText), targetScope, excludedModules, includedModules);
+    }
+
+    /**
+     * Parses the output of mvn dependency:tree a line at a time, without holding the whole output in memory.
+     */
+    public List<MavenParseResult> extractCodeLocations(final String sourcePath, final Reader mavenOutputReader, final String targetScope, final String excludedModules, final String includedModules) {
+        final MavenOutputLineParser lineParser = createLineParser(sourcePath, targetScope, excludedModules, includedModules);
+        new BufferedReader(mavenOutputReader).lines().forEach(lineParser);
+        return lineParser.finish();
+    }
+
+    /**
+     * Parses the tgf file written by mvn dependency:tree -DoutputType=tgf for a single module. The nodes are listed first, followed by a '#' line and the edges from parent to child.
+     * The tree is walked in the same order dependency:tree prints it, so scopes and orphans are handled the same way as the console output.
+     */
+    public List<MavenParseResult> extractCodeLocationsFromTgf(final String sourcePath, final Reader tgfReader, final String targetScope, final String excludedModules, final String includedModules) throws IOException {
+        final Map<String, String> nodeLabels = new HashMap<>();
+        final Map<String, List<String>> nodeChildren = new HashMap<>();
+        String rootId = null;
+        boolean readingEdges = false;
+
+        final BufferedReader reader = new BufferedReader(tgfReader);
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            final String trimmedLine = line.trim();
+            if ("#".equals(trimmedLine)) {
+                readingEdges = true;
                 continue;
             }
-            line = trimLogLevel(line);
-            if (StringUtils.isBlank(line)) {
+            final int idEnd = trimmedLine.indexOf(' ');
+            if (idEnd == -1) {
                 continue;
             }
-            if (isProjectSection(line)) {
+            final String id = trimmedLine.substring(0, idEnd);
+            if (readingEdges) {
+                // the edge label after the child id is the scope, which is also part of the child's node label
+                final int childIdEnd = trimmedLine.indexOf(' ', idEnd + 1);
+                final String childId = childIdEnd == -1 ? trimmedLine.substring(idEnd + 1) : trimmedLine.substring(idEnd + 1, childIdEnd);
+                nodeChildren.computeIfAbsent(id, it -> new ArrayList<>()).add(childId);
+            } else {
+                nodeLabels.put(id, trimmedLine.substring(idEnd + 1).trim());
+                if (rootId == null) {
+                    rootId = id;
+                }
+            }
+        }
+
+        final MavenOutputLineParser treeBuilder = createLineParser(sourcePath, targetScope, excludedModules, includedModules);
+        if (rootId != null && treeBuilder.startProject(nodeLabels.get(rootId))) {
+            addTgfChildren(treeBuilder, nodeLabels, nodeChildren, rootId, 1);
+        }
+        return treeBuilder.finish();
+    }
+
+    private void addTgfChildren(final MavenOutputLineParser treeBuilder, final Map<String, String> nodeLabels, final Map<String, List<String>> nodeChildren, final String parentId, final int level) {
+        for (final String childId : nodeChildren.getOrDefault(parentId, Collections.emptyList())) {
+            final String label = nodeLabels.get(childId);
+            if (label != null) {
+                treeBuilder.addComponent(level, label, 0, label.length());
+                addTgfChildren(treeBuilder, nodeLabels, nodeChildren, childId, level + 1);
+            }
+        }
+    }
+
+    public MavenOutputLineParser createLineParser(final String sourcePath, final String targetScope, final String excludedModules, final String includedModules) {
+        return new MavenOutputLineParser(sourcePath, targetScope, new ExcludedIncludedFilter(excludedModules, includedModules));
+    }
+
+    /**
+     * Parses the output of mvn dependency:tree one line at a time, so it can be fed from the running process. A new parser is needed for each output.
+     * Lines are scanned by character offset, so only the pieces of a line that end up in the graph are copied out of it.
+     */
+    public class MavenOutputLineParser implements Consumer<String> {
+        private final String sourcePath;
+        private final String targetScope;
+        private final ExcludedIncludedFilter filter;
+
+        private final List<MavenParseResult> codeLocations = new ArrayList<>();
+        private MavenParseResult currentMavenProject = null;
+        private final Stack<Dependency> dependencyParentStack = new Stack<>();
+        // in-scope components found in an out-of-scope tree go in the orphans list
+        private final List<Dependency> orphans = new ArrayList<>();
+        private boolean parsingProjectSection = false;
+        private int level = 0;
+        private boolean inOutOfScopeTree = false;
+        private MutableDependencyGraph currentGraph = new MutableMapDependencyGraph();
+
+        private MavenOutputLineParser(final String sourcePath, final String targetScope, final ExcludedIncludedFilter filter) {
+            this.sourcePath = sourcePath;
+            this.targetScope = targetScope;
+            this.filter = filter;
+        }
+
+        @Override
+        public void accept(final String currentLine) {
+            final int end = indexAfterLastNonWhitespace(currentLine);
+            final int logLevelEnd = indexOfEndOfSegments(currentLine, 0, end, "[", "INFO", "]");
+            if (logLevelEnd == -1 || !isContentRelevant(currentLine, logLevelEnd, end)) {
+                return;
+            }
+            int start = logLevelEnd;
+            if (currentLine.charAt(start) == ' ') {
+                start++;
+            }
+            if (isBlank(currentLine, start, end)) {
+                return;
+            }
+            if (indexOfEndOfSegments(currentLine, start, end, "---", "dependency", ":", "tree") != -1) {
                 parsingProjectSection = true;
-                continue;
+                return;
             }
             if (!parsingProjectSection) {
-                continue;
+                return;
             }
-            if (isDependencyTreeUpdates(line)) {
-                continue;
+            if (contains(currentLine, start, end, "checking for updates")) {
+                return;
             }
 
             if (parsingProjectSection && currentMavenProject == null) {
                 // this is the first line of a new code location, the following lines will be the tree of dependencies for this code location
-                currentGraph = new MutableMapDependencyGraph();
-                final MavenParseResult mavenProject = createMavenParseResult(sourcePath, line, currentGraph);
-                if (null != mavenProject && filter.shouldInclude(mavenProject.projectName)) {
-                    logger.trace(String.format("Project: %s", mavenProject.projectName));
-                    this.currentMavenProject = mavenProject;
-                    codeLocations.add(mavenProject);
-                } else {
-                    logger.trace("Project: unknown");
-                    currentMavenProject = null;
-                    dependencyParentStack.clear();
-                    parsingProjectSection = false;
-                    level = 0;
-                }
-                continue;
+                startProject(currentLine.substring(start, end));
+                return;
             }
 
-            final boolean finished = line.contains("--------");
+            final boolean finished = contains(currentLine, start, end, "--------");
             if (finished) {
                 currentMavenProject = null;
                 dependencyParentStack.clear();
                 parsingProjectSection = false;
                 level = 0;
-                continue;
+                return;
             }
 
+            int componentLevel = 0;
+            int componentStart = start;
+            while (startsWithIndentation(currentLine, componentStart, end)) {
+                componentLevel++;
+                componentStart += INDENTATION_LENGTH;
+            }
+            addComponent(componentLevel, currentLine, componentStart, end);
+        }
+
+        private boolean startProject(final String projectText) {
+            currentGraph = new MutableMapDependencyGraph();
+            final MavenParseResult mavenProject = createMavenParseResult(sourcePath, projectText, currentGraph);
+            if (null != mavenProject && filter.shouldInclude(mavenProject.projectName)) {
+                logger.trace("Project: {}", mavenProject.projectName);
+                this.currentMavenProject = mavenProject;
+                codeLocations.add(mavenProject);
+                return true;
+            } else {
+                logger.trace("Project: unknown");
+                currentMavenProject = null;
+                dependencyParentStack.clear();
+                parsingProjectSection = false;
+                level = 0;
+                return false;
+            }
+        }
+
+        // the component is the text between componentStart and end, its parent is found from the levels of the components added before it
+        private void addComponent(final int componentLevel, final String line, final int componentStart, final int end) {
             final int previousLevel = level;
-            final String cleanedLine = calculateCurrentLevelAndCleanLine(line);
-            final ScopedDependency dependency = textToDependency(cleanedLine);
+            level = componentLevel;
+            final ScopedDependency dependency = textToDependency(line, componentStart, end);
             if (null == dependency) {
-                continue;
+                return;
             }
             if (currentMavenProject != null) {
                 if (level == 1) {
                     // a direct dependency, clear the stack and add this as a potential parent for the next line
                     if (dependency.isInScope(targetScope)) {
-                        logger.trace(String.format("Level 1 component %s:%s:%s:%s is in scope; adding it to hierarchy root", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                        if (logger.isTraceEnabled()) {
+                            logger.trace(String.format("Level 1 component %s:%s:%s:%s is in scope; adding it to hierarchy root", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                        }
                         currentGraph.addChildToRoot(dependency);
                         inOutOfScopeTree = false;
                     } else {
-                        logger.trace(String.format("Level 1 component %s:%s:%s:%s is a top-level out-of-scope component; entering non-scoped tree", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                        if (logger.isTraceEnabled()) {
+                            logger.trace(String.format("Level 1 component %s:%s:%s:%s is a top-level out-of-scope component; entering non-scoped tree", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                        }
                         inOutOfScopeTree = true;
                     }
                     dependencyParentStack.clear();
@@ -165,9 +276,11 @@ public class MavenCodeLocationPackager {
                 }
             }
         }
-        addOrphansToGraph(currentGraph, orphans);
 
-        return codeLocations;
+        public List<MavenParseResult> finish() {
+            addOrphansToGraph(currentGraph, orphans);
+            return codeLocations;
+        }
     }
 
     private void addOrphansToGraph(final MutableDependencyGraph graph, final List<Dependency> orphans) {
@@ -186,11 +299,15 @@ public class MavenCodeLocationPackager {
     private void addDependencyIfInScope(final MutableDependencyGraph currentGraph, final List<Dependency> orphans, final String targetScope, final boolean inOutOfScopeTree, final Dependency parent, final ScopedDependency dependency) {
         if (dependency.isInScope(targetScope)) {
             if (inOutOfScopeTree) {
-                logger.trace(
-                    String.format("component %s:%s:%s:%s is in scope but in a nonScope tree; adding it to orphans", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                if (logger.isTraceEnabled()) {
+                    logger.trace(
+                        String.format("component %s:%s:%s:%s is in scope but in a nonScope tree; adding it to orphans", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                }
                 orphans.add(dependency);
             } else {
-                logger.trace(String.format("component %s:%s:%s:%s is in scope and in an in-scope tree; adding it to hierarchy", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                if (logger.isTraceEnabled()) {
+                    logger.trace(String.format("component %s:%s:%s:%s is in scope and in an in-scope tree; adding it to hierarchy", dependency.externalId.group, dependency.externalId.name, dependency.externalId.version, dependency.scope));
+                }
                 currentGraph.addParentWithChild(parent, dependency);
             }
         }
@@ -210,16 +327,29 @@ public class MavenCodeLocationPackager {
     }
 
     String calculateCurrentLevelAndCleanLine(final String line) {
-        level = 0;
-        String cleanedLine = line;
-        for (final String pattern : indentationStrings) {
-            while (cleanedLine.contains(pattern)) {
-                level++;
-                cleanedLine = cleanedLine.replaceFirst(Pattern.quote(pattern), "");
-            }
+        return calculateCurrentLevelAndCleanedLine(line).getRight();
+    }
+
+    Pair<Integer, String> calculateCurrentLevelAndCleanedLine(final String line) {
+        int level = 0;
+        int componentStart = 0;
+        while (startsWithIndentation(line, componentStart, line.length())) {
+            level++;
+            componentStart += INDENTATION_LENGTH;
         }
+        return Pair.of(level, line.substring(componentStart));
+    }
 
-        return cleanedLine;
+    private boolean startsWithIndentation(final String line, final int start, final int end) {
+        if (end - start < INDENTATION_LENGTH) {
+            return false;
+        }
+        for (final String indentation : indentationStrings) {
+            if (line.startsWith(indentation, start)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Dependency createOrphanListParentDependency() {
@@ -228,24 +358,60 @@ public class MavenCodeLocationPackager {
     }
 
     ScopedDependency textToDependency(final String componentText) {
-        if (!isGav(componentText)) {
+        return textToDependency(componentText, 0, componentText.length());
+    }
+
+    // reads group:artifact:...:version:scope between start and end, only copying out the parts that are kept
+    private ScopedDependency textToDependency(final String line, final int start, final int end) {
+        final int gavEnd = indexAfterTrailingSeparators(line, start, end);
+        int parts = 0;
+        int artifactStart = -1;
+        int artifactEnd = -1;
+        int versionStart = -1;
+        int scopeStart = start;
+        int partStart = start;
+        for (int i = start; i <= gavEnd; i++) {
+            if (i < gavEnd && line.charAt(i) != ':') {
+                continue;
+            }
+            if (isBlank(line, partStart, i)) {
+                logger.debug("{} does not look like a GAV we recognize", line.substring(start, end));
+                return null;
+            }
+            parts++;
+            if (parts == 2) {
+                artifactStart = partStart;
+                artifactEnd = i;
+            }
+            versionStart = scopeStart;
+            scopeStart = partStart;
+            partStart = i + 1;
+        }
+        if (parts < 4) {
+            logger.debug("{} does not look like a GAV we recognize", line.substring(start, end));
             return null;
         }
-        final String[] gavParts = componentText.split(":");
-        final String group = gavParts[0];
-        final String artifact = gavParts[1];
-
-        final String scope = gavParts[gavParts.length - 1];
-        final boolean recognizedScope = KNOWN_SCOPES.stream().anyMatch(knownScope -> scope.startsWith(knownScope));
 
-        if (!recognizedScope) {
-            logger.warn("This line can not be parsed correctly due to an unknown dependency format - it is unlikely a match will be found for this dependency: " + componentText);
+        final String group = line.substring(start, artifactStart - 1);
+        final String artifact = line.substring(artifactStart, artifactEnd);
+        final String version = line.substring(versionStart, scopeStart - 1);
+        final String scope = line.substring(scopeStart, gavEnd);
+        if (!isKnownScope(scope)) {
+            logger.warn("This line can not be parsed correctly due to an unknown dependency format - it is unlikely a match will be found for this dependency: " + line.substring(start, end));
         }
-        final String version = gavParts[gavParts.length - 2];
         final ExternalId externalId = externalIdFactory.createMavenExternalId(group, artifact, version);
         return new ScopedDependency(artifact, version, externalId, scope);
     }
 
+    private boolean isKnownScope(final String scope) {
+        for (final String knownScope : KNOWN_SCOPES) {
+            if (scope.startsWith(knownScope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     Dependency textToProject(final String componentText) {
         if (!isGav(componentText)) {
             return null;
@@ -269,19 +435,17 @@ public class MavenCodeLocationPackager {
     }
 
     boolean isLineRelevant(final String line) {
-        final String editableLine = line;
-        if (!doesLineContainSegmentsInOrder(line, "[", "INFO", "]")) {
+        final int index = indexOfEndOfSegments(line, "[", "INFO", "]");
+        if (index == -1) {
             // Does not contain [INFO]
             return false;
         }
-        final int index = indexOfEndOfSegments(line, "[", "INFO", "]");
-        final String trimmedLine = editableLine.substring(index);
+        return isContentRelevant(line, index, line.length());
+    }
 
-        if (StringUtils.isBlank(trimmedLine) || trimmedLine.contains("Downloaded") || trimmedLine.contains("Downloading")) {
-            // Does not have content or this a line about download information
-            return false;
-        }
-        return true;
+    private boolean isContentRelevant(final String line, final int start, final int end) {
+        // Does not have content or this a line about download information
+        return !isBlank(line, start, end) && !contains(line, start, end, "Downloaded") && !contains(line, start, end, "Downloading");
     }
 
     String trimLogLevel(final String line) {
@@ -310,18 +474,17 @@ public class MavenCodeLocationPackager {
     }
 
     boolean isGav(final String componentText) {
-        final String debugMessage = String.format("%s does not look like a GAV we recognize", componentText);
         final String[] gavParts = componentText.split(":");
         if (gavParts.length >= 4) {
             for (final String part : gavParts) {
                 if (StringUtils.isBlank(part)) {
-                    logger.debug(debugMessage);
+                    logger.debug("{} does not look like a GAV we recognize", componentText);
                     return false;
                 }
             }
             return true;
         }
-        logger.debug(debugMessage);
+        logger.debug("{} does not look like a GAV we recognize", componentText);
         return false;
     }
 
@@ -337,26 +500,56 @@ public class MavenCodeLocationPackager {
     }
 
     int indexOfEndOfSegments(final String line, final String... segments) {
-        int endOfSegments = -1;
-        if (segments.length > 0) {
-            endOfSegments = 0;
-        }
+        return indexOfEndOfSegments(line, 0, line.length(), segments);
+    }
 
-        String editableLine = line;
+    // the index is relative to the whole line, segments are only looked for between start and end
+    private int indexOfEndOfSegments(final String line, final int start, final int end, final String... segments) {
+        if (segments.length == 0) {
+            return -1;
+        }
+        int endOfSegments = start;
         for (final String segment : segments) {
-            final int index = editableLine.indexOf(segment);
+            final int index = line.indexOf(segment, endOfSegments);
             // If the string does not contain the segment indexOf returns -1
-            if (index == -1) {
-                endOfSegments = -1;
-                break;
+            if (index == -1 || index + segment.length() > end) {
+                return -1;
             }
-            // Add the index to the total to keep track of the index in the original String
-            endOfSegments += (index + segment.length());
-
-            // cut the string off right after the segment we just found so we are only looking at the remainder of the line for the next segment
-            editableLine = editableLine.substring(index + segment.length());
+            // continue right after the segment we just found so we are only looking at the remainder of the line for the next segment
+            endOfSegments = index + segment.length();
         }
         return endOfSegments;
     }
 
+    private boolean contains(final String line, final int start, final int end, final String text) {
+        final int index = line.indexOf(text, start);
+        return index != -1 && index + text.length() <= end;
+    }
+
+    private boolean isBlank(final String line, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexAfterLastNonWhitespace(final String line) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    // String.split drops trailing empty parts, so trailing separators are not parts of the gav
+    private int indexAfterTrailingSeparators(final String line, final int start, final int end) {
+        int gavEnd = end;
+        while (gavEnd > start && line.charAt(gavEnd - 1) == ':') {
+            gavEnd--;
+        }
+        return gavEnd;
+    }
+
 }
@@ -44,7 +44,7 @@ public class MavenExecutableFinder {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public String findMaven(final DetectorEnvironment environment) {
+    public synchronized String findMaven(final DetectorEnvironment environment) {
         String resolvedMaven = null;
         final String providedMavenPath = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_PATH, PropertyAuthority.None);
         final String mavenPath = executableFinder.getExecutablePathOrOverride(ExecutableType.MVNW, false, environment.getDirectory(), providedMavenPath);
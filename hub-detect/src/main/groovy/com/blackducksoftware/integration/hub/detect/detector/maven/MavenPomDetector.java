@@ -54,7 +54,7 @@ public class MavenPomDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File pom = fileFinder.findFile(environment.getDirectory(), POM_FILENAME);
+        final File pom = fileFinder.findFile(environment.getDirectoryIndex(), POM_FILENAME);
         if (pom == null) {
             return new FileNotFoundDetectorResult(POM_FILENAME);
         }
@@ -62,6 +62,11 @@ public class MavenPomDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         mavenExe = mavenExecutableFinder.findMaven(environment);
@@ -54,7 +54,7 @@ public class MavenPomWrapperDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File pom = fileFinder.findFile(environment.getDirectory(), POM_WRAPPER_FILENAME);
+        final File pom = fileFinder.findFile(environment.getDirectoryIndex(), POM_WRAPPER_FILENAME);
         if (pom == null) {
             return new FileNotFoundDetectorResult(POM_WRAPPER_FILENAME);
         }
@@ -62,6 +62,11 @@ public class MavenPomWrapperDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         mavenExe = mavenExecutableFinder.findMaven(environment);
@@ -31,7 +31,7 @@ import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 
 public class ScopedDependency extends Dependency {
-    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final Logger logger = LoggerFactory.getLogger(ScopedDependency.class);
     public final String scope;
 
     public ScopedDependency(final String name, final String version, final ExternalId externalId, final String scope) {
@@ -57,7 +57,7 @@ public class NpmCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File packageJson = fileFinder.findFile(environment.getDirectory(), PACKAGE_JSON);
+        final File packageJson = fileFinder.findFile(environment.getDirectoryIndex(), PACKAGE_JSON);
         if (packageJson == null) {
             return new FileNotFoundDetectorResult(PACKAGE_JSON);
         }
@@ -66,9 +66,14 @@ public class NpmCliDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
-        final File nodeModules = fileFinder.findFile(environment.getDirectory(), NODE_MODULES);
+        final File nodeModules = fileFinder.findFile(environment.getDirectoryIndex(), NODE_MODULES);
         if (nodeModules == null) {
             return new NpmRunInstallDetectorResult(environment.getDirectory().getAbsolutePath());
         }
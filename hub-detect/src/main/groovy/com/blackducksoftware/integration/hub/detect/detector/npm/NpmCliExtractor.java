@@ -23,6 +23,7 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -78,24 +79,25 @@ public class NpmCliExtractor {
         } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
         }
-        final String standardOutput = executableOutput.getStandardOutput();
         final String errorOutput = executableOutput.getErrorOutput();
         if (StringUtils.isNotBlank(errorOutput)) {
             logger.error("Error when running npm ls -json command");
             logger.error(errorOutput);
             return new Extraction.Builder().failure("Npm wrote to stderr while running npm ls.").build();
-        } else if (StringUtils.isNotBlank(standardOutput)) {
+        }
+
+        // npm ls -json can be large enough to be spilled to disk, so it is parsed from a reader rather than loaded into a string
+        final NpmParseResult result;
+        try (BufferedReader standardOutputReader = executableOutput.openStandardOutputReader()) {
             logger.debug("Parsing npm ls file.");
-            logger.debug(standardOutput);
-            try {
-                final NpmParseResult result = npmCliParser.generateCodeLocation(directory.getCanonicalPath(), standardOutput);
-                return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
-            } catch (final IOException e) {
-                return new Extraction.Builder().exception(e).build();
-            }
-        } else {
+            result = npmCliParser.generateCodeLocation(directory.getCanonicalPath(), standardOutputReader);
+        } catch (final IOException e) {
+            return new Extraction.Builder().exception(e).build();
+        }
+        if (result == null) {
             logger.error("Nothing returned from npm ls -json command");
             return new Extraction.Builder().failure("Npm returned error after running npm ls.").build();
         }
+        return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
     }
 }
@@ -23,6 +23,7 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.Reader;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -67,8 +68,25 @@ public class NpmCliParser {
         return convertNpmJsonFileToCodeLocation(sourcePath, npmLsOutput);
     }
 
+    /**
+     * Parses the output as it is read, so output that was spilled to disk is never loaded into a string. Returns null if the output is empty.
+     */
+    public NpmParseResult generateCodeLocation(final String sourcePath, final Reader npmLsOutputReader) {
+        final JsonElement npmJson = new JsonParser().parse(npmLsOutputReader);
+        if (npmJson.isJsonNull()) {
+            return null;
+        }
+
+        logger.info("Generating results from npm ls -json");
+
+        return convertNpmJsonToCodeLocation(sourcePath, npmJson.getAsJsonObject());
+    }
+
     NpmParseResult convertNpmJsonFileToCodeLocation(final String sourcePath, final String npmLsOutput) {
-        final JsonObject npmJson = new JsonParser().parse(npmLsOutput).getAsJsonObject();
+        return convertNpmJsonToCodeLocation(sourcePath, new JsonParser().parse(npmLsOutput).getAsJsonObject());
+    }
+
+    private NpmParseResult convertNpmJsonToCodeLocation(final String sourcePath, final JsonObject npmJson) {
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
 
         final JsonElement projectNameElement = npmJson.getAsJsonPrimitive(JSON_NAME);
@@ -23,8 +23,10 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,8 +35,8 @@ import java.util.stream.Collectors;
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmDependency;
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmRequires;
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
-import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageLock;
-import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageLockDependency;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
@@ -45,14 +47,30 @@ public class NpmDependencyConverter {
 
     public NpmDependencyConverter(final ExternalIdFactory externalIdFactory) {this.externalIdFactory = externalIdFactory;}
 
-    public NpmDependency convertLockFile(PackageLock packageLock, Optional<PackageJson> packageJsonOptional) {
-
-        NpmDependency root = createNpmDependency(packageLock.name, packageLock.version, false);
-
-        if (packageLock.dependencies != null) {
-            List<NpmDependency> children = convertPackageMapToDependencies(root, packageLock.dependencies);
-            root.addAllDependencies(children);
+    //Reads the lock file one token at a time, so neither its text nor a model of the whole file is ever held in memory.
+    public NpmDependency convertLockFile(JsonReader lockFileReader, Optional<PackageJson> packageJsonOptional) throws IOException {
+        String name = null;
+        String version = null;
+        List<NpmDependency> children = Collections.emptyList();
+
+        lockFileReader.beginObject();
+        while (lockFileReader.hasNext()) {
+            String fieldName = lockFileReader.nextName();
+            if ("name".equals(fieldName)) {
+                name = nextStringOrNull(lockFileReader);
+            } else if ("version".equals(fieldName)) {
+                version = nextStringOrNull(lockFileReader);
+            } else if ("dependencies".equals(fieldName)) {
+                children = readDependencies(lockFileReader);
+            } else {
+                lockFileReader.skipValue();
+            }
         }
+        lockFileReader.endObject();
+
+        NpmDependency root = createNpmDependency(name, version, false);
+        children.forEach(child -> child.setParent(root));
+        root.addAllDependencies(children);
 
         if (packageJsonOptional.isPresent()) {
             PackageJson packageJson = packageJsonOptional.get();
@@ -66,40 +84,83 @@ public class NpmDependencyConverter {
                 root.addAllRequires(rootDevRequires);
             }
         } else {
-            if (packageLock.dependencies != null) {
-                List<NpmRequires> requires = packageLock.dependencies.entrySet().stream()
-                                                 .map(entry -> new NpmRequires(entry.getKey(), entry.getValue().version))
-                                                 .collect(Collectors.toList());
+            List<NpmRequires> requires = children.stream()
+                                             .map(child -> new NpmRequires(child.getName(), child.getVersion()))
+                                             .collect(Collectors.toList());
 
-                root.addAllRequires(requires);
-            }
+            root.addAllRequires(requires);
         }
 
         return root;
     }
 
-    public List<NpmDependency> convertPackageMapToDependencies(NpmDependency parent, Map<String, PackageLockDependency> packageLockDependencyMap) {
-        List<NpmDependency> children = new ArrayList<>();
+    private List<NpmDependency> readDependencies(JsonReader lockFileReader) throws IOException {
+        List<NpmDependency> dependencies = new ArrayList<>();
+        if (lockFileReader.peek() == JsonToken.NULL) {
+            lockFileReader.nextNull();
+            return dependencies;
+        }
 
-        if (packageLockDependencyMap == null || packageLockDependencyMap.size() == 0) {
-            return children;
+        lockFileReader.beginObject();
+        while (lockFileReader.hasNext()) {
+            String packageName = lockFileReader.nextName();
+            if (lockFileReader.peek() == JsonToken.NULL) {
+                lockFileReader.nextNull();
+                continue;
+            }
+            dependencies.add(readDependency(lockFileReader, packageName));
         }
+        lockFileReader.endObject();
+        return dependencies;
+    }
 
-        for (Map.Entry<String, PackageLockDependency> packageEntry : packageLockDependencyMap.entrySet()) {
-            String packageName = packageEntry.getKey();
-            PackageLockDependency packageLockDependency = packageEntry.getValue();
+    private NpmDependency readDependency(JsonReader lockFileReader, String packageName) throws IOException {
+        String version = null;
+        Boolean dev = null;
+        Map<String, String> requires = null;
+        List<NpmDependency> children = Collections.emptyList();
+
+        lockFileReader.beginObject();
+        while (lockFileReader.hasNext()) {
+            String fieldName = lockFileReader.nextName();
+            if ("version".equals(fieldName)) {
+                version = nextStringOrNull(lockFileReader);
+            } else if ("dev".equals(fieldName) && lockFileReader.peek() == JsonToken.BOOLEAN) {
+                dev = lockFileReader.nextBoolean();
+            } else if ("requires".equals(fieldName) && lockFileReader.peek() == JsonToken.BEGIN_OBJECT) {
+                requires = readNameVersionMap(lockFileReader);
+            } else if ("dependencies".equals(fieldName)) {
+                children = readDependencies(lockFileReader);
+            } else {
+                lockFileReader.skipValue();
+            }
+        }
+        lockFileReader.endObject();
 
-            NpmDependency dependency = createNpmDependency(packageName, packageLockDependency.version, packageLockDependency.dev);
-            dependency.setParent(parent);
-            children.add(dependency);
+        NpmDependency dependency = createNpmDependency(packageName, version, dev);
+        dependency.addAllRequires(convertNameVersionMapToRequires(requires));
+        children.forEach(child -> child.setParent(dependency));
+        dependency.addAllDependencies(children);
+        return dependency;
+    }
 
-            List<NpmRequires> requires = convertNameVersionMapToRequires(packageLockDependency.requires);
-            dependency.addAllRequires(requires);
+    private Map<String, String> readNameVersionMap(JsonReader lockFileReader) throws IOException {
+        Map<String, String> nameVersionMap = new LinkedHashMap<>();
+        lockFileReader.beginObject();
+        while (lockFileReader.hasNext()) {
+            String name = lockFileReader.nextName();
+            nameVersionMap.put(name, nextStringOrNull(lockFileReader));
+        }
+        lockFileReader.endObject();
+        return nameVersionMap;
+    }
 
-            List<NpmDependency> grandChildren = convertPackageMapToDependencies(dependency, packageLockDependency.dependencies);
-            dependency.addAllDependencies(grandChildren);
+    private String nextStringOrNull(JsonReader lockFileReader) throws IOException {
+        if (lockFileReader.peek() == JsonToken.NULL) {
+            lockFileReader.nextNull();
+            return null;
         }
-        return children;
+        return lockFileReader.nextString();
     }
 
     private NpmDependency createNpmDependency(String name, String version, Boolean isDev) {
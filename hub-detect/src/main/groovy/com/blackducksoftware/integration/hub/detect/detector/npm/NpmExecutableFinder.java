@@ -41,6 +41,7 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
@@ -52,19 +53,21 @@ public class NpmExecutableFinder {
     private final ExecutableFinder executableFinder;
     private final ExecutableRunner executableRunner;
     private final DetectConfiguration detectConfiguration;
+    private final ExecutableResolutionCache executableResolutionCache;
 
     private String foundNpm = null;
     private boolean hasLookedForNpm = false;
 
     public NpmExecutableFinder(final DirectoryManager directoryManager, final ExecutableFinder executableFinder, final ExecutableRunner executableRunner,
-        final DetectConfiguration detectConfiguration) {
+        final DetectConfiguration detectConfiguration, final ExecutableResolutionCache executableResolutionCache) {
         this.directoryManager = directoryManager;
         this.executableFinder = executableFinder;
         this.executableRunner = executableRunner;
         this.detectConfiguration = detectConfiguration;
+        this.executableResolutionCache = executableResolutionCache;
     }
 
-    public String findNpm(final DetectorEnvironment environment) throws DetectorException {
+    public synchronized String findNpm(final DetectorEnvironment environment) throws DetectorException {
         try {
             if (!hasLookedForNpm) {
                 foundNpm = findNpm();
@@ -105,7 +108,8 @@ public class NpmExecutableFinder {
                 npmVersionExe = new Executable(directoryToSearch, npmExePath, arguments);
             }
             try {
-                final String npmVersion = executableRunner.execute(npmVersionExe).getStandardOutput();
+                final Executable versionExecutable = npmVersionExe;
+                final String npmVersion = executableResolutionCache.probe(npmExePath, arguments, npmNodePath, () -> executableRunner.execute(versionExecutable).getStandardOutput());
                 logger.debug("Npm version " + npmVersion);
                 return true;
             } catch (final ExecutableRunnerException e) {
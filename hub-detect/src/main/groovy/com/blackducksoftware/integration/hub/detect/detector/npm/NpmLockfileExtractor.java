@@ -25,36 +25,60 @@ package com.blackducksoftware.integration.hub.detect.detector.npm;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 
 public class NpmLockfileExtractor {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final NpmLockfileParser npmLockfileParser;
     private final DetectConfiguration detectConfiguration;
+    private final ExtractionCache extractionCache;
 
-    public NpmLockfileExtractor(final NpmLockfileParser npmLockfileParser, final DetectConfiguration detectConfiguration) {
+    public NpmLockfileExtractor(final NpmLockfileParser npmLockfileParser, final DetectConfiguration detectConfiguration, final ExtractionCache extractionCache) {
         this.npmLockfileParser = npmLockfileParser;
         this.detectConfiguration = detectConfiguration;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File lockfile, final Optional<File> packageJson) {
+        final List<File> inputFiles = new ArrayList<>();
+        inputFiles.add(lockfile);
+        packageJson.ifPresent(inputFiles::add);
+        return extractionCache.extract("npm lockfile", directory, inputFiles, Collections.singletonList(DetectProperty.DETECT_NPM_INCLUDE_DEV_DEPENDENCIES),
+            () -> extractLockfile(directory, lockfile, packageJson));
+    }
+
+    private Extraction extractLockfile(final File directory, final File lockfile, final Optional<File> packageJson) {
         try {
             final boolean includeDev = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NPM_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None);
 
-            String lockText = FileUtils.readFileToString(lockfile, StandardCharsets.UTF_8);
             Optional<String> packageText = Optional.empty();
             if (packageJson.isPresent()) {
                 packageText = Optional.of(FileUtils.readFileToString(packageJson.get(), StandardCharsets.UTF_8));
             }
 
-            final NpmParseResult result = npmLockfileParser.parse(directory.getCanonicalPath(), packageText, lockText, includeDev);
+            // the lock file can be very large, so it is streamed rather than read into memory
+            logger.debug(String.format("Lock file %s is %d bytes.", lockfile.getCanonicalPath(), lockfile.length()));
+            final NpmParseResult result;
+            try (final Reader lockReader = Files.newBufferedReader(lockfile.toPath(), StandardCharsets.UTF_8)) {
+                result = npmLockfileParser.parse(directory.getCanonicalPath(), packageText, lockReader, includeDev);
+            }
 
             return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
 
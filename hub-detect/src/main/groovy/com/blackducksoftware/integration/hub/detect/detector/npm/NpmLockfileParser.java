@@ -23,6 +23,9 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -30,10 +33,11 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmDependency;
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
-import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageLock;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -51,9 +55,17 @@ public class NpmLockfileParser {
     }
 
     public NpmParseResult parse(final String sourcePath, final Optional<String> packageJsonText, final String lockFileText, final boolean includeDevDependencies) {
+        logger.debug(String.format("Lock file text is %d characters.", lockFileText.length()));
+        try {
+            return parse(sourcePath, packageJsonText, new StringReader(lockFileText), includeDevDependencies);
+        } catch (final IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    public NpmParseResult parse(final String sourcePath, final Optional<String> packageJsonText, final Reader lockFileReader, final boolean includeDevDependencies) throws IOException {
         final MutableDependencyGraph dependencyGraph = new MutableMapDependencyGraph();
-        logger.info("Parsing lock file text: ");
-        logger.debug(lockFileText);
+        logger.info("Parsing lock file.");
 
         Optional<PackageJson> packageJson = Optional.empty();
         if (packageJsonText.isPresent()) {
@@ -61,23 +73,23 @@ public class NpmLockfileParser {
             packageJson = Optional.of(gson.fromJson(packageJsonText.get(), PackageJson.class));
         }
 
-        final PackageLock packageLock = gson.fromJson(lockFileText, PackageLock.class);
-        logger.debug(lockFileText);
+        //Convert to our custom format while reading
+        final JsonReader jsonReader = new JsonReader(lockFileReader);
+        jsonReader.setLenient(true);
+        final NpmDependencyConverter dependencyConverter = new NpmDependencyConverter(externalIdFactory);
+        final NpmDependency rootDependency = dependencyConverter.convertLockFile(jsonReader, packageJson);
 
         logger.info("Processing project.");
-        if (packageLock.dependencies != null) {
-            logger.info(String.format("Found %d dependencies.", packageLock.dependencies.size()));
-            //Convert to our custom format
-            NpmDependencyConverter dependencyConverter = new NpmDependencyConverter(externalIdFactory);
-            NpmDependency rootDependency = dependencyConverter.convertLockFile(packageLock, packageJson);
+        if (!rootDependency.getDependencies().isEmpty()) {
+            logger.info(String.format("Found %d dependencies.", rootDependency.getDependencies().size()));
             traverse(rootDependency, dependencyGraph, true, includeDevDependencies);
         } else {
             logger.info("Lock file did not have a 'dependencies' section.");
         }
         logger.info("Finished processing.");
-        final ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPM, packageLock.name, packageLock.version);
+        final ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPM, rootDependency.getName(), rootDependency.getVersion());
         final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.NPM, sourcePath, projectId, dependencyGraph).build();
-        return new NpmParseResult(packageLock.name, packageLock.version, codeLocation);
+        return new NpmParseResult(rootDependency.getName(), rootDependency.getVersion(), codeLocation);
     }
 
     private void traverse(NpmDependency npmDependency, MutableDependencyGraph dependencyGraph, boolean atRoot, boolean includeDevDependencies) {
@@ -103,18 +115,16 @@ public class NpmLockfileParser {
     }
 
     //returns the first dependency directly under this dependency or under a parent
-    private NpmDependency lookupDependency(NpmDependency npmDependency, String name) {
-        for (NpmDependency current : npmDependency.getDependencies()) {
-            if (current.getName().equals(name)) {
-                return current;
+    NpmDependency lookupDependency(NpmDependency npmDependency, String name) {
+        Optional<NpmDependency> current = Optional.of(npmDependency);
+        while (current.isPresent()) {
+            Optional<NpmDependency> found = current.get().getDependency(name);
+            if (found.isPresent()) {
+                return found.get();
             }
+            current = current.get().getParent();
         }
-
-        if (npmDependency.getParent().isPresent()) {
-            return lookupDependency(npmDependency.getParent().get(), name);
-        } else {
-            return null;
-        }
+        return null;
     }
 
     private boolean shouldInclude(final NpmDependency packageLockDependency, final boolean includeDevDependencies) {
@@ -25,7 +25,9 @@ package com.blackducksoftware.integration.hub.detect.detector.npm.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.synopsys.integration.bdio.model.dependency.Dependency;
@@ -46,6 +48,7 @@ public class NpmDependency {
     private NpmDependency parent;
     private final List<NpmRequires> requires = new ArrayList<NpmRequires>();
     private final List<NpmDependency> dependencies = new ArrayList<NpmDependency>();
+    private final Map<String, NpmDependency> dependenciesByName = new HashMap<>();
 
     public Optional<NpmDependency> getParent() {
         return Optional.ofNullable(parent);
@@ -69,10 +72,11 @@ public class NpmDependency {
 
     public void addDependency(NpmDependency dependency) {
         dependencies.add(dependency);
+        dependenciesByName.putIfAbsent(dependency.getName(), dependency);
     }
 
     public void addAllDependencies(Collection<NpmDependency> dependencies) {
-        this.dependencies.addAll(dependencies);
+        dependencies.forEach(this::addDependency);
     }
 
     public List<NpmRequires> getRequires() {
@@ -83,6 +87,11 @@ public class NpmDependency {
         return dependencies;
     }
 
+    //returns the first dependency with this name directly under this dependency
+    public Optional<NpmDependency> getDependency(String name) {
+        return Optional.ofNullable(dependenciesByName.get(name));
+    }
+
     public String getName() {
         return name;
     }
@@ -81,7 +81,7 @@ public class NugetInspectorManager {
         this.detectFileFinder = detectFileFinder;
     }
 
-    public NugetInspector findNugetInspector() throws DetectorException {
+    public synchronized NugetInspector findNugetInspector() throws DetectorException {
         try {
             if (!hasResolvedInspector) {
                 hasResolvedInspector = true;
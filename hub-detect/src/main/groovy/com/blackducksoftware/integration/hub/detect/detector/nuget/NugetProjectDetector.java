@@ -106,13 +106,18 @@ public class NugetProjectDetector extends Detector {
     @Override
     public DetectorResult applicable() {
         for (final String filepattern : SUPPORTED_PROJECT_PATTERNS) {
-            if (fileFinder.findFile(environment.getDirectory(), filepattern) != null) {
+            if (fileFinder.findFile(environment.getDirectoryIndex(), filepattern) != null) {
                 return new PassedDetectorResult();
             }
         }
         return new FilesNotFoundDetectorResult(SUPPORTED_PROJECT_PATTERNS);
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         inspector = nugetInspectorManager.findNugetInspector();
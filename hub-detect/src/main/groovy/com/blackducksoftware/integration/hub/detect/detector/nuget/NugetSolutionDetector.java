@@ -61,13 +61,18 @@ public class NugetSolutionDetector extends Detector {
     @Override
     public DetectorResult applicable() {
         for (final String filepattern : SUPPORTED_SOLUTION_PATTERNS) {
-            if (fileFinder.findFile(environment.getDirectory(), filepattern) != null) {
+            if (fileFinder.findFile(environment.getDirectoryIndex(), filepattern) != null) {
                 return new PassedDetectorResult();
             }
         }
         return new FilesNotFoundDetectorResult(SUPPORTED_SOLUTION_PATTERNS);
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         inspector = nugetInspectorManager.findNugetInspector();
@@ -53,12 +53,12 @@ public class ComposerLockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        composerLock = fileFinder.findFile(environment.getDirectory(), COMPOSER_LOCK);
+        composerLock = fileFinder.findFile(environment.getDirectoryIndex(), COMPOSER_LOCK);
         if (composerLock == null) {
             return new FileNotFoundDetectorResult(COMPOSER_LOCK);
         }
 
-        composerJson = fileFinder.findFile(environment.getDirectory(), COMPOSER_JSON);
+        composerJson = fileFinder.findFile(environment.getDirectoryIndex(), COMPOSER_JSON);
         if (composerJson == null) {
             return new FileNotFoundDetectorResult(COMPOSER_JSON);
         }
@@ -66,6 +66,11 @@ public class ComposerLockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
@@ -25,22 +25,33 @@ package com.blackducksoftware.integration.hub.detect.detector.packagist;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 
 public class ComposerLockExtractor {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final PackagistParser packagistParser;
+    private final ExtractionCache extractionCache;
 
-    public ComposerLockExtractor(final PackagistParser packagistParser) {
+    public ComposerLockExtractor(final PackagistParser packagistParser, final ExtractionCache extractionCache) {
         this.packagistParser = packagistParser;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File composerJson, final File composerLock) {
+        return extractionCache.extract("composer lock", directory, Arrays.asList(composerJson, composerLock), Collections.singletonList(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES),
+            () -> extractComposerLock(directory, composerJson, composerLock));
+    }
+
+    private Extraction extractComposerLock(final File directory, final File composerJson, final File composerLock) {
         try {
             final String composerJsonText = FileUtils.readFileToString(composerJson, StandardCharsets.UTF_8);
             final String composerLockText = FileUtils.readFileToString(composerLock, StandardCharsets.UTF_8);
@@ -57,7 +57,7 @@ public class PearCliDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File packageDotXml = fileFinder.findFile(environment.getDirectory(), PACKAGE_XML_FILENAME);
+        final File packageDotXml = fileFinder.findFile(environment.getDirectoryIndex(), PACKAGE_XML_FILENAME);
         if (packageDotXml == null) {
             return new FileNotFoundDetectorResult(PACKAGE_XML_FILENAME);
         }
@@ -65,6 +65,11 @@ public class PearCliDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         pearExe = cacheableExecutableFinder.getExecutable(CacheableExecutableType.PEAR);
@@ -24,8 +24,13 @@
 package com.blackducksoftware.integration.hub.detect.detector.pear;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.pear.PearParser.TableLineParser;
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
@@ -33,6 +38,8 @@ import com.blackducksoftware.integration.hub.detect.workflow.codelocation.Detect
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
@@ -57,12 +64,20 @@ public class PearCliExtractor {
     public Extraction extract(final File directory, final File pearExe, final ExtractionId extractionId) {
         try {
             File workingDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
-            final ExecutableOutput pearListing = executableRunner.execute(workingDirectory, pearExe, "list");
-            final ExecutableOutput pearDependencies = executableRunner.execute(workingDirectory, pearExe, "package-dependencies", PACKAGE_XML_FILENAME);
+            // the dependency names are needed to filter the listing, so they are gathered first
+            final List<String> dependencyNames = new ArrayList<>();
+            final Executable pearDependenciesExecutable = new Executable(workingDirectory, pearExe, Arrays.asList("package-dependencies", PACKAGE_XML_FILENAME));
+            final TableLineParser dependencyNameParser = pearParser.createDependencyNameLineParser(dependencyNames);
+            final ExecutableOutput pearDependencies = executableRunner.executeStreaming(pearDependenciesExecutable, dependencyNameParser);
+
+            final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+            final Executable pearListingExecutable = new Executable(workingDirectory, pearExe, Arrays.asList("list"));
+            final TableLineParser listingParser = pearParser.createListingLineParser(graph, dependencyNames);
+            final ExecutableOutput pearListing = executableRunner.executeStreaming(pearListingExecutable, listingParser);
 
             final File packageFile = detectFileFinder.findFile(directory, PACKAGE_XML_FILENAME); //TODO: Why is this done here?
 
-            final PearParseResult result = pearParser.parse(packageFile, pearListing, pearDependencies);
+            final PearParseResult result = pearParser.parse(packageFile, pearListing, listingParser, pearDependencies, dependencyNameParser, graph);
             final ExternalId id = externalIdFactory.createNameVersionExternalId(Forge.PEAR, result.name, result.version);
             final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.PEAR, directory.toString(), id, result.dependencyGraph).build();
 
@@ -27,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -64,6 +65,29 @@ public class PearParser {
     }
 
     public PearParseResult parse(final File packageFile, final ExecutableOutput pearListing, final ExecutableOutput pearDependencies) throws ParserConfigurationException, SAXException, IOException {
+        final PearParseResult result = parsePackageFile(packageFile);
+        result.dependencyGraph = parsePearDependencyList(pearListing, pearDependencies);
+        return result;
+    }
+
+    /**
+     * Used when both outputs were parsed as they were produced with the line parsers from this class, the graph is only kept if neither command wrote errors.
+     */
+    public PearParseResult parse(final File packageFile, final ExecutableOutput pearListing, final TableLineParser listingParser, final ExecutableOutput pearDependencies, final TableLineParser dependencyNameParser,
+        final DependencyGraph streamedGraph) throws ParserConfigurationException, SAXException, IOException {
+        final PearParseResult result = parsePackageFile(packageFile);
+        if (logErrorOutput(pearListing, pearDependencies)) {
+            result.dependencyGraph = new MutableMapDependencyGraph();
+        } else if (!dependencyNameParser.hasReadOutput() || !listingParser.hasReadOutput()) {
+            logger.error("No information retrieved from running pear commands");
+            result.dependencyGraph = new MutableMapDependencyGraph();
+        } else {
+            result.dependencyGraph = streamedGraph;
+        }
+        return result;
+    }
+
+    private PearParseResult parsePackageFile(final File packageFile) throws ParserConfigurationException, SAXException, IOException {
         final PearParseResult result = new PearParseResult();
         final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         final DocumentBuilder builder = factory.newDocumentBuilder();
@@ -74,13 +98,10 @@ public class PearParser {
         final Node versionNode = XmlUtil.getNode("version", packageNode);
         final String version = XmlUtil.getNode("release", versionNode).getTextContent();
         result.version = version;
-        result.dependencyGraph = parsePearDependencyList(pearListing, pearDependencies);
         return result;
     }
 
-    public DependencyGraph parsePearDependencyList(final ExecutableOutput pearListing, final ExecutableOutput pearDependencies) {
-        DependencyGraph graph = new MutableMapDependencyGraph();
-
+    private boolean logErrorOutput(final ExecutableOutput pearListing, final ExecutableOutput pearDependencies) {
         if (StringUtils.isNotBlank(pearDependencies.getErrorOutput()) || StringUtils.isNotBlank(pearListing.getErrorOutput())) {
             logger.error("There was an error during execution.");
             if (StringUtils.isNotBlank(pearListing.getErrorOutput())) {
@@ -91,6 +112,16 @@ public class PearParser {
                 logger.error("Pear package-dependencies error: ");
                 logger.error(pearDependencies.getErrorOutput());
             }
+            return true;
+        }
+        return false;
+    }
+
+    public DependencyGraph parsePearDependencyList(final ExecutableOutput pearListing, final ExecutableOutput pearDependencies) {
+        DependencyGraph graph = new MutableMapDependencyGraph();
+
+        if (logErrorOutput(pearListing, pearDependencies)) {
+            return graph;
         } else if (!(pearDependencies.getStandardOutputAsList().size() > 0) || !(pearListing.getStandardOutputAsList().size() > 0)) {
             logger.error("No information retrieved from running pear commands");
         } else {
@@ -106,28 +137,37 @@ public class PearParser {
 
         if (content.size() > 5) {
             final List<String> listing = content.subList(5, content.size() - 1);
-            listing.forEach(line -> {
-                final String[] dependencyInfo = splitIgnoringWhitespace(line, " ");
-
-                final String dependencyName = dependencyInfo[2].trim();
-                final String dependencyRequired = dependencyInfo[0].trim();
-
-                if (StringUtils.isNotBlank(dependencyName)) {
-                    if (!detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PEAR_ONLY_REQUIRED_DEPS, PropertyAuthority.None)) {
-                        nameList.add(last(dependencyName.split("/")));
-                    } else {
-                        if (BooleanUtils.toBoolean(dependencyRequired)) {
-                            nameList.add(last(dependencyName.split("/")));
-                        }
-                    }
-                }
-            });
+            listing.forEach(line -> addDependencyName(nameList, line));
         }
 
         return nameList;
 
     }
 
+    /**
+     * Parses the output of pear package-dependencies one line at a time into the name list, so it can be fed from the running process.
+     */
+    public TableLineParser createDependencyNameLineParser(final List<String> nameList) {
+        return new TableLineParser(5, line -> addDependencyName(nameList, line));
+    }
+
+    private void addDependencyName(final List<String> nameList, final String line) {
+        final String[] dependencyInfo = splitIgnoringWhitespace(line, " ");
+
+        final String dependencyName = dependencyInfo[2].trim();
+        final String dependencyRequired = dependencyInfo[0].trim();
+
+        if (StringUtils.isNotBlank(dependencyName)) {
+            if (!detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PEAR_ONLY_REQUIRED_DEPS, PropertyAuthority.None)) {
+                nameList.add(last(dependencyName.split("/")));
+            } else {
+                if (BooleanUtils.toBoolean(dependencyRequired)) {
+                    nameList.add(last(dependencyName.split("/")));
+                }
+            }
+        }
+    }
+
     private String[] splitIgnoringWhitespace(final String theString, final String seperator) {
         final String[] rawPieces = theString.trim().split(seperator);
         final String[] actualPieces = new String[rawPieces.length];
@@ -150,20 +190,68 @@ public class PearParser {
 
         if (dependencyList.size() > 3) {
             final List<String> listing = dependencyList.subList(3, dependencyList.size() - 1);
-            listing.forEach(line -> {
-                final String[] dependencyInfo = splitIgnoringWhitespace(line, " ");
+            listing.forEach(line -> addListedDependency(graph, dependencyNames, line));
+        }
+
+        return graph;
+    }
+
+    /**
+     * Parses the output of pear list one line at a time into the graph, so it can be fed from the running process.
+     */
+    public TableLineParser createListingLineParser(final MutableDependencyGraph graph, final List<String> dependencyNames) {
+        return new TableLineParser(3, line -> addListedDependency(graph, dependencyNames, line));
+    }
 
-                final String packageName = dependencyInfo[0].trim();
-                final String packageVersion = dependencyInfo[1].trim();
+    private void addListedDependency(final MutableDependencyGraph graph, final List<String> dependencyNames, final String line) {
+        final String[] dependencyInfo = splitIgnoringWhitespace(line, " ");
 
-                if (dependencyInfo.length > 0 && dependencyNames.contains(packageName)) {
-                    final Dependency child = new Dependency(packageName, packageVersion, externalIdFactory.createNameVersionExternalId(Forge.PEAR, packageName, packageVersion));
+        final String packageName = dependencyInfo[0].trim();
+        final String packageVersion = dependencyInfo[1].trim();
 
-                    graph.addChildToRoot(child);
+        if (dependencyInfo.length > 0 && dependencyNames.contains(packageName)) {
+            final Dependency child = new Dependency(packageName, packageVersion, externalIdFactory.createNameVersionExternalId(Forge.PEAR, packageName, packageVersion));
+
+            graph.addChildToRoot(child);
+        }
+    }
+
+    /**
+     * Hands on the rows of pear's table output the same way the list based parsing does: leading blank lines are dropped, the header lines are skipped and the last line is never a row.
+     * A row is only handed on once a later non blank line has been read, since until then it might be the last line.
+     */
+    public static class TableLineParser implements Consumer<String> {
+        private final int headerLineCount;
+        private final Consumer<String> rowConsumer;
+        private final List<String> pendingLines = new ArrayList<>();
+        private int lineCount = 0;
+
+        public TableLineParser(final int headerLineCount, final Consumer<String> rowConsumer) {
+            this.headerLineCount = headerLineCount;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void accept(final String line) {
+            if (lineCount == 0 && StringUtils.isBlank(line)) {
+                return;
+            }
+            if (StringUtils.isNotBlank(line)) {
+                int index = lineCount - pendingLines.size();
+                for (final String pendingLine : pendingLines) {
+                    if (index >= headerLineCount) {
+                        rowConsumer.accept(pendingLine);
+                    }
+                    index++;
                 }
-            });
+                pendingLines.clear();
+            }
+            pendingLines.add(line);
+            lineCount++;
         }
 
-        return graph;
+        public boolean hasReadOutput() {
+            return lineCount > 0;
+        }
     }
 }
@@ -68,7 +68,7 @@ public class PipInspectorDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        setupFile = fileFinder.findFile(environment.getDirectory(), SETUPTOOLS_DEFAULT_FILE_NAME);
+        setupFile = fileFinder.findFile(environment.getDirectoryIndex(), SETUPTOOLS_DEFAULT_FILE_NAME);
         final boolean hasSetups = setupFile != null;
         final boolean hasRequirements = requirementFilePath != null && StringUtils.isNotBlank(requirementFilePath);
         if (hasSetups || hasRequirements) {
@@ -61,8 +61,8 @@ public class PipenvDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        pipfile = fileFinder.findFile(environment.getDirectory(), PIPFILE_FILE_NAME);
-        pipfileDotLock = fileFinder.findFile(environment.getDirectory(), PIPFILE_DOT_LOCK_FILE_NAME);
+        pipfile = fileFinder.findFile(environment.getDirectoryIndex(), PIPFILE_FILE_NAME);
+        pipfileDotLock = fileFinder.findFile(environment.getDirectoryIndex(), PIPFILE_DOT_LOCK_FILE_NAME);
 
         if (pipfile != null || pipfileDotLock != null) {
             return new PassedDetectorResult();
@@ -72,6 +72,11 @@ public class PipenvDetector extends Detector {
 
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
         pythonExe = pythonExecutableFinder.findPython(environment);
@@ -84,7 +89,7 @@ public class PipenvDetector extends Detector {
             return new ExecutableNotFoundDetectorResult("pipenv");
         }
 
-        setupFile = fileFinder.findFile(environment.getDirectory(), SETUPTOOLS_DEFAULT_FILE_NAME);
+        setupFile = fileFinder.findFile(environment.getDirectoryIndex(), SETUPTOOLS_DEFAULT_FILE_NAME);
 
         return new PassedDetectorResult();
     }
@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipenvGraphParser.PipenvGraphLineParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
@@ -62,10 +63,11 @@ public class PipenvExtractor {
             final Executable pipenvRunPipFreeze = new Executable(directory, pipenvExe, Arrays.asList("run", "pip", "freeze"));
             final ExecutableOutput pipFreezeOutput = executableRunner.execute(pipenvRunPipFreeze);
 
+            final PipenvGraphLineParser lineParser = pipenvTreeParser.createLineParser(projectName, projectVersionName, pipFreezeOutput.getStandardOutputAsList(), directory.toString());
             final Executable pipenvGraph = new Executable(directory, pipenvExe, Arrays.asList("graph", "--bare"));
-            final ExecutableOutput graphOutput = executableRunner.execute(pipenvGraph);
+            executableRunner.executeStreaming(pipenvGraph, lineParser);
 
-            result = pipenvTreeParser.parse(projectName, projectVersionName, pipFreezeOutput.getStandardOutputAsList(), graphOutput.getStandardOutputAsList(), directory.toString());
+            result = lineParser.finish();
 
             if (result != null) {
                 extraction = new Extraction.Builder().success(result.getCodeLocation()).projectName(result.getProjectName()).projectVersion(result.getProjectVersion()).build();
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Stack;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -58,21 +59,46 @@ public class PipenvGraphParser {
     }
 
     public PipParseResult parse(final String projectName, final String projectVersionName, final List<String> pipFreezeOutput, final List<String> pipenvGraphOutput, final String sourcePath) {
-        final MutableMapDependencyGraph dependencyGraph = new MutableMapDependencyGraph();
-        final Stack<Dependency> dependencyStack = new Stack<>();
+        final PipenvGraphLineParser lineParser = createLineParser(projectName, projectVersionName, pipFreezeOutput, sourcePath);
+        pipenvGraphOutput.forEach(lineParser);
+        return lineParser.finish();
+    }
 
+    public PipenvGraphLineParser createLineParser(final String projectName, final String projectVersionName, final List<String> pipFreezeOutput, final String sourcePath) {
         final Map<String, String[]> pipFreezeMap = pipFreezeOutput.stream()
                                                        .map(line -> line.split(TOP_LEVEL_SEPARATOR))
                                                        .filter(splitLine -> splitLine.length == 2)
                                                        .collect(Collectors.toMap(splitLine -> splitLine[0].trim().toLowerCase(), splitLine -> splitLine));
+        return new PipenvGraphLineParser(projectName, projectVersionName, pipFreezeMap, sourcePath);
+    }
+
+    /**
+     * Parses the output of pipenv graph one line at a time, so it can be fed from the running process.
+     */
+    public class PipenvGraphLineParser implements Consumer<String> {
+        private final String projectName;
+        private final String projectVersionName;
+        private final Map<String, String[]> pipFreezeMap;
+        private final String sourcePath;
+
+        private final MutableMapDependencyGraph dependencyGraph = new MutableMapDependencyGraph();
+        private final Stack<Dependency> dependencyStack = new Stack<>();
+        private int lastLevel = -1;
+
+        private PipenvGraphLineParser(final String projectName, final String projectVersionName, final Map<String, String[]> pipFreezeMap, final String sourcePath) {
+            this.projectName = projectName;
+            this.projectVersionName = projectVersionName;
+            this.pipFreezeMap = pipFreezeMap;
+            this.sourcePath = sourcePath;
+        }
 
-        int lastLevel = -1;
-        for (final String line : pipenvGraphOutput) {
+        @Override
+        public void accept(final String line) {
             final int currentLevel = getLevel(line);
             final Optional<Dependency> parsedDependency = getDependencyFromLine(pipFreezeMap, line);
 
             if (!parsedDependency.isPresent()) {
-                continue;
+                return;
             }
 
             final Dependency dependency = parsedDependency.get();
@@ -95,12 +121,14 @@ public class PipenvGraphParser {
             dependencyStack.push(dependency);
         }
 
-        if (!dependencyGraph.getRootDependencyExternalIds().isEmpty()) {
-            final ExternalId projectExternalId = externalIdFactory.createNameVersionExternalId(Forge.PYPI, projectName, projectVersionName);
-            final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.PIP, sourcePath, projectExternalId, dependencyGraph).build();
-            return new PipParseResult(projectName, projectVersionName, codeLocation);
-        } else {
-            return null;
+        public PipParseResult finish() {
+            if (!dependencyGraph.getRootDependencyExternalIds().isEmpty()) {
+                final ExternalId projectExternalId = externalIdFactory.createNameVersionExternalId(Forge.PYPI, projectName, projectVersionName);
+                final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.PIP, sourcePath, projectExternalId, dependencyGraph).build();
+                return new PipParseResult(projectName, projectVersionName, codeLocation);
+            } else {
+                return null;
+            }
         }
     }
 
@@ -51,7 +51,7 @@ public class GemlockDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        gemlock = fileFinder.findFile(environment.getDirectory(), GEMFILE_LOCK_FILENAME);
+        gemlock = fileFinder.findFile(environment.getDirectoryIndex(), GEMFILE_LOCK_FILENAME);
         if (gemlock == null) {
             return new FileNotFoundDetectorResult(GEMFILE_LOCK_FILENAME);
         }
@@ -59,6 +59,11 @@ public class GemlockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
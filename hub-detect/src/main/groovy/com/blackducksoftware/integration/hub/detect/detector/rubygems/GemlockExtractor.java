@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.detector.rubygems;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
@@ -43,12 +45,18 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 public class GemlockExtractor {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final ExternalIdFactory externalIdFactory;
+    private final ExtractionCache extractionCache;
 
-    public GemlockExtractor(final ExternalIdFactory externalIdFactory) {
+    public GemlockExtractor(final ExternalIdFactory externalIdFactory, final ExtractionCache extractionCache) {
         this.externalIdFactory = externalIdFactory;
+        this.extractionCache = extractionCache;
     }
 
     public Extraction extract(final File directory, final File gemlock) {
+        return extractionCache.extract("gemlock", directory, Collections.singletonList(gemlock), Collections.emptyList(), () -> extractGemlock(directory, gemlock));
+    }
+
+    private Extraction extractGemlock(final File directory, final File gemlock) {
         try {
             final List<String> gemlockText = Files.readAllLines(gemlock.toPath(), StandardCharsets.UTF_8);
             logger.debug(gemlockText.stream().collect(Collectors.joining("\n")));
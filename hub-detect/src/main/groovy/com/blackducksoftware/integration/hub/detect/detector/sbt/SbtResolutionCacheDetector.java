@@ -49,7 +49,7 @@ public class SbtResolutionCacheDetector extends Detector {
 
     @Override
     public DetectorResult applicable() {
-        final File build = fileFinder.findFile(environment.getDirectory(), BUILD_SBT_FILENAME);
+        final File build = fileFinder.findFile(environment.getDirectoryIndex(), BUILD_SBT_FILENAME);
         if (build == null) {
             return new FileNotFoundDetectorResult(BUILD_SBT_FILENAME);
         }
@@ -57,6 +57,11 @@ public class SbtResolutionCacheDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() {
         return new PassedDetectorResult();
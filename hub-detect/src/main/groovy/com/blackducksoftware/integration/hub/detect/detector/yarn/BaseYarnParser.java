@@ -23,15 +23,30 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public abstract class BaseYarnParser {
     protected int getLineLevel(final String line) {
         int level = 0;
-        String tmpLine = line;
-        while (tmpLine.startsWith("  ")) {
-            tmpLine = tmpLine.replaceFirst("  ", "");
+        int offset = 0;
+        while (line.startsWith("  ", offset)) {
+            offset += 2;
             level++;
         }
 
         return level;
     }
+
+    protected List<String> getFuzzyIdsFromLine(final String s) {
+        final String[] lines = s.split(",");
+        return Arrays.stream(lines)
+                   .map(this::cleanFuzzyId)
+                   .collect(Collectors.toList());
+    }
+
+    protected String cleanFuzzyId(final String fuzzyId) {
+        return fuzzyId.trim().replaceAll("\"", "").replaceAll(":", "");
+    }
 }
@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,16 +55,33 @@ public class YarnListParser extends BaseYarnParser {
     }
 
     public DependencyGraph parseYarnList(final List<String> yarnLockText, final List<String> yarnListAsList) {
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
-        final DependencyHistory history = new DependencyHistory();
+        final YarnListLineParser lineParser = createLineParser(yarnLockText);
+        yarnListAsList.forEach(lineParser);
+        return lineParser.getGraph();
+    }
+
+    public YarnListLineParser createLineParser(final List<String> yarnLockText) {
+        return new YarnListLineParser(yarnLockParser.getYarnLockResolvedVersionMap(yarnLockText));
+    }
 
-        final Map<String, String> yarnLockVersionMap = yarnLockParser.getYarnLockResolvedVersionMap(yarnLockText);
+    /**
+     * Parses the output of yarn list one line at a time, so it can be fed from the running process.
+     */
+    public class YarnListLineParser implements Consumer<String> {
+        private final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        private final DependencyHistory history = new DependencyHistory();
+        private final Map<String, String> yarnLockVersionMap;
 
-        for (final String line : yarnListAsList) {
+        private YarnListLineParser(final Map<String, String> yarnLockVersionMap) {
+            this.yarnLockVersionMap = yarnLockVersionMap;
+        }
+
+        @Override
+        public void accept(final String line) {
             final String lowerCaseLine = line.toLowerCase().trim();
             final String cleanedLine = line.replaceAll(NTH_DEPENDENCY_PREFIX, "").replaceAll(INNER_LEVEL_CHARACTER, "").replaceAll(LAST_DEPENDENCY_PREFIX, "");
             if (!cleanedLine.contains("@") || lowerCaseLine.startsWith("yarn list") || lowerCaseLine.startsWith("done in") || lowerCaseLine.startsWith("warning")) {
-                continue;
+                return;
             }
 
             final Dependency dependency = parseDependencyFromLine(cleanedLine, yarnLockVersionMap);
@@ -83,7 +101,9 @@ public class YarnListParser extends BaseYarnParser {
             history.add(dependency);
         }
 
-        return graph;
+        public DependencyGraph getGraph() {
+            return graph;
+        }
     }
 
     public Dependency parseDependencyFromLine(final String cleanedLine, final Map<String, String> yarnLockVersionMap) {
@@ -47,20 +47,23 @@ public class YarnLockDetector extends Detector {
     private final DetectFileFinder fileFinder;
     private final CacheableExecutableFinder cacheableExecutableFinder;
     private final YarnLockExtractor yarnLockExtractor;
+    private final boolean lockfileOnly;
 
     private File yarnlock;
     private String yarnExe = "";
 
-    public YarnLockDetector(final DetectorEnvironment environment, final DetectFileFinder fileFinder, final CacheableExecutableFinder cacheableExecutableFinder, final YarnLockExtractor yarnLockExtractor) {
+    public YarnLockDetector(final DetectorEnvironment environment, final DetectFileFinder fileFinder, final CacheableExecutableFinder cacheableExecutableFinder, final YarnLockExtractor yarnLockExtractor,
+        final boolean lockfileOnly) {
         super(environment, "Yarn Lock", DetectorType.YARN);
         this.fileFinder = fileFinder;
         this.yarnLockExtractor = yarnLockExtractor;
         this.cacheableExecutableFinder = cacheableExecutableFinder;
+        this.lockfileOnly = lockfileOnly;
     }
 
     @Override
     public DetectorResult applicable() {
-        yarnlock = fileFinder.findFile(environment.getDirectory(), YARN_LOCK_FILENAME);
+        yarnlock = fileFinder.findFile(environment.getDirectoryIndex(), YARN_LOCK_FILENAME);
         if (yarnlock == null) {
             return new FileNotFoundDetectorResult(YARN_LOCK_FILENAME);
         }
@@ -68,8 +71,17 @@ public class YarnLockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public boolean isApplicableCacheable() {
+        return true;
+    }
+
     @Override
     public DetectorResult extractable() throws DetectorException {
+        if (lockfileOnly) {
+            return new PassedDetectorResult();
+        }
+
         final File yarn = cacheableExecutableFinder.getExecutable(CacheableExecutableType.YARN);
         if (yarn != null) {
             yarnExe = yarn.toString();
@@ -23,10 +23,15 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -34,12 +39,16 @@ import java.util.stream.Stream;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnListParser.YarnListLineParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
+import com.google.gson.Gson;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
@@ -51,17 +60,56 @@ public class YarnLockExtractor {
 
     private final ExternalIdFactory externalIdFactory;
     private final YarnListParser yarnListParser;
+    private final YarnLockGraphParser yarnLockGraphParser;
     private final ExecutableRunner executableRunner;
     private final DetectConfiguration detectConfiguration;
+    private final ExtractionCache extractionCache;
+    private final Gson gson;
 
-    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnListParser yarnListParser, final ExecutableRunner executableRunner, final DetectConfiguration detectConfiguration) {
+    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnListParser yarnListParser, final YarnLockGraphParser yarnLockGraphParser, final ExecutableRunner executableRunner,
+        final DetectConfiguration detectConfiguration, final ExtractionCache extractionCache, final Gson gson) {
         this.externalIdFactory = externalIdFactory;
         this.yarnListParser = yarnListParser;
+        this.yarnLockGraphParser = yarnLockGraphParser;
         this.executableRunner = executableRunner;
         this.detectConfiguration = detectConfiguration;
+        this.extractionCache = extractionCache;
+        this.gson = gson;
     }
 
     public Extraction extract(final File directory, final File yarnlock, final String yarnExe) {
+        final File packageJson = new File(directory, "package.json");
+        return extractionCache.extract("yarn", directory, Arrays.asList(yarnlock, packageJson), Arrays.asList(DetectProperty.DETECT_YARN_PROD_ONLY, DetectProperty.DETECT_YARN_LOCKFILE_ONLY),
+            () -> {
+                if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_LOCKFILE_ONLY, PropertyAuthority.None)) {
+                    return extractYarnLock(directory, yarnlock, packageJson);
+                }
+                return extractYarnList(directory, yarnlock, yarnExe);
+            });
+    }
+
+    private Extraction extractYarnLock(final File directory, final File yarnlock, final File packageJsonFile) {
+        try {
+            PackageJson packageJson = null;
+            if (packageJsonFile.isFile()) {
+                try (final Reader packageJsonReader = Files.newBufferedReader(packageJsonFile.toPath(), StandardCharsets.UTF_8)) {
+                    packageJson = gson.fromJson(packageJsonReader, PackageJson.class);
+                }
+            }
+
+            final boolean productionOnly = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_PROD_ONLY, PropertyAuthority.None);
+            final DependencyGraph dependencyGraph;
+            try (final BufferedReader yarnLockReader = Files.newBufferedReader(yarnlock.toPath(), StandardCharsets.UTF_8)) {
+                dependencyGraph = yarnLockGraphParser.parseYarnLock(yarnLockReader, packageJson, productionOnly);
+            }
+
+            return createExtraction(directory, dependencyGraph);
+        } catch (final Exception e) {
+            return new Extraction.Builder().exception(e).build();
+        }
+    }
+
+    private Extraction extractYarnList(final File directory, final File yarnlock, final String yarnExe) {
         try {
             final List<String> yarnLockText = Files.readAllLines(yarnlock.toPath(), StandardCharsets.UTF_8);
             final List<String> exeArgs = Stream.of("list", "--emoji", "false").collect(Collectors.toCollection(ArrayList::new));
@@ -70,23 +118,26 @@ public class YarnLockExtractor {
                 exeArgs.add("--prod");
             }
 
+            final YarnListLineParser lineParser = yarnListParser.createLineParser(yarnLockText);
             final Executable yarnListExe = new Executable(directory, yarnExe, exeArgs);
-            final ExecutableOutput executableOutput = executableRunner.execute(yarnListExe);
+            final ExecutableOutput executableOutput = executableRunner.executeStreaming(yarnListExe, lineParser);
 
             if (executableOutput.getReturnCode() != 0) {
                 final Extraction.Builder builder = new Extraction.Builder().failure(String.format("Executing command '%s' returned a non-zero exit code %s", String.join(" ", exeArgs), executableOutput.getReturnCode()));
                 return builder.build();
             }
 
-            final DependencyGraph dependencyGraph = yarnListParser.parseYarnList(yarnLockText, executableOutput.getStandardOutputAsList());
-
-            final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.NPM, directory.getCanonicalPath());
-            final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.YARN, directory.getCanonicalPath(), externalId, dependencyGraph).build();
-
-            return new Extraction.Builder().success(detectCodeLocation).build();
+            return createExtraction(directory, lineParser.getGraph());
         } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
         }
     }
 
+    private Extraction createExtraction(final File directory, final DependencyGraph dependencyGraph) throws IOException {
+        final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.NPM, directory.getCanonicalPath());
+        final DetectCodeLocation detectCodeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.YARN, directory.getCanonicalPath(), externalId, dependencyGraph).build();
+
+        return new Extraction.Builder().success(detectCodeLocation).build();
+    }
+
 }
@@ -0,0 +1,236 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.yarn;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/**
+ * Builds the full dependency graph of a yarn project from its yarn.lock and package.json, without running yarn.
+ */
+public class YarnLockGraphParser extends BaseYarnParser {
+    private static final String DEPENDENCIES_SECTION = "dependencies:";
+    private static final String OPTIONAL_DEPENDENCIES_SECTION = "optionalDependencies:";
+
+    private final Logger logger = LoggerFactory.getLogger(YarnLockGraphParser.class);
+    private final ExternalIdFactory externalIdFactory;
+
+    public YarnLockGraphParser(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    // package.json may be null, in which case every entry no other entry depends on is treated as a root
+    public DependencyGraph parseYarnLock(final BufferedReader yarnLockReader, final PackageJson packageJson, final boolean productionOnly) throws IOException {
+        final Map<String, YarnLockEntry> entries = readEntries(yarnLockReader);
+
+        final Set<String> rootFuzzyIds = new LinkedHashSet<>();
+        if (packageJson != null) {
+            addRootFuzzyIds(rootFuzzyIds, packageJson.dependencies);
+            if (!productionOnly) {
+                addRootFuzzyIds(rootFuzzyIds, packageJson.devDependencies);
+            }
+        } else {
+            logger.debug("No package.json was provided, so every yarn.lock entry that is not a dependency of another entry will be a root dependency.");
+            rootFuzzyIds.addAll(findUnrequiredFuzzyIds(entries));
+        }
+
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Set<YarnLockEntry> visited = new HashSet<>();
+        final Deque<YarnLockEntry> toVisit = new ArrayDeque<>();
+        for (final String rootFuzzyId : rootFuzzyIds) {
+            final YarnLockEntry root = entries.get(rootFuzzyId);
+            if (root == null) {
+                graph.addChildToRoot(createUnresolvedDependency(rootFuzzyId));
+            } else {
+                graph.addChildToRoot(root.getDependency());
+                if (visited.add(root)) {
+                    toVisit.add(root);
+                }
+            }
+        }
+
+        while (!toVisit.isEmpty()) {
+            final YarnLockEntry parent = toVisit.poll();
+            for (final String childFuzzyId : parent.dependencyFuzzyIds) {
+                final YarnLockEntry child = entries.get(childFuzzyId);
+                if (child == null) {
+                    graph.addChildWithParent(createUnresolvedDependency(childFuzzyId), parent.getDependency());
+                } else {
+                    graph.addChildWithParent(child.getDependency(), parent.getDependency());
+                    if (visited.add(child)) {
+                        toVisit.add(child);
+                    }
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    // every fuzzy id of an entry maps to the same entry, and fuzzy ids are interned so repeated requirements share one string
+    private Map<String, YarnLockEntry> readEntries(final BufferedReader yarnLockReader) throws IOException {
+        final Map<String, YarnLockEntry> entries = new HashMap<>();
+        final Map<String, String> internedFuzzyIds = new HashMap<>();
+
+        YarnLockEntry currentEntry = null;
+        boolean inDependencies = false;
+        String line;
+        while ((line = yarnLockReader.readLine()) != null) {
+            if (StringUtils.isBlank(line) || line.trim().startsWith(YarnLockParser.COMMENT_PREFIX)) {
+                continue;
+            }
+
+            final String trimmedLine = line.trim();
+            final int level = getLineLevel(line);
+            if (level == 0) {
+                final List<String> fuzzyIds = getFuzzyIdsFromLine(line);
+                currentEntry = new YarnLockEntry(getName(fuzzyIds.get(0)));
+                for (final String fuzzyId : fuzzyIds) {
+                    entries.put(intern(internedFuzzyIds, fuzzyId), currentEntry);
+                }
+                inDependencies = false;
+            } else if (currentEntry == null) {
+                continue;
+            } else if (level == 1) {
+                inDependencies = DEPENDENCIES_SECTION.equals(trimmedLine) || OPTIONAL_DEPENDENCIES_SECTION.equals(trimmedLine);
+                if (trimmedLine.startsWith(YarnLockParser.VERSION_PREFIX)) {
+                    currentEntry.version = trimmedLine.substring(YarnLockParser.VERSION_PREFIX.length(), trimmedLine.lastIndexOf(YarnLockParser.VERSION_SUFFIX));
+                }
+            } else if (level == 2 && inDependencies) {
+                final String fuzzyId = parseDependencyFuzzyId(trimmedLine);
+                if (fuzzyId != null) {
+                    currentEntry.dependencyFuzzyIds.add(intern(internedFuzzyIds, fuzzyId));
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    // a dependency line is a name and a version range, either of which may be quoted: "@babel/core" "^7.0.0"
+    private String parseDependencyFuzzyId(final String trimmedLine) {
+        final int nameEnd;
+        if (trimmedLine.startsWith("\"")) {
+            nameEnd = trimmedLine.indexOf('"', 1) + 1;
+        } else {
+            nameEnd = trimmedLine.indexOf(' ');
+        }
+        if (nameEnd <= 0 || nameEnd >= trimmedLine.length()) {
+            logger.debug(String.format("Unable to parse the yarn.lock dependency line: %s", trimmedLine));
+            return null;
+        }
+
+        final String name = trimmedLine.substring(0, nameEnd);
+        final String range = trimmedLine.substring(nameEnd);
+        return cleanFuzzyId(name) + "@" + cleanFuzzyId(range);
+    }
+
+    private void addRootFuzzyIds(final Set<String> rootFuzzyIds, final Map<String, String> packageJsonDependencies) {
+        if (packageJsonDependencies != null) {
+            packageJsonDependencies.forEach((name, range) -> rootFuzzyIds.add(cleanFuzzyId(name + "@" + range)));
+        }
+    }
+
+    private Set<String> findUnrequiredFuzzyIds(final Map<String, YarnLockEntry> entries) {
+        final Set<YarnLockEntry> requiredEntries = new HashSet<>();
+        entries.values().forEach(entry -> entry.dependencyFuzzyIds.stream()
+                                              .map(entries::get)
+                                              .filter(requiredEntry -> requiredEntry != null)
+                                              .forEach(requiredEntries::add));
+
+        final Map<YarnLockEntry, String> unrequiredEntries = new LinkedHashMap<>();
+        entries.entrySet().stream()
+            .filter(entry -> !requiredEntries.contains(entry.getValue()))
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> unrequiredEntries.putIfAbsent(entry.getValue(), entry.getKey()));
+        return new LinkedHashSet<>(unrequiredEntries.values());
+    }
+
+    private Dependency createUnresolvedDependency(final String fuzzyId) {
+        logger.debug(String.format("No yarn.lock entry was found for %s, so its version will not be resolved.", fuzzyId));
+        return createDependency(getName(fuzzyId), getFuzzyVersion(fuzzyId));
+    }
+
+    private Dependency createDependency(final String name, final String version) {
+        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version);
+        return new Dependency(name, version, externalId);
+    }
+
+    // the name ends at the first @ after the first character, since scoped names start with one
+    private String getName(final String fuzzyId) {
+        final int versionSeparator = fuzzyId.indexOf('@', 1);
+        return versionSeparator < 0 ? fuzzyId : fuzzyId.substring(0, versionSeparator);
+    }
+
+    private String getFuzzyVersion(final String fuzzyId) {
+        final int versionSeparator = fuzzyId.indexOf('@', 1);
+        return versionSeparator < 0 ? "" : fuzzyId.substring(versionSeparator + 1);
+    }
+
+    private String intern(final Map<String, String> internedFuzzyIds, final String fuzzyId) {
+        return internedFuzzyIds.computeIfAbsent(fuzzyId, it -> it);
+    }
+
+    private class YarnLockEntry {
+        private final String name;
+        private final List<String> dependencyFuzzyIds = new ArrayList<>();
+        private String version;
+        private Dependency dependency;
+
+        private YarnLockEntry(final String name) {
+            this.name = name;
+        }
+
+        private Dependency getDependency() {
+            if (dependency == null) {
+                dependency = createDependency(name, version);
+            }
+            return dependency;
+        }
+    }
+
+}
@@ -24,11 +24,9 @@
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -60,11 +58,4 @@ public class YarnLockParser extends BaseYarnParser {
         return yarnLockResolvedVersions;
     }
 
-    private List<String> getFuzzyIdsFromLine(final String s) {
-        final String[] lines = s.split(",");
-        return Arrays.stream(lines)
-                   .map(line -> line.trim().replaceAll("\"", "").replaceAll(":", ""))
-                   .collect(Collectors.toList());
-    }
-
 }
@@ -67,6 +67,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.BomToolProfiler;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimingHistory;
 import com.blackducksoftware.integration.hub.detect.workflow.report.DetectConfigurationReporter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.InfoLogReportWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -177,7 +178,9 @@ public class BootManager {
         }
 
         //TODO: Only need this if in diagnostic or online (for phone home):
-        BomToolProfiler profiler = new BomToolProfiler(eventSystem);
+        DetectorTimingHistory timingHistory = new DetectorTimingHistory(directoryManager.getPermanentDirectory(DetectorTimingHistory.HISTORY_DIRECTORY_NAME));
+        timingHistory.load();
+        BomToolProfiler profiler = new BomToolProfiler(eventSystem, timingHistory);
 
         //lock the configuration, boot has completed.
         logger.debug("Configuration is now complete. No changes should occur to configuration.");
@@ -187,6 +190,7 @@ public class BootManager {
         detectContext.registerBean(detectRun);
         detectContext.registerBean(eventSystem);
         detectContext.registerBean(profiler);
+        detectContext.registerBean(timingHistory);
 
         detectContext.registerBean(detectConfiguration);
         detectContext.registerBean(detectInfo);
@@ -23,6 +23,7 @@
  */
 package com.blackducksoftware.integration.hub.detect.lifecycle.run;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -73,6 +74,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.hub.PolicyCheckOpti
 import com.blackducksoftware.integration.hub.detect.workflow.project.ProjectNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.project.ProjectNameVersionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.report.util.ReportConstants;
+import com.blackducksoftware.integration.hub.detect.workflow.search.DetectorSearchCache;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchOptions;
 import com.synopsys.integration.bdio.SimpleBdioFactory;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
@@ -141,7 +143,9 @@ public class RunManager {
         if (detectToolFilter.shouldInclude(DetectTool.DETECTOR)) {
             logger.info("Will include the detector tool.");
             final String projectBomTool = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_DETECTOR, PropertyAuthority.None);
-            final SearchOptions searchOptions = detectConfigurationFactory.createSearchOptions(directoryManager.getSourceDirectory());
+            final File searchCacheFile = DetectorSearchCache.determineCacheFile(directoryManager.getPermanentDirectory(DetectorSearchCache.CACHE_DIRECTORY_NAME), directoryManager.getSourceDirectory(),
+                detectInfo.getDetectVersion());
+            final SearchOptions searchOptions = detectConfigurationFactory.createSearchOptions(directoryManager.getSourceDirectory(), searchCacheFile);
             final DetectorTool detectorTool = new DetectorTool(detectContext);
 
             final DetectorToolResult detectorToolResult = detectorTool.performDetectors(searchOptions, projectBomTool);
@@ -246,7 +250,7 @@ public class RunManager {
         logger.info(ReportConstants.RUN_SEPARATOR);
         if (detectToolFilter.shouldInclude(DetectTool.POLARIS)) {
             logger.info("Will include the Polaris tool.");
-            final PolarisTool polarisTool = new PolarisTool(eventSystem, directoryManager, new ExecutableRunner(), connectionManager);
+            final PolarisTool polarisTool = new PolarisTool(eventSystem, directoryManager, detectContext.getBean(ExecutableRunner.class), connectionManager);
             polarisTool.runPolaris(new Slf4jIntLogger(logger), directoryManager.getSourceDirectory());
             logger.info("Polaris actions finished.");
         } else {
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.tool.bazel;
 
 import java.io.File;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,7 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableResolutionCache;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
@@ -42,10 +44,13 @@ public class BazelExecutableFinder  extends CacheableExecutableFinder {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private static final String BAZEL_VERSION_SUBCOMMAND = "version";
     private final ExecutableRunner executableRunner;
+    private final ExecutableResolutionCache executableResolutionCache;
 
-    public BazelExecutableFinder(final ExecutableRunner executableRunner, final DirectoryManager directoryManager, final ExecutableFinder executableFinder, final DetectConfiguration detectConfiguration) {
+    public BazelExecutableFinder(final ExecutableRunner executableRunner, final DirectoryManager directoryManager, final ExecutableFinder executableFinder, final DetectConfiguration detectConfiguration,
+        final ExecutableResolutionCache executableResolutionCache) {
         super(directoryManager, executableFinder, detectConfiguration);
         this.executableRunner = executableRunner;
+        this.executableResolutionCache = executableResolutionCache;
     }
 
     public String findBazel(final DetectorEnvironment environment) {
@@ -63,11 +68,14 @@ public class BazelExecutableFinder  extends CacheableExecutableFinder {
             return null;
         }
         if (!resolvedPreviously) {
-            final ExecutableOutput bazelQueryDepsRecursiveOutput;
+            final String bazel = resolvedBazel;
             try {
-                bazelQueryDepsRecursiveOutput = executableRunner.executeQuietly(environment.getDirectory(), resolvedBazel, BAZEL_VERSION_SUBCOMMAND);
-                int returnCode = bazelQueryDepsRecursiveOutput.getReturnCode();
-                logger.trace(String.format("Bazel version returned %d; output: %s", returnCode, bazelQueryDepsRecursiveOutput.getStandardOutput()));
+                final String bazelVersionOutput = executableResolutionCache.probe(bazel, Arrays.asList(BAZEL_VERSION_SUBCOMMAND), null, () -> {
+                    final ExecutableOutput bazelQueryDepsRecursiveOutput = executableRunner.executeQuietly(environment.getDirectory(), bazel, BAZEL_VERSION_SUBCOMMAND);
+                    logger.trace(String.format("Bazel version returned %d", bazelQueryDepsRecursiveOutput.getReturnCode()));
+                    return bazelQueryDepsRecursiveOutput.getStandardOutput();
+                });
+                logger.trace(String.format("Bazel version output: %s", bazelVersionOutput));
             } catch (ExecutableRunnerException e) {
                 logger.debug(String.format("Bazel version threw exception: %s", e.getMessage()));
                 resolvedBazel = null;
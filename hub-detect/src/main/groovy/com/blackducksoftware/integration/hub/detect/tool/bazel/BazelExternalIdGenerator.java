@@ -23,6 +23,7 @@
  */
 package com.blackducksoftware.integration.hub.detect.tool.bazel;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -30,11 +31,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Scanner;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 
-import org.codehaus.plexus.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -65,14 +66,14 @@ public class BazelExternalIdGenerator {
     public List<BazelExternalId> generate(final BazelExternalIdExtractionFullRule xPathRule) {
         final List<BazelExternalId> projectExternalIds = new ArrayList<>();
         final List<String> dependencyListQueryArgs = deriveDependencyListQueryArgs(xPathRule);
-        Optional<String[]> rawDependencies = executeDependencyListQuery(xPathRule, dependencyListQueryArgs);
+        Optional<List<String>> rawDependencies = executeDependencyListQuery(xPathRule, dependencyListQueryArgs);
         if (!rawDependencies.isPresent()) {
             return projectExternalIds;
         }
         for (final String rawDependency : rawDependencies.get()) {
             String bazelExternalId = transformRawDependencyToBazelExternalId(xPathRule, rawDependency);
             final List<String> dependencyDetailsQueryArgs = deriveDependencyDetailsQueryArgs(xPathRule, bazelExternalId);
-            final Optional<String> xml = executeDependencyDetailsQuery(xPathRule, dependencyDetailsQueryArgs);
+            final Optional<ExecutableOutput> xml = executeDependencyDetailsQuery(xPathRule, dependencyDetailsQueryArgs);
             if (!xml.isPresent()) {
                 return projectExternalIds;
             }
@@ -106,7 +107,8 @@ public class BazelExternalIdGenerator {
         return sb.toString();
     }
 
-    private Optional<String[]> executeDependencyListQuery(final BazelExternalIdExtractionFullRule xPathRule, final List<String> dependencyListQueryArgs) {
+    // the query output is read lazily, bazel writes each of its lines to the log as it runs
+    private Optional<List<String>> executeDependencyListQuery(final BazelExternalIdExtractionFullRule xPathRule, final List<String> dependencyListQueryArgs) {
         ExecutableOutput targetDependenciesQueryResults = null;
         try {
             targetDependenciesQueryResults = executableRunner.executeQuietly(workspaceDir, bazelExe, dependencyListQueryArgs);
@@ -124,13 +126,25 @@ public class BazelExternalIdGenerator {
             exceptionsGenerated.put(xPathRule, new IntegrationException(msg));
             return Optional.empty();
         }
-        final String targetDependenciesQueryOutput = targetDependenciesQueryResults.getStandardOutput();
-        logger.debug(String.format("Bazel targetDependenciesQuery returned %d; output: %s", targetDependenciesQueryReturnCode, targetDependenciesQueryOutput));
-        if (StringUtils.isBlank(targetDependenciesQueryOutput)) {
+        final List<String> rawDependencies = new ArrayList<>();
+        try (BufferedReader targetDependenciesQueryReader = targetDependenciesQueryResults.openStandardOutputReader()) {
+            final Scanner scanner = new Scanner(targetDependenciesQueryReader);
+            while (scanner.hasNext()) {
+                rawDependencies.add(scanner.next());
+            }
+            if (scanner.ioException() != null) {
+                throw scanner.ioException();
+            }
+        } catch (IOException e) {
+            logger.debug(String.format("Error reading the output of bazel with args: %s: %s", dependencyListQueryArgs, e.getMessage()));
+            exceptionsGenerated.put(xPathRule, e);
+            return Optional.empty();
+        }
+        logger.debug(String.format("Bazel targetDependenciesQuery returned %d; dependencies: %s", targetDependenciesQueryReturnCode, rawDependencies));
+        if (rawDependencies.isEmpty()) {
             logger.debug("Bazel targetDependenciesQuery found no dependencies");
             return Optional.empty();
         }
-        final String[] rawDependencies = targetDependenciesQueryOutput.split("\\s+");
         return Optional.of(rawDependencies);
     }
 
@@ -139,10 +153,10 @@ public class BazelExternalIdGenerator {
         return targetOnlyVariableSubstitutor.substitute(xPathRule.getTargetDependenciesQueryBazelCmdArguments());
     }
 
-    private Optional<List<String>> parseArtifactStringsFromXml(final BazelExternalIdExtractionFullRule xPathRule, final String xml) {
+    private Optional<List<String>> parseArtifactStringsFromXml(final BazelExternalIdExtractionFullRule xPathRule, final ExecutableOutput xml) {
         final List<String> ruleArtifactStrings;
-        try {
-            ruleArtifactStrings = parser.parseStringValuesWithXPath(xml, xPathRule.getXPathQuery(), xPathRule.getRuleElementValueAttrName());
+        try (BufferedReader xmlReader = xml.openStandardOutputReader()) {
+            ruleArtifactStrings = parser.parseStringValuesWithXPath(xmlReader, xPathRule.getXPathQuery(), xPathRule.getRuleElementValueAttrName());
         } catch (IOException | SAXException | ParserConfigurationException | XPathExpressionException e) {
             logger.debug(String.format("Error parsing bazel query output with: %s: %s", xPathRule.getXPathQuery(), e.getMessage()));
             exceptionsGenerated.put(xPathRule, e);
@@ -151,7 +165,7 @@ public class BazelExternalIdGenerator {
         return Optional.of(ruleArtifactStrings);
     }
 
-    private Optional<String> executeDependencyDetailsQuery(final BazelExternalIdExtractionFullRule xPathRule, final List<String> dependencyDetailsQueryArgs) {
+    private Optional<ExecutableOutput> executeDependencyDetailsQuery(final BazelExternalIdExtractionFullRule xPathRule, final List<String> dependencyDetailsQueryArgs) {
         ExecutableOutput dependencyDetailsXmlQueryResults = null;
         try {
             dependencyDetailsXmlQueryResults = executableRunner.executeQuietly(workspaceDir, bazelExe, dependencyDetailsQueryArgs);
@@ -161,12 +175,8 @@ public class BazelExternalIdGenerator {
             return Optional.empty();
         }
         final int dependencyDetailsXmlQueryReturnCode = dependencyDetailsXmlQueryResults.getReturnCode();
-        final String dependencyDetailsXmlQueryOutput = dependencyDetailsXmlQueryResults.getStandardOutput();
-        logger.debug(String.format("Bazel targetDependenciesQuery returned %d; output: %s", dependencyDetailsXmlQueryReturnCode, dependencyDetailsXmlQueryOutput));
-
-        final String xml = dependencyDetailsXmlQueryResults.getStandardOutput();
-        logger.debug(String.format("Bazel query returned %d; output: %s", dependencyDetailsXmlQueryReturnCode, xml));
-        return Optional.of(xml);
+        logger.debug(String.format("Bazel query returned %d", dependencyDetailsXmlQueryReturnCode));
+        return Optional.of(dependencyDetailsXmlQueryResults);
     }
 
     private List<String> deriveDependencyDetailsQueryArgs(final BazelExternalIdExtractionFullRule xPathRule, final String bazelExternalId) {
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.tool.bazel;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -45,4 +46,8 @@ public class BazelQueryXmlOutputParser {
         List<String> externalIds = xPathParser.parseAttributeValuesWithGivenXPathQuery(xml, xPathQuery, ruleElementValueAttrName);
         return externalIds;
     }
+
+    public List<String> parseStringValuesWithXPath(final Reader xmlReader, final String xPathQuery, final String ruleElementValueAttrName) throws XPathExpressionException, ParserConfigurationException, SAXException, IOException {
+        return xPathParser.parseAttributeValuesWithGivenXPathQuery(xmlReader, xPathQuery, ruleElementValueAttrName);
+    }
 }
@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.tool.bazel;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,19 +43,28 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 public class XPathParser {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public List<String> parseAttributeValuesWithGivenXPathQuery(final String xmlString, final String xPathExpression, final String targetAttributeName) throws IOException, SAXException, ParserConfigurationException, XPathExpressionException {
+        InputStream xmlInputStream = new ByteArrayInputStream(xmlString.getBytes());
+        return parseAttributeValuesWithGivenXPathQuery(new InputSource(xmlInputStream), xPathExpression, targetAttributeName);
+    }
+
+    public List<String> parseAttributeValuesWithGivenXPathQuery(final Reader xmlReader, final String xPathExpression, final String targetAttributeName) throws IOException, SAXException, ParserConfigurationException, XPathExpressionException {
+        return parseAttributeValuesWithGivenXPathQuery(new InputSource(xmlReader), xPathExpression, targetAttributeName);
+    }
+
+    private List<String> parseAttributeValuesWithGivenXPathQuery(final InputSource xmlInputSource, final String xPathExpression, final String targetAttributeName) throws IOException, SAXException, ParserConfigurationException, XPathExpressionException {
         logger.debug(String.format("xPathExpression: %s, targetAttributeName: %s", xPathExpression, targetAttributeName));
         final List<String> parsedValues = new ArrayList<>();
-        InputStream xmlInputStream = new ByteArrayInputStream(xmlString.getBytes());
 
         DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
         DocumentBuilder builder = builderFactory.newDocumentBuilder();
-        Document xmlDocument = builder.parse(xmlInputStream);
+        Document xmlDocument = builder.parse(xmlInputSource);
         XPath xPath = XPathFactory.newInstance().newXPath();
         NodeList nodeList = (NodeList) xPath.compile(xPathExpression).evaluate(xmlDocument, XPathConstants.NODESET);
         for (int i=0; i < nodeList.getLength(); i++) {
@@ -28,6 +28,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigurationFactory;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.lifecycle.DetectContext;
@@ -36,6 +40,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationManager;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimingHistory;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorEvaluationNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchManager;
@@ -62,10 +67,14 @@ public class DetectorTool {
         DetectorSearchEvaluator detectorSearchEvaluator = new DetectorSearchEvaluator();
 
         SearchManager searchManager = new SearchManager(searchOptions, detectorSearchProvider, detectorSearchEvaluator, eventSystem);
-        PreparationManager preparationManager = new PreparationManager(eventSystem);
-        ExtractionManager extractionManager = new ExtractionManager();
+        DetectConfigurationFactory detectConfigurationFactory = detectContext.getBean(DetectConfigurationFactory.class);
+        PreparationManager preparationManager = new PreparationManager(eventSystem, detectConfigurationFactory.createPreparationOptions());
+        DetectorTimingHistory timingHistory = detectContext.getBean(DetectorTimingHistory.class);
+        ExtractionManager extractionManager = new ExtractionManager(detectConfigurationFactory.createExtractionOptions(), eventSystem, timingHistory);
 
-        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, preparationManager, eventSystem);
+        DetectConfiguration detectConfiguration = detectContext.getBean(DetectConfiguration.class);
+        boolean pipelined = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_PIPELINE, PropertyAuthority.None);
+        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, preparationManager, eventSystem, pipelined);
         logger.info("Running detectors.");
         DetectorToolResult detectorToolResult = detectorManager.runDetectors();
         logger.info("Finished running detectors.");
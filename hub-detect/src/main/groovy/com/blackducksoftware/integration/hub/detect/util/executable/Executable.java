@@ -28,10 +28,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+
 public class Executable {
+    private static final String[] WINDOWS_EXTENSIONS = { ".exe", ".cmd", ".bat" };
+
     private final File workingDirectory;
     private final Map<String, String> environmentVariables = new HashMap<>();
     private final String executablePath;
@@ -71,6 +76,13 @@ public class Executable {
     }
 
     public String getMaskedExecutableDescription() {
+        return StringUtils.join(getMaskedProcessArguments(), ' ');
+    }
+
+    /**
+     * The executable followed by its arguments, with password values replaced.
+     */
+    public List<String> getMaskedProcessArguments() {
         final List<String> arguments = new ArrayList<>();
         for (final String argument : createProcessBuilderArguments()) {
             if (argument.matches(".*password.*=.*")) {
@@ -80,7 +92,29 @@ public class Executable {
                 arguments.add(argument);
             }
         }
-        return StringUtils.join(arguments, ' ');
+        return arguments;
+    }
+
+    public File getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    public String getExecutablePath() {
+        return executablePath;
+    }
+
+    // Executables are run by path, so the type is recovered from the file name, ignoring the windows extensions.
+    public Optional<ExecutableType> findExecutableType() {
+        String baseName = new File(executablePath).getName().toLowerCase();
+        for (final String extension : WINDOWS_EXTENSIONS) {
+            baseName = StringUtils.removeEnd(baseName, extension);
+        }
+        for (final ExecutableType executableType : ExecutableType.values()) {
+            if (executableType.getExecutable().equals(baseName)) {
+                return Optional.of(executableType);
+            }
+        }
+        return Optional.empty();
     }
 
     public String getExecutableDescription() {
@@ -0,0 +1,416 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * A capture file of the executables detect resolved and ran, with their output, so a run can be replayed without the build tools installed.
+ * The capture file is a small index with one JSON line per resolution or execution, appended as they happen. The output of each execution is
+ * kept in its own files in a folder next to the capture file. Executions are matched on their working directory, executable and masked arguments.
+ * The run directory, the extraction output directory and per-run ids (UUIDs) in those are replaced with placeholders first, so a later run with its own run directory still matches them.
+ * The files an execution leaves in its extraction output directory, or names after a per-run id in its arguments, are recorded with it and restored when it is replayed.
+ * When the same execution was captured more than once, the captures are replayed in the order they were recorded and the last one is repeated.
+ */
+public class ExecutableCapture {
+    public enum CaptureMode {
+        NONE,
+        RECORD,
+        REPLAY
+    }
+
+    private static final String OUTPUT_DIRECTORY_SUFFIX = ".output";
+    private static final String RUN_DIRECTORY_PLACEHOLDER = "${RUN_DIRECTORY}";
+    private static final String EXTRACTION_OUTPUT_DIRECTORY_PLACEHOLDER = "${EXTRACTION_OUTPUT_DIRECTORY}";
+    private static final String PER_RUN_ID_PLACEHOLDER = "${PER_RUN_ID_%d}";
+    private static final Pattern PER_RUN_ID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final Logger logger = LoggerFactory.getLogger(ExecutableCapture.class);
+    private final Gson gson = new Gson();
+
+    private final CaptureMode captureMode;
+    private final File captureFile;
+    private final File runDirectory;
+    private final File extractionsDirectory;
+
+    private final Map<String, String> resolutions = new HashMap<>();
+    private final Map<String, Queue<CapturedExecution>> executionsToReplay = new HashMap<>();
+    private int recordedExecutions = 0;
+    private boolean started = false;
+
+    public ExecutableCapture(final CaptureMode captureMode, final File captureFile) {
+        this(captureMode, captureFile, null, null);
+    }
+
+    /**
+     * The extractions directory is the one holding the output directory of every extraction, inside the run directory.
+     */
+    public ExecutableCapture(final CaptureMode captureMode, final File captureFile, final File runDirectory, final File extractionsDirectory) {
+        this.captureMode = captureMode;
+        this.captureFile = captureFile;
+        this.runDirectory = runDirectory;
+        this.extractionsDirectory = extractionsDirectory;
+    }
+
+    public boolean isRecording() {
+        return captureMode == CaptureMode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return captureMode == CaptureMode.REPLAY;
+    }
+
+    public synchronized void load() {
+        int loadedExecutions = 0;
+        try (BufferedReader reader = Files.newBufferedReader(captureFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                final CaptureEntry entry = gson.fromJson(line, CaptureEntry.class);
+                if (entry.execution != null) {
+                    final CapturedExecution execution = entry.execution;
+                    executionsToReplay.computeIfAbsent(createKey(execution.workingDirectory, execution.arguments), it -> new LinkedList<>()).add(execution);
+                    loadedExecutions++;
+                } else if (entry.executableName != null) {
+                    resolutions.put(entry.executableName, entry.resolvedPath);
+                }
+            }
+            logger.info(String.format("Loaded %d captured executions from %s", loadedExecutions, captureFile.getAbsolutePath()));
+        } catch (final IOException | JsonParseException e) {
+            logger.error(String.format("Unable to read the executable capture file %s, no executables will be replayed: %s", captureFile.getAbsolutePath(), e.getMessage()));
+        }
+    }
+
+    public synchronized void recordResolution(final String executableName, final File executable) {
+        resolutions.put(executableName, executable == null ? null : createRunDirectorySubstitutions().replace(executable.getAbsolutePath()));
+        final CaptureEntry entry = new CaptureEntry();
+        entry.executableName = executableName;
+        entry.resolvedPath = resolutions.get(executableName);
+        append(entry);
+    }
+
+    public synchronized File findResolution(final String executableName) {
+        final String path = resolutions.get(executableName);
+        return path == null ? null : new File(createRunDirectorySubstitutions().restore(path));
+    }
+
+    /**
+     * Lists the files in the extraction output directory the executable writes to, taken before it runs so the files it leaves there can be told apart afterwards.
+     */
+    public Map<File, Long> listOutputFiles(final Executable executable) {
+        final Map<File, Long> outputFiles = new HashMap<>();
+        findExtractionOutputDirectory(executable).ifPresent(directory -> listFiles(new File(directory)).forEach(file -> outputFiles.put(file, file.lastModified())));
+        return outputFiles;
+    }
+
+    public void recordExecution(final Executable executable, final ExecutableOutput executableOutput) {
+        recordExecution(executable, executableOutput, Collections.emptyMap());
+    }
+
+    /**
+     * Output that was spilled to a file is copied from that file, so it is never loaded into memory.
+     * Files in the extraction output directory that are not in the listing taken before the execution, or changed since, are recorded with it.
+     */
+    public void recordExecution(final Executable executable, final ExecutableOutput executableOutput, final Map<File, Long> outputFilesBefore) {
+        final int executionNumber;
+        synchronized (this) {
+            executionNumber = recordedExecutions++;
+        }
+
+        final Substitutions substitutions = createSubstitutions(executable);
+        final CapturedExecution execution = new CapturedExecution();
+        execution.workingDirectory = substitutions.replace(toPath(executable.getWorkingDirectory()));
+        execution.arguments = substitutions.replace(executable.getMaskedProcessArguments());
+        execution.returnCode = executableOutput.getReturnCode();
+        execution.standardOutputFile = executionNumber + ".out";
+        execution.errorOutputFile = executionNumber + ".err";
+        execution.outputFiles = new ArrayList<>();
+        try {
+            final File outputDirectory = getOutputDirectory();
+            Files.createDirectories(outputDirectory.toPath());
+            writeOutput(new File(outputDirectory, execution.standardOutputFile), executableOutput.getStandardOutputFile(), executableOutput::getStandardOutput);
+            writeOutput(new File(outputDirectory, execution.errorOutputFile), executableOutput.getErrorOutputFile(), executableOutput::getErrorOutput);
+            final List<File> outputFiles = findOutputFiles(executable, outputFilesBefore);
+            for (int i = 0; i < outputFiles.size(); i++) {
+                final CapturedFile capturedFile = new CapturedFile();
+                capturedFile.path = substitutions.replace(outputFiles.get(i).getAbsolutePath());
+                capturedFile.file = executionNumber + "." + i + ".file";
+                Files.copy(outputFiles.get(i).toPath(), new File(outputDirectory, capturedFile.file).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                execution.outputFiles.add(capturedFile);
+            }
+        } catch (final IOException e) {
+            logger.warn(String.format("Unable to write the captured output of %s: %s", executable.getMaskedExecutableDescription(), e.getMessage()));
+            return;
+        }
+
+        final CaptureEntry entry = new CaptureEntry();
+        entry.execution = execution;
+        synchronized (this) {
+            append(entry);
+        }
+    }
+
+    /**
+     * The files recorded with the execution are restored before its output is returned, so a failure to restore them fails the execution.
+     */
+    public synchronized Optional<ExecutableOutput> replayExecution(final Executable executable) throws ExecutableRunnerException {
+        final Substitutions substitutions = createSubstitutions(executable);
+        final String key = createKey(substitutions.replace(toPath(executable.getWorkingDirectory())), substitutions.replace(executable.getMaskedProcessArguments()));
+        final Queue<CapturedExecution> captured = executionsToReplay.get(key);
+        if (captured == null || captured.isEmpty()) {
+            return Optional.empty();
+        }
+        final CapturedExecution execution = captured.size() > 1 ? captured.poll() : captured.peek();
+        final File outputDirectory = getOutputDirectory();
+        if (execution.outputFiles != null) {
+            for (final CapturedFile capturedFile : execution.outputFiles) {
+                final File target = new File(substitutions.restore(capturedFile.path));
+                try {
+                    Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+                    Files.copy(new File(outputDirectory, capturedFile.file).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (final IOException e) {
+                    throw new ExecutableRunnerException(e);
+                }
+            }
+        }
+        return Optional.of(new ExecutableOutput(execution.returnCode, null, new File(outputDirectory, execution.standardOutputFile), null, new File(outputDirectory, execution.errorOutputFile)));
+    }
+
+    private File getOutputDirectory() {
+        final File absoluteCaptureFile = captureFile.getAbsoluteFile();
+        return new File(absoluteCaptureFile.getParentFile(), absoluteCaptureFile.getName() + OUTPUT_DIRECTORY_SUFFIX);
+    }
+
+    private void writeOutput(final File target, final Optional<File> spilledOutput, final Supplier<String> output) throws IOException {
+        if (spilledOutput.isPresent()) {
+            Files.copy(spilledOutput.get().toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.write(target.toPath(), StringUtils.defaultString(output.get()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // appended after every change so the capture survives a run that fails part way, the first entry replaces an older capture
+    private void append(final CaptureEntry entry) {
+        try {
+            Files.createDirectories(captureFile.getAbsoluteFile().getParentFile().toPath());
+            final StandardOpenOption mode = started ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+            try (Writer writer = Files.newBufferedWriter(captureFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+                writer.write(gson.toJson(entry));
+                writer.write("\n");
+            }
+            started = true;
+        } catch (final IOException e) {
+            logger.warn("Unable to write the executable capture file: " + e.getMessage());
+        }
+    }
+
+    // the files left in the extraction output directory, and the files under the working directory named after a per-run id in the arguments
+    private List<File> findOutputFiles(final Executable executable, final Map<File, Long> outputFilesBefore) {
+        final Set<File> outputFiles = new HashSet<>();
+        findExtractionOutputDirectory(executable).ifPresent(directory -> listFiles(new File(directory)).stream()
+                                                                             .filter(file -> !Long.valueOf(file.lastModified()).equals(outputFilesBefore.get(file)))
+                                                                             .forEach(outputFiles::add));
+        final List<String> perRunIds = findPerRunIds(createRunDirectorySubstitutions().replace(executable.getMaskedProcessArguments()));
+        if (!perRunIds.isEmpty() && executable.getWorkingDirectory() != null) {
+            listFiles(executable.getWorkingDirectory()).stream()
+                .filter(file -> perRunIds.stream().anyMatch(file.getName()::contains))
+                .forEach(outputFiles::add);
+        }
+        return outputFiles.stream().sorted().collect(Collectors.toList());
+    }
+
+    private Collection<File> listFiles(final File directory) {
+        if (!directory.isDirectory()) {
+            return Collections.emptyList();
+        }
+        return FileUtils.listFiles(directory, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE);
+    }
+
+    // the first extraction output directory named by the working directory or an argument, as it is written there
+    private Optional<String> findExtractionOutputDirectory(final Executable executable) {
+        final List<String> values = new ArrayList<>();
+        values.add(toPath(executable.getWorkingDirectory()));
+        values.addAll(executable.getMaskedProcessArguments());
+        for (final String extractionsPath : toPaths(extractionsDirectory)) {
+            final String prefix = extractionsPath + File.separator;
+            for (final String value : values) {
+                final int start = value == null ? -1 : value.indexOf(prefix);
+                if (start >= 0) {
+                    final int nameEnd = value.indexOf(File.separatorChar, start + prefix.length());
+                    final String directory = value.substring(start, nameEnd < 0 ? value.length() : nameEnd);
+                    if (directory.length() > prefix.length()) {
+                        return Optional.of(directory);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<String> findPerRunIds(final List<String> arguments) {
+        final List<String> perRunIds = new ArrayList<>();
+        for (final String argument : arguments) {
+            final Matcher matcher = PER_RUN_ID_PATTERN.matcher(argument);
+            while (matcher.find()) {
+                if (!perRunIds.contains(matcher.group())) {
+                    perRunIds.add(matcher.group());
+                }
+            }
+        }
+        return perRunIds;
+    }
+
+    private Substitutions createSubstitutions(final Executable executable) {
+        final Substitutions substitutions = new Substitutions();
+        findExtractionOutputDirectory(executable).ifPresent(directory -> substitutions.add(directory, EXTRACTION_OUTPUT_DIRECTORY_PLACEHOLDER));
+        toPaths(runDirectory).forEach(path -> substitutions.add(path, RUN_DIRECTORY_PLACEHOLDER));
+        // looked for after the directories are replaced, so an id in the run directory name is not taken for a per-run id of the execution
+        final List<String> perRunIds = findPerRunIds(substitutions.replace(executable.getMaskedProcessArguments()));
+        for (int i = 0; i < perRunIds.size(); i++) {
+            substitutions.add(perRunIds.get(i), String.format(PER_RUN_ID_PLACEHOLDER, i));
+        }
+        return substitutions;
+    }
+
+    private Substitutions createRunDirectorySubstitutions() {
+        final Substitutions substitutions = new Substitutions();
+        toPaths(runDirectory).forEach(path -> substitutions.add(path, RUN_DIRECTORY_PLACEHOLDER));
+        return substitutions;
+    }
+
+    // a directory can be written as its absolute or its canonical path, the absolute one comes first
+    private List<String> toPaths(final File directory) {
+        final List<String> paths = new ArrayList<>();
+        if (directory != null) {
+            paths.add(directory.getAbsolutePath());
+            try {
+                final String canonicalPath = directory.getCanonicalPath();
+                if (!paths.contains(canonicalPath)) {
+                    paths.add(canonicalPath);
+                }
+            } catch (final IOException e) {
+                logger.debug(String.format("Unable to resolve the canonical path of %s: %s", directory.getAbsolutePath(), e.getMessage()));
+            }
+        }
+        return paths;
+    }
+
+    private String toPath(final File directory) {
+        return directory == null ? null : directory.getAbsolutePath();
+    }
+
+    private String createKey(final String workingDirectory, final List<String> arguments) {
+        return workingDirectory + "\0" + String.join("\0", arguments);
+    }
+
+    // longer values are replaced first, so the extraction output directory wins over the run directory it is in; a placeholder is restored to the first value added for it
+    private static class Substitutions {
+        private final Map<String, String> placeholders = new LinkedHashMap<>();
+
+        void add(final String value, final String placeholder) {
+            placeholders.putIfAbsent(value, placeholder);
+        }
+
+        String replace(final String text) {
+            if (text == null) {
+                return null;
+            }
+            String replaced = text;
+            for (final String value : placeholders.keySet().stream().sorted(Comparator.comparingInt(String::length).reversed()).collect(Collectors.toList())) {
+                replaced = replaced.replace(value, placeholders.get(value));
+            }
+            return replaced;
+        }
+
+        List<String> replace(final List<String> texts) {
+            return texts.stream().map(this::replace).collect(Collectors.toList());
+        }
+
+        String restore(final String text) {
+            String restored = text;
+            final Set<String> restoredPlaceholders = new HashSet<>();
+            for (final Map.Entry<String, String> substitution : placeholders.entrySet()) {
+                if (restoredPlaceholders.add(substitution.getValue())) {
+                    restored = restored.replace(substitution.getValue(), substitution.getKey());
+                }
+            }
+            return restored;
+        }
+    }
+
+    private static class CaptureEntry {
+        String executableName;
+        String resolvedPath;
+        CapturedExecution execution;
+    }
+
+    private static class CapturedExecution {
+        String workingDirectory;
+        List<String> arguments;
+        int returnCode;
+        String standardOutputFile;
+        String errorOutputFile;
+        List<CapturedFile> outputFiles;
+    }
+
+    private static class CapturedFile {
+        String path;
+        String file;
+    }
+}
@@ -25,9 +25,7 @@ package com.blackducksoftware.integration.hub.detect.util.executable;
 
 import java.io.File;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -36,18 +34,26 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
 import com.blackducksoftware.integration.hub.detect.type.OperatingSystemType;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableCapture.CaptureMode;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 
 public class ExecutableFinder {
     private final Logger logger = LoggerFactory.getLogger(ExecutableFinder.class);
-    private final Map<String, File> cachedSystemExecutables = new HashMap<>();
 
     private final DetectFileFinder detectFileFinder;
     private final DetectInfo detectInfo;
+    private final ExecutableResolutionCache executableResolutionCache;
+    private final ExecutableCapture executableCapture;
 
     public ExecutableFinder(final DetectFileFinder detectFileFinder, final DetectInfo detectInfo) {
+        this(detectFileFinder, detectInfo, new ExecutableResolutionCache(), new ExecutableCapture(CaptureMode.NONE, null));
+    }
+
+    public ExecutableFinder(final DetectFileFinder detectFileFinder, final DetectInfo detectInfo, final ExecutableResolutionCache executableResolutionCache, final ExecutableCapture executableCapture) {
         this.detectFileFinder = detectFileFinder;
         this.detectInfo = detectInfo;
+        this.executableResolutionCache = executableResolutionCache;
+        this.executableCapture = executableCapture;
     }
 
     public String getExecutableName(final ExecutableType executableType) {
@@ -89,13 +95,15 @@ public class ExecutableFinder {
         return executableFile;
     }
 
-    private File findExecutableFileFromSystemPath(final String executable) {
-        final String systemPath = System.getenv("PATH");
-        if (!cachedSystemExecutables.containsKey(executable)) {
-            cachedSystemExecutables.put(executable, findExecutableFileFromPath(systemPath, executable));
+    public File findExecutableFileFromSystemPath(final String executable) {
+        if (executableCapture.isReplaying()) {
+            return executableCapture.findResolution(executable);
         }
-        return cachedSystemExecutables.get(executable);
-
+        final File executableFile = executableResolutionCache.resolveOnSystemPath(executable, it -> findExecutableFileFromPath(System.getenv("PATH"), it));
+        if (executableCapture.isRecording()) {
+            executableCapture.recordResolution(executable, executableFile);
+        }
+        return executableFile;
     }
 
     private File findExecutableFileFromPath(final String path, final String executableName) {
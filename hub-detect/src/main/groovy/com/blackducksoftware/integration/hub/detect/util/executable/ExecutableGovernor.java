@@ -0,0 +1,121 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+
+/**
+ * Limits how many external processes run at the same time, both in total and per executable type.
+ * Waiting processes are queued in the order they asked to run.
+ */
+public class ExecutableGovernor {
+    private final Logger logger = LoggerFactory.getLogger(ExecutableGovernor.class);
+
+    private final ExecutableGovernorOptions executableGovernorOptions;
+    private final EventSystem eventSystem;
+    private final Semaphore processPermits;
+    private final Map<ExecutableType, Semaphore> typePermits = new ConcurrentHashMap<>();
+    private final AtomicInteger runningProcesses = new AtomicInteger(0);
+    private final AtomicInteger peakProcesses = new AtomicInteger(0);
+
+    public ExecutableGovernor(final ExecutableGovernorOptions executableGovernorOptions, final EventSystem eventSystem) {
+        this.executableGovernorOptions = executableGovernorOptions;
+        this.eventSystem = eventSystem;
+        this.processPermits = new Semaphore(executableGovernorOptions.getMaxProcesses(), true);
+    }
+
+    public ExecutablePermit acquire(final Executable executable) throws InterruptedException {
+        final ExecutableType executableType = executable.findExecutableType().orElse(null);
+        final Optional<Semaphore> typeSemaphore = findTypePermits(executableType);
+
+        final long waitStarted = System.currentTimeMillis();
+        if (typeSemaphore.isPresent()) {
+            typeSemaphore.get().acquire();
+        }
+        try {
+            processPermits.acquire();
+        } catch (final InterruptedException e) {
+            typeSemaphore.ifPresent(Semaphore::release);
+            throw e;
+        }
+        final long waitMs = System.currentTimeMillis() - waitStarted;
+        if (waitMs > 0) {
+            logger.debug(String.format("Waited %d ms for a process permit to run %s", waitMs, executable.getMaskedExecutableDescription()));
+        }
+
+        final int running = runningProcesses.incrementAndGet();
+        peakProcesses.accumulateAndGet(running, Math::max);
+        return new ExecutablePermit(executable, executableType, waitMs, running);
+    }
+
+    public void release(final ExecutablePermit permit) {
+        final long runMs = System.currentTimeMillis() - permit.started;
+        runningProcesses.decrementAndGet();
+        processPermits.release();
+        findTypePermits(permit.executableType).ifPresent(Semaphore::release);
+
+        final ExecutableMetrics metrics = new ExecutableMetrics(permit.executable.getMaskedExecutableDescription(), permit.executableType, permit.waitMs, runMs, permit.concurrentProcesses, peakProcesses.get());
+        eventSystem.publishEvent(Event.ExecutableCompleted, metrics);
+    }
+
+    public int getPeakProcesses() {
+        return peakProcesses.get();
+    }
+
+    private Optional<Semaphore> findTypePermits(final ExecutableType executableType) {
+        if (executableType == null) {
+            return Optional.empty();
+        }
+        // wrapper scripts share the permits of the executable they run
+        final ExecutableType baseType = executableType.getBaseType();
+        return executableGovernorOptions.getTypeLimit(baseType)
+                   .map(limit -> typePermits.computeIfAbsent(baseType, it -> new Semaphore(limit, true)));
+    }
+
+    public static class ExecutablePermit {
+        private final Executable executable;
+        private final ExecutableType executableType;
+        private final long waitMs;
+        private final int concurrentProcesses;
+        private final long started = System.currentTimeMillis();
+
+        private ExecutablePermit(final Executable executable, final ExecutableType executableType, final long waitMs, final int concurrentProcesses) {
+            this.executable = executable;
+            this.executableType = executableType;
+            this.waitMs = waitMs;
+            this.concurrentProcesses = concurrentProcesses;
+        }
+    }
+}
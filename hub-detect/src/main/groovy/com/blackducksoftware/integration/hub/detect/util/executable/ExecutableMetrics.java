@@ -0,0 +1,70 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.util.Optional;
+
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+
+public class ExecutableMetrics {
+    private final String executableDescription;
+    private final ExecutableType executableType;
+    private final long waitMs;
+    private final long runMs;
+    private final int concurrentProcesses;
+    private final int peakConcurrentProcesses;
+
+    public ExecutableMetrics(final String executableDescription, final ExecutableType executableType, final long waitMs, final long runMs, final int concurrentProcesses, final int peakConcurrentProcesses) {
+        this.executableDescription = executableDescription;
+        this.executableType = executableType;
+        this.waitMs = waitMs;
+        this.runMs = runMs;
+        this.concurrentProcesses = concurrentProcesses;
+        this.peakConcurrentProcesses = peakConcurrentProcesses;
+    }
+
+    public String getExecutableDescription() {
+        return executableDescription;
+    }
+
+    public Optional<ExecutableType> getExecutableType() {
+        return Optional.ofNullable(executableType);
+    }
+
+    public long getWaitMs() {
+        return waitMs;
+    }
+
+    public long getRunMs() {
+        return runMs;
+    }
+
+    public int getConcurrentProcesses() {
+        return concurrentProcesses;
+    }
+
+    public int getPeakConcurrentProcesses() {
+        return peakConcurrentProcesses;
+    }
+}
@@ -23,18 +23,42 @@
  */
 package com.blackducksoftware.integration.hub.detect.util.executable;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExecutableOutput {
+    private final Logger logger = LoggerFactory.getLogger(ExecutableOutput.class);
+
     private int returnCode = 0;
     private final String standardOutput;
     private final String errorOutput;
+    private final File standardOutputFile;
+    private final File errorOutputFile;
 
     public ExecutableOutput(final int returnCode, final String standardOutput, final String errorOutput) {
+        this(returnCode, standardOutput, null, errorOutput, null);
+    }
+
+    /**
+     * Output that grew too large to keep on the heap is given as a file instead, in which case the matching string is ignored.
+     */
+    public ExecutableOutput(final int returnCode, final String standardOutput, final File standardOutputFile, final String errorOutput, final File errorOutputFile) {
         this.returnCode = returnCode;
         this.standardOutput = standardOutput;
+        this.standardOutputFile = standardOutputFile;
         this.errorOutput = errorOutput;
+        this.errorOutputFile = errorOutputFile;
     }
     
     public ExecutableOutput(final String standardOutput, final String errorOutput) {
@@ -42,22 +66,65 @@ public class ExecutableOutput {
     }
 
     public List<String> getStandardOutputAsList() {
-        return Arrays.asList(standardOutput.split(System.lineSeparator()));
+        return asList(standardOutput, standardOutputFile);
     }
 
     public List<String> getErrorOutputAsList() {
-        return Arrays.asList(errorOutput.split(System.lineSeparator()));
+        return asList(errorOutput, errorOutputFile);
     }
 
     public String getStandardOutput() {
-        return standardOutput;
+        return asString(standardOutput, standardOutputFile);
     }
 
     public String getErrorOutput() {
-        return errorOutput;
+        return asString(errorOutput, errorOutputFile);
+    }
+
+    /**
+     * Reads the standard output lazily, without loading a spilled output into memory. The caller must close the reader.
+     */
+    public BufferedReader openStandardOutputReader() throws IOException {
+        return openReader(standardOutput, standardOutputFile);
+    }
+
+    public BufferedReader openErrorOutputReader() throws IOException {
+        return openReader(errorOutput, errorOutputFile);
+    }
+
+    public Optional<File> getStandardOutputFile() {
+        return Optional.ofNullable(standardOutputFile);
+    }
+
+    public Optional<File> getErrorOutputFile() {
+        return Optional.ofNullable(errorOutputFile);
     }
     
     public int getReturnCode() {
         return returnCode;
     }
+
+    // split the same trimmed text whether the output was kept in memory or spilled
+    private List<String> asList(final String output, final File outputFile) {
+        return Arrays.asList(asString(output, outputFile).split(System.lineSeparator()));
+    }
+
+    private String asString(final String output, final File outputFile) {
+        if (outputFile == null) {
+            return output;
+        }
+        logger.warn(String.format("Loading %d bytes of executable output spilled to %s back into memory.", outputFile.length(), outputFile.getAbsolutePath()));
+        try {
+            return new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BufferedReader openReader(final String output, final File outputFile) throws IOException {
+        if (outputFile == null) {
+            return new BufferedReader(new StringReader(output));
+        }
+        return Files.newBufferedReader(outputFile.toPath(), StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,214 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers where executables were found on the system PATH and what their version probes printed, across runs when given a cache directory.
+ * A resolution is reused while the PATH and the modification times of its directories are unchanged, a probe while the executable's modification time and size are unchanged.
+ */
+public class ExecutableResolutionCache {
+    public static final String CACHE_DIRECTORY_NAME = "executables";
+    private static final String CACHE_FILE_NAME = "executable-cache.json";
+
+    private final Logger logger = LoggerFactory.getLogger(ExecutableResolutionCache.class);
+    private final Gson gson = new Gson();
+
+    private final File cacheFile;
+    private final Map<String, CachedResolution> resolutions = new ConcurrentHashMap<>();
+    private final Map<String, CachedProbe> probes = new ConcurrentHashMap<>();
+    private String pathFingerprint;
+
+    /**
+     * Creates a cache that only lives as long as this run.
+     */
+    public ExecutableResolutionCache() {
+        this(null);
+    }
+
+    public ExecutableResolutionCache(final File cacheDirectory) {
+        this.cacheFile = cacheDirectory == null ? null : new File(cacheDirectory, CACHE_FILE_NAME);
+    }
+
+    public void load() {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            final CachedExecutables cachedExecutables = gson.fromJson(reader, CachedExecutables.class);
+            if (cachedExecutables != null && cachedExecutables.resolutions != null) {
+                resolutions.putAll(cachedExecutables.resolutions);
+            }
+            if (cachedExecutables != null && cachedExecutables.probes != null) {
+                probes.putAll(cachedExecutables.probes);
+            }
+            logger.debug(String.format("Loaded %d executable resolutions and %d version probes from %s", resolutions.size(), probes.size(), cacheFile.getAbsolutePath()));
+        } catch (final IOException | JsonParseException e) {
+            logger.debug("Unable to read the executable cache, executables will be resolved again: " + e.getMessage());
+            resolutions.clear();
+            probes.clear();
+        }
+    }
+
+    public synchronized File resolveOnSystemPath(final String executableName, final Function<String, File> resolver) {
+        final String fingerprint = getPathFingerprint();
+        final CachedResolution cachedResolution = resolutions.get(executableName);
+        if (cachedResolution != null && fingerprint.equals(cachedResolution.pathFingerprint)) {
+            if (cachedResolution.path == null) {
+                return null;
+            }
+            final File cachedFile = new File(cachedResolution.path);
+            if (cachedFile.isFile() && cachedFile.lastModified() == cachedResolution.lastModified) {
+                logger.debug(String.format("Resolved executable %s from the executable cache: %s", executableName, cachedResolution.path));
+                return cachedFile;
+            }
+        }
+
+        final File executableFile = resolver.apply(executableName);
+        final CachedResolution resolution = new CachedResolution();
+        resolution.pathFingerprint = fingerprint;
+        if (executableFile != null) {
+            resolution.path = executableFile.getAbsolutePath();
+            resolution.lastModified = executableFile.lastModified();
+        }
+        resolutions.put(executableName, resolution);
+        save();
+        return executableFile;
+    }
+
+    /**
+     * Returns the output of a version probe, only running it when the executable changed since the probe was cached.
+     * The context should hold anything else that changes the probe's output, such as an environment override. Failed probes are not cached.
+     */
+    public String probe(final String executablePath, final List<String> arguments, final String context, final VersionProbe versionProbe) throws ExecutableRunnerException {
+        final File executableFile = new File(executablePath);
+        if (!executableFile.isFile()) {
+            return versionProbe.run();
+        }
+
+        final String key = executableFile.getAbsolutePath() + " " + StringUtils.join(arguments, ' ') + " " + StringUtils.defaultString(context);
+        final CachedProbe cachedProbe = probes.get(key);
+        if (cachedProbe != null && cachedProbe.lastModified == executableFile.lastModified() && cachedProbe.size == executableFile.length()) {
+            logger.debug(String.format("Using the cached version probe of %s", executablePath));
+            return cachedProbe.output;
+        }
+
+        final String output = versionProbe.run();
+        final CachedProbe probe = new CachedProbe();
+        probe.lastModified = executableFile.lastModified();
+        probe.size = executableFile.length();
+        probe.output = output;
+        probes.put(key, probe);
+        save();
+        return output;
+    }
+
+    private synchronized void save() {
+        if (cacheFile == null) {
+            return;
+        }
+        final CachedExecutables cachedExecutables = new CachedExecutables();
+        cachedExecutables.resolutions = new HashMap<>(resolutions);
+        cachedExecutables.probes = new HashMap<>(probes);
+        try {
+            Files.createDirectories(cacheFile.toPath().getParent());
+            final File temporaryFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(cachedExecutables, writer);
+            }
+            Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            logger.debug("Unable to write the executable cache: " + e.getMessage());
+        }
+    }
+
+    // A directory's modification time changes when an entry is added or removed, so this notices new executables without listing the directories.
+    private synchronized String getPathFingerprint() {
+        if (pathFingerprint == null) {
+            final String systemPath = StringUtils.defaultString(System.getenv("PATH"));
+            final StringBuilder fingerprint = new StringBuilder(systemPath);
+            for (final String pathPiece : systemPath.split(File.pathSeparator)) {
+                fingerprint.append('\0').append(new File(pathPiece).lastModified());
+            }
+            pathFingerprint = hash(fingerprint.toString());
+        }
+        return pathFingerprint;
+    }
+
+    private String hash(final String value) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final StringBuilder hash = new StringBuilder();
+            for (final byte hashByte : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+                hash.append(String.format("%02x", hashByte));
+            }
+            return hash.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    public interface VersionProbe {
+        String run() throws ExecutableRunnerException;
+    }
+
+    private static class CachedExecutables {
+        Map<String, CachedResolution> resolutions;
+        Map<String, CachedProbe> probes;
+    }
+
+    private static class CachedResolution {
+        String pathFingerprint;
+        String path;
+        long lastModified;
+    }
+
+    private static class CachedProbe {
+        long lastModified;
+        long size;
+        String output;
+    }
+}
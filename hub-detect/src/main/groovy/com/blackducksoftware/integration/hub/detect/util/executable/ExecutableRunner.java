@@ -27,6 +27,9 @@ import java.io.File;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -34,10 +37,38 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableGovernor.ExecutablePermit;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 
 public class ExecutableRunner {
+    private static final long TERMINATION_GRACE_PERIOD_SECONDS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(ExecutableRunner.class);
 
+    private final DirectoryManager directoryManager;
+    private final long spillThreshold;
+    private final ExecutableGovernor executableGovernor;
+    private final ExecutableTimeoutOptions executableTimeoutOptions;
+    private final AtomicInteger executableCount = new AtomicInteger(0);
+
+    public ExecutableRunner() {
+        this(null, 0, null, null);
+    }
+
+    /**
+     * Output larger than the spill threshold (in characters) is written to the run's executable output directory instead of being kept in memory.
+     * A threshold of zero or less, or no directory manager, keeps all output in memory.
+     * When a governor is given every process waits for its permits before it is started.
+     * When timeout options are given a process that runs longer than the timeout of its executable type is stopped, along with every process it started.
+     */
+    public ExecutableRunner(final DirectoryManager directoryManager, final long spillThreshold, final ExecutableGovernor executableGovernor, final ExecutableTimeoutOptions executableTimeoutOptions) {
+        this.directoryManager = directoryManager;
+        this.spillThreshold = spillThreshold;
+        this.executableGovernor = executableGovernor;
+        this.executableTimeoutOptions = executableTimeoutOptions;
+    }
+
     public ExecutableOutput execute(File workingDirectory, final String exePath, final String... args) throws ExecutableRunnerException {
         final Executable exe = new Executable(workingDirectory, exePath, Arrays.asList(args));
         return execute(exe);
@@ -76,34 +107,126 @@ public class ExecutableRunner {
         return runExecutable(executable, logger::debug, logger::trace);
     }
 
+    /**
+     * Hands each line of standard output to the consumer as it is produced, so it can be parsed while the executable is still running.
+     * The standard output of the returned ExecutableOutput is empty, the error output is still collected.
+     */
+    public ExecutableOutput executeStreaming(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, logger::info, logger::trace, standardOutputConsumer);
+    }
+
+    public ExecutableOutput executeStreamingQuietly(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, logger::debug, logger::trace, standardOutputConsumer);
+    }
+
     public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod) throws ExecutableRunnerException {
+        return runExecutable(executable, standardLoggingMethod, traceLoggingMethod, null);
+    }
+
+    public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer)
+        throws ExecutableRunnerException {
+        if (executableGovernor == null) {
+            return runProcess(executable, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer);
+        }
+
+        final ExecutablePermit permit;
+        try {
+            permit = executableGovernor.acquire(executable);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutableRunnerException(e);
+        }
+        try {
+            return runProcess(executable, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer);
+        } finally {
+            executableGovernor.release(permit);
+        }
+    }
+
+    private ExecutableOutput runProcess(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer)
+        throws ExecutableRunnerException {
         standardLoggingMethod.accept(String.format("Running executable >%s", executable.getMaskedExecutableDescription()));
         try {
             final ProcessBuilder processBuilder = executable.createProcessBuilder();
             final Process process = processBuilder.start();
 
+            final String spillPrefix = createSpillPrefix(executable);
             try (InputStream standardOutputStream = process.getInputStream(); InputStream standardErrorStream = process.getErrorStream()) {
-                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardLoggingMethod, traceLoggingMethod);
+                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer,
+                    createSpillFile(spillPrefix, "stdout"), spillThreshold);
                 standardOutputThread.start();
 
-                final ExecutableStreamThread errorOutputThread = new ExecutableStreamThread(standardErrorStream, standardLoggingMethod, traceLoggingMethod);
+                final ExecutableStreamThread errorOutputThread = new ExecutableStreamThread(standardErrorStream, standardLoggingMethod, traceLoggingMethod, null, createSpillFile(spillPrefix, "stderr"), spillThreshold);
                 errorOutputThread.start();
 
+                final long timeoutSeconds = findTimeoutSeconds(executable);
+                if (timeoutSeconds > 0 && !process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                    logger.warn(String.format("Executable did not finish within %d seconds, stopping it: %s", timeoutSeconds, executable.getMaskedExecutableDescription()));
+                    new ProcessTreeTerminator(TERMINATION_GRACE_PERIOD_SECONDS).terminate(process);
+                    // a process that escaped termination may still hold the streams open, so the readers are not waited on forever
+                    standardOutputThread.join(TimeUnit.SECONDS.toMillis(TERMINATION_GRACE_PERIOD_SECONDS));
+                    errorOutputThread.join(TimeUnit.SECONDS.toMillis(TERMINATION_GRACE_PERIOD_SECONDS));
+                    throw new ExecutableTimeoutException(executable.getMaskedExecutableDescription(), timeoutSeconds);
+                }
                 final int returnCode = process.waitFor();
                 standardLoggingMethod.accept("Executable finished: " + returnCode);
 
                 standardOutputThread.join();
                 errorOutputThread.join();
 
+                if (standardOutputThread.getLineConsumerException() != null) {
+                    throw new ExecutableRunnerException(standardOutputThread.getLineConsumerException());
+                }
+                if (standardOutputThread.getSpillWriteException() != null) {
+                    throw new ExecutableRunnerException(standardOutputThread.getSpillWriteException());
+                }
+                if (errorOutputThread.getSpillWriteException() != null) {
+                    throw new ExecutableRunnerException(errorOutputThread.getSpillWriteException());
+                }
+
                 final String standardOutput = standardOutputThread.getExecutableOutput().trim();
                 final String errorOutput = errorOutputThread.getExecutableOutput().trim();
+                final File standardOutputFile = standardOutputThread.getSpilledOutputFile();
+                final File errorOutputFile = errorOutputThread.getSpilledOutputFile();
+                if (standardOutputFile != null || errorOutputFile != null) {
+                    logger.debug(String.format("Executable output was larger than %d characters and was written to %s", spillThreshold, directoryManager.getExecutableOutputDirectory().getAbsolutePath()));
+                }
 
-                final ExecutableOutput output = new ExecutableOutput(returnCode, standardOutput, errorOutput);
+                final ExecutableOutput output = new ExecutableOutput(returnCode, standardOutput, standardOutputFile, errorOutput, errorOutputFile);
                 return output;
             }
+        } catch (final ExecutableRunnerException e) {
+            throw e;
         } catch (final Exception e) {
             throw new ExecutableRunnerException(e);
         }
     }
 
+    private long findTimeoutSeconds(final Executable executable) {
+        if (executableTimeoutOptions == null) {
+            return 0;
+        }
+        final Optional<ExecutableType> executableType = executable.findExecutableType();
+        return executableTimeoutOptions.getTimeoutSeconds(executableType);
+    }
+
+    private boolean isSpillEnabled() {
+        return directoryManager != null && spillThreshold > 0;
+    }
+
+    private String createSpillPrefix(final Executable executable) {
+        if (!isSpillEnabled()) {
+            return null;
+        }
+        final String executableName = new File(executable.getExecutablePath()).getName();
+        return executableCount.incrementAndGet() + "-" + executableName;
+    }
+
+    private File createSpillFile(final String spillPrefix, final String streamName) {
+        if (spillPrefix == null) {
+            return null;
+        }
+        return new File(directoryManager.getExecutableOutputDirectory(), spillPrefix + "-" + streamName + ".txt");
+    }
+
 }
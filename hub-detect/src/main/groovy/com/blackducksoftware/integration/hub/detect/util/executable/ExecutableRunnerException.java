@@ -26,11 +26,11 @@ package com.blackducksoftware.integration.hub.detect.util.executable;
 public class ExecutableRunnerException extends Exception {
     private static final long serialVersionUID = -4117278710469900787L;
 
-    ExecutableRunnerException(final Throwable innerException) {
+    public ExecutableRunnerException(final Throwable innerException) {
         super(innerException);
     }
 
-    ExecutableRunnerException(final String exceptionOutput) {
+    public ExecutableRunnerException(final String exceptionOutput) {
         super(exceptionOutput);
     }
 }
@@ -24,24 +24,62 @@
 package com.blackducksoftware.integration.hub.detect.util.executable;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
 import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
 public class ExecutableStreamThread extends Thread {
+    private final Logger logger = LoggerFactory.getLogger(ExecutableStreamThread.class);
+
     private final BufferedReader bufferedReader;
     private final StringBuilder stringBuilder;
     private final Consumer<String> outputLoggingMethod;
     private final Consumer<String> traceLoggingMethod;
+    private final Consumer<String> lineConsumer;
+    private final File spillFile;
+    private final long spillThreshold;
+    // the output is logged on this thread, so it carries the MDC of the thread that ran the executable, e.g. the extraction it belongs to
+    private final Map<String, String> loggingContext;
 
     private String executableOutput;
+    private RuntimeException lineConsumerException;
+    private Writer spillWriter;
+    private boolean spilled = false;
+    private boolean spillFailed = false;
+    private IOException spillWriteException;
 
     public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod) {
+        this(executableStream, outputLoggingMethod, traceLoggingMethod, null);
+    }
+
+    public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> lineConsumer) {
+        this(executableStream, outputLoggingMethod, traceLoggingMethod, lineConsumer, null, 0);
+    }
+
+    /**
+     * When a line consumer is given each line is handed to it as it is read instead of being kept, so the executable output will be empty.
+     * When a spill file is given and the kept output grows past the threshold (in characters), the output is moved to the spill file and the rest is written there, so it is no longer held on the heap.
+     * If the consumer or a write to the spill file fails, the remaining lines are still read so the process is not blocked on a full pipe.
+     */
+    public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> lineConsumer, final File spillFile,
+        final long spillThreshold) {
         super(Thread.currentThread().getName() + "-Executable_Stream_Thread");
         this.outputLoggingMethod = outputLoggingMethod;
         this.traceLoggingMethod = traceLoggingMethod;
+        this.lineConsumer = lineConsumer;
+        this.spillFile = spillFile;
+        this.spillThreshold = spillThreshold;
+        this.loggingContext = MDC.getCopyOfContextMap();
         final InputStreamReader reader = new InputStreamReader(executableStream, StandardCharsets.UTF_8);
         this.bufferedReader = new BufferedReader(reader);
         this.stringBuilder = new StringBuilder();
@@ -49,22 +87,109 @@ public class ExecutableStreamThread extends Thread {
 
     @Override
     public void run() {
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
         try {
             String line;
             final String separator = System.lineSeparator();
             while ((line = bufferedReader.readLine()) != null) {
-                stringBuilder.append(line + separator);
+                if (lineConsumer == null) {
+                    keepLine(line, separator);
+                } else if (lineConsumerException == null) {
+                    consumeLine(line);
+                }
                 outputLoggingMethod.accept(line);
             }
         } catch (final IOException e) {
             // Ignore
             traceLoggingMethod.accept(e.toString());
+        } finally {
+            closeSpillWriter();
         }
         this.executableOutput = stringBuilder.toString();
     }
 
+    private void keepLine(final String line, final String separator) {
+        if (spillWriteException != null) {
+            return;
+        }
+        if (spillWriter != null) {
+            try {
+                spillWriter.write(line);
+                spillWriter.write(separator);
+            } catch (final IOException e) {
+                logger.warn(String.format("Unable to write executable output to %s, the rest of the output will be discarded: %s", spillFile.getAbsolutePath(), e.getMessage()));
+                spillWriteException = e;
+                closeSpillWriter();
+            }
+            return;
+        }
+        stringBuilder.append(line).append(separator);
+        if (spillFile != null && !spillFailed && stringBuilder.length() > spillThreshold) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        try {
+            spillWriter = openSpillWriter();
+            spillWriter.append(stringBuilder);
+            stringBuilder.setLength(0);
+            stringBuilder.trimToSize();
+            spilled = true;
+        } catch (final IOException e) {
+            // keep the output in memory, it is better to risk the heap than to lose the output
+            traceLoggingMethod.accept("Unable to spill executable output to " + spillFile.getAbsolutePath() + ": " + e.toString());
+            closeSpillWriter();
+            spillFailed = true;
+        }
+    }
+
+    Writer openSpillWriter() throws IOException {
+        return Files.newBufferedWriter(spillFile.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (final IOException e) {
+                traceLoggingMethod.accept(e.toString());
+            }
+            spillWriter = null;
+        }
+    }
+
+    private void consumeLine(final String line) {
+        try {
+            lineConsumer.accept(line);
+        } catch (final RuntimeException e) {
+            traceLoggingMethod.accept(e.toString());
+            lineConsumerException = e;
+        }
+    }
+
     public String getExecutableOutput() {
         return executableOutput;
     }
 
+    /**
+     * The file holding the output when it grew past the spill threshold, otherwise null and the output is in getExecutableOutput().
+     */
+    public File getSpilledOutputFile() {
+        return spilled ? spillFile : null;
+    }
+
+    public RuntimeException getLineConsumerException() {
+        return lineConsumerException;
+    }
+
+    /**
+     * The failure that stopped output from being written to the spill file, in which case the spilled output is incomplete.
+     */
+    public IOException getSpillWriteException() {
+        return spillWriteException;
+    }
+
 }
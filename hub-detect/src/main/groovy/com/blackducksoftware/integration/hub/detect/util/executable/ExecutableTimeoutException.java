@@ -0,0 +1,39 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+public class ExecutableTimeoutException extends ExecutableRunnerException {
+    private static final long serialVersionUID = 3190874573095185529L;
+
+    private final long timeoutSeconds;
+
+    ExecutableTimeoutException(final String executableDescription, final long timeoutSeconds) {
+        super(String.format("The executable did not finish within %d seconds and was stopped: %s", timeoutSeconds, executableDescription));
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops a process and everything it started, first asking politely and then forcibly once the grace period is over.
+ * Child processes can only be found through ProcessHandle, which is looked up reflectively because detect still runs on Java 8, where only the process itself can be stopped.
+ */
+public class ProcessTreeTerminator {
+    private final Logger logger = LoggerFactory.getLogger(ProcessTreeTerminator.class);
+
+    private final long gracePeriodSeconds;
+
+    public ProcessTreeTerminator(final long gracePeriodSeconds) {
+        this.gracePeriodSeconds = gracePeriodSeconds;
+    }
+
+    public void terminate(final Process process) throws InterruptedException {
+        // descendants are found before anything is stopped, once the parent is gone its children are no longer part of its tree
+        final List<Object> descendants = findDescendants(process);
+        logger.debug(String.format("Stopping a process and %d of its descendants.", descendants.size()));
+
+        invokeOnAll(descendants, "destroy");
+        process.destroy();
+        if (process.waitFor(gracePeriodSeconds, TimeUnit.SECONDS)) {
+            invokeOnAll(descendants, "destroyForcibly");
+            return;
+        }
+
+        logger.debug(String.format("The process did not stop within %d seconds, it will be stopped forcibly.", gracePeriodSeconds));
+        invokeOnAll(descendants, "destroyForcibly");
+        process.destroyForcibly();
+        process.waitFor(gracePeriodSeconds, TimeUnit.SECONDS);
+    }
+
+    private List<Object> findDescendants(final Process process) {
+        try {
+            final Object processHandle = Process.class.getMethod("toHandle").invoke(process);
+            final Stream<?> descendants = (Stream<?>) findProcessHandleMethod("descendants").invoke(processHandle);
+            return descendants.collect(Collectors.toList());
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Unable to find the descendants of the process, only the process itself will be stopped.");
+            return Collections.emptyList();
+        }
+    }
+
+    private void invokeOnAll(final List<Object> processHandles, final String methodName) {
+        if (processHandles.isEmpty()) {
+            return;
+        }
+        try {
+            final Method method = findProcessHandleMethod(methodName);
+            for (final Object processHandle : processHandles) {
+                method.invoke(processHandle);
+            }
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            logger.debug(String.format("Unable to %s the descendants of the process: %s", methodName, e.getMessage()));
+        }
+    }
+
+    private Method findProcessHandleMethod(final String methodName) throws ReflectiveOperationException {
+        return Class.forName("java.lang.ProcessHandle").getMethod(methodName);
+    }
+}
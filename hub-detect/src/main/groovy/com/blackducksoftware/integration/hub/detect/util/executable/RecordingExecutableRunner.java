@@ -0,0 +1,129 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs executables with another runner and writes each execution and its output to an executable capture.
+ */
+public class RecordingExecutableRunner extends ExecutableRunner {
+    private final Logger logger = LoggerFactory.getLogger(RecordingExecutableRunner.class);
+
+    private final ExecutableRunner executableRunner;
+    private final ExecutableCapture executableCapture;
+
+    public RecordingExecutableRunner(final ExecutableRunner executableRunner, final ExecutableCapture executableCapture) {
+        this.executableRunner = executableRunner;
+        this.executableCapture = executableCapture;
+    }
+
+    @Override
+    public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer)
+        throws ExecutableRunnerException {
+        final Map<File, Long> outputFilesBefore = executableCapture.listOutputFiles(executable);
+        if (standardOutputConsumer == null) {
+            final ExecutableOutput executableOutput = executableRunner.runExecutable(executable, standardLoggingMethod, traceLoggingMethod, null);
+            executableCapture.recordExecution(executable, executableOutput, outputFilesBefore);
+            return executableOutput;
+        }
+
+        // streamed output is not kept by the runner, so it is written to a file here as it passes to the consumer
+        final File standardOutputFile;
+        final OutputFileWriter outputFileWriter;
+        try {
+            standardOutputFile = File.createTempFile("detect-capture", ".out");
+            outputFileWriter = new OutputFileWriter(standardOutputFile);
+        } catch (final IOException e) {
+            logger.warn(String.format("Unable to capture the output of %s: %s", executable.getMaskedExecutableDescription(), e.getMessage()));
+            return executableRunner.runExecutable(executable, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer);
+        }
+
+        try {
+            final ExecutableOutput executableOutput;
+            try (OutputFileWriter writer = outputFileWriter) {
+                executableOutput = executableRunner.runExecutable(executable, standardLoggingMethod, traceLoggingMethod, line -> {
+                    writer.accept(line);
+                    standardOutputConsumer.accept(line);
+                });
+            }
+            if (outputFileWriter.failure == null) {
+                final File errorOutputFile = executableOutput.getErrorOutputFile().orElse(null);
+                final String errorOutput = errorOutputFile == null ? executableOutput.getErrorOutput() : null;
+                executableCapture.recordExecution(executable, new ExecutableOutput(executableOutput.getReturnCode(), null, standardOutputFile, errorOutput, errorOutputFile), outputFilesBefore);
+            } else {
+                logger.warn(String.format("Unable to capture the output of %s: %s", executable.getMaskedExecutableDescription(), outputFileWriter.failure.getMessage()));
+            }
+            return executableOutput;
+        } finally {
+            if (!standardOutputFile.delete()) {
+                standardOutputFile.deleteOnExit();
+            }
+        }
+    }
+
+    // a failure to write the capture is remembered instead of thrown, so it never fails the execution itself
+    private static class OutputFileWriter implements Consumer<String>, Closeable {
+        private final Writer writer;
+        private IOException failure;
+
+        OutputFileWriter(final File file) throws IOException {
+            writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void accept(final String line) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            } catch (final IOException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+}
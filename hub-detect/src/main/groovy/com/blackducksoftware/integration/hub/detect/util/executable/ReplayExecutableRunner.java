@@ -0,0 +1,72 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves executable output from an executable capture instead of starting processes.
+ */
+public class ReplayExecutableRunner extends ExecutableRunner {
+    private final Logger logger = LoggerFactory.getLogger(ReplayExecutableRunner.class);
+
+    private final ExecutableCapture executableCapture;
+
+    public ReplayExecutableRunner(final ExecutableCapture executableCapture) {
+        this.executableCapture = executableCapture;
+    }
+
+    @Override
+    public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer)
+        throws ExecutableRunnerException {
+        standardLoggingMethod.accept(String.format("Replaying executable >%s", executable.getMaskedExecutableDescription()));
+        final Optional<ExecutableOutput> capturedOutput = executableCapture.replayExecution(executable);
+        if (!capturedOutput.isPresent()) {
+            throw new ExecutableRunnerException("No captured output to replay for: " + executable.getMaskedExecutableDescription());
+        }
+
+        final ExecutableOutput executableOutput = capturedOutput.get();
+        standardLoggingMethod.accept("Executable finished: " + executableOutput.getReturnCode());
+        if (standardOutputConsumer == null) {
+            return executableOutput;
+        }
+
+        try (BufferedReader reader = executableOutput.openStandardOutputReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                standardOutputConsumer.accept(line);
+            }
+        } catch (final IOException | RuntimeException e) {
+            logger.trace("Replayed output could not be consumed.", e);
+            throw new ExecutableRunnerException(e);
+        }
+        return new ExecutableOutput(executableOutput.getReturnCode(), "", executableOutput.getErrorOutput());
+    }
+}
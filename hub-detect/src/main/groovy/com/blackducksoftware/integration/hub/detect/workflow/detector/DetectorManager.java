@@ -24,9 +24,18 @@
 package com.blackducksoftware.integration.hub.detect.workflow.detector;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
@@ -44,20 +53,27 @@ import com.blackducksoftware.integration.hub.detect.workflow.status.DetectorStat
 import com.blackducksoftware.integration.hub.detect.workflow.status.StatusType;
 
 public class DetectorManager {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     SearchManager searchManager;
     PreparationManager preparationManager;
     ExtractionManager extractionManager;
     EventSystem eventSystem;
+    boolean pipelined;
 
-    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, PreparationManager preparationManager, EventSystem eventSystem) {
+    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, PreparationManager preparationManager, EventSystem eventSystem, boolean pipelined) {
         this.searchManager = searchManager;
         this.extractionManager = extractionManager;
         this.preparationManager = preparationManager;
         this.eventSystem = eventSystem;
+        this.pipelined = pipelined;
     }
 
     public DetectorToolResult runDetectors() throws DetectUserFriendlyException {
+        if (pipelined) {
+            return runDetectorsPipelined();
+        }
+
         List<DetectorEvaluation> detectorEvaluations = new ArrayList<>();
 
         //search
@@ -73,6 +89,69 @@ public class DetectorManager {
         ExtractionResult extractionResult = extractionManager.performExtractions(detectorEvaluations);
         eventSystem.publishEvent(Event.ExtractionsCompleted, extractionResult);
 
+        return createDetectorToolResult(detectorEvaluations, searchResult, preparationResult, extractionResult);
+    }
+
+    /**
+     * Prepares each applicable detector as soon as the search finds it and extracts it as soon as it is prepared, instead of waiting for every detector to finish each phase.
+     * The phase events still fire in order and only once the phase has finished for every detector, so reports see the same complete results as a phased run.
+     */
+    private DetectorToolResult runDetectorsPipelined() throws DetectUserFriendlyException {
+        final int preparationProcessors = Math.max(1, preparationManager.getParallelProcessors());
+        final int extractionProcessors = Math.max(1, extractionManager.getParallelProcessors());
+        logger.info(String.format("Running detectors as a pipeline with %d preparation and %d extraction processors.", preparationProcessors, extractionProcessors));
+
+        final ExecutorService preparationExecutor = Executors.newFixedThreadPool(preparationProcessors);
+        final ExecutorService extractionExecutor = Executors.newFixedThreadPool(extractionProcessors);
+        final List<Future<?>> preparations = Collections.synchronizedList(new ArrayList<>());
+        final List<Future<?>> extractions = Collections.synchronizedList(new ArrayList<>());
+        try {
+            //search, preparing and extracting as detectors are found
+            final SearchResult searchResult = searchManager.performSearch(evaluation -> preparations.add(preparationExecutor.submit(() -> {
+                preparationManager.prepare(evaluation);
+                if (evaluation.isExtractable()) {
+                    extractions.add(extractionManager.extractWhenPermitted(evaluation, extractionExecutor));
+                }
+            })));
+            eventSystem.publishEvent(Event.SearchCompleted, searchResult);
+            final List<DetectorEvaluation> detectorEvaluations = new ArrayList<>(searchResult.getDetectorEvaluations());
+
+            //every applicable detector has been handed over once the search returns
+            waitFor(preparations);
+            final PreparationResult preparationResult = preparationManager.createPreparationResult(detectorEvaluations);
+            eventSystem.publishEvent(Event.PreparationsCompleted, preparationResult);
+
+            //every extraction has been submitted once the preparations are done
+            waitFor(extractions);
+            final List<DetectorEvaluation> extractable = detectorEvaluations.stream().filter(it -> it.isExtractable()).collect(Collectors.toList());
+            final ExtractionResult extractionResult = extractionManager.createExtractionResult(extractable);
+            eventSystem.publishEvent(Event.ExtractionsCompleted, extractionResult);
+
+            return createDetectorToolResult(detectorEvaluations, searchResult, preparationResult, extractionResult);
+        } finally {
+            preparationExecutor.shutdownNow();
+            extractionExecutor.shutdownNow();
+        }
+    }
+
+    private void waitFor(final List<Future<?>> futures) {
+        final List<Future<?>> snapshot;
+        synchronized (futures) {
+            snapshot = new ArrayList<>(futures);
+        }
+        try {
+            for (final Future<?> future : snapshot) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the detector pipeline.", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("A detector failed unexpectedly in the pipeline.", e.getCause());
+        }
+    }
+
+    private DetectorToolResult createDetectorToolResult(List<DetectorEvaluation> detectorEvaluations, SearchResult searchResult, PreparationResult preparationResult, ExtractionResult extractionResult) {
         //create results
         DetectorToolResult detectorToolResult = new DetectorToolResult();
         detectorToolResult.evaluatedDetectors = detectorEvaluations;
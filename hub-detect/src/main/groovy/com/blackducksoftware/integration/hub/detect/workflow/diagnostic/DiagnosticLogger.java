@@ -27,10 +27,13 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.output.TeeOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
@@ -41,6 +44,8 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
 
 public class DiagnosticLogger {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -48,12 +53,14 @@ public class DiagnosticLogger {
     private static String logFilePath = "log.txt";
     private static String stdOutFilePath = "out.txt";
     private static final String LOGBACK_LOGGER_NAME = "com.blackducksoftware.integration";
+    static final String EXTRACTION_MDC_KEY = "extractionId";
 
     private File logDirectory;
     private File stdOutFile;
     private FileOutputStream stdOutStream;
     private FileAppender<ILoggingEvent> fileAppender;
-    private FileAppender<ILoggingEvent> extractionAppender;
+    // extractions may run concurrently, so each keeps its own appender until it ends and only takes the events logged under its id
+    private final Map<ExtractionId, FileAppender<ILoggingEvent>> extractionAppenders = new ConcurrentHashMap<>();
 
     public DiagnosticLogger(File logDirectory, EventSystem eventSystem) {
 
@@ -64,7 +71,7 @@ public class DiagnosticLogger {
 
         logger.info("Attempting to redirect log messages.");
         try {
-            fileAppender = addAppender(getLogFile().getCanonicalPath());
+            fileAppender = addAppender(getLogFile().getCanonicalPath(), null);
         } catch (final IOException e) {
             logger.info("Failed to redirect.", e);
         }
@@ -96,14 +103,19 @@ public class DiagnosticLogger {
         }
     }
 
+    /**
+     * The extraction events are published on the thread running the extraction, so its id is put in that thread's MDC here and the extraction's appender only accepts events carrying it.
+     * Executable output is logged from stream threads which copy the MDC of the thread that started them. Work handed to shared pools or parallel streams is only in the main log.
+     */
     public void startLoggingExtraction(final ExtractionId extractionId) {
         logger.info("Diagnostics attempting to redirect extraction logs: " + extractionId.toUniqueString());
+        MDC.put(EXTRACTION_MDC_KEY, extractionId.toUniqueString());
         final File logDir = new File(logDirectory, "extractions");
         logDir.mkdirs();
         final File logFile = new File(logDir, extractionId.toUniqueString() + ".txt");
         try {
             final String logFilePath = logFile.getCanonicalPath();
-            extractionAppender = addAppender(logFilePath);
+            extractionAppenders.put(extractionId, addAppender(logFilePath, createExtractionFilter(extractionId)));
             logger.info("Redirected to file: " + logFilePath);
         } catch (final IOException e) {
             logger.info("Failed to redirect.", e);
@@ -113,10 +125,25 @@ public class DiagnosticLogger {
 
     public void stopLoggingExtraction(final ExtractionId extractionId) {
         logger.info("Diagnostics finished redirecting for extraction: " + extractionId.toUniqueString());
+        final FileAppender<ILoggingEvent> extractionAppender = extractionAppenders.remove(extractionId);
         if (extractionAppender != null) {
             removeAppender(extractionAppender);
             extractionAppender.stop();
         }
+        MDC.remove(EXTRACTION_MDC_KEY);
+    }
+
+    static Filter<ILoggingEvent> createExtractionFilter(final ExtractionId extractionId) {
+        final String uniqueId = extractionId.toUniqueString();
+        return new Filter<ILoggingEvent>() {
+            @Override
+            public FilterReply decide(final ILoggingEvent event) {
+                if (uniqueId.equals(event.getMDCPropertyMap().get(EXTRACTION_MDC_KEY))) {
+                    return FilterReply.NEUTRAL;
+                }
+                return FilterReply.DENY;
+            }
+        };
     }
 
     private void setLevel(final Level targetLevel) {
@@ -126,10 +153,10 @@ public class DiagnosticLogger {
 
     private void removeAppender(final FileAppender<ILoggingEvent> appender) {
         final ch.qos.logback.classic.Logger logbackLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LOGBACK_LOGGER_NAME);
-        logbackLogger.detachAppender(extractionAppender);
+        logbackLogger.detachAppender(appender);
     }
 
-    private FileAppender<ILoggingEvent> addAppender(final String file) {
+    private FileAppender<ILoggingEvent> addAppender(final String file, final Filter<ILoggingEvent> filter) {
         final LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
         final PatternLayoutEncoder ple = new PatternLayoutEncoder();
 
@@ -141,6 +168,11 @@ public class DiagnosticLogger {
         appender.setFile(file);
         appender.setEncoder(ple);
         appender.setContext(lc);
+        if (filter != null) {
+            filter.setContext(lc);
+            filter.start();
+            appender.addFilter(filter);
+        }
         appender.start();
 
         final ch.qos.logback.classic.Logger logbackLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LOGBACK_LOGGER_NAME);
@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.help.DetectOption;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableMetrics;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
@@ -60,6 +61,7 @@ public class DiagnosticReportHandler {
         DETECTOR_PROFILE("detector_profile_report", "Detector Profile Report", "A breakdown of timing and profiling for all detectors."),
         CODE_LOCATIONS("code_location_report", "Code Location Report", "A breakdown of code locations created, their dependencies and status results."),
         DEPENDENCY_COUNTS("dependency_counts_report", "Dependency Count Report", "A breakdown of how many dependencies each detector group generated in their graphs."),
+        EXECUTABLES("executable_report", "Executable Report", "The time each external process waited for and ran, and how many processes were running with it."),
         CONFIGURATION("detect_configuration", "Detect Configuration Report", "A complete set of all parameters detect used, including detect run and version.");
 
         String reportFileName;
@@ -96,6 +98,7 @@ public class DiagnosticReportHandler {
         eventSystem.registerListener(Event.DetectorsComplete, event -> completedBomToolEvaluations(event.evaluatedDetectors));
         eventSystem.registerListener(Event.CodeLocationsCalculated, event -> completedCodeLocations(event.getCodeLocationNames()));
         eventSystem.registerListener(Event.DetectorsProfiled, event -> detectorsProfiled(event));
+        eventSystem.registerListener(Event.ExecutableCompleted, event -> executableCompleted(event));
     }
 
     public void finish() {
@@ -152,6 +155,17 @@ public class DiagnosticReportHandler {
         }
     }
 
+    private synchronized void executableCompleted(final ExecutableMetrics executableMetrics) {
+        try {
+            final ReportWriter executableWriter = getReportWriter(ReportTypes.EXECUTABLES);
+            final String type = executableMetrics.getExecutableType().map(Enum::name).orElse("OTHER");
+            executableWriter.writeLine(String.format("%s\twaited %d ms\tran %d ms\t%d running (peak %d)\t%s", type, executableMetrics.getWaitMs(), executableMetrics.getRunMs(), executableMetrics.getConcurrentProcesses(),
+                executableMetrics.getPeakConcurrentProcesses(), executableMetrics.getExecutableDescription()));
+        } catch (final Exception e) {
+            logger.error("Failed to write executable report.", e);
+        }
+    }
+
     public void configurationsReport(DetectInfo detectInfo, List<DetectOption> detectOptions) {
         try {
             final ReportWriter profileWriter = getReportWriter(ReportTypes.CONFIGURATION);
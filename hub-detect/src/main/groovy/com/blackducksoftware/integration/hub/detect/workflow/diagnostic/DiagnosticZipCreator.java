@@ -93,8 +93,7 @@ public class DiagnosticZipCreator {
                     final String target = toZipEntryName(targetFile, removePiece);
                     logger.debug("Adding file to zip: " + target);
                     outputStream.putNextEntry(new ZipEntry(target));
-                    final byte[] bytes = Files.readAllBytes(file);
-                    outputStream.write(bytes, 0, bytes.length);
+                    Files.copy(file, outputStream);
                     outputStream.closeEntry();
                 } catch (final IOException e) {
                     logger.error("Failed to write to zip.", e);
@@ -28,6 +28,7 @@ import java.io.File;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.lifecycle.shutdown.ExitCodeRequest;
 import com.blackducksoftware.integration.hub.detect.tool.detector.DetectorToolResult;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableMetrics;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocationResult;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionResult;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationResult;
@@ -48,6 +49,7 @@ public class Event {
     public static EventType<Detector> ExtractableEnded = new EventType(Detector.class);
     public static EventType<DetectorEvaluation> ExtractionStarted = new EventType(DetectorEvaluation.class);
     public static EventType<DetectorEvaluation> ExtractionEnded = new EventType(DetectorEvaluation.class);
+    public static EventType<ExecutableMetrics> ExecutableCompleted = new EventType(ExecutableMetrics.class);
     public static EventType<BdioCodeLocationResult> CodeLocationsCalculated = new EventType(BdioCodeLocationResult.class);
     public static EventType<ExitCodeRequest> ExitCode = new EventType(ExitCodeRequest.class);
     public static EventType<Status> StatusSummary = new EventType(Status.class);
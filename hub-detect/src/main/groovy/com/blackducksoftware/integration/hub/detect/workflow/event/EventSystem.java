@@ -23,10 +23,10 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.event;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +34,7 @@ import org.slf4j.LoggerFactory;
 public class EventSystem {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    Map<EventType, List<EventListener>> eventListenerMap = new HashMap<>();
+    Map<EventType, List<EventListener>> eventListenerMap = new ConcurrentHashMap<>();
 
     public <T> void publishEvent(EventType<T> event, T payload) {
         for (EventListener listener : safelyGetListeners(event)) {
@@ -51,13 +51,6 @@ public class EventSystem {
     }
 
     private List<EventListener> safelyGetListeners(EventType event) {
-        List<EventListener> listeners;
-        if (eventListenerMap.containsKey(event)) {
-            listeners = eventListenerMap.get(event);
-        } else {
-            listeners = new ArrayList<>();
-            eventListenerMap.put(event, listeners);
-        }
-        return listeners;
+        return eventListenerMap.computeIfAbsent(event, it -> new CopyOnWriteArrayList<>());
     }
 }
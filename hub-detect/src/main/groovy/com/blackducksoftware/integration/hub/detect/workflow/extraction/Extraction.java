@@ -29,6 +29,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableTimeoutException;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 
 public class Extraction {
@@ -115,7 +118,13 @@ public class Extraction {
         }
 
         public Builder exception(final Exception error) {
-            this.result = ExtractionResultType.EXCEPTION;
+            final int timeoutIndex = ExceptionUtils.indexOfType(error, ExecutableTimeoutException.class);
+            if (timeoutIndex >= 0) {
+                this.result = ExtractionResultType.TIMEOUT;
+                this.description = ExceptionUtils.getThrowableList(error).get(timeoutIndex).getMessage();
+            } else {
+                this.result = ExtractionResultType.EXCEPTION;
+            }
             this.error = error;
             return this;
         }
@@ -134,7 +143,8 @@ public class Extraction {
     public enum ExtractionResultType {
         SUCCESS,
         FAILURE,
-        EXCEPTION
+        EXCEPTION,
+        TIMEOUT
     }
 
 }
@@ -0,0 +1,299 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/**
+ * Caches successful extractions of detectors whose result only depends on their input files, such as lockfile parsers.
+ * Entries are keyed by a hash of the extractor, the source directory, the contents of the input files, the relevant property values and the detect version.
+ */
+public class ExtractionCache {
+    private static final String CACHE_DIRECTORY_NAME = "extraction-cache";
+    private static final int CACHE_FORMAT_VERSION = 1;
+
+    private final Logger logger = LoggerFactory.getLogger(ExtractionCache.class);
+    private final Gson gson = new Gson();
+
+    private final DirectoryManager directoryManager;
+    private final DetectConfiguration detectConfiguration;
+    private final DetectInfo detectInfo;
+
+    public ExtractionCache(final DirectoryManager directoryManager, final DetectConfiguration detectConfiguration, final DetectInfo detectInfo) {
+        this.directoryManager = directoryManager;
+        this.detectConfiguration = detectConfiguration;
+        this.detectInfo = detectInfo;
+    }
+
+    public Extraction extract(final String extractorName, final File directory, final List<File> inputFiles, final List<DetectProperty> properties, final Supplier<Extraction> extractor) {
+        if (!detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_CACHE, PropertyAuthority.None)) {
+            return extractor.get();
+        }
+
+        final File cacheFile;
+        try {
+            cacheFile = new File(directoryManager.getPermanentDirectory(CACHE_DIRECTORY_NAME), createKey(extractorName, directory, inputFiles, properties) + ".json");
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            logger.debug("Unable to compute the extraction cache key, will extract without the cache: " + e.getMessage());
+            return extractor.get();
+        }
+
+        if (cacheFile.isFile()) {
+            try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+                final CachedExtraction cachedExtraction = gson.fromJson(reader, CachedExtraction.class);
+                logger.info("Using the cached extraction result for " + extractorName + " from " + cacheFile.getAbsolutePath());
+                return toExtraction(cachedExtraction);
+            } catch (final IOException | JsonParseException | IllegalArgumentException e) {
+                logger.debug("Unable to read the cached extraction, will extract again: " + e.getMessage());
+            }
+        }
+
+        final Extraction extraction = extractor.get();
+        if (extraction.result == ExtractionResultType.SUCCESS) {
+            write(cacheFile, fromExtraction(extraction));
+        }
+        return extraction;
+    }
+
+    private String createKey(final String extractorName, final File directory, final List<File> inputFiles, final List<DetectProperty> properties) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, Integer.toString(CACHE_FORMAT_VERSION));
+        update(digest, detectInfo.getDetectVersion());
+        update(digest, extractorName);
+        update(digest, directory.getCanonicalPath());
+        for (final DetectProperty property : properties) {
+            update(digest, property.getPropertyName() + "=" + detectConfiguration.getProperty(property, PropertyAuthority.None));
+        }
+        for (final File inputFile : inputFiles) {
+            update(digest, inputFile.getName());
+            if (inputFile.isFile()) {
+                try (InputStream inputStream = new DigestInputStream(Files.newInputStream(inputFile.toPath()), digest)) {
+                    final byte[] buffer = new byte[8192];
+                    while (inputStream.read(buffer) != -1) {
+                        // the digest input stream hashes as it reads
+                    }
+                }
+            } else {
+                update(digest, "missing");
+            }
+        }
+        final StringBuilder key = new StringBuilder();
+        for (final byte hashByte : digest.digest()) {
+            key.append(String.format("%02x", hashByte));
+        }
+        return key.toString();
+    }
+
+    // each value is terminated so that adjacent values can not run together into the same key
+    private void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private void write(final File cacheFile, final CachedExtraction cachedExtraction) {
+        try {
+            final File temporaryFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(cachedExtraction, writer);
+            }
+            Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            logger.debug("Unable to write the extraction cache: " + e.getMessage());
+        }
+    }
+
+    private CachedExtraction fromExtraction(final Extraction extraction) {
+        final CachedExtraction cachedExtraction = new CachedExtraction();
+        cachedExtraction.projectName = extraction.projectName;
+        cachedExtraction.projectVersion = extraction.projectVersion;
+        cachedExtraction.codeLocations = new ArrayList<>();
+        for (final DetectCodeLocation codeLocation : extraction.codeLocations) {
+            final CachedCodeLocation cachedCodeLocation = new CachedCodeLocation();
+            cachedCodeLocation.codeLocationType = codeLocation.getCodeLocationType().name();
+            cachedCodeLocation.sourcePath = codeLocation.getSourcePath();
+            cachedCodeLocation.dockerImage = codeLocation.getDockerImage();
+            cachedCodeLocation.externalId = fromExternalId(codeLocation.getExternalId());
+            fromGraph(codeLocation.getDependencyGraph(), cachedCodeLocation);
+            cachedExtraction.codeLocations.add(cachedCodeLocation);
+        }
+        return cachedExtraction;
+    }
+
+    private void fromGraph(final DependencyGraph graph, final CachedCodeLocation cachedCodeLocation) {
+        final Map<Dependency, Integer> indexes = new HashMap<>();
+        final Queue<Dependency> toVisit = new LinkedList<>();
+        cachedCodeLocation.dependencies = new ArrayList<>();
+        cachedCodeLocation.rootDependencies = new ArrayList<>();
+        cachedCodeLocation.relationships = new ArrayList<>();
+
+        for (final Dependency root : graph.getRootDependencies()) {
+            cachedCodeLocation.rootDependencies.add(indexOf(root, indexes, toVisit, cachedCodeLocation));
+        }
+        while (!toVisit.isEmpty()) {
+            final Dependency parent = toVisit.remove();
+            final int parentIndex = indexes.get(parent);
+            for (final Dependency child : graph.getChildrenForParent(parent)) {
+                cachedCodeLocation.relationships.add(new int[] { parentIndex, indexOf(child, indexes, toVisit, cachedCodeLocation) });
+            }
+        }
+    }
+
+    private int indexOf(final Dependency dependency, final Map<Dependency, Integer> indexes, final Queue<Dependency> toVisit, final CachedCodeLocation cachedCodeLocation) {
+        Integer index = indexes.get(dependency);
+        if (index == null) {
+            index = cachedCodeLocation.dependencies.size();
+            indexes.put(dependency, index);
+            final CachedDependency cachedDependency = new CachedDependency();
+            cachedDependency.name = dependency.name;
+            cachedDependency.version = dependency.version;
+            cachedDependency.externalId = fromExternalId(dependency.externalId);
+            cachedCodeLocation.dependencies.add(cachedDependency);
+            toVisit.add(dependency);
+        }
+        return index;
+    }
+
+    private CachedExternalId fromExternalId(final ExternalId externalId) {
+        final CachedExternalId cachedExternalId = new CachedExternalId();
+        cachedExternalId.forgeName = externalId.forge.getName();
+        cachedExternalId.forgeSeparator = externalId.forge.getSeparator();
+        cachedExternalId.forgeKbSeparator = externalId.forge.getKbSeparator();
+        cachedExternalId.group = externalId.group;
+        cachedExternalId.name = externalId.name;
+        cachedExternalId.version = externalId.version;
+        cachedExternalId.architecture = externalId.architecture;
+        cachedExternalId.path = externalId.path;
+        cachedExternalId.moduleNames = externalId.moduleNames;
+        return cachedExternalId;
+    }
+
+    private Extraction toExtraction(final CachedExtraction cachedExtraction) {
+        final List<DetectCodeLocation> codeLocations = new ArrayList<>();
+        for (final CachedCodeLocation cachedCodeLocation : cachedExtraction.codeLocations) {
+            final DetectCodeLocationType codeLocationType = DetectCodeLocationType.valueOf(cachedCodeLocation.codeLocationType);
+            final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(codeLocationType, cachedCodeLocation.sourcePath, toExternalId(cachedCodeLocation.externalId), toGraph(cachedCodeLocation))
+                                                        .dockerImage(cachedCodeLocation.dockerImage)
+                                                        .build();
+            codeLocations.add(codeLocation);
+        }
+        return new Extraction.Builder().success(codeLocations).projectName(cachedExtraction.projectName).projectVersion(cachedExtraction.projectVersion).build();
+    }
+
+    private DependencyGraph toGraph(final CachedCodeLocation cachedCodeLocation) {
+        final List<Dependency> dependencies = new ArrayList<>();
+        for (final CachedDependency cachedDependency : cachedCodeLocation.dependencies) {
+            dependencies.add(new Dependency(cachedDependency.name, cachedDependency.version, toExternalId(cachedDependency.externalId)));
+        }
+
+        final MutableMapDependencyGraph graph = new MutableMapDependencyGraph();
+        for (final int rootIndex : cachedCodeLocation.rootDependencies) {
+            graph.addChildToRoot(dependencies.get(rootIndex));
+        }
+        for (final int[] relationship : cachedCodeLocation.relationships) {
+            graph.addChildWithParent(dependencies.get(relationship[1]), dependencies.get(relationship[0]));
+        }
+        return graph;
+    }
+
+    private ExternalId toExternalId(final CachedExternalId cachedExternalId) {
+        final ExternalId externalId = new ExternalId(new Forge(cachedExternalId.forgeSeparator, cachedExternalId.forgeKbSeparator, cachedExternalId.forgeName));
+        externalId.group = cachedExternalId.group;
+        externalId.name = cachedExternalId.name;
+        externalId.version = cachedExternalId.version;
+        externalId.architecture = cachedExternalId.architecture;
+        externalId.path = cachedExternalId.path;
+        externalId.moduleNames = cachedExternalId.moduleNames;
+        return externalId;
+    }
+
+    private static class CachedExtraction {
+        String projectName;
+        String projectVersion;
+        List<CachedCodeLocation> codeLocations;
+    }
+
+    private static class CachedCodeLocation {
+        String codeLocationType;
+        String sourcePath;
+        String dockerImage;
+        CachedExternalId externalId;
+        List<CachedDependency> dependencies;
+        List<Integer> rootDependencies;
+        List<int[]> relationships;
+    }
+
+    private static class CachedDependency {
+        String name;
+        String version;
+        CachedExternalId externalId;
+    }
+
+    private static class CachedExternalId {
+        String forgeName;
+        String forgeSeparator;
+        String forgeKbSeparator;
+        String group;
+        String name;
+        String version;
+        String architecture;
+        String path;
+        String[] moduleNames;
+    }
+}
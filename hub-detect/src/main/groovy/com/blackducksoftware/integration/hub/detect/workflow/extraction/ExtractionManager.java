@@ -23,9 +23,25 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.extraction;
 
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +49,10 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimingHistory;
 import com.blackducksoftware.integration.hub.detect.workflow.report.util.ObjectPrinter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.util.ReportConstants;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.InfoLogReportWriter;
@@ -42,7 +61,20 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Detec
 public class ExtractionManager {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    public ExtractionManager() {
+    private final ExtractionOptions extractionOptions;
+    private final EventSystem eventSystem;
+    private final DetectorTimingHistory timingHistory;
+    private final Map<DetectorType, TypeDispatcher> typeDispatchers = new EnumMap<>(DetectorType.class);
+    private final AtomicInteger streamedExtractionCount = new AtomicInteger();
+
+    public ExtractionManager(final ExtractionOptions extractionOptions, final EventSystem eventSystem, final DetectorTimingHistory timingHistory) {
+        this.extractionOptions = extractionOptions;
+        this.eventSystem = eventSystem;
+        this.timingHistory = timingHistory;
+    }
+
+    public int getParallelProcessors() {
+        return extractionOptions.getParallelProcessors();
     }
 
     public ExtractionResult performExtractions(final List<DetectorEvaluation> results) {
@@ -50,16 +82,25 @@ public class ExtractionManager {
 
         for (int i = 0; i < extractable.size(); i++) {
             final DetectorEvaluation detectorEvaluation = extractable.get(i);
-            final String progress = Integer.toString((int) Math.floor((i * 100.0f) / extractable.size()));
-            logger.info(String.format("Extracting %d of %d (%s%%)", i + 1, extractable.size(), progress));
-            logger.info(ReportConstants.SEPERATOR);
-
             final ExtractionId extractionId = new ExtractionId(detectorEvaluation.getDetector().getDetectorType(), Integer.toString(i));
             detectorEvaluation.setExtractionId(extractionId);
+        }
 
-            extract(extractable.get(i));
+        if (extractionOptions.getParallelProcessors() > 1 && extractable.size() > 1) {
+            performExtractionsConcurrently(extractable);
+        } else {
+            for (int i = 0; i < extractable.size(); i++) {
+                logProgress(i, extractable.size());
+                logExtractionStarted(extractable.get(i));
+                extract(extractable.get(i));
+                logExtractionFinished(extractable.get(i));
+            }
         }
 
+        return createExtractionResult(extractable);
+    }
+
+    public ExtractionResult createExtractionResult(final List<DetectorEvaluation> extractable) {
         final Set<DetectorType> succesfulBomToolGroups = extractable.stream()
                                                              .filter(it -> it.wasExtractionSuccessful())
                                                              .map(it -> it.getDetector().getDetectorType())
@@ -78,19 +119,122 @@ public class ExtractionManager {
         return new ExtractionResult(codeLocations, succesfulBomToolGroups, failedBomToolGroups);
     }
 
-    private void extract(final DetectorEvaluation result) { //TODO: Replace reporting.
+    /**
+     * Runs extractions on a bounded pool, never running more of a detector type at once than its type limit. Waiting extractions are started longest predicted first as capacity frees up,
+     * so a slow build is not the last thing started. Extractions without a timing history are started first since they may be just as slow.
+     * Each extraction is logged in order once it and every extraction before it have finished, so the log reads the same as a serial run.
+     */
+    private void performExtractionsConcurrently(final List<DetectorEvaluation> extractable) {
+        final int parallelProcessors = Math.min(extractionOptions.getParallelProcessors(), extractable.size());
+        logger.info(String.format("Running up to %d extractions at a time.", parallelProcessors));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelProcessors);
+        final CompletionService<Integer> completionService = new ExecutorCompletionService<>(executorService);
+        final List<Integer> waiting = IntStream.range(0, extractable.size())
+                                          .boxed()
+                                          .sorted(Comparator.comparingLong((Integer index) -> predictExtractionMs(extractable.get(index))).reversed())
+                                          .collect(Collectors.toCollection(LinkedList::new));
+        final Map<DetectorType, Integer> runningByType = new EnumMap<>(DetectorType.class);
+        final boolean[] finished = new boolean[extractable.size()];
+        int running = 0;
+        int nextToLog = 0;
+        try {
+            while (nextToLog < extractable.size()) {
+                final Iterator<Integer> waitingIterator = waiting.iterator();
+                while (running < parallelProcessors && waitingIterator.hasNext()) {
+                    final int index = waitingIterator.next();
+                    final DetectorType detectorType = extractable.get(index).getDetector().getDetectorType();
+                    if (runningByType.getOrDefault(detectorType, 0) < extractionOptions.getTypeLimit(detectorType)) {
+                        waitingIterator.remove();
+                        runningByType.merge(detectorType, 1, Integer::sum);
+                        running++;
+                        completionService.submit(() -> {
+                            extract(extractable.get(index));
+                            return index;
+                        });
+                    }
+                }
+
+                final int completed = completionService.take().get();
+                runningByType.merge(extractable.get(completed).getDetector().getDetectorType(), -1, Integer::sum);
+                running--;
+                finished[completed] = true;
+
+                while (nextToLog < extractable.size() && finished[nextToLog]) {
+                    logProgress(nextToLog, extractable.size());
+                    logExtractionStarted(extractable.get(nextToLog));
+                    logExtractionFinished(extractable.get(nextToLog));
+                    nextToLog++;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for extractions to finish.", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("An extraction failed unexpectedly.", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Extracts a single evaluation as soon as one is handed over rather than from a complete list, so extraction ids are assigned in the order evaluations arrive.
+     * May be called from several threads at once and each extraction is logged as a block once it finishes. The type limits are enforced before the extraction is handed to the executor:
+     * one over its type's limit waits in that type's queue until an extraction of the same type finishes, so no executor thread sits blocked while other types could run.
+     */
+    public Future<?> extractWhenPermitted(final DetectorEvaluation detectorEvaluation, final Executor executor) {
+        final DetectorType detectorType = detectorEvaluation.getDetector().getDetectorType();
+        detectorEvaluation.setExtractionId(new ExtractionId(detectorType, Integer.toString(streamedExtractionCount.getAndIncrement())));
+
+        final CompletableFuture<Void> extraction = new CompletableFuture<>();
+        getTypeDispatcher(detectorType).submit(executor, () -> {
+            try {
+                extract(detectorEvaluation);
+                synchronized (this) {
+                    logExtractionStarted(detectorEvaluation);
+                    logExtractionFinished(detectorEvaluation);
+                }
+                extraction.complete(null);
+            } catch (final RuntimeException | Error e) {
+                extraction.completeExceptionally(e);
+            }
+        });
+        return extraction;
+    }
+
+    private synchronized TypeDispatcher getTypeDispatcher(final DetectorType detectorType) {
+        return typeDispatchers.computeIfAbsent(detectorType, it -> new TypeDispatcher(extractionOptions.getTypeLimit(it)));
+    }
+
+    private long predictExtractionMs(final DetectorEvaluation detectorEvaluation) {
+        return timingHistory.predictExtractionMs(detectorEvaluation.getDetector()).orElse(Long.MAX_VALUE);
+    }
 
+    private void logProgress(final int index, final int total) {
+        final String progress = Integer.toString((int) Math.floor((index * 100.0f) / total));
+        logger.info(String.format("Extracting %d of %d (%s%%)", index + 1, total, progress));
+        logger.info(ReportConstants.SEPERATOR);
+    }
+
+    private void logExtractionStarted(final DetectorEvaluation result) { //TODO: Replace reporting.
         logger.info("Starting extraction: " + result.getDetector().getDetectorType() + " - " + result.getDetector().getName());
         logger.info("Identifier: " + result.getExtractionId().toUniqueString());
         ObjectPrinter.printObjectPrivate(new InfoLogReportWriter(), result.getDetector());
         logger.info(ReportConstants.SEPERATOR);
+    }
 
+    private void extract(final DetectorEvaluation result) {
+        eventSystem.publishEvent(Event.ExtractionStarted, result);
         try {
             result.setExtraction(result.getDetector().extract(result.getExtractionId()));
         } catch (final Exception e) {
             result.setExtraction(new Extraction.Builder().exception(e).build());
+        } finally {
+            eventSystem.publishEvent(Event.ExtractionEnded, result);
         }
+    }
 
+    private void logExtractionFinished(final DetectorEvaluation result) {
         logger.info(ReportConstants.SEPERATOR);
         logger.info("Finished extraction: " + result.getExtraction().result.toString());
         logger.info("Code locations found: " + result.getExtraction().codeLocations.size());
@@ -98,9 +242,51 @@ public class ExtractionManager {
             logger.error("Exception:", result.getExtraction().error);
         } else if (result.getExtraction().result == ExtractionResultType.FAILURE) {
             logger.info(result.getExtraction().description);
+        } else if (result.getExtraction().result == ExtractionResultType.TIMEOUT) {
+            logger.error(result.getExtraction().description);
         }
         logger.info(ReportConstants.SEPERATOR);
+    }
 
+    /**
+     * Hands a detector type's extractions to an executor, never more than its limit at once. The rest wait in order and the next one is handed over as a running one finishes.
+     */
+    private static class TypeDispatcher {
+        private final int limit;
+        private final Queue<Runnable> waiting = new LinkedList<>();
+        private int running = 0;
+
+        public TypeDispatcher(final int limit) {
+            this.limit = limit;
+        }
+
+        public synchronized void submit(final Executor executor, final Runnable extraction) {
+            if (running < limit) {
+                running++;
+                dispatch(executor, extraction);
+            } else {
+                waiting.add(() -> dispatch(executor, extraction));
+            }
+        }
+
+        private void dispatch(final Executor executor, final Runnable extraction) {
+            executor.execute(() -> {
+                try {
+                    extraction.run();
+                } finally {
+                    finished();
+                }
+            });
+        }
+
+        private synchronized void finished() {
+            final Runnable next = waiting.poll();
+            if (next != null) {
+                next.run();
+            } else {
+                running--;
+            }
+        }
     }
 
 }
@@ -25,6 +25,11 @@ package com.blackducksoftware.integration.hub.detect.workflow.extraction;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -40,12 +45,18 @@ public class PreparationManager {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final EventSystem eventSystem;
+    private final PreparationOptions preparationOptions;
 
-    public PreparationManager(final EventSystem eventSystem) {
+    public PreparationManager(final EventSystem eventSystem, final PreparationOptions preparationOptions) {
         this.eventSystem = eventSystem;
+        this.preparationOptions = preparationOptions;
     }
 
-    private void prepare(final DetectorEvaluation result) {
+    public int getParallelProcessors() {
+        return preparationOptions.getParallelProcessors();
+    }
+
+    public void prepare(final DetectorEvaluation result) {
         if (result.isApplicable()) {
             eventSystem.publishEvent(Event.ExtractableStarted, result.getDetector());
             try {
@@ -53,16 +64,26 @@ public class PreparationManager {
             } catch (final Exception e) {
                 logger.error("Detector " + result.getDetector().getDescriptiveName() + " was not extractable.", e);
                 result.setExtractable(new ExceptionDetectorResult(e));
+            } finally {
+                eventSystem.publishEvent(Event.ExtractableEnded, result.getDetector());
             }
-            eventSystem.publishEvent(Event.ExtractableEnded, result.getDetector());
         }
     }
 
     public PreparationResult prepareExtractions(final List<DetectorEvaluation> results) {
-        for (final DetectorEvaluation result : results) {
-            prepare(result);
+        final List<DetectorEvaluation> applicable = results.stream().filter(result -> result.isApplicable()).collect(Collectors.toList());
+        if (preparationOptions.getParallelProcessors() > 1 && applicable.size() > 1) {
+            prepareConcurrently(applicable);
+        } else {
+            for (final DetectorEvaluation result : results) {
+                prepare(result);
+            }
         }
 
+        return createPreparationResult(results);
+    }
+
+    public PreparationResult createPreparationResult(final List<DetectorEvaluation> results) {
         final Set<DetectorType> succesfulBomToolGroups = results.stream()
                                                              .filter(it -> it.isApplicable())
                                                              .filter(it -> it.isExtractable())
@@ -77,4 +98,30 @@ public class PreparationManager {
 
         return new PreparationResult(succesfulBomToolGroups, failedBomToolGroups, results);
     }
+
+    /**
+     * Each detector is prepared entirely on one worker thread, so its ExtractableStarted and ExtractableEnded events stay paired.
+     * Inspector and executable lookups shared between detectors are synchronized in their managers, so the first detector resolves them and the rest wait for its result.
+     */
+    private void prepareConcurrently(final List<DetectorEvaluation> applicable) {
+        final int parallelProcessors = Math.min(preparationOptions.getParallelProcessors(), applicable.size());
+        logger.info(String.format("Preparing up to %d detectors at a time.", parallelProcessors));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelProcessors);
+        try {
+            final List<Callable<Object>> preparations = applicable.stream()
+                                                            .map(result -> Executors.callable(() -> prepare(result)))
+                                                            .collect(Collectors.toList());
+            for (final Future<Object> preparation : executorService.invokeAll(preparations)) {
+                preparation.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for detectors to be prepared.", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("A detector failed unexpectedly while being prepared.", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -24,15 +24,27 @@
 package com.blackducksoftware.integration.hub.detect.workflow.file;
 
 import java.io.File;
-import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +76,10 @@ public class DetectFileFinder {
         return Arrays.stream(filenamePatterns).allMatch(pattern -> findFile(sourceDirectory, pattern) != null);
     }
 
+    public boolean containsAllFiles(final DirectoryIndex directoryIndex, final String... filenamePatterns) {
+        return Arrays.stream(filenamePatterns).allMatch(pattern -> findFile(directoryIndex, pattern) != null);
+    }
+
     public boolean containsAllFilesToDepth(final String sourcePath, final int maxDepth, final String... filenamePatterns) {
         final File sourceDirectory = new File(sourcePath);
         if (StringUtils.isBlank(sourcePath) || !sourceDirectory.isDirectory()) {
@@ -78,8 +94,15 @@ public class DetectFileFinder {
     }
 
     public File findFile(final File sourceDirectory, final String filenamePattern) {
+        return selectFoundFile(sourceDirectory, filenamePattern, findFiles(sourceDirectory, filenamePattern));
+    }
+
+    public File findFile(final DirectoryIndex directoryIndex, final String filenamePattern) {
+        return selectFoundFile(directoryIndex.getDirectory(), filenamePattern, findFiles(directoryIndex, filenamePattern));
+    }
+
+    private File selectFoundFile(final File sourceDirectory, final String filenamePattern, final List<File> foundFiles) {
         final File foundFile;
-        final List<File> foundFiles = findFiles(sourceDirectory, filenamePattern);
         if (foundFiles == null || foundFiles.isEmpty()) {
             logger.debug(String.format("Could not find any matches for %s in %s", filenamePattern, sourceDirectory.getAbsolutePath()));
             foundFile = null;
@@ -99,11 +122,27 @@ public class DetectFileFinder {
         if (!sourceDirectory.isDirectory()) {
             return null;
         }
-        final File[] foundFiles = sourceDirectory.listFiles((FilenameFilter) (directoryContainingTheFile, filename) -> FilenameUtils.wildcardMatchOnSystem(filename, filenamePattern));
-        if (foundFiles == null || foundFiles.length == 0) {
+        final PathMatcher matcher = createMatcher(filenamePattern);
+        final List<File> foundFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(sourceDirectory.toPath(), entry -> matcher.matches(entry.getFileName()))) {
+            for (final Path entry : stream) {
+                foundFiles.add(entry.toFile());
+            }
+        } catch (final IOException e) {
+            logger.debug("Directory contents could not be accessed: " + sourceDirectory.getAbsolutePath());
+        }
+        if (foundFiles.isEmpty()) {
+            return null;
+        }
+        return foundFiles;
+    }
+
+    public List<File> findFiles(final DirectoryIndex directoryIndex, final String filenamePattern) {
+        final List<File> foundFiles = directoryIndex.findFiles(filenamePattern);
+        if (foundFiles.isEmpty()) {
             return null;
         }
-        return Arrays.asList(foundFiles);
+        return foundFiles;
     }
 
     public List<File> findFilesToDepth(final File sourceDirectory, final String filenamePattern, final int maxDepth) {
@@ -132,30 +171,60 @@ public class DetectFileFinder {
     private List<File> findFilesRecursive(final File sourceDirectory, final int currentDepth, final int maxDepth, StringBuilder maxDepthHitMsgPattern, final Boolean recurseIntoDirectoryMatch, final String... filenamePatterns) {
         final List<File> files = new ArrayList<>();
         if (currentDepth >= maxDepth) {
-            if (StringUtils.isNotBlank(maxDepthHitMsgPattern)) {
-                logger.warn(String.format(maxDepthHitMsgPattern.toString(), sourceDirectory.getAbsolutePath()));
-                // Ensure msg only shown once
-                maxDepthHitMsgPattern.setLength(0);
-            }
-        } else if (sourceDirectory.isDirectory()) {
-            File[] children = sourceDirectory.listFiles();
-            if (children != null && children.length > 0 && null != filenamePatterns && filenamePatterns.length >= 1) {
-                for (final File file : children) {
-                    final boolean fileMatchesPatterns = Arrays.stream(filenamePatterns).anyMatch(pattern -> FilenameUtils.wildcardMatchOnSystem(file.getName(), pattern));
-
-                    if (fileMatchesPatterns) {
-                        files.add(file);
-                    }
+            logMaxDepthHit(maxDepthHitMsgPattern, sourceDirectory.toPath());
+            return files;
+        } else if (!sourceDirectory.isDirectory() || null == filenamePatterns || filenamePatterns.length < 1) {
+            return files;
+        }
 
-                    if (file.isDirectory() && (!fileMatchesPatterns || recurseIntoDirectoryMatch)) {
-                        // only go into the directory if it is not a match OR it is a match and the flag is set to go into matching directories
-                        files.addAll(findFilesRecursive(file, currentDepth + 1, maxDepth, maxDepthHitMsgPattern, recurseIntoDirectoryMatch, filenamePatterns));
+        final List<PathMatcher> matchers = createMatchers(filenamePatterns);
+        walkFileTree(sourceDirectory, new SimpleFileVisitor<Path>() {
+            private int depth = currentDepth - 1;
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) {
+                final int directoryDepth = depth + 1;
+                if (directoryDepth > currentDepth) {
+                    final boolean directoryMatchesPatterns = matchesAny(matchers, directory);
+                    if (directoryMatchesPatterns) {
+                        files.add(directory.toFile());
+                    }
+                    // only go into the directory if it is not a match OR it is a match and the flag is set to go into matching directories
+                    if (directoryMatchesPatterns && !recurseIntoDirectoryMatch) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    } else if (directoryDepth >= maxDepth) {
+                        logMaxDepthHit(maxDepthHitMsgPattern, directory);
+                        return FileVisitResult.SKIP_SUBTREE;
                     }
                 }
-            } else if (children == null) {
-                logger.warn("Directory contents could not be accessed: " + sourceDirectory.getAbsolutePath());
+                depth = directoryDepth;
+                return FileVisitResult.CONTINUE;
             }
-        }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                if (matchesAny(matchers, file)) {
+                    files.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+                if (file.equals(sourceDirectory.toPath())) {
+                    logger.warn("Directory contents could not be accessed: " + sourceDirectory.getAbsolutePath());
+                } else if (matchesAny(matchers, file)) {
+                    files.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException exception) {
+                depth--;
+                return FileVisitResult.CONTINUE;
+            }
+        });
         return files;
     }
 
@@ -164,15 +233,37 @@ public class DetectFileFinder {
         if (currentDepth > maxDepth || !sourceDirectory.isDirectory()) {
             return files;
         }
-        for (final File file : sourceDirectory.listFiles()) {
-            if (file.isDirectory()) {
-                if (FilenameUtils.wildcardMatchOnSystem(file.getName(), directoryPattern)) {
-                    files.add(file);
-                } else {
-                    files.addAll(findDirectoriesContainingDirectoriesToDepthRecursive(file, directoryPattern, currentDepth + 1, maxDepth));
+
+        final PathMatcher matcher = createMatcher(directoryPattern);
+        walkFileTree(sourceDirectory, new SimpleFileVisitor<Path>() {
+            private int depth = currentDepth - 1;
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) {
+                final int directoryDepth = depth + 1;
+                if (directoryDepth > currentDepth) {
+                    if (matcher.matches(directory.getFileName())) {
+                        files.add(directory.toFile());
+                        return FileVisitResult.SKIP_SUBTREE;
+                    } else if (directoryDepth > maxDepth) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
                 }
+                depth = directoryDepth;
+                return FileVisitResult.CONTINUE;
             }
-        }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException exception) {
+                depth--;
+                return FileVisitResult.CONTINUE;
+            }
+        });
         return files;
     }
 
@@ -181,20 +272,103 @@ public class DetectFileFinder {
     }
 
     private List<File> findDirectoriesContainingFilesRecursive(final File sourceDirectory, final String filenamePattern, final int currentDepth, final int maxDepth) {
-        final Set<File> files = new HashSet<>();
+        final Set<File> files = new LinkedHashSet<>();
         if (currentDepth > maxDepth || !sourceDirectory.isDirectory()) {
             return new ArrayList<>(files);
         }
-        for (final File file : sourceDirectory.listFiles()) {
-            if (file.isDirectory()) {
-                files.addAll(findDirectoriesContainingFilesRecursive(file, filenamePattern, currentDepth + 1, maxDepth));
-            } else if (FilenameUtils.wildcardMatchOnSystem(file.getName(), filenamePattern)) {
-                files.add(sourceDirectory);
+
+        final PathMatcher matcher = createMatcher(filenamePattern);
+        walkFileTree(sourceDirectory, new SimpleFileVisitor<Path>() {
+            private int depth = currentDepth - 1;
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) {
+                final int directoryDepth = depth + 1;
+                if (directoryDepth > maxDepth) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                depth = directoryDepth;
+                return FileVisitResult.CONTINUE;
             }
-        }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                if (matcher.matches(file.getFileName())) {
+                    files.add(file.getParent().toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException exception) {
+                depth--;
+                return FileVisitResult.CONTINUE;
+            }
+        });
         return new ArrayList<>(files);
     }
 
+    private void walkFileTree(final File sourceDirectory, final FileVisitor<Path> visitor) {
+        try {
+            Files.walkFileTree(sourceDirectory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, visitor);
+        } catch (final IOException e) {
+            logger.warn("Directory contents could not be accessed: " + sourceDirectory.getAbsolutePath());
+        }
+    }
+
+    private void logMaxDepthHit(final StringBuilder maxDepthHitMsgPattern, final Path directory) {
+        if (StringUtils.isNotBlank(maxDepthHitMsgPattern)) {
+            logger.warn(String.format(maxDepthHitMsgPattern.toString(), directory.toFile().getAbsolutePath()));
+            // Ensure msg only shown once
+            maxDepthHitMsgPattern.setLength(0);
+        }
+    }
+
+    private List<PathMatcher> createMatchers(final String... filenamePatterns) {
+        return Arrays.stream(filenamePatterns)
+                   .map(this::createMatcher)
+                   .collect(Collectors.toList());
+    }
+
+    private boolean matchesAny(final List<PathMatcher> matchers, final Path path) {
+        final Path filename = path.getFileName();
+        return filename != null && matchers.stream().anyMatch(matcher -> matcher.matches(filename));
+    }
+
+    /**
+     * Compiles a wildcard ('*' and '?') filename pattern once, matching the same names as FilenameUtils.wildcardMatchOnSystem.
+     */
+    private PathMatcher createMatcher(final String filenamePattern) {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (final char character : filenamePattern.toCharArray()) {
+            if (character == '*' || character == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(character == '*' ? ".*" : ".");
+            } else {
+                literal.append(character);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+
+        int flags = Pattern.DOTALL;
+        if (!IOCase.SYSTEM.isCaseSensitive()) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        final Pattern compiledPattern = Pattern.compile(regex.toString(), flags);
+        return path -> path != null && compiledPattern.matcher(path.toString()).matches();
+    }
+
     public File findContainingDir(final File givenDir, int numberOfLevelsToWalkBack) {
         File containingDir = givenDir;
         for (; numberOfLevelsToWalkBack > 0; numberOfLevelsToWalkBack--) {
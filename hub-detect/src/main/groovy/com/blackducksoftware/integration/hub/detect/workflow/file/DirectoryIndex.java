@@ -0,0 +1,123 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single listing of a directory shared by every lookup made against it. Names are read once, the type and size of an entry are only read the first time they are asked for.
+ */
+public class DirectoryIndex {
+    private final Logger logger = LoggerFactory.getLogger(DirectoryIndex.class);
+
+    private final File directory;
+    private final List<String> fileNames;
+    private final Map<String, String> exactFileNames = new HashMap<>();
+    private final Map<String, Optional<BasicFileAttributes>> attributes = new ConcurrentHashMap<>();
+
+    public DirectoryIndex(final File directory) {
+        this.directory = directory;
+
+        final String[] listing = directory.list();
+        if (listing == null) {
+            logger.debug("Directory contents could not be indexed: " + directory.getAbsolutePath());
+            fileNames = Collections.emptyList();
+        } else {
+            fileNames = Collections.unmodifiableList(Arrays.asList(listing));
+        }
+
+        for (final String fileName : fileNames) {
+            exactFileNames.put(normalize(fileName), fileName);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public List<String> getFileNames() {
+        return fileNames;
+    }
+
+    public List<File> findFiles(final String filenamePattern) {
+        if (isLiteral(filenamePattern)) {
+            final String fileName = exactFileNames.get(normalize(filenamePattern));
+            if (fileName == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(new File(directory, fileName));
+        }
+
+        return fileNames.stream()
+                   .filter(fileName -> FilenameUtils.wildcardMatchOnSystem(fileName, filenamePattern))
+                   .map(fileName -> new File(directory, fileName))
+                   .collect(Collectors.toList());
+    }
+
+    public boolean isDirectory(final String fileName) {
+        return getAttributes(fileName).map(BasicFileAttributes::isDirectory).orElse(false);
+    }
+
+    public long getSize(final String fileName) {
+        return getAttributes(fileName).map(BasicFileAttributes::size).orElse(0L);
+    }
+
+    private Optional<BasicFileAttributes> getAttributes(final String fileName) {
+        return attributes.computeIfAbsent(fileName, it -> {
+            try {
+                return Optional.of(Files.readAttributes(new File(directory, it).toPath(), BasicFileAttributes.class));
+            } catch (final IOException e) {
+                logger.debug(String.format("Could not read the attributes of %s in %s", it, directory.getAbsolutePath()));
+                return Optional.empty();
+            }
+        });
+    }
+
+    private boolean isLiteral(final String filenamePattern) {
+        return filenamePattern.indexOf('*') < 0 && filenamePattern.indexOf('?') < 0;
+    }
+
+    private String normalize(final String fileName) {
+        if (IOCase.SYSTEM.isCaseSensitive()) {
+            return fileName;
+        }
+        return fileName.toLowerCase();
+    }
+}
@@ -64,6 +64,7 @@ public class DirectoryManager {
         Scan("scan"),
         Docker("docker"),
         Bdio("bdio"),
+        Executable("executables"),
         Shared("shared");
 
         private String directoryName;
@@ -143,7 +144,7 @@ public class DirectoryManager {
         return userHome;
     }
 
-    public File getExtractionOutputDirectory(final ExtractionId extractionId) {
+    public synchronized File getExtractionOutputDirectory(final ExtractionId extractionId) {
         if (extractionDirectories.containsKey(extractionId)) {
             return extractionDirectories.get(extractionId);
         } else {
@@ -155,6 +156,10 @@ public class DirectoryManager {
         }
     }
 
+    public File getExtractionsOutputDirectory() { // holds the output directory of every extraction
+        return getRunDirectory(RunDirectory.Extraction);
+    }
+
     public File getSourceDirectory() {
         return sourceDirectory;
     }
@@ -187,6 +192,10 @@ public class DirectoryManager {
         return getRunDirectory(RunDirectory.Log);
     }
 
+    public File getExecutableOutputDirectory() {
+        return getRunDirectory(RunDirectory.Executable);
+    }
+
     public File getRunHomeDirectory() {
         return runDirectory;
     }
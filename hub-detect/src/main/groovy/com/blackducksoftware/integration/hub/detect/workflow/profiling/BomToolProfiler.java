@@ -26,6 +26,8 @@ package com.blackducksoftware.integration.hub.detect.workflow.profiling;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
@@ -37,9 +39,11 @@ public class BomToolProfiler {
     public BomToolTimekeeper extractableTimekeeper = new BomToolTimekeeper();
     public BomToolTimekeeper extractionTimekeeper = new BomToolTimekeeper();
     private EventSystem eventSystem;
+    private DetectorTimingHistory timingHistory;
 
-    public BomToolProfiler(EventSystem eventSystem) {
+    public BomToolProfiler(EventSystem eventSystem, DetectorTimingHistory timingHistory) {
         this.eventSystem = eventSystem;
+        this.timingHistory = timingHistory;
         eventSystem.registerListener(Event.ApplicableStarted, event -> applicableStarted(event));
         eventSystem.registerListener(Event.ApplicableEnded, event -> applicableEnded(event));
         eventSystem.registerListener(Event.ExtractableStarted, event -> extractableStarted(event));
@@ -85,8 +89,18 @@ public class BomToolProfiler {
         return extractionTimekeeper.getTimings();
     }
 
+    public List<DetectorTime> getPredictedExtractionTimings() {
+        return getExtractionTimings().stream()
+                   .map(it -> timingHistory.predictExtractionMs(it.getDetector()).map(ms -> new DetectorTime(it.getDetector(), ms)))
+                   .filter(Optional::isPresent)
+                   .map(Optional::get)
+                   .collect(Collectors.toList());
+    }
+
     public void bomToolsComplete() {
-        DetectorTimings timings = new DetectorTimings(getAggregateBomToolGroupTimes(), getApplicableTimings(), getExtractableTimings(), getExtractionTimings());
+        DetectorTimings timings = new DetectorTimings(getAggregateBomToolGroupTimes(), getApplicableTimings(), getExtractableTimings(), getExtractionTimings(), getPredictedExtractionTimings());
+        timingHistory.record(timings.getExtractableTimings(), timings.getExtractionTimings());
+        timingHistory.save();
         eventSystem.publishEvent(Event.DetectorsProfiled, timings);
     }
 
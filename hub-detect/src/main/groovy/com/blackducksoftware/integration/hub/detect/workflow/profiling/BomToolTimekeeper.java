@@ -24,9 +24,9 @@
 package com.blackducksoftware.integration.hub.detect.workflow.profiling;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.time.StopWatch;
 
@@ -34,16 +34,10 @@ import com.blackducksoftware.integration.hub.detect.detector.Detector;
 
 public class BomToolTimekeeper {
 
-    private final Map<Detector, StopWatch> bomToolMap = new HashMap<>();
+    private final Map<Detector, StopWatch> bomToolMap = new ConcurrentHashMap<>();
 
     private StopWatch getStopWatch(final Detector detector) {
-        if (bomToolMap.containsKey(detector)) {
-            return bomToolMap.get(detector);
-        } else {
-            final StopWatch sw = new StopWatch();
-            bomToolMap.put(detector, sw);
-            return sw;
-        }
+        return bomToolMap.computeIfAbsent(detector, it -> new StopWatch());
     }
 
     public void started(final Detector detector) {
@@ -0,0 +1,126 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers how long each detector took to prepare and extract in earlier runs, keyed by the detector and its source directory, so the next run can predict its timings.
+ * Only the most recent timing is kept, a detector that did not run keeps its previous timing.
+ */
+public class DetectorTimingHistory {
+    public static final String HISTORY_DIRECTORY_NAME = "profiling";
+    private static final String HISTORY_FILE_NAME = "detector-timings.json";
+
+    private final Logger logger = LoggerFactory.getLogger(DetectorTimingHistory.class);
+    private final Gson gson = new Gson();
+
+    private final File historyFile;
+    private final Map<String, CachedTiming> timings = new ConcurrentHashMap<>();
+
+    public DetectorTimingHistory(final File historyDirectory) {
+        this.historyFile = new File(historyDirectory, HISTORY_FILE_NAME);
+    }
+
+    public void load() {
+        if (!historyFile.isFile()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(historyFile.toPath(), StandardCharsets.UTF_8)) {
+            final CachedHistory cachedHistory = gson.fromJson(reader, CachedHistory.class);
+            if (cachedHistory != null && cachedHistory.timings != null) {
+                timings.putAll(cachedHistory.timings);
+            }
+            logger.debug(String.format("Loaded %d detector timings from %s", timings.size(), historyFile.getAbsolutePath()));
+        } catch (final IOException | JsonParseException e) {
+            logger.debug("Unable to read the detector timing history, timings will not be predicted: " + e.getMessage());
+            timings.clear();
+        }
+    }
+
+    public void save() {
+        final CachedHistory cachedHistory = new CachedHistory();
+        cachedHistory.timings = new HashMap<>(timings);
+        try {
+            Files.createDirectories(historyFile.toPath().getParent());
+            try (Writer writer = Files.newBufferedWriter(historyFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(cachedHistory, writer);
+            }
+            logger.debug(String.format("Saved %d detector timings to %s", timings.size(), historyFile.getAbsolutePath()));
+        } catch (final IOException e) {
+            logger.debug("Unable to write the detector timing history: " + e.getMessage());
+        }
+    }
+
+    public Optional<Long> predictExtractableMs(final Detector detector) {
+        return Optional.ofNullable(timings.get(createKey(detector))).map(it -> it.extractableMs);
+    }
+
+    public Optional<Long> predictExtractionMs(final Detector detector) {
+        return Optional.ofNullable(timings.get(createKey(detector))).map(it -> it.extractionMs);
+    }
+
+    public void record(final List<DetectorTime> extractableTimings, final List<DetectorTime> extractionTimings) {
+        for (final DetectorTime detectorTime : extractableTimings) {
+            findTiming(detectorTime.getDetector()).extractableMs = detectorTime.getMs();
+        }
+        for (final DetectorTime detectorTime : extractionTimings) {
+            findTiming(detectorTime.getDetector()).extractionMs = detectorTime.getMs();
+        }
+    }
+
+    private CachedTiming findTiming(final Detector detector) {
+        return timings.computeIfAbsent(createKey(detector), it -> new CachedTiming());
+    }
+
+    private String createKey(final Detector detector) {
+        return detector.getDescriptiveName() + ":" + detector.getEnvironment().getDirectory().toPath().toAbsolutePath().normalize().toString();
+    }
+
+    private static class CachedHistory {
+        Map<String, CachedTiming> timings;
+    }
+
+    private static class CachedTiming {
+        Long extractableMs;
+        Long extractionMs;
+    }
+}
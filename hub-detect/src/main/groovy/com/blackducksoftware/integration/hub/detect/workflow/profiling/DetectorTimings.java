@@ -33,13 +33,15 @@ public class DetectorTimings {
     private final List<DetectorTime> applicableTimings;
     private final List<DetectorTime> extractableTimings;
     private final List<DetectorTime> extractionTimings;
+    private final List<DetectorTime> predictedExtractionTimings;
 
     public DetectorTimings(final Map<DetectorType, Long> aggregateTimings, final List<DetectorTime> applicableTimings,
-        final List<DetectorTime> extractableTimings, final List<DetectorTime> extractionTimings) {
+        final List<DetectorTime> extractableTimings, final List<DetectorTime> extractionTimings, final List<DetectorTime> predictedExtractionTimings) {
         this.aggregateTimings = aggregateTimings;
         this.applicableTimings = applicableTimings;
         this.extractableTimings = extractableTimings;
         this.extractionTimings = extractionTimings;
+        this.predictedExtractionTimings = predictedExtractionTimings;
     }
 
     public Map<DetectorType, Long> getAggregateTimings() {
@@ -58,4 +60,8 @@ public class DetectorTimings {
         return extractionTimings;
     }
 
+    public List<DetectorTime> getPredictedExtractionTimings() {
+        return predictedExtractionTimings;
+    }
+
 }
@@ -64,7 +64,7 @@ public class ErrorSummarizer extends DetectorEvaluationSummarizer {
                                                          .collect(Collectors.toList());
 
         final List<ErrorSummaryBomToolError> failure = extractions.stream()
-                                                           .filter(it -> it.getExtraction().result == ExtractionResultType.FAILURE)
+                                                           .filter(it -> it.getExtraction().result == ExtractionResultType.FAILURE || it.getExtraction().result == ExtractionResultType.TIMEOUT)
                                                            .map(it -> new ErrorSummaryBomToolError(it.getDetector().getDescriptiveName(), it.getExtraction().description))
                                                            .collect(Collectors.toList());
 
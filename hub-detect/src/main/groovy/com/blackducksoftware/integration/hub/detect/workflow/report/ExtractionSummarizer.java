@@ -62,7 +62,7 @@ public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
                                                      .collect(Collectors.toList());
 
         final List<DetectorEvaluation> failure = extractions.stream()
-                                                     .filter(it -> it.getExtraction().result == ExtractionResultType.FAILURE)
+                                                     .filter(it -> it.getExtraction().result == ExtractionResultType.FAILURE || it.getExtraction().result == ExtractionResultType.TIMEOUT)
                                                      .collect(Collectors.toList());
 
         final List<DetectorEvaluation> exception = extractions.stream()
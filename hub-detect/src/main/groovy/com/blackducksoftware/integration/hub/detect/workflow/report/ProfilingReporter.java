@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTime;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimings;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.ReportWriter;
@@ -42,9 +43,22 @@ public class ProfilingReporter {
         writer.writeSeperator();
         writeReport(writer, detectorTimings.getExtractableTimings());
         writer.writeSeperator();
-        writer.writeLine("Extraction Times");
+        writer.writeLine("Extraction Times (Actual / Predicted)");
         writer.writeSeperator();
-        writeReport(writer, detectorTimings.getExtractionTimings());
+        writePredictedReport(writer, detectorTimings.getExtractionTimings(), detectorTimings.getPredictedExtractionTimings());
+    }
+
+    private void writePredictedReport(final ReportWriter writer, final List<DetectorTime> timings, final List<DetectorTime> predictedTimings) {
+        final Map<Detector, Long> predicted = new HashMap<>();
+        for (final DetectorTime predictedTime : predictedTimings) {
+            predicted.put(predictedTime.getDetector(), predictedTime.getMs());
+        }
+
+        for (final DetectorTime detectorTime : timings) {
+            final Long predictedMs = predicted.get(detectorTime.getDetector());
+            final String predictedText = predictedMs == null ? "no history" : predictedMs.toString();
+            writer.writeLine("\t" + padToLength(detectorTime.getDetector().getDescriptiveName(), 30) + "\t" + detectorTime.getMs() + "\t" + predictedText);
+        }
     }
 
     private void writeAggregateReport(final ReportWriter writer, final List<DetectorTime> timings) {
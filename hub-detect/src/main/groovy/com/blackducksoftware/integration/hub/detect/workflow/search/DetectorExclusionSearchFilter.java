@@ -26,26 +26,21 @@ package com.blackducksoftware.integration.hub.detect.workflow.search;
 import java.io.File;
 import java.util.List;
 
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.apache.commons.io.IOCase;
 
 public class DetectorExclusionSearchFilter implements DetectorSearchFilter {
-    private List<String> excludedDirectories;
-    private WildcardFileFilter fileFilter;
+    private final WildcardNameMatcher excludedDirectoryMatcher;
+    private final WildcardNameMatcher excludedDirectoryNamePatternMatcher;
 
     public DetectorExclusionSearchFilter(List<String> excludedDirectories, List<String> excludedDirectoryNamePatterns){
-        this.excludedDirectories = excludedDirectories;
-        fileFilter = new WildcardFileFilter(excludedDirectoryNamePatterns);
+        excludedDirectoryMatcher = new WildcardNameMatcher(excludedDirectories, IOCase.SYSTEM);
+        // case sensitive, like the WildcardFileFilter these patterns used to go through
+        excludedDirectoryNamePatternMatcher = new WildcardNameMatcher(excludedDirectoryNamePatterns, IOCase.SENSITIVE);
     }
 
     @Override
     public boolean shouldExclude(File file) {
-        for (final String excludedDirectory : excludedDirectories) {
-            if (FilenameUtils.wildcardMatchOnSystem(file.getName(), excludedDirectory)) {
-                return true;
-            }
-        }
-
-        return fileFilter.accept(file); //returns TRUE if it matches one of the file filters.
+        final String name = file.getName();
+        return excludedDirectoryMatcher.matches(name) || excludedDirectoryNamePatternMatcher.matches(name);
     }
 }
@@ -30,10 +30,15 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,18 +48,40 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+import com.blackducksoftware.integration.hub.detect.workflow.search.DetectorSearchCache.DirectoryState;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRule;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class DetectorFinder {
     private final Logger logger = LoggerFactory.getLogger(DetectorFinder.class);
 
     public List<DetectorEvaluation> findApplicableBomTools(final File initialDirectory, final DetectorFinderOptions options) throws DetectorException, DetectUserFriendlyException {
+        if (options.getParallelProcessors() > 1) {
+            return findApplicableBomToolsInParallel(initialDirectory, options);
+        }
+
         final List<File> subDirectories = new ArrayList<>();
         subDirectories.add(initialDirectory);
         return findApplicableBomTools(subDirectories, new HashSet<Detector>(), 0, options);
     }
 
+    private List<DetectorEvaluation> findApplicableBomToolsInParallel(final File initialDirectory, final DetectorFinderOptions options) throws DetectUserFriendlyException {
+        logger.info(String.format("Searching with %d parallel processors.", options.getParallelProcessors()));
+        final ForkJoinPool searchPool = new ForkJoinPool(options.getParallelProcessors());
+        try {
+            return searchPool.invoke(new DirectorySearchTask(initialDirectory, new HashSet<>(), 0, options));
+        } catch (final RuntimeException e) {
+            final int friendlyIndex = ExceptionUtils.indexOfThrowable(e, DetectUserFriendlyException.class);
+            if (friendlyIndex >= 0) {
+                throw (DetectUserFriendlyException) ExceptionUtils.getThrowableList(e).get(friendlyIndex);
+            }
+            throw e;
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+
     private List<DetectorEvaluation> findApplicableBomTools(final List<File> directoriesToSearch, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options)
         throws DetectorException, DetectUserFriendlyException {
 
@@ -78,7 +105,9 @@ public class DetectorFinder {
 
             final Set<DetectorType> applicableTypes = new HashSet<>();
             final Set<Detector> applied = new HashSet<>();
-            final List<DetectorEvaluation> evaluations = processDirectory(directory, appliedBefore, depth, options);
+            final DirectoryState directoryState = options.getSearchCache().getDirectoryState(directory);
+            final DetectorSearchRuleSet bomToolSet = createRuleSet(directory, appliedBefore, depth, options);
+            final List<DetectorEvaluation> evaluations = processDirectory(bomToolSet, directoryState, options);
             results.addAll(evaluations);
 
             final List<Detector> appliedBomTools = evaluations.stream()
@@ -88,11 +117,15 @@ public class DetectorFinder {
 
             applied.addAll(appliedBomTools);
 
-            // TODO: Used to have a remaining detectors and would bail early here, not sure how to go about that?
             final Set<Detector> everApplied = new HashSet<>();
             everApplied.addAll(applied);
             everApplied.addAll(appliedBefore);
-            final List<File> subdirectories = getSubDirectories(directory, options.getDetectorSearchFilter());
+            if (!canAnyApplyBelow(directory, bomToolSet, everApplied, depth, options)) {
+                directoryState.record(null, evaluations);
+                continue;
+            }
+            final List<File> subdirectories = getSubDirectories(directory, directoryState, options.getDetectorSearchFilter());
+            directoryState.record(subdirectories, evaluations);
             final List<DetectorEvaluation> recursiveResults = findApplicableBomTools(subdirectories, everApplied, depth + 1, options);
             results.addAll(recursiveResults);
 
@@ -102,14 +135,102 @@ public class DetectorFinder {
         return results;
     }
 
-    private List<DetectorEvaluation> processDirectory(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
+    /**
+     * Searches a single directory and then forks a task per subdirectory. Subtask results are joined in directory listing order so the evaluations come back in the same order as the serial search.
+     */
+    private class DirectorySearchTask extends RecursiveTask<List<DetectorEvaluation>> {
+        private final File directory;
+        private final Set<Detector> appliedBefore;
+        private final int depth;
+        private final DetectorFinderOptions options;
+
+        public DirectorySearchTask(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
+            this.directory = directory;
+            this.appliedBefore = appliedBefore;
+            this.depth = depth;
+            this.options = options;
+        }
+
+        @Override
+        protected List<DetectorEvaluation> compute() {
+            final List<DetectorEvaluation> results = new ArrayList<>();
+            if (depth > options.getMaximumDepth()) {
+                return results;
+            }
+
+            logger.info("Searching directory: " + directory.getPath());
+
+            final DirectoryState directoryState = options.getSearchCache().getDirectoryState(directory);
+            final DetectorSearchRuleSet bomToolSet = createRuleSet(directory, appliedBefore, depth, options);
+            final List<DetectorEvaluation> evaluations = processDirectory(bomToolSet, directoryState, options);
+            results.addAll(evaluations);
+
+            final Set<Detector> everApplied = new HashSet<>(appliedBefore);
+            evaluations.stream()
+                .filter(it -> it.isApplicable())
+                .forEach(it -> everApplied.add(it.getDetector()));
+            if (!canAnyApplyBelow(directory, bomToolSet, everApplied, depth, options)) {
+                directoryState.record(null, evaluations);
+                return results;
+            }
+
+            final List<File> subdirectories;
+            try {
+                subdirectories = getSubDirectories(directory, directoryState, options.getDetectorSearchFilter());
+            } catch (final DetectUserFriendlyException e) {
+                throw new CompletionException(e);
+            }
+            directoryState.record(subdirectories, evaluations);
+
+            final List<DirectorySearchTask> subtasks = new ArrayList<>();
+            for (final File subdirectory : subdirectories) {
+                if (options.getDetectorSearchFilter().shouldExclude(subdirectory)) {
+                    logger.info("Skipping excluded directory: " + subdirectory.getPath());
+                    continue;
+                }
+                subtasks.add(new DirectorySearchTask(subdirectory, everApplied, depth + 1, options));
+            }
+
+            invokeAll(subtasks);
+            for (final DirectorySearchTask subtask : subtasks) {
+                results.addAll(subtask.join());
+            }
+
+            return results;
+        }
+    }
+
+    private DetectorSearchRuleSet createRuleSet(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
         final DetectorEnvironment environment = new DetectorEnvironment(directory, appliedBefore, depth, options.getDetectorFilter(), options.getForceNestedSearch());
-        final DetectorSearchRuleSet bomToolSet = options.getDetectorSearchProvider().createBomToolSearchRuleSet(environment);
-        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(bomToolSet, options.getEventSystem());
+        return options.getDetectorSearchProvider().createBomToolSearchRuleSet(environment);
+    }
+
+    private List<DetectorEvaluation> processDirectory(final DetectorSearchRuleSet bomToolSet, final DirectoryState directoryState, final DetectorFinderOptions options) {
+        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(bomToolSet, options.getEventSystem(), directoryState.getCachedResults());
+        evaluations.stream()
+            .filter(it -> it.isApplicable())
+            .forEach(options.getApplicableConsumer());
         return evaluations;
     }
 
-    private List<File> getSubDirectories(final File directory, DetectorSearchFilter filter) throws DetectUserFriendlyException {
+    private boolean canAnyApplyBelow(final File directory, final DetectorSearchRuleSet bomToolSet, final Set<Detector> everApplied, final int depth, final DetectorFinderOptions options) {
+        if (depth + 1 > options.getMaximumDepth()) {
+            return false;
+        }
+        final List<DetectorSearchRule> remainingRules = options.getDetectorSearchEvaluator().findRemainingRules(bomToolSet, everApplied, depth + 1);
+        if (remainingRules.isEmpty()) {
+            logger.debug("No remaining detectors can apply below " + directory.getPath() + ", will not search its subdirectories.");
+            return false;
+        }
+        return true;
+    }
+
+    private List<File> getSubDirectories(final File directory, final DirectoryState directoryState, DetectorSearchFilter filter) throws DetectUserFriendlyException {
+        final Optional<List<File>> cachedSubDirectories = directoryState.getCachedSubDirectories(directory);
+        if (cachedSubDirectories.isPresent()) {
+            return cachedSubDirectories.get();
+        }
+
         Stream<Path> stream = null;
         try {
             stream = Files.list(directory.toPath());
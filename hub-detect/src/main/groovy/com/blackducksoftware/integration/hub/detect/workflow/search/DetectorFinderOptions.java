@@ -23,10 +23,11 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.search;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import com.blackducksoftware.integration.hub.detect.util.filter.DetectFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
 
@@ -39,9 +40,13 @@ public class DetectorFinderOptions {
     private final DetectorSearchProvider detectorSearchProvider;
     private final DetectorSearchEvaluator detectorSearchEvaluator;
     private final EventSystem eventSystem;
+    private final int parallelProcessors;
+    private final DetectorSearchCache searchCache;
+    private final Consumer<DetectorEvaluation> applicableConsumer;
 
     public DetectorFinderOptions(DetectorSearchFilter detectorSearchFilter, final Boolean forceNestedSearch, final int maximumDepth, final DetectFilter detectorFilter,
-        final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem) {
+        final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem, final int parallelProcessors,
+        final DetectorSearchCache searchCache, final Consumer<DetectorEvaluation> applicableConsumer) {
         this.detectorSearchFilter = detectorSearchFilter;
         this.forceNestedSearch = forceNestedSearch;
         this.maximumDepth = maximumDepth;
@@ -49,6 +54,9 @@ public class DetectorFinderOptions {
         this.detectorSearchProvider = detectorSearchProvider;
         this.detectorSearchEvaluator = detectorSearchEvaluator;
         this.eventSystem = eventSystem;
+        this.parallelProcessors = parallelProcessors;
+        this.searchCache = searchCache;
+        this.applicableConsumer = applicableConsumer;
     }
 
     public DetectorSearchFilter getDetectorSearchFilter() {
@@ -78,4 +86,16 @@ public class DetectorFinderOptions {
     public EventSystem getEventSystem() {
         return eventSystem;
     }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
+
+    public DetectorSearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    public Consumer<DetectorEvaluation> getApplicableConsumer() {
+        return applicableConsumer;
+    }
 }
@@ -0,0 +1,202 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.CachedFileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FilesNotFoundDetectorResult;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers, per searched directory, the subdirectory names and the detectors that found no files, keyed by the directory's path, modification time and file key.
+ * A directory's modification time only changes when its direct entries change, so each directory is validated on its own and a subdirectory is never trusted because its parent was unchanged.
+ * Only file-not-found results are reused because a passing applicable() also prepares the detector for extraction, and only for detectors whose applicable() depends on nothing but
+ * the directory's direct entries: a nested file or a property value would not change the directory's modification time.
+ */
+public class DetectorSearchCache {
+    public static final String CACHE_DIRECTORY_NAME = "search-cache";
+    // a directory modified this recently may still change within the same timestamp, like git's racy index entries
+    private static final long RACY_MODIFICATION_MILLIS = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(DetectorSearchCache.class);
+    private final Gson gson = new Gson();
+
+    private final File cacheFile;
+    private final Map<String, CachedDirectory> previousDirectories = new HashMap<>();
+    private final Map<String, CachedDirectory> currentDirectories = new ConcurrentHashMap<>();
+
+    public DetectorSearchCache(final File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    public static File determineCacheFile(final File cacheDirectory, final File searchPath, final String detectVersion) {
+        final String key = searchPath.toPath().toAbsolutePath().normalize().toString() + ":" + detectVersion;
+        return new File(cacheDirectory, UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString() + ".json");
+    }
+
+    public void load() {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            final CachedSearch cachedSearch = gson.fromJson(reader, CachedSearch.class);
+            if (cachedSearch != null && cachedSearch.directories != null) {
+                previousDirectories.putAll(cachedSearch.directories);
+            }
+            logger.debug(String.format("Loaded %d cached search directories from %s", previousDirectories.size(), cacheFile.getAbsolutePath()));
+        } catch (final IOException | JsonParseException e) {
+            logger.debug("Unable to read the search cache, the search will not use it: " + e.getMessage());
+            previousDirectories.clear();
+        }
+    }
+
+    public void save() {
+        if (cacheFile == null) {
+            return;
+        }
+        final CachedSearch cachedSearch = new CachedSearch();
+        cachedSearch.directories = new HashMap<>(currentDirectories);
+        try {
+            Files.createDirectories(cacheFile.toPath().getParent());
+            try (Writer writer = Files.newBufferedWriter(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(cachedSearch, writer);
+            }
+            logger.debug(String.format("Saved %d search directories to %s", currentDirectories.size(), cacheFile.getAbsolutePath()));
+        } catch (final IOException e) {
+            logger.debug("Unable to write the search cache: " + e.getMessage());
+        }
+    }
+
+    public DirectoryState getDirectoryState(final File directory) {
+        final Path path = directory.toPath().toAbsolutePath().normalize();
+        BasicFileAttributes attributes = null;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            logger.debug("Unable to read directory attributes, the search cache will not be used for: " + path.toString());
+        }
+        return new DirectoryState(path.toString(), attributes);
+    }
+
+    public class DirectoryState {
+        private final String key;
+        private final BasicFileAttributes attributes;
+        private final CachedDirectory unchanged;
+
+        private DirectoryState(final String key, final BasicFileAttributes attributes) {
+            this.key = key;
+            this.attributes = attributes;
+            final CachedDirectory previous = previousDirectories.get(key);
+            if (attributes != null && previous != null && previous.lastModified == attributes.lastModifiedTime().toMillis() && Objects.equals(previous.fileKey, describeFileKey(attributes))) {
+                unchanged = previous;
+            } else {
+                unchanged = null;
+            }
+        }
+
+        public Optional<List<File>> getCachedSubDirectories(final File directory) {
+            if (unchanged == null || unchanged.subDirectories == null) {
+                return Optional.empty();
+            }
+            return Optional.of(unchanged.subDirectories.stream()
+                                   .map(name -> new File(directory, name))
+                                   .collect(Collectors.toList()));
+        }
+
+        public Map<String, DetectorResult> getCachedResults() {
+            final Map<String, DetectorResult> results = new HashMap<>();
+            if (unchanged != null && unchanged.notApplicable != null) {
+                unchanged.notApplicable.forEach((detector, description) -> results.put(detector, new CachedFileNotFoundDetectorResult(description)));
+            }
+            return results;
+        }
+
+        public void record(final List<File> subDirectories, final List<DetectorEvaluation> evaluations) {
+            if (attributes == null || System.currentTimeMillis() - attributes.lastModifiedTime().toMillis() < RACY_MODIFICATION_MILLIS) {
+                return;
+            }
+            final CachedDirectory cachedDirectory = new CachedDirectory();
+            cachedDirectory.lastModified = attributes.lastModifiedTime().toMillis();
+            cachedDirectory.fileKey = describeFileKey(attributes);
+            if (subDirectories != null) {
+                cachedDirectory.subDirectories = subDirectories.stream().map(File::getName).collect(Collectors.toList());
+            } else if (unchanged != null) {
+                cachedDirectory.subDirectories = unchanged.subDirectories;
+            }
+            cachedDirectory.notApplicable = new HashMap<>();
+            if (unchanged != null && unchanged.notApplicable != null) {
+                cachedDirectory.notApplicable.putAll(unchanged.notApplicable);
+            }
+            for (final DetectorEvaluation evaluation : evaluations) {
+                if (evaluation.getDetector().isApplicableCacheable() && evaluation.isSearchable() && isFileNotFound(evaluation.getApplicableResult())) {
+                    cachedDirectory.notApplicable.put(evaluation.getDetector().getDescriptiveName(), evaluation.getApplicabilityMessage());
+                }
+            }
+            currentDirectories.put(key, cachedDirectory);
+        }
+    }
+
+    private boolean isFileNotFound(final DetectorResult result) {
+        return result instanceof FileNotFoundDetectorResult || result instanceof FilesNotFoundDetectorResult || result instanceof CachedFileNotFoundDetectorResult;
+    }
+
+    private String describeFileKey(final BasicFileAttributes attributes) {
+        final Object fileKey = attributes.fileKey();
+        return fileKey == null ? null : fileKey.toString();
+    }
+
+    private static class CachedSearch {
+        Map<String, CachedDirectory> directories;
+    }
+
+    private static class CachedDirectory {
+        long lastModified;
+        String fileKey;
+        List<String> subDirectories;
+        Map<String, String> notApplicable;
+    }
+}
@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.workflow.search;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -55,15 +56,30 @@ public class SearchManager {
     }
 
     public SearchResult performSearch() throws DetectUserFriendlyException {
+        return performSearch(evaluation -> {});
+    }
+
+    /**
+     * Searches for detectors, handing each applicable evaluation to the consumer as soon as its directory has been searched. The consumer may be called from several search threads at once.
+     */
+    public SearchResult performSearch(final Consumer<DetectorEvaluation> applicableConsumer) throws DetectUserFriendlyException {
         List<DetectorEvaluation> searchResults = new ArrayList<>();
         try {
+            final DetectorSearchCache searchCache = new DetectorSearchCache(searchOptions.searchCacheFile);
+            if (searchOptions.forceColdSearch) {
+                logger.info("Forcing a cold search, cached search results will not be used.");
+            } else {
+                searchCache.load();
+            }
+
             DetectorExclusionSearchFilter detectorExclusionSearchFilter = new DetectorExclusionSearchFilter(searchOptions.excludedDirectories, searchOptions.excludedDirectoryPatterns);
             final DetectorFinderOptions findOptions = new DetectorFinderOptions(detectorExclusionSearchFilter, searchOptions.forceNestedSearch, searchOptions.maxDepth, searchOptions.detectorFilter, detectorSearchProvider,
-                detectorSearchEvaluator, eventSystem);
+                detectorSearchEvaluator, eventSystem, searchOptions.parallelProcessors, searchCache, applicableConsumer);
 
             logger.info("Starting search for detectors.");
             final DetectorFinder bomToolTreeWalker = new DetectorFinder();
             searchResults = bomToolTreeWalker.findApplicableBomTools(searchOptions.searchPath, findOptions);
+            searchCache.save();
         } catch (final DetectorException e) {
             return new SearchResultBomToolFailed(e);
         }
@@ -35,13 +35,20 @@ public class SearchOptions {
     public final boolean forceNestedSearch;
     public final int maxDepth;
     public final DetectFilter detectorFilter;
+    public final int parallelProcessors;
+    public final File searchCacheFile;
+    public final boolean forceColdSearch;
 
-    public SearchOptions(File searchPath, List<String> excludedDirectories, List<String> excludedDirectoryPatterns, boolean forceNestedSearch, int maxDepth, DetectFilter detectorFilter) {
+    public SearchOptions(File searchPath, List<String> excludedDirectories, List<String> excludedDirectoryPatterns, boolean forceNestedSearch, int maxDepth, DetectFilter detectorFilter, int parallelProcessors,
+        File searchCacheFile, boolean forceColdSearch) {
         this.searchPath = searchPath;
         this.excludedDirectories = excludedDirectories;
         this.excludedDirectoryPatterns = excludedDirectoryPatterns;
         this.forceNestedSearch = forceNestedSearch;
         this.maxDepth = maxDepth;
         this.detectorFilter = detectorFilter;
+        this.parallelProcessors = parallelProcessors;
+        this.searchCacheFile = searchCacheFile;
+        this.forceColdSearch = forceColdSearch;
     }
 }
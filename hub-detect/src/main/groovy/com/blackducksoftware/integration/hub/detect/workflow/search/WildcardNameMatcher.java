@@ -0,0 +1,160 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * Matches a name against many wildcard ('*' and '?') patterns at once, matching the same names as FilenameUtils.wildcardMatch.
+ * Patterns without wildcards go in a hash set. The rest are combined into one automaton whose states are built lazily and cached, so a lookup costs one step per character no matter how many patterns there are.
+ */
+public class WildcardNameMatcher {
+    private final IOCase caseSensitivity;
+    private final Set<String> exactNames = new HashSet<>();
+    private final List<char[]> wildcardPatterns = new ArrayList<>();
+    private final int[] patternStarts;
+    private final Map<BitSet, MatcherState> states = new ConcurrentHashMap<>();
+    private final MatcherState initialState;
+
+    public WildcardNameMatcher(final Collection<String> patterns, final IOCase caseSensitivity) {
+        this.caseSensitivity = caseSensitivity;
+        for (final String pattern : patterns) {
+            if (pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0) {
+                exactNames.add(normalize(pattern));
+            } else {
+                wildcardPatterns.add(normalize(pattern).toCharArray());
+            }
+        }
+
+        // every pattern position is a state, plus one accepting state past the end of each pattern
+        patternStarts = new int[wildcardPatterns.size() + 1];
+        for (int i = 0; i < wildcardPatterns.size(); i++) {
+            patternStarts[i + 1] = patternStarts[i] + wildcardPatterns.get(i).length + 1;
+        }
+
+        final BitSet initialPositions = new BitSet();
+        for (int i = 0; i < wildcardPatterns.size(); i++) {
+            addPosition(initialPositions, i, 0);
+        }
+        initialState = findState(initialPositions);
+    }
+
+    public boolean matches(final String name) {
+        final String normalizedName = normalize(name);
+        if (exactNames.contains(normalizedName)) {
+            return true;
+        }
+
+        MatcherState state = initialState;
+        for (int i = 0; i < normalizedName.length() && !state.isDead(); i++) {
+            state = state.next(normalizedName.charAt(i));
+        }
+        return state.accepting;
+    }
+
+    private String normalize(final String name) {
+        if (caseSensitivity.isCaseSensitive()) {
+            return name;
+        }
+        final char[] characters = name.toCharArray();
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = Character.toLowerCase(Character.toUpperCase(characters[i]));
+        }
+        return new String(characters);
+    }
+
+    // a '*' may match nothing, so reaching it also reaches the position after it
+    private void addPosition(final BitSet positions, final int patternIndex, final int position) {
+        final char[] pattern = wildcardPatterns.get(patternIndex);
+        int current = position;
+        positions.set(patternStarts[patternIndex] + current);
+        while (current < pattern.length && pattern[current] == '*') {
+            current++;
+            positions.set(patternStarts[patternIndex] + current);
+        }
+    }
+
+    private MatcherState findState(final BitSet positions) {
+        return states.computeIfAbsent(positions, MatcherState::new);
+    }
+
+    private class MatcherState {
+        private final BitSet positions;
+        private final boolean accepting;
+        private final Map<Character, MatcherState> transitions = new ConcurrentHashMap<>();
+
+        private MatcherState(final BitSet positions) {
+            this.positions = positions;
+            boolean anyAccepting = false;
+            for (int i = 0; i < wildcardPatterns.size(); i++) {
+                if (positions.get(patternStarts[i] + wildcardPatterns.get(i).length)) {
+                    anyAccepting = true;
+                }
+            }
+            this.accepting = anyAccepting;
+        }
+
+        private boolean isDead() {
+            return positions.isEmpty();
+        }
+
+        private MatcherState next(final char character) {
+            final MatcherState cached = transitions.get(character);
+            if (cached != null) {
+                return cached;
+            }
+
+            final BitSet nextPositions = new BitSet();
+            int patternIndex = 0;
+            for (int state = positions.nextSetBit(0); state >= 0; state = positions.nextSetBit(state + 1)) {
+                while (state >= patternStarts[patternIndex + 1]) {
+                    patternIndex++;
+                }
+                final char[] pattern = wildcardPatterns.get(patternIndex);
+                final int position = state - patternStarts[patternIndex];
+                if (position == pattern.length) {
+                    continue;
+                }
+                if (pattern[position] == '*') {
+                    addPosition(nextPositions, patternIndex, position);
+                } else if (pattern[position] == '?' || pattern[position] == character) {
+                    addPosition(nextPositions, patternIndex, position + 1);
+                }
+            }
+
+            final MatcherState nextState = findState(nextPositions);
+            transitions.put(character, nextState);
+            return nextState;
+        }
+    }
+}
@@ -97,6 +97,10 @@ public class DetectorEvaluation {
         return isSearchable() && this.applicable != null && this.applicable.getPassed();
     }
 
+    public DetectorResult getApplicableResult() {
+        return applicable;
+    }
+
     public String getApplicabilityMessage() {
         return getBomToolResultDescription(applicable).orElse(NO_MESSAGE);
     }
@@ -24,7 +24,9 @@
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -46,6 +48,10 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Yield
 public class DetectorSearchEvaluator {
 
     public List<DetectorEvaluation> evaluate(DetectorSearchRuleSet rules, EventSystem eventSystem) {
+        return evaluate(rules, eventSystem, Collections.emptyMap());
+    }
+
+    public List<DetectorEvaluation> evaluate(DetectorSearchRuleSet rules, EventSystem eventSystem, Map<String, DetectorResult> cachedApplicableResults) {
         final List<DetectorEvaluation> evaluations = new ArrayList<>();
         final List<Detector> appliedSoFar = new ArrayList<>();
         for (final DetectorSearchRule searchRule : rules.getOrderedBomToolRules()) {
@@ -53,7 +59,9 @@ public class DetectorSearchEvaluator {
             final DetectorEvaluation evaluation = new DetectorEvaluation(detector, rules.getEnvironment());
             evaluations.add(evaluation);
             evaluation.setSearchable(searchable(searchRule, appliedSoFar, rules.getEnvironment()));
-            if (evaluation.isSearchable()) {
+            if (evaluation.isSearchable() && detector.isApplicableCacheable() && cachedApplicableResults.containsKey(detector.getDescriptiveName())) {
+                evaluation.setApplicable(cachedApplicableResults.get(detector.getDescriptiveName()));
+            } else if (evaluation.isSearchable()) {
                 eventSystem.publishEvent(Event.ApplicableStarted, detector);
                 evaluation.setApplicable(detector.applicable());
                 eventSystem.publishEvent(Event.ApplicableEnded, detector);
@@ -98,4 +106,25 @@ public class DetectorSearchEvaluator {
 
         return new PassedDetectorResult();
     }
+
+    /**
+     * Finds the rules that could still pass searchable() in a subdirectory at the given depth. The applied detectors only grow and the depth only increases further down, so when no rules remain nothing in the subtree can apply.
+     * Yielding only depends on the detectors applied in the same directory, so it never rules out a subtree.
+     */
+    public List<DetectorSearchRule> findRemainingRules(final DetectorSearchRuleSet rules, final Set<Detector> appliedToChildren, final int childDepth) {
+        final DetectorEnvironment environment = rules.getEnvironment();
+        return rules.getOrderedBomToolRules().stream()
+                   .filter(rule -> environment.getDetectorFilter().shouldInclude(rule.getDetector().getDetectorType().toString()))
+                   .filter(rule -> childDepth <= rule.getMaxDepth())
+                   .filter(rule -> environment.getForceNestedSearch() || canNest(rule, appliedToChildren))
+                   .collect(Collectors.toList());
+    }
+
+    private boolean canNest(final DetectorSearchRule searchRule, final Set<Detector> appliedToParent) {
+        if (searchRule.isNestable()) {
+            return appliedToParent.stream().noneMatch(applied -> applied.isSame(searchRule.getDetector()));
+        } else {
+            return appliedToParent.isEmpty();
+        }
+    }
 }
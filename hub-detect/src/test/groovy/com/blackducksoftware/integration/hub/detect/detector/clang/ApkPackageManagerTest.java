@@ -45,4 +45,29 @@ public class ApkPackageManagerTest {
         assertEquals("x86_64", pkgs.get(0).getPackageArch());
     }
 
+    @Test
+    public void testBatch() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("/usr/include/stdlib.h is owned by musl-dev-1.1.18-r3\n");
+        sb.append("/usr/include/zlib.h is owned by zlib-dev-1.2.11-r1\n");
+        final String pkgMgrOwnedByOutput = sb.toString();
+
+        final File stdlibFile = new File("/usr/include/stdlib.h");
+        final File zlibFile = new File("/usr/include/zlib.h");
+        final ApkPackageManager pkgMgr = new ApkPackageManager();
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeQuietly(null, "apk", "info", "--print-arch")).thenReturn(new ExecutableOutput(0, "x86_64\n", ""));
+        Mockito.when(executableRunner.executeQuietly(null, "apk", Arrays.asList("info", "--who-owns", stdlibFile.getAbsolutePath(), zlibFile.getAbsolutePath()))).thenReturn(new ExecutableOutput(0, pkgMgrOwnedByOutput, ""));
+
+        final List<DependencyFileDetails> dependencyFiles = Arrays.asList(new DependencyFileDetails(false, stdlibFile), new DependencyFileDetails(false, zlibFile));
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, new HashSet<>(), dependencyFiles);
+        assertEquals(2, pkgs.size());
+        assertEquals("musl-dev", pkgs.get(0).getPackageName());
+        assertEquals("zlib-dev", pkgs.get(1).getPackageName());
+        assertEquals("1.2.11-r1", pkgs.get(1).getPackageVersion());
+        Mockito.verify(executableRunner, Mockito.times(1)).executeQuietly(Mockito.any(), Mockito.eq("apk"), Mockito.anyList());
+    }
+
 }
@@ -4,20 +4,28 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.AfterClass;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
@@ -175,6 +183,68 @@ public class ClangExtractorTest {
         checkGeneratedDependenciesComplex(extraction);
     }
 
+    @Test
+    public void testBatchedPackageLookup() throws ExecutableRunnerException, IOException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final File includeDir = Files.createTempDirectory("clang-include").toFile();
+        final File stdioFile = createDependencyFile(includeDir, "stdio.h");
+        final File stdlibFile = createDependencyFile(includeDir, "stdlib.h");
+        final File zlibFile = createDependencyFile(includeDir, "zlib.h");
+
+        final CompileCommand compileCommandWrapper = createCompileCommand("src/test/resources/clang/source/hello_world.cpp", "gcc hello_world.cpp", null);
+        final Set<String> dependencyFilePaths = createDependencyFilePaths(zlibFile, stdioFile, stdlibFile, new File("/usr/include/nonexistentfile1.h"));
+
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        final DirectoryManager directoryManager = Mockito.mock(DirectoryManager.class);
+        final DependenciesListFileManager dependenciesListFileManager = Mockito.mock(DependenciesListFileManager.class);
+
+        Mockito.when(detectConfiguration.getBooleanProperty(DetectProperty.DETECT_CLEANUP, PropertyAuthority.None)).thenReturn(true);
+        Mockito.when(detectConfiguration.getIntegerProperty(DetectProperty.DETECT_CLANG_PACKAGE_LOOKUP_BATCH_SIZE, PropertyAuthority.None)).thenReturn(2);
+        Mockito.when(dependenciesListFileManager.generateDependencyFilePaths(outputDir, compileCommandWrapper, true)).thenReturn(dependencyFilePaths);
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final CodeLocationAssembler codeLocationAssembler = new CodeLocationAssembler(externalIdFactory);
+        final ClangExtractor extractor = new ClangExtractor(detectConfiguration, executableRunner, gson, new DetectFileFinder(),
+            directoryManager, dependenciesListFileManager,
+            codeLocationAssembler);
+
+        final ClangLinuxPackageManager pkgMgr = Mockito.mock(ClangLinuxPackageManager.class);
+        final File givenDir = new File("src/test/resources/clang/source/build");
+        final int depth = 1;
+        final ExtractionId extractionId = new ExtractionId(DetectorType.CLANG, EXTRACTION_ID);
+        final File jsonCompilationDatabaseFile = new File("src/test/resources/clang/source/build/compile_commands.json");
+
+        Mockito.when(directoryManager.getExtractionOutputDirectory(Mockito.any(ExtractionId.class))).thenReturn(outputDir);
+
+        final List<PackageDetails> packages = new ArrayList<>();
+        packages.add(new PackageDetails("testPackageName1", "testPackageVersion1", "testPackageArch1"));
+        packages.add(new PackageDetails("testPackageName2", "testPackageVersion2", "testPackageArch2"));
+
+        Mockito.when(pkgMgr.getDefaultForge()).thenReturn(Forge.CENTOS);
+        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.anyList())).thenReturn(packages);
+        Mockito.when(pkgMgr.getForges()).thenReturn(Arrays.asList(Forge.CENTOS, Forge.FEDORA, Forge.REDHAT));
+        final Extraction extraction = extractor.extract(pkgMgr, givenDir, depth, extractionId, jsonCompilationDatabaseFile);
+
+        checkGeneratedDependenciesComplex(extraction);
+
+        final ArgumentCaptor<List> batchCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(pkgMgr, Mockito.times(2)).getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), batchCaptor.capture());
+        Mockito.verify(pkgMgr, Mockito.never()).getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.any(DependencyFileDetails.class));
+        final Set<List<File>> batches = new HashSet<>();
+        for (final List<?> batch : batchCaptor.getAllValues()) {
+            batches.add(batch.stream().map(dependencyFile -> ((DependencyFileDetails) dependencyFile).getFile()).collect(Collectors.toList()));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(Arrays.asList(stdioFile, stdlibFile), Arrays.asList(zlibFile))), batches);
+    }
+
+    private File createDependencyFile(final File directory, final String name) throws IOException {
+        final File dependencyFile = new File(directory, name);
+        assertTrue(dependencyFile.createNewFile());
+        return dependencyFile;
+    }
+
     private void checkGeneratedDependenciesSimple(Extraction extraction) {
         boolean ubuntuComponentVerified = false;
         Set<Dependency> dependencies = extraction.codeLocations.get(0).getDependencyGraph().getRootDependencies();
@@ -1,5 +1,25 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableTimeoutException;
+
 public class DpkgPackageManagerTest {
 /*
     @Test
@@ -50,4 +70,94 @@ public class DpkgPackageManagerTest {
         assertEquals("amd64", pkgs.get(0).getPackageArch());
     }
 */
+
+    @Test
+    public void testEachPackageVersionIsQueriedOnce() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final File stdioFile = new File("/usr/include/stdio.h");
+        final File stdlibFile = new File("/usr/include/stdlib.h");
+        final File zlibFile = new File("/usr/include/zlib.h");
+        final File stringFile = new File("/usr/include/string.h");
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("libc6-dev:amd64: /usr/include/stdio.h\n");
+        sb.append("libc6-dev:amd64: /usr/include/stdlib.h\n");
+        sb.append("zlib1g-dev:amd64: /usr/include/zlib.h\n");
+        final String firstBatchOwnedByOutput = sb.toString();
+        final String secondBatchOwnedByOutput = "libc6-dev:amd64: /usr/include/string.h\n";
+
+        final DpkgPackageManager pkgMgr = new DpkgPackageManager();
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stdioFile.getAbsolutePath(), stdlibFile.getAbsolutePath(), zlibFile.getAbsolutePath())))
+            .thenReturn(new ExecutableOutput(0, firstBatchOwnedByOutput, ""));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stringFile.getAbsolutePath()))).thenReturn(new ExecutableOutput(0, secondBatchOwnedByOutput, ""));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", "-s", "libc6-dev")).thenReturn(new ExecutableOutput(0, createStatusOutput("libc6-dev", "2.27-3ubuntu1"), ""));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", "-s", "zlib1g-dev")).thenReturn(new ExecutableOutput(0, createStatusOutput("zlib1g-dev", "1:1.2.11.dfsg-0ubuntu2"), ""));
+
+        final List<DependencyFileDetails> firstBatch = Arrays.asList(new DependencyFileDetails(false, stdioFile), new DependencyFileDetails(false, stdlibFile), new DependencyFileDetails(false, zlibFile));
+        final List<PackageDetails> firstPkgs = pkgMgr.getPackages(null, executableRunner, new HashSet<>(), firstBatch);
+        final List<PackageDetails> secondPkgs = pkgMgr.getPackages(null, executableRunner, new HashSet<>(), new DependencyFileDetails(false, stringFile));
+
+        assertEquals(3, firstPkgs.size());
+        assertEquals("2.27-3ubuntu1", firstPkgs.get(1).getPackageVersion());
+        assertEquals("1:1.2.11.dfsg-0ubuntu2", firstPkgs.get(2).getPackageVersion());
+        assertEquals(1, secondPkgs.size());
+        assertEquals("2.27-3ubuntu1", secondPkgs.get(0).getPackageVersion());
+        Mockito.verify(executableRunner, Mockito.times(1)).executeQuietly(null, "dpkg", "-s", "libc6-dev");
+        Mockito.verify(executableRunner, Mockito.times(1)).executeQuietly(null, "dpkg", "-s", "zlib1g-dev");
+    }
+
+    @Test
+    public void testFailedBatchIsSplitAndRetried() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final File stdlibFile = new File("/usr/include/stdlib.h");
+        final File unreadableFile = new File("/usr/include/unreadable.h");
+
+        final DpkgPackageManager pkgMgr = new DpkgPackageManager();
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stdlibFile.getAbsolutePath(), unreadableFile.getAbsolutePath())))
+            .thenThrow(new ExecutableRunnerException(new IOException("error=7, Argument list too long")));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stdlibFile.getAbsolutePath()))).thenReturn(new ExecutableOutput(0, "libc6-dev:amd64: /usr/include/stdlib.h\n", ""));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", unreadableFile.getAbsolutePath()))).thenThrow(new ExecutableRunnerException(new IOException("Permission denied")));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", "-s", "libc6-dev")).thenReturn(new ExecutableOutput(0, createStatusOutput("libc6-dev", "2.27-3ubuntu1"), ""));
+
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<DependencyFileDetails> dependencyFiles = Arrays.asList(new DependencyFileDetails(false, stdlibFile), new DependencyFileDetails(false, unreadableFile));
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, dependencyFiles);
+
+        assertEquals(1, pkgs.size());
+        assertEquals("libc6-dev", pkgs.get(0).getPackageName());
+        assertEquals(Collections.singleton(unreadableFile), unManagedDependencyFiles);
+    }
+
+    @Test
+    public void testTimedOutBatchIsNotRetried() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final File stdlibFile = new File("/usr/include/stdlib.h");
+        final File zlibFile = new File("/usr/include/zlib.h");
+
+        final DpkgPackageManager pkgMgr = new DpkgPackageManager();
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stdlibFile.getAbsolutePath(), zlibFile.getAbsolutePath()))).thenThrow(ExecutableTimeoutException.class);
+
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<DependencyFileDetails> dependencyFiles = Arrays.asList(new DependencyFileDetails(false, stdlibFile), new DependencyFileDetails(false, zlibFile));
+        final List<PackageDetails> pkgs = pkgMgr.getPackages(null, executableRunner, unManagedDependencyFiles, dependencyFiles);
+
+        assertEquals(0, pkgs.size());
+        assertEquals(new HashSet<>(Arrays.asList(stdlibFile, zlibFile)), unManagedDependencyFiles);
+        Mockito.verify(executableRunner, Mockito.times(1)).executeQuietly(Mockito.any(), Mockito.eq("dpkg"), Mockito.anyList());
+    }
+
+    private String createStatusOutput(final String packageName, final String version) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Package: ").append(packageName).append("\n");
+        sb.append("Status: install ok installed\n");
+        sb.append("Architecture: amd64\n");
+        sb.append("Version: ").append(version).append("\n");
+        return sb.toString();
+    }
 }
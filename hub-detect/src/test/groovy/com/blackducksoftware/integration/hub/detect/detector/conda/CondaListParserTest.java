@@ -13,6 +13,8 @@ package com.blackducksoftware.integration.hub.detect.detector.conda;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -63,4 +65,20 @@ public class CondaListParserTest {
 
         DependencyGraphResourceTestUtil.assertGraph("/conda/condaListLargeExpected_graph.json", dependencyGraph);
     }
+
+    @Test
+    public void lineParserMatchesBatchParseTest() {
+        final String condaInfoJson = testUtil.getResourceAsUTF8String("/conda/condaInfo.json");
+        assertLineParserMatchesBatchParse(condaInfoJson, "/conda/condaListSmall.json", "/conda/condaListSmallExpected_graph.json");
+        assertLineParserMatchesBatchParse(condaInfoJson, "/conda/condaListLarge.json", "/conda/condaListLargeExpected_graph.json");
+    }
+
+    private void assertLineParserMatchesBatchParse(final String condaInfoJson, final String listResource, final String expectedGraphResource) {
+        final String condaListJson = testUtil.getResourceAsUTF8String(listResource);
+        final CondaListParser.CondaListLineParser lineParser = condaListParser.createListLineParser(condaInfoJson);
+        Arrays.stream(condaListJson.split(System.lineSeparator())).forEach(lineParser);
+
+        DependencyGraphResourceTestUtil.assertGraph(condaListParser.parse(condaListJson, condaInfoJson), lineParser.getGraph());
+        DependencyGraphResourceTestUtil.assertGraph(expectedGraphResource, lineParser.getGraph());
+    }
 }
@@ -0,0 +1,59 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.tool.detector.DetectorToolResult;
+import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+
+public class GradleDaemonManagerTest {
+
+    @Test
+    public void testOnlyTheDaemonsOfTheRunAreStopped() throws Exception {
+        final File registryDirectory = Files.createTempDirectory("gradle-daemon").toFile();
+        final String registryArgument = "-Dorg.gradle.daemon.registry.base=" + registryDirectory.getAbsolutePath();
+        final RecordingExecutableRunner executableRunner = new RecordingExecutableRunner();
+        final EventSystem eventSystem = new EventSystem();
+        final GradleDaemonManager gradleDaemonManager = new GradleDaemonManager(executableRunner, eventSystem, true, registryDirectory);
+
+        assertEquals(Arrays.asList("--daemon", registryArgument), gradleDaemonManager.getDaemonArguments(new File("first"), "/project/gradlew"));
+        gradleDaemonManager.getDaemonArguments(new File("second"), "/project/gradlew");
+        eventSystem.publishEvent(Event.DetectorsComplete, new DetectorToolResult());
+        gradleDaemonManager.stopDaemons();
+
+        assertEquals(1, executableRunner.executables.size());
+        assertEquals(Arrays.asList("/project/gradlew", "--stop", registryArgument), executableRunner.executables.get(0).getMaskedProcessArguments());
+    }
+
+    @Test
+    public void testNoDaemonArgumentsWithoutReuse() {
+        final RecordingExecutableRunner executableRunner = new RecordingExecutableRunner();
+        final GradleDaemonManager gradleDaemonManager = new GradleDaemonManager(executableRunner, new EventSystem(), false, null);
+
+        assertTrue(gradleDaemonManager.getDaemonArguments(new File("."), "gradle").isEmpty());
+        gradleDaemonManager.stopDaemons();
+        assertTrue(executableRunner.executables.isEmpty());
+    }
+
+    private static class RecordingExecutableRunner extends ExecutableRunner {
+        private final List<Executable> executables = new ArrayList<>();
+
+        @Override
+        public ExecutableOutput executeQuietly(final Executable executable) {
+            executables.add(executable);
+            return new ExecutableOutput(0, "", "");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class GradleInspectorExtractorTest {
+
+    @Test
+    public void testReportsAreReturnedInFileOrder() throws Exception {
+        final List<File> reports = createReports(6);
+        // the first report finishes last, the last report finishes first
+        final GradleReportParser slowFirstParser = new GradleReportParser(new ExternalIdFactory()) {
+            @Override
+            public Optional<DetectCodeLocation> parseDependencies(final File codeLocationFile) {
+                sleep((reports.size() - reports.indexOf(codeLocationFile)) * 20);
+                return Optional.of(createCodeLocation(codeLocationFile));
+            }
+        };
+        final GradleInspectorExtractor extractor = new GradleInspectorExtractor(null, null, slowFirstParser, null, null, 4);
+
+        final List<String> parsedPaths = extractor.parseReports(reports).stream()
+                                             .map(codeLocation -> codeLocation.get().getSourcePath())
+                                             .collect(Collectors.toList());
+
+        assertEquals(reports.stream().map(File::getAbsolutePath).collect(Collectors.toList()), parsedPaths);
+    }
+
+    @Test
+    public void testExtractionsShareTheParseThreads() throws Exception {
+        final int parallelProcessors = 2;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final Set<Long> threads = ConcurrentHashMap.newKeySet();
+        final GradleReportParser countingParser = new GradleReportParser(new ExternalIdFactory()) {
+            @Override
+            public Optional<DetectCodeLocation> parseDependencies(final File codeLocationFile) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                threads.add(Thread.currentThread().getId());
+                sleep(20);
+                running.decrementAndGet();
+                return Optional.empty();
+            }
+        };
+        final GradleInspectorExtractor extractor = new GradleInspectorExtractor(null, null, countingParser, null, null, parallelProcessors);
+
+        final List<File> reports = createReports(8);
+        final CountDownLatch finished = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            new Thread(() -> {
+                try {
+                    extractor.parseReports(reports);
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    finished.countDown();
+                }
+            }).start();
+        }
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= parallelProcessors);
+        assertEquals(parallelProcessors, threads.size());
+    }
+
+    private List<File> createReports(final int count) throws Exception {
+        final File outputDirectory = Files.createTempDirectory("gradle-reports").toFile();
+        final List<File> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final File report = new File(outputDirectory, String.format("project%d_dependencyGraph.txt", i));
+            assertTrue(report.createNewFile());
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private DetectCodeLocation createCodeLocation(final File codeLocationFile) {
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        return new DetectCodeLocation.Builder(DetectCodeLocationType.GRADLE, codeLocationFile.getAbsolutePath(), externalIdFactory.createMavenExternalId("group", codeLocationFile.getName(), "1.0"),
+            new MutableMapDependencyGraph()).build();
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
+
+public class GradleInspectorManagerTest {
+    private DetectConfiguration detectConfiguration;
+    private ArtifactResolver artifactResolver;
+    private File scriptDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION, PropertyAuthority.None)).thenReturn("");
+        artifactResolver = Mockito.mock(ArtifactResolver.class);
+        Mockito.when(artifactResolver.resolveArtifactVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.of("0.6.0"), Optional.of("0.7.0"));
+        scriptDirectory = Files.createTempDirectory("gradle-scripts").toFile();
+    }
+
+    @Test
+    public void testResolvedVersionIsReusedForADay() throws Exception {
+        assertEquals(Optional.of("0.6.0"), createManager().findVersion(scriptDirectory));
+        assertEquals(Optional.of("0.6.0"), createManager().findVersion(scriptDirectory));
+        Mockito.verify(artifactResolver, Mockito.times(1)).resolveArtifactVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+
+        final File resolvedVersionFile = new File(scriptDirectory, "resolved-inspector-version.txt");
+        resolvedVersionFile.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(25));
+
+        assertEquals(Optional.of("0.7.0"), createManager().findVersion(scriptDirectory));
+        assertEquals(Optional.of("0.7.0"), createManager().findVersion(scriptDirectory));
+        Mockito.verify(artifactResolver, Mockito.times(2)).resolveArtifactVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void testConfiguredVersionSkipsTheCache() throws Exception {
+        Mockito.when(detectConfiguration.getProperty(DetectProperty.DETECT_GRADLE_INSPECTOR_VERSION, PropertyAuthority.None)).thenReturn("0.5.0");
+        Mockito.when(artifactResolver.resolveArtifactVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.eq("0.5.0"))).thenReturn(Optional.of("0.5.0"));
+
+        assertEquals(Optional.of("0.5.0"), createManager().findVersion(scriptDirectory));
+        assertFalse(new File(scriptDirectory, "resolved-inspector-version.txt").exists());
+    }
+
+    private GradleInspectorManager createManager() {
+        return new GradleInspectorManager(null, null, null, detectConfiguration, artifactResolver);
+    }
+}
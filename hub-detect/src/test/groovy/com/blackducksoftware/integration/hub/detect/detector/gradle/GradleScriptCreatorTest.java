@@ -0,0 +1,70 @@
+package com.blackducksoftware.integration.hub.detect.detector.gradle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.Application;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+
+import freemarker.template.Configuration;
+
+public class GradleScriptCreatorTest {
+    private GradleScriptCreator gradleScriptCreator;
+    private File scriptDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+        Mockito.when(detectConfiguration.getProperty(Mockito.any(DetectProperty.class), Mockito.any(PropertyAuthority.class))).thenReturn("");
+        final Configuration configuration = new Configuration(Configuration.VERSION_2_3_26);
+        configuration.setClassForTemplateLoading(Application.class, "/");
+        gradleScriptCreator = new GradleScriptCreator(detectConfiguration, configuration);
+        scriptDirectory = Files.createTempDirectory("gradle-scripts").toFile();
+    }
+
+    @Test
+    public void testScriptIsReusedForTheSameInputs() throws Exception {
+        final String scriptPath = gradleScriptCreator.generateOnlineScript(scriptDirectory, "0.6.0");
+        Files.write(new File(scriptPath).toPath(), "// reused".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(scriptPath, gradleScriptCreator.generateOnlineScript(scriptDirectory, "0.6.0"));
+        assertEquals("// reused", new String(Files.readAllBytes(new File(scriptPath).toPath()), StandardCharsets.UTF_8));
+        assertNotEquals(scriptPath, gradleScriptCreator.generateOnlineScript(scriptDirectory, "0.7.0"));
+    }
+
+    @Test
+    public void testUnusedScriptsArePruned() throws Exception {
+        final File unusedScript = new File(scriptDirectory, "init-detect-unused.gradle");
+        final File recentScript = new File(scriptDirectory, "init-detect-recent.gradle");
+        final File otherFile = new File(scriptDirectory, "resolved-inspector-version.txt");
+        assertTrue(unusedScript.createNewFile());
+        assertTrue(recentScript.createNewFile());
+        assertTrue(otherFile.createNewFile());
+        final long longAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(60);
+        assertTrue(unusedScript.setLastModified(longAgo));
+        assertTrue(otherFile.setLastModified(longAgo));
+
+        final File script = new File(gradleScriptCreator.generateOnlineScript(scriptDirectory, "0.6.0"));
+        assertTrue(script.setLastModified(longAgo));
+        gradleScriptCreator.generateOnlineScript(scriptDirectory, "0.6.0");
+
+        assertFalse(unusedScript.exists());
+        assertTrue(recentScript.exists());
+        assertTrue(otherFile.exists());
+        assertTrue(script.exists());
+        assertTrue(script.lastModified() > longAgo);
+    }
+}
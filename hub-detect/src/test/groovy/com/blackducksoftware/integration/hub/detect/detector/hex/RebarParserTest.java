@@ -36,6 +36,24 @@ public class RebarParserTest {
 
     @Test
     public void testParseRebarTreeOutput() {
+        final DetectCodeLocation codeLocation = build("/hex/dependencyTree.txt");
+        final DependencyGraph actualGraph = codeLocation.getDependencyGraph();
+
+        assertGraph(createExpectedGraph(), actualGraph);
+    }
+
+    @Test
+    public void testLineParserMatchesBatchParse() {
+        final List<String> dependencyTreeOutput = Arrays.asList(testUtil.getResourceAsUTF8String("/hex/dependencyTree.txt").split(System.lineSeparator()));
+        final Rebar3TreeParser.RebarTreeLineParser lineParser = rebar3TreeParser.createLineParser("");
+        dependencyTreeOutput.forEach(lineParser);
+        final RebarParseResult result = lineParser.finish();
+
+        assertGraph(createExpectedGraph(), result.getCodeLocation().getDependencyGraph());
+        assertGraph(build("/hex/dependencyTree.txt").getDependencyGraph(), result.getCodeLocation().getDependencyGraph());
+    }
+
+    private DependencyGraph createExpectedGraph() {
         final MutableMapDependencyGraph expectedGraph = new MutableMapDependencyGraph();
         final Dependency gitInnerParentDependency = buildDependency("git_inner_parent_dependency", "0.0.2");
         final Dependency hexInnerChildDependency = buildDependency("hex_inner_child_dependency", "0.3.0");
@@ -54,10 +72,7 @@ public class RebarParserTest {
 
         expectedGraph.addChildWithParents(gitOuterChildDependency, gitOuterParentDependency);
 
-        final DetectCodeLocation codeLocation = build("/hex/dependencyTree.txt");
-        final DependencyGraph actualGraph = codeLocation.getDependencyGraph();
-
-        assertGraph(expectedGraph, actualGraph);
+        return expectedGraph;
     }
 
     private Dependency buildDependency(final String name, final String version) {
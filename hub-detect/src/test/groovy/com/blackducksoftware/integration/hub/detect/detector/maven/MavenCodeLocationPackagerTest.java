@@ -6,12 +6,19 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 
@@ -317,6 +324,59 @@ public class MavenCodeLocationPackagerTest {
         assertEquals("org.eclipse.scout.sdk.deps:org.eclipse.core.jobs:pants (version selected from", dependency.externalId.createExternalId());
     }
 
+    @Test
+    public void extractCodeLocationsFromTgfTest() throws Exception {
+        final String tgf = String.join("\n", "101 com.example:app:jar:1.0", "102 group:compiled:jar:1.0:compile", "103 group:tested:jar:1.0:test", "104 group:transitive:jar:1.0:compile", "#",
+            "103 104 compile", "102 103 test", "101 102 compile");
+        final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(new ExternalIdFactory());
+
+        final List<MavenParseResult> result = mavenCodeLocationPackager.extractCodeLocationsFromTgf("/test/path", new StringReader(tgf), "compile", "", "");
+
+        assertEquals(1, result.size());
+        assertEquals("app", result.get(0).projectName);
+        assertEquals("/test/path/app", result.get(0).codeLocation.getSourcePath());
+        final Set<Dependency> rootDependencies = result.get(0).codeLocation.getDependencyGraph().getRootDependencies();
+        assertEquals(1, rootDependencies.size());
+        assertEquals("compiled", rootDependencies.iterator().next().name);
+    }
+
+    @Test
+    public void extractCodeLocationsFromReaderIndentationAndLogLevelTest() {
+        final String mavenOutputText = String.join("\r\n",
+            "[INFO] --- maven-dependency-plugin:3.1.1:tree (default-cli) @ app ---",
+            "[INFO] com.example:app:jar:1.0",
+            "[INFO] +- group:a:jar:1.0:compile   ",
+            "[WARNING] +- group:warning:jar:1.0:compile",
+            "[INFO] |  \\- group:a-child:jar:1.0:compile",
+            "[DEBUG] |  \\- group:debug:jar:1.0:compile",
+            "[INFO] |     \\- group:a-grandchild:jar:1.0:compile",
+            "[INFO] ",
+            "[INFO] \\- group:b:jar:1.0:compile\t",
+            "[INFO]    +- group:b-child:jar:1.0:compile",
+            "2019-01-01 10:00:00 [INFO]    \\- group:b-prefixed-child:jar:1.0:compile",
+            "[INFO] ------------------------------------------------------------------------");
+        final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(new ExternalIdFactory());
+
+        final List<MavenParseResult> result = mavenCodeLocationPackager.extractCodeLocations("/test/path", new StringReader(mavenOutputText), null, "", "");
+
+        assertEquals(1, result.size());
+        final DependencyGraph graph = result.get(0).codeLocation.getDependencyGraph();
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), names(graph.getRootDependencies()));
+        final Dependency a = findByName(graph.getRootDependencies(), "a");
+        final Dependency b = findByName(graph.getRootDependencies(), "b");
+        assertEquals(Collections.singleton("a-child"), names(graph.getChildrenForParent(a)));
+        assertEquals(Collections.singleton("a-grandchild"), names(graph.getChildrenForParent(findByName(graph.getChildrenForParent(a), "a-child"))));
+        assertEquals(new HashSet<>(Arrays.asList("b-child", "b-prefixed-child")), names(graph.getChildrenForParent(b)));
+    }
+
+    private Set<String> names(final Set<Dependency> dependencies) {
+        return dependencies.stream().map(dependency -> dependency.name).collect(Collectors.toSet());
+    }
+
+    private Dependency findByName(final Set<Dependency> dependencies, final String name) {
+        return dependencies.stream().filter(dependency -> name.equals(dependency.name)).findFirst().orElseThrow(() -> new AssertionError("Missing dependency " + name));
+    }
+
     private void createNewCodeLocationTest(final String mavenOutputText, final String expectedResourcePath) {
         createNewCodeLocationTest(mavenOutputText, expectedResourcePath, 1, "", "");
     }
@@ -337,5 +397,18 @@ public class MavenCodeLocationPackagerTest {
         final DetectCodeLocation codeLocation = result.get(codeLocationIndex).codeLocation;
 
         testUtil.testJsonResource(expectedResourcePath, codeLocation);
+
+        // the same output handed over a line at a time, as it is when streamed from mvn
+        final MavenCodeLocationPackager.MavenOutputLineParser lineParser = mavenCodeLocationPackager.createLineParser("/test/path", scope, excludedModules, includedModules);
+        Arrays.stream(mavenOutputText.split("\r?\n")).forEach(lineParser);
+        final List<MavenParseResult> streamedResult = lineParser.finish();
+        assertEquals(numberOfCodeLocations, streamedResult.size());
+        testUtil.testJsonResource(expectedResourcePath, streamedResult.get(codeLocationIndex).codeLocation);
+
+        // and read through the Reader path with Windows line endings
+        final String windowsOutputText = String.join("\r\n", mavenOutputText.split("\r?\n"));
+        final List<MavenParseResult> readerResult = mavenCodeLocationPackager.extractCodeLocations("/test/path", new StringReader(windowsOutputText), scope, excludedModules, includedModules);
+        assertEquals(numberOfCodeLocations, readerResult.size());
+        testUtil.testJsonResource(expectedResourcePath, readerResult.get(codeLocationIndex).codeLocation);
     }
 }
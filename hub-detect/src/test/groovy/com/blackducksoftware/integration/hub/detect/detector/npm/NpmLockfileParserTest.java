@@ -1,6 +1,8 @@
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -12,6 +14,8 @@ import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphRes
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 
 public class NpmLockfileParserTest {
@@ -46,6 +50,35 @@ public class NpmLockfileParserTest {
         DependencyGraphResourceTestUtil.assertGraph("/npm/packageLockExpected_graph.json", result.codeLocation.getDependencyGraph());
     }
 
+    @Test
+    public void parseLockFileResolvesShadowedAndDuplicateNamesToTheFirstOneAdded() {
+        final String lockFileText = "{ \"name\": \"shadowing\", \"version\": \"1.0.0\", \"dependencies\": {"
+                                        + " \"shared\": { \"version\": \"1.0.0\" },"
+                                        + " \"shared\": { \"version\": \"2.0.0\" },"
+                                        + " \"consumer\": { \"version\": \"1.0.0\", \"requires\": { \"shared\": \"^3.0.0\" }, \"dependencies\": {"
+                                        + " \"shared\": { \"version\": \"3.0.0\" },"
+                                        + " \"shared\": { \"version\": \"4.0.0\" } } },"
+                                        + " \"sibling\": { \"version\": \"1.0.0\", \"requires\": { \"shared\": \"^1.0.0\" } } } }";
+        final Optional<String> packageJsonText = Optional.of("{ \"dependencies\": { \"shared\": \"^1.0.0\", \"consumer\": \"^1.0.0\", \"sibling\": \"^1.0.0\" } }");
+
+        final NpmParseResult result = npmLockfileParser.parse("source", packageJsonText, lockFileText, true);
+
+        final DependencyGraph graph = result.codeLocation.getDependencyGraph();
+        final Dependency consumer = findByName(graph.getRootDependencies(), "consumer");
+        final Dependency sibling = findByName(graph.getRootDependencies(), "sibling");
+        Assert.assertEquals("1.0.0", findByName(graph.getRootDependencies(), "shared").version);
+        Assert.assertEquals("3.0.0", findByName(graph.getChildrenForParent(consumer), "shared").version);
+        Assert.assertEquals("1.0.0", findByName(graph.getChildrenForParent(sibling), "shared").version);
+    }
+
+    private Dependency findByName(final Set<Dependency> dependencies, final String name) {
+        final Set<Dependency> named = dependencies.stream()
+                                          .filter(dependency -> name.equals(dependency.name))
+                                          .collect(Collectors.toSet());
+        Assert.assertEquals(1, named.size());
+        return named.iterator().next();
+    }
+
     private Optional<String> recreatePackageJsonFromLock(String lockFileText) {
         //These tests were written before we needed a package json.
         //So we replicate a package json with every package as root.
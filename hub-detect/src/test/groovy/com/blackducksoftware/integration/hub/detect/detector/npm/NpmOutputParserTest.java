@@ -1,6 +1,7 @@
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
 import java.io.IOException;
+import java.io.StringReader;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -22,4 +23,22 @@ public class NpmOutputParserTest {
         Assert.assertEquals(result.projectVersion, "0.2.0");
         DependencyGraphResourceTestUtil.assertGraph("/npm/npmParseOutput_graph.json", result.codeLocation.getDependencyGraph());
     }
+
+    @Test
+    public void npmCliDependencyFinderFromReader() throws IOException {
+        final NpmCliParser parser = new NpmCliParser(new ExternalIdFactory());
+        final String testIn = testUtil.getResourceAsUTF8String("/npm/packman_proj_dependencies.json");
+        final NpmParseResult result = parser.generateCodeLocation("source", new StringReader(testIn));
+
+        Assert.assertEquals(result.projectName, "node-js");
+        Assert.assertEquals(result.projectVersion, "0.2.0");
+        DependencyGraphResourceTestUtil.assertGraph("/npm/npmParseOutput_graph.json", result.codeLocation.getDependencyGraph());
+    }
+
+    @Test
+    public void npmCliDependencyFinderFromEmptyReader() {
+        final NpmCliParser parser = new NpmCliParser(new ExternalIdFactory());
+
+        Assert.assertNull(parser.generateCodeLocation("source", new StringReader("  ")));
+    }
 }
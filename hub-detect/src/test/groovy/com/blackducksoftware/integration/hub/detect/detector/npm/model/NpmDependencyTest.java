@@ -0,0 +1,43 @@
+package com.blackducksoftware.integration.hub.detect.detector.npm.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class NpmDependencyTest {
+
+    @Test
+    public void testDuplicateNameResolvesToTheFirstOneAdded() {
+        final NpmDependency parent = createDependency("parent", "1.0.0");
+        final NpmDependency first = createDependency("child", "1.0.0");
+        final NpmDependency second = createDependency("child", "2.0.0");
+
+        parent.addDependency(first);
+        parent.addDependency(second);
+
+        assertSame(first, parent.getDependency("child").get());
+        assertSame(second, parent.getDependencies().get(1));
+    }
+
+    @Test
+    public void testAddAllKeepsTheFirstOfDuplicateNames() {
+        final NpmDependency parent = createDependency("parent", "1.0.0");
+        final NpmDependency existing = createDependency("child", "1.0.0");
+        final NpmDependency added = createDependency("child", "2.0.0");
+        final NpmDependency other = createDependency("other", "1.0.0");
+
+        parent.addDependency(existing);
+        parent.addAllDependencies(Arrays.asList(added, other));
+
+        assertSame(existing, parent.getDependency("child").get());
+        assertSame(other, parent.getDependency("other").get());
+        assertFalse(parent.getDependency("missing").isPresent());
+    }
+
+    private NpmDependency createDependency(final String name, final String version) {
+        return new NpmDependency(name, version, false, null);
+    }
+}
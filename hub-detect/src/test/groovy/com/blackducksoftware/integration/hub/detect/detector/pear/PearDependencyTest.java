@@ -11,6 +11,8 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.pear;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -22,10 +24,13 @@ import org.mockito.Mockito;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.pear.PearParser.TableLineParser;
 import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphResourceTestUtil;
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 
 public class PearDependencyTest {
@@ -75,4 +80,38 @@ public class PearDependencyTest {
 
         DependencyGraphResourceTestUtil.assertGraph("/pear/dependency-node-list_graph.json", actual);
     }
+
+    @Test
+    public void lineParsersMatchBatchParseTest() {
+        Mockito.when(detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PEAR_ONLY_REQUIRED_DEPS, PropertyAuthority.None)).thenReturn(true);
+
+        final List<String> dependenciesLines = new ExecutableOutput(testUtil.getResourceAsUTF8String("/pear/dependencies-list.txt"), "").getStandardOutputAsList();
+        final List<String> streamedNames = new ArrayList<>();
+        final TableLineParser dependencyNameParser = pearParser.createDependencyNameLineParser(streamedNames);
+        dependenciesLines.forEach(dependencyNameParser);
+
+        Assert.assertTrue(dependencyNameParser.hasReadOutput());
+        Assert.assertEquals(pearParser.findDependencyNames(dependenciesLines), streamedNames);
+
+        final List<String> listingLines = new ExecutableOutput(testUtil.getResourceAsUTF8String("/pear/installed-packages.txt"), "").getStandardOutputAsList();
+        final MutableDependencyGraph streamedGraph = new MutableMapDependencyGraph();
+        final TableLineParser listingParser = pearParser.createListingLineParser(streamedGraph, streamedNames);
+        listingLines.forEach(listingParser);
+
+        DependencyGraphResourceTestUtil.assertGraph(pearParser.createPearDependencyGraphFromList(listingLines, streamedNames), streamedGraph);
+    }
+
+    @Test
+    public void streamedParseWithoutOutputIsEmptyTest() throws Exception {
+        final File packageFile = new File(getClass().getResource("/pear/package.xml").toURI());
+        final MutableDependencyGraph streamedGraph = new MutableMapDependencyGraph();
+        final TableLineParser dependencyNameParser = pearParser.createDependencyNameLineParser(new ArrayList<>());
+        final TableLineParser listingParser = pearParser.createListingLineParser(streamedGraph, new ArrayList<>());
+        final ExecutableOutput emptyOutput = new ExecutableOutput("", "");
+
+        final PearParseResult result = pearParser.parse(packageFile, emptyOutput, listingParser, emptyOutput, dependencyNameParser, streamedGraph);
+
+        Assert.assertFalse(dependencyNameParser.hasReadOutput());
+        Assert.assertTrue(result.dependencyGraph.getRootDependencies().isEmpty());
+    }
 }
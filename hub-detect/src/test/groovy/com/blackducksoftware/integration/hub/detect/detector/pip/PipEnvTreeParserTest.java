@@ -15,6 +15,10 @@ import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphResourceTestUtil;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 
@@ -70,4 +74,36 @@ public class PipEnvTreeParserTest {
         final PipParseResult root = parser.parse("name", "version", pipFreezeOutput, Arrays.asList(invalidText.split("\r?\n")), "");
         assertNull(root);
     }
+
+    @Test
+    public void lineParserMatchesBatchParseTest() {
+        final List<String> pipFreezeOutput = Arrays.asList("Requests==2.18.4", "certifi==2018.1.18", "chardet==3.0.4", "urllib3==1.22", "six==1.11.0");
+        final List<String> pipenvGraphOutput = Arrays.asList(
+            "requests==2.18.4",
+            "  - certifi [required: >=2017.4.17, installed: 2018.1.18]",
+            "  - chardet [required: <3.1.0,>=3.0.2, installed: 3.0.4]",
+            "  - urllib3 [required: <1.23,>=1.21.1, installed: 1.22]",
+            "    - six [required: any, installed: 1.11.0]",
+            "six==1.11.0");
+
+        final PipenvGraphParser.PipenvGraphLineParser lineParser = parser.createLineParser("name", "version", pipFreezeOutput, "");
+        pipenvGraphOutput.forEach(lineParser);
+        final DependencyGraph streamedGraph = lineParser.finish().getCodeLocation().getDependencyGraph();
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final Dependency requests = new Dependency("Requests", "2.18.4", externalIdFactory.createNameVersionExternalId(Forge.PYPI, "Requests", "2.18.4"));
+        final Dependency certifi = new Dependency("certifi", "2018.1.18", externalIdFactory.createNameVersionExternalId(Forge.PYPI, "certifi", "2018.1.18"));
+        final Dependency chardet = new Dependency("chardet", "3.0.4", externalIdFactory.createNameVersionExternalId(Forge.PYPI, "chardet", "3.0.4"));
+        final Dependency urllib3 = new Dependency("urllib3", "1.22", externalIdFactory.createNameVersionExternalId(Forge.PYPI, "urllib3", "1.22"));
+        final Dependency six = new Dependency("six", "1.11.0", externalIdFactory.createNameVersionExternalId(Forge.PYPI, "six", "1.11.0"));
+        final MutableMapDependencyGraph expectedGraph = new MutableMapDependencyGraph();
+        expectedGraph.addChildrenToRoot(requests, six);
+        expectedGraph.addChildWithParent(certifi, requests);
+        expectedGraph.addChildWithParent(chardet, requests);
+        expectedGraph.addChildWithParent(urllib3, requests);
+        expectedGraph.addChildWithParent(six, urllib3);
+
+        DependencyGraphResourceTestUtil.assertGraph(expectedGraph, streamedGraph);
+        DependencyGraphResourceTestUtil.assertGraph(parser.parse("name", "version", pipFreezeOutput, pipenvGraphOutput, "").getCodeLocation().getDependencyGraph(), streamedGraph);
+    }
 }
@@ -21,6 +21,30 @@ public class YarnListParserTest {
 
     @Test
     public void parseYarnListTest() {
+        final List<String> designedYarnLock = createAsyncYarnLock();
+
+        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+        final YarnLockParser yarnLockParser = new YarnLockParser();
+        final YarnListParser yarnListParser = new YarnListParser(externalIdFactory, yarnLockParser);
+        final String yarnListText = testUtil.getResourceAsUTF8String("/yarn/yarn.list.txt");
+        final DependencyGraph dependencyGraph = yarnListParser.parseYarnList(designedYarnLock, Arrays.asList(yarnListText.split(System.lineSeparator())));
+        DependencyGraphResourceTestUtil.assertGraph("/yarn/list_expected_graph.json", dependencyGraph);
+    }
+
+    @Test
+    public void lineParserMatchesBatchParseTest() {
+        final List<String> designedYarnLock = createAsyncYarnLock();
+        final YarnListParser yarnListParser = new YarnListParser(new ExternalIdFactory(), new YarnLockParser());
+        final List<String> yarnListLines = Arrays.asList(testUtil.getResourceAsUTF8String("/yarn/yarn.list.txt").split(System.lineSeparator()));
+
+        final YarnListParser.YarnListLineParser lineParser = yarnListParser.createLineParser(designedYarnLock);
+        yarnListLines.forEach(lineParser);
+
+        DependencyGraphResourceTestUtil.assertGraph(yarnListParser.parseYarnList(designedYarnLock, yarnListLines), lineParser.getGraph());
+        DependencyGraphResourceTestUtil.assertGraph("/yarn/list_expected_graph.json", lineParser.getGraph());
+    }
+
+    private List<String> createAsyncYarnLock() {
         final List<String> designedYarnLock = new ArrayList<>();
         designedYarnLock.add("async@~0.9.0:");
         designedYarnLock.add("  version \"0.9.2\"");
@@ -31,13 +55,7 @@ public class YarnListParserTest {
         designedYarnLock.add("minimist@0.0.8:");
         designedYarnLock.add("  version \"0.0.8\"");
         designedYarnLock.add("  resolved \"http://nexus/nexus3/repository/npm-all/minimist/-/minimist-0.0.8.tgz#857fcabfc3397d2625b8228262e86aa7a011b05d\"");
-
-        final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
-        final YarnLockParser yarnLockParser = new YarnLockParser();
-        final YarnListParser yarnListParser = new YarnListParser(externalIdFactory, yarnLockParser);
-        final String yarnListText = testUtil.getResourceAsUTF8String("/yarn/yarn.list.txt");
-        final DependencyGraph dependencyGraph = yarnListParser.parseYarnList(designedYarnLock, Arrays.asList(yarnListText.split(System.lineSeparator())));
-        DependencyGraphResourceTestUtil.assertGraph("/yarn/list_expected_graph.json", dependencyGraph);
+        return designedYarnLock;
     }
 
     @Test
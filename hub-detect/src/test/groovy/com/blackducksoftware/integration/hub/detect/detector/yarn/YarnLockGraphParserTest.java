@@ -0,0 +1,126 @@
+package com.blackducksoftware.integration.hub.detect.detector.yarn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class YarnLockGraphParserTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    private List<String> createYarnLock() {
+        final List<String> yarnLock = new ArrayList<>();
+        yarnLock.add("# THIS IS AN AUTOGENERATED FILE. DO NOT EDIT THIS FILE DIRECTLY.");
+        yarnLock.add("# yarn lockfile v1");
+        yarnLock.add("");
+        yarnLock.add("\"@babel/code-frame@^7.0.0\":");
+        yarnLock.add("  version \"7.0.0\"");
+        yarnLock.add("  dependencies:");
+        yarnLock.add("    \"@babel/highlight\" \"^7.0.0\"");
+        yarnLock.add("");
+        yarnLock.add("\"@babel/highlight@^7.0.0\":");
+        yarnLock.add("  version \"7.0.0\"");
+        yarnLock.add("  dependencies:");
+        yarnLock.add("    debug \"^2.2.0\"");
+        yarnLock.add("");
+        yarnLock.add("debug@2.6.9, debug@^2.2.0:");
+        yarnLock.add("  version \"2.6.9\"");
+        yarnLock.add("  resolved \"http://nexus/nexus3/repository/npm-all/debug/-/debug-2.6.9.tgz#5d128515df134ff327e90a4c93f4e077a536341f\"");
+        yarnLock.add("  dependencies:");
+        yarnLock.add("    ms \"2.0.0\"");
+        yarnLock.add("  optionalDependencies:");
+        yarnLock.add("    \"cssstyle\" \">= 0.2.37 < 0.3.0\"");
+        yarnLock.add("");
+        yarnLock.add("ms@2.0.0:");
+        yarnLock.add("  version \"2.0.0\"");
+        yarnLock.add("");
+        yarnLock.add("\"cssstyle@>= 0.2.37 < 0.3.0\":");
+        yarnLock.add("  version \"0.2.37\"");
+        yarnLock.add("");
+        yarnLock.add("mocha@^5.0.0:");
+        yarnLock.add("  version \"5.2.0\"");
+        yarnLock.add("  dependencies:");
+        yarnLock.add("    debug \"2.6.9\"");
+        return yarnLock;
+    }
+
+    private DependencyGraph parse(final PackageJson packageJson, final boolean productionOnly) throws IOException {
+        final YarnLockGraphParser yarnLockGraphParser = new YarnLockGraphParser(externalIdFactory);
+        final BufferedReader yarnLockReader = new BufferedReader(new StringReader(String.join("\n", createYarnLock())));
+        return yarnLockGraphParser.parseYarnLock(yarnLockReader, packageJson, productionOnly);
+    }
+
+    @Test
+    public void testThatTransitiveDependenciesAreResolvedFromTheLockfile() throws IOException {
+        final PackageJson packageJson = new PackageJson();
+        packageJson.dependencies.put("@babel/code-frame", "^7.0.0");
+        packageJson.devDependencies.put("mocha", "^5.0.0");
+
+        final DependencyGraph dependencyGraph = parse(packageJson, false);
+
+        final List<ExternalId> roots = new ArrayList<>(dependencyGraph.getRootDependencyExternalIds());
+        assertEquals(2, roots.size());
+        assertListContainsDependency("@babel/code-frame", "7.0.0", roots);
+        assertListContainsDependency("mocha", "5.2.0", roots);
+
+        final ExternalId highlight = externalIdFactory.createNameVersionExternalId(Forge.NPM, "@babel/highlight", "7.0.0");
+        assertListContainsDependency("debug", "2.6.9", new ArrayList<>(dependencyGraph.getChildrenExternalIdsForParent(highlight)));
+
+        final ExternalId debug = externalIdFactory.createNameVersionExternalId(Forge.NPM, "debug", "2.6.9");
+        final List<ExternalId> debugChildren = new ArrayList<>(dependencyGraph.getChildrenExternalIdsForParent(debug));
+        assertEquals(2, debugChildren.size());
+        assertListContainsDependency("ms", "2.0.0", debugChildren);
+        assertListContainsDependency("cssstyle", "0.2.37", debugChildren);
+    }
+
+    @Test
+    public void testThatProductionOnlySkipsDevDependencies() throws IOException {
+        final PackageJson packageJson = new PackageJson();
+        packageJson.dependencies.put("@babel/code-frame", "^7.0.0");
+        packageJson.devDependencies.put("mocha", "^5.0.0");
+
+        final DependencyGraph dependencyGraph = parse(packageJson, true);
+
+        final List<ExternalId> roots = new ArrayList<>(dependencyGraph.getRootDependencyExternalIds());
+        assertEquals(1, roots.size());
+        assertListContainsDependency("@babel/code-frame", "7.0.0", roots);
+    }
+
+    @Test
+    public void testThatDependencyMissingFromLockfileKeepsItsFuzzyVersion() throws IOException {
+        final PackageJson packageJson = new PackageJson();
+        packageJson.dependencies.put("left-pad", "^1.3.0");
+
+        final DependencyGraph dependencyGraph = parse(packageJson, false);
+
+        final List<ExternalId> roots = new ArrayList<>(dependencyGraph.getRootDependencyExternalIds());
+        assertEquals(1, roots.size());
+        assertListContainsDependency("left-pad", "^1.3.0", roots);
+    }
+
+    @Test
+    public void testThatUnrequiredEntriesAreRootsWithoutPackageJson() throws IOException {
+        final DependencyGraph dependencyGraph = parse(null, false);
+
+        final List<ExternalId> roots = new ArrayList<>(dependencyGraph.getRootDependencyExternalIds());
+        assertEquals(2, roots.size());
+        assertListContainsDependency("@babel/code-frame", "7.0.0", roots);
+        assertListContainsDependency("mocha", "5.2.0", roots);
+    }
+
+    private void assertListContainsDependency(final String name, final String version, final List<ExternalId> list) {
+        assertTrue(list.stream().anyMatch(externalId -> name.equals(externalId.name) && version.equals(externalId.version)));
+    }
+}
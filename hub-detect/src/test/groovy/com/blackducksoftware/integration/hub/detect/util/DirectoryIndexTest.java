@@ -0,0 +1,59 @@
+package com.blackducksoftware.integration.hub.detect.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
+
+public class DirectoryIndexTest {
+
+    @Test
+    public void testFindFilesMatchesDirectoryListing() {
+        final DetectFileFinder finder = new DetectFileFinder();
+        final File targetDir = new File("src/test/resources/fileFinder");
+        final DirectoryIndex directoryIndex = new DirectoryIndex(targetDir);
+
+        assertEquals(3, directoryIndex.getFileNames().size());
+        assertEquals(finder.findFile(targetDir, "test0.txt"), finder.findFile(directoryIndex, "test0.txt"));
+        assertEquals(finder.findFiles(targetDir, "sub*").size(), finder.findFiles(directoryIndex, "sub*").size());
+        assertNull(finder.findFile(directoryIndex, "missing.txt"));
+        assertNull(finder.findFiles(directoryIndex, "*.xml"));
+    }
+
+    @Test
+    public void testContainsAllFiles() {
+        final DetectFileFinder finder = new DetectFileFinder();
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new File("src/test/resources/fileFinder"));
+
+        assertTrue(finder.containsAllFiles(directoryIndex, "test0.txt", "sub1"));
+        assertFalse(finder.containsAllFiles(directoryIndex, "test0.txt", "sub3"));
+    }
+
+    @Test
+    public void testEntryTypes() {
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new File("src/test/resources/fileFinder"));
+
+        assertTrue(directoryIndex.isDirectory("sub1"));
+        assertFalse(directoryIndex.isDirectory("test0.txt"));
+        assertFalse(directoryIndex.isDirectory("missing"));
+
+        final List<File> textFiles = directoryIndex.findFiles("*.txt");
+        assertEquals(1, textFiles.size());
+        assertEquals(textFiles.get(0).length(), directoryIndex.getSize("test0.txt"));
+    }
+
+    @Test
+    public void testMissingDirectoryIsEmpty() {
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new File("src/test/resources/fileFinder/missing"));
+        assertTrue(directoryIndex.getFileNames().isEmpty());
+        assertTrue(directoryIndex.findFiles("*").isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableCapture.CaptureMode;
+
+public class ExecutableCaptureTest {
+
+    @Test
+    public void testReplayServesRecordedOutput() throws Exception {
+        final File captureFile = new File(Files.createTempDirectory("capture").toFile(), "capture.json");
+        final File workingDirectory = new File("src/test/resources");
+        final Executable executable = new Executable(workingDirectory, "/usr/bin/tool", Arrays.asList("list", "--password=secret"));
+
+        final ExecutableCapture recording = new ExecutableCapture(CaptureMode.RECORD, captureFile);
+        final ExecutableRunner recordingRunner = new RecordingExecutableRunner(new FixedOutputExecutableRunner("first\nsecond"), recording);
+        assertEquals("first\nsecond", recordingRunner.execute(executable).getStandardOutput());
+        recording.recordResolution("tool", new File("/usr/bin/tool"));
+        recording.recordResolution("missing", null);
+
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, captureFile);
+        replay.load();
+        final ExecutableRunner replayRunner = new ReplayExecutableRunner(replay);
+        final List<String> lines = new ArrayList<>();
+        replayRunner.executeStreaming(executable, lines::add);
+
+        assertEquals(Arrays.asList("first", "second"), lines);
+        assertEquals("first\nsecond", replayRunner.execute(executable).getStandardOutput());
+        assertEquals(new File("/usr/bin/tool").getAbsolutePath(), replay.findResolution("tool").getAbsolutePath());
+        assertNull(replay.findResolution("missing"));
+    }
+
+    @Test
+    public void testSpilledOutputIsCopiedAndEachExecutionIsAppended() throws Exception {
+        final File captureDirectory = Files.createTempDirectory("capture").toFile();
+        final File captureFile = new File(captureDirectory, "capture.json");
+        final File spilledOutput = new File(captureDirectory, "spilled.txt");
+        Files.write(spilledOutput.toPath(), Arrays.asList("large", "output"));
+        final Executable spilled = new Executable(captureDirectory, "/usr/bin/tool", Arrays.asList("spilled"));
+        final Executable small = new Executable(captureDirectory, "/usr/bin/tool", Arrays.asList("small"));
+
+        final ExecutableCapture recording = new ExecutableCapture(CaptureMode.RECORD, captureFile);
+        recording.recordExecution(spilled, new ExecutableOutput(0, null, spilledOutput, "", null));
+        recording.recordExecution(small, new ExecutableOutput(2, "small output", "problem"));
+        assertEquals(2, Files.readAllLines(captureFile.toPath()).size());
+        assertTrue(spilledOutput.delete());
+
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, captureFile);
+        replay.load();
+        final ExecutableOutput spilledReplay = replay.replayExecution(spilled).get();
+        final ExecutableOutput smallReplay = replay.replayExecution(small).get();
+
+        assertEquals(Arrays.asList("large", "output"), spilledReplay.getStandardOutputAsList());
+        assertEquals("small output", smallReplay.getStandardOutput());
+        assertEquals("problem", smallReplay.getErrorOutput());
+        assertEquals(2, smallReplay.getReturnCode());
+    }
+
+    @Test
+    public void testNewRecordingReplacesAnOlderCapture() throws Exception {
+        final File captureFile = new File(Files.createTempDirectory("capture").toFile(), "capture.json");
+        final Executable executable = new Executable(null, "/usr/bin/tool", Arrays.asList("--version"));
+        new ExecutableCapture(CaptureMode.RECORD, captureFile).recordExecution(executable, new ExecutableOutput(0, "1.0", ""));
+        new ExecutableCapture(CaptureMode.RECORD, captureFile).recordExecution(executable, new ExecutableOutput(0, "2.0", ""));
+
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, captureFile);
+        replay.load();
+        assertEquals(1, Files.readAllLines(captureFile.toPath()).size());
+        assertEquals("2.0", replay.replayExecution(executable).get().getStandardOutput());
+    }
+
+    @Test
+    public void testReplayInAnotherRunRestoresTheExtractionOutputDirectory() throws Exception {
+        final File captureFile = new File(Files.createTempDirectory("capture").toFile(), "capture.json");
+        final File recordedRun = Files.createTempDirectory("run").toFile();
+        final File recordedExtractionDirectory = new File(recordedRun, "extractions/GRADLE-0");
+        assertTrue(recordedExtractionDirectory.mkdirs());
+        Files.write(new File(recordedExtractionDirectory, "existing.txt").toPath(), Arrays.asList("left by an earlier execution"));
+        final Executable recorded = new Executable(recordedExtractionDirectory, "/usr/bin/gradle", Arrays.asList("-DGRADLEEXTRACTIONDIR=" + recordedExtractionDirectory.getCanonicalPath()));
+
+        final ExecutableCapture recording = new ExecutableCapture(CaptureMode.RECORD, captureFile, recordedRun, new File(recordedRun, "extractions"));
+        final ExecutableRunner recordingRunner = new RecordingExecutableRunner(new FixedOutputExecutableRunner("BUILD SUCCESSFUL") {
+            @Override
+            public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer) {
+                try {
+                    Files.write(new File(executable.getWorkingDirectory(), "reports/root_dependencyGraph.txt").toPath(), Arrays.asList("report"));
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return super.runExecutable(executable, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer);
+            }
+        }, recording);
+        assertTrue(new File(recordedExtractionDirectory, "reports").mkdirs());
+        recordingRunner.execute(recorded);
+
+        final File replayedRun = Files.createTempDirectory("run").toFile();
+        final File replayedExtractionDirectory = new File(replayedRun, "extractions/GRADLE-0");
+        assertTrue(replayedExtractionDirectory.mkdirs());
+        final Executable replayed = new Executable(replayedExtractionDirectory, "/usr/bin/gradle", Arrays.asList("-DGRADLEEXTRACTIONDIR=" + replayedExtractionDirectory.getCanonicalPath()));
+
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, captureFile, replayedRun, new File(replayedRun, "extractions"));
+        replay.load();
+
+        assertEquals("BUILD SUCCESSFUL", new ReplayExecutableRunner(replay).execute(replayed).getStandardOutput());
+        assertEquals(Arrays.asList("report"), Files.readAllLines(new File(replayedExtractionDirectory, "reports/root_dependencyGraph.txt").toPath()));
+        assertFalse(new File(replayedExtractionDirectory, "existing.txt").exists());
+    }
+
+    @Test
+    public void testReplayRestoresFilesNamedAfterAPerRunId() throws Exception {
+        final File captureFile = new File(Files.createTempDirectory("capture").toFile(), "capture.json");
+        final File sourceDirectory = Files.createTempDirectory("source").toFile();
+        final String recordedName = "tree-" + UUID.randomUUID() + ".tgf";
+        final Executable recorded = new Executable(sourceDirectory, "/usr/bin/mvn", Arrays.asList("-DoutputFile=target/" + recordedName));
+
+        final ExecutableCapture recording = new ExecutableCapture(CaptureMode.RECORD, captureFile);
+        assertTrue(new File(sourceDirectory, "module/target").mkdirs());
+        Files.write(new File(sourceDirectory, "module/target/" + recordedName).toPath(), Arrays.asList("tree"));
+        recording.recordExecution(recorded, new ExecutableOutput(0, "BUILD SUCCESS", ""));
+        assertTrue(new File(sourceDirectory, "module/target/" + recordedName).delete());
+
+        final String replayedName = "tree-" + UUID.randomUUID() + ".tgf";
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, captureFile);
+        replay.load();
+        replay.replayExecution(new Executable(sourceDirectory, "/usr/bin/mvn", Arrays.asList("-DoutputFile=target/" + replayedName))).get();
+
+        assertEquals(Arrays.asList("tree"), Files.readAllLines(new File(sourceDirectory, "module/target/" + replayedName).toPath()));
+    }
+
+    @Test(expected = ExecutableRunnerException.class)
+    public void testReplayFailsForUnrecordedExecutable() throws Exception {
+        final ExecutableCapture replay = new ExecutableCapture(CaptureMode.REPLAY, new File("missing-capture.json"));
+        new ReplayExecutableRunner(replay).execute(new Executable(null, "/usr/bin/tool", Arrays.asList("--version")));
+    }
+
+    private static class FixedOutputExecutableRunner extends ExecutableRunner {
+        private final String output;
+
+        FixedOutputExecutableRunner(final String output) {
+            this.output = output;
+        }
+
+        @Override
+        public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer) {
+            return new ExecutableOutput(0, output, "");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableGovernor.ExecutablePermit;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+
+public class ExecutableGovernorTest {
+
+    @Test
+    public void testTypeLimitQueuesProcessesOfThatType() throws Exception {
+        final Map<ExecutableType, Integer> typeLimits = new EnumMap<>(ExecutableType.class);
+        typeLimits.put(ExecutableType.MVN, 1);
+        final EventSystem eventSystem = new EventSystem();
+        final List<ExecutableMetrics> metrics = Collections.synchronizedList(new ArrayList<>());
+        eventSystem.registerListener(Event.ExecutableCompleted, metrics::add);
+        final ExecutableGovernor governor = new ExecutableGovernor(new ExecutableGovernorOptions(4, typeLimits), eventSystem);
+
+        final Executable maven = new Executable(new File("."), "/usr/bin/mvn.cmd", Collections.emptyList());
+        final ExecutablePermit first = governor.acquire(maven);
+        final ExecutablePermit other = governor.acquire(new Executable(new File("."), "/usr/bin/npm", Collections.emptyList()));
+
+        final CountDownLatch secondAcquired = new CountDownLatch(1);
+        final Thread second = new Thread(() -> {
+            try {
+                governor.release(governor.acquire(maven));
+                secondAcquired.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        second.start();
+
+        assertFalse(secondAcquired.await(100, TimeUnit.MILLISECONDS));
+        governor.release(first);
+        assertTrue(secondAcquired.await(5, TimeUnit.SECONDS));
+        governor.release(other);
+
+        assertEquals(3, metrics.size());
+        assertEquals(2, governor.getPeakProcesses());
+        assertEquals(ExecutableType.MVN, metrics.get(0).getExecutableType().get());
+    }
+
+    @Test
+    public void testWrapperSharesTheLimitOfItsBaseType() throws Exception {
+        final Map<ExecutableType, Integer> typeLimits = new EnumMap<>(ExecutableType.class);
+        typeLimits.put(ExecutableType.MVN, 1);
+        final ExecutableGovernor governor = new ExecutableGovernor(new ExecutableGovernorOptions(4, typeLimits), new EventSystem());
+
+        final ExecutablePermit maven = governor.acquire(new Executable(new File("."), "/usr/bin/mvn", Collections.emptyList()));
+
+        final CountDownLatch wrapperAcquired = new CountDownLatch(1);
+        final Thread wrapper = new Thread(() -> {
+            try {
+                governor.release(governor.acquire(new Executable(new File("."), "/project/mvnw", Collections.emptyList())));
+                wrapperAcquired.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        wrapper.start();
+
+        assertFalse(wrapperAcquired.await(100, TimeUnit.MILLISECONDS));
+        governor.release(maven);
+        assertTrue(wrapperAcquired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testClangPackageManagersHaveTheirOwnTypes() throws Exception {
+        final EventSystem eventSystem = new EventSystem();
+        final List<ExecutableMetrics> metrics = Collections.synchronizedList(new ArrayList<>());
+        eventSystem.registerListener(Event.ExecutableCompleted, metrics::add);
+        final ExecutableGovernor governor = new ExecutableGovernor(new ExecutableGovernorOptions(4, new EnumMap<>(ExecutableType.class)), eventSystem);
+
+        governor.release(governor.acquire(new Executable(new File("."), "dpkg", Collections.emptyList())));
+        governor.release(governor.acquire(new Executable(new File("."), "/usr/bin/rpm", Collections.emptyList())));
+        governor.release(governor.acquire(new Executable(new File("."), "/sbin/apk", Collections.emptyList())));
+
+        assertEquals(3, metrics.size());
+        assertEquals(ExecutableType.DPKG, metrics.get(0).getExecutableType().get());
+        assertEquals(ExecutableType.RPM, metrics.get(1).getExecutableType().get());
+        assertEquals(ExecutableType.APK, metrics.get(2).getExecutableType().get());
+    }
+}
@@ -0,0 +1,39 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+public class ExecutableOutputTest {
+
+    @Test
+    public void testSpilledOutputIsSplitLikeOutputInMemory() throws Exception {
+        final String separator = System.lineSeparator();
+        final String output = separator + "  first line" + separator + "second line  " + separator + separator;
+        final File outputFile = File.createTempFile("detect-output", ".txt");
+        outputFile.deleteOnExit();
+        Files.write(outputFile.toPath(), output.getBytes(StandardCharsets.UTF_8));
+
+        // the runner trims output it keeps in memory
+        final ExecutableOutput inMemory = new ExecutableOutput(0, output.trim(), "");
+        final ExecutableOutput spilled = new ExecutableOutput(0, "", outputFile, "", null);
+
+        assertEquals(inMemory.getStandardOutputAsList(), spilled.getStandardOutputAsList());
+        assertEquals(inMemory.getStandardOutput(), spilled.getStandardOutput());
+    }
+
+    @Test
+    public void testEmptySpilledOutputIsSplitLikeEmptyOutputInMemory() throws Exception {
+        final File outputFile = File.createTempFile("detect-output", ".txt");
+        outputFile.deleteOnExit();
+
+        final ExecutableOutput inMemory = new ExecutableOutput(0, "", "");
+        final ExecutableOutput spilled = new ExecutableOutput(0, "", outputFile, "", null);
+
+        assertEquals(inMemory.getStandardOutputAsList(), spilled.getStandardOutputAsList());
+    }
+}
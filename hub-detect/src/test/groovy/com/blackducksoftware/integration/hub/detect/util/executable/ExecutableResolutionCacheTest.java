@@ -0,0 +1,49 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ExecutableResolutionCacheTest {
+
+    @Test
+    public void testResolutionsAndProbesAreReusedAcrossRuns() throws Exception {
+        final File cacheDirectory = Files.createTempDirectory("executable-cache").toFile();
+        final File executable = File.createTempFile("tool", ".sh");
+        executable.deleteOnExit();
+        final AtomicInteger resolved = new AtomicInteger(0);
+        final AtomicInteger probed = new AtomicInteger(0);
+
+        final ExecutableResolutionCache firstRun = new ExecutableResolutionCache(cacheDirectory);
+        firstRun.load();
+        assertEquals(executable, firstRun.resolveOnSystemPath("tool", it -> {
+            resolved.incrementAndGet();
+            return executable;
+        }));
+        assertNull(firstRun.resolveOnSystemPath("missing", it -> {
+            resolved.incrementAndGet();
+            return null;
+        }));
+        assertEquals("1.0", firstRun.probe(executable.getAbsolutePath(), Arrays.asList("--version"), null, () -> {
+            probed.incrementAndGet();
+            return "1.0";
+        }));
+
+        final ExecutableResolutionCache secondRun = new ExecutableResolutionCache(cacheDirectory);
+        secondRun.load();
+        assertEquals(executable.getAbsolutePath(), secondRun.resolveOnSystemPath("tool", it -> null).getAbsolutePath());
+        assertNull(secondRun.resolveOnSystemPath("missing", it -> executable));
+        assertEquals("1.0", secondRun.probe(executable.getAbsolutePath(), Arrays.asList("--version"), null, () -> "2.0"));
+        assertEquals(2, resolved.get());
+        assertEquals(1, probed.get());
+
+        executable.setLastModified(executable.lastModified() - 10000);
+        assertEquals("2.0", secondRun.probe(executable.getAbsolutePath(), Arrays.asList("--version"), null, () -> "2.0"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ExecutableRunnerStreamingTest {
+
+    @Test
+    public void testLinesAreHandedToTheConsumerInOrder() throws Exception {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ExecutableRunner executableRunner = new ExecutableRunner(null, 0, null, null);
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "printf 'one\\ntwo\\nthree\\n'; echo problem >&2"));
+        final List<String> lines = new ArrayList<>();
+
+        final ExecutableOutput output = executableRunner.executeStreaming(executable, lines::add);
+
+        assertEquals(Arrays.asList("one", "two", "three"), lines);
+        assertEquals("", output.getStandardOutput());
+        assertEquals("problem", output.getErrorOutput());
+        assertEquals(0, output.getReturnCode());
+    }
+
+    @Test
+    public void testConsumerExceptionIsThrownOnceTheOutputIsDrained() throws Exception {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ExecutableRunner executableRunner = new ExecutableRunner(null, 0, null, null);
+        // far more output than a pipe buffer holds, so the process only exits if the output is still read after the failure
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "i=0; while [ $i -lt 20000 ]; do echo \"line $i of the output\"; i=$((i+1)); done"));
+        final IllegalStateException failure = new IllegalStateException("Unparseable line.");
+        final AtomicInteger consumed = new AtomicInteger();
+
+        try {
+            executableRunner.executeStreaming(executable, line -> {
+                consumed.incrementAndGet();
+                throw failure;
+            });
+            fail("The consumer exception should have been thrown.");
+        } catch (final ExecutableRunnerException e) {
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, consumed.get());
+    }
+
+    @Test
+    public void testConsumerIsNotUsedForErrorOutput() throws Exception {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ExecutableRunner executableRunner = new ExecutableRunner(null, 0, null, null);
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "echo first >&2; echo second >&2; exit 3"));
+        final List<String> lines = new ArrayList<>();
+
+        final ExecutableOutput output = executableRunner.executeStreaming(executable, lines::add);
+
+        assertTrue(lines.isEmpty());
+        assertEquals(2, output.getErrorOutputAsList().size());
+        assertEquals(3, output.getReturnCode());
+    }
+}
@@ -0,0 +1,51 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+
+public class ExecutableRunnerTimeoutTest {
+
+    @Test
+    public void testTimeoutStopsProcessTreeAndIsReportedAsTimeout() throws Exception {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final ExecutableRunner executableRunner = new ExecutableRunner(null, 0, null, new ExecutableTimeoutOptions(1, Collections.emptyMap()));
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "sleep 60 & sleep 60"));
+
+        final long started = System.currentTimeMillis();
+        try {
+            executableRunner.execute(executable);
+            fail("The executable should have timed out.");
+        } catch (final ExecutableTimeoutException e) {
+            assertEquals(1, e.getTimeoutSeconds());
+            assertTrue(System.currentTimeMillis() - started < 30000);
+
+            final Extraction extraction = new Extraction.Builder().exception(new Exception("Extraction failed.", e)).build();
+            assertEquals(ExtractionResultType.TIMEOUT, extraction.result);
+            assertEquals(e.getMessage(), extraction.description);
+        }
+    }
+
+    @Test
+    public void testWrapperUsesTheTimeoutOfItsBaseType() {
+        final ExecutableTimeoutOptions timeoutOptions = new ExecutableTimeoutOptions(60, Collections.singletonMap(ExecutableType.GRADLE, 1800L));
+
+        assertEquals(1800, timeoutOptions.getTimeoutSeconds(Optional.of(ExecutableType.GRADLEW)));
+        assertEquals(60, timeoutOptions.getTimeoutSeconds(Optional.of(ExecutableType.MVNW)));
+        assertEquals(60, timeoutOptions.getTimeoutSeconds(Optional.empty()));
+    }
+}
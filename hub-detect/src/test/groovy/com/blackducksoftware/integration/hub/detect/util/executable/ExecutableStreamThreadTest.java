@@ -0,0 +1,118 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.slf4j.MDC;
+
+public class ExecutableStreamThreadTest {
+    private static final String OUTPUT = "line one\nline two\nline three\n";
+
+    @Test
+    public void testSmallOutputIsKeptInMemory() throws Exception {
+        final File spillFile = File.createTempFile("detect-spill", ".txt");
+        spillFile.delete();
+
+        final ExecutableStreamThread thread = run(spillFile, 1000);
+
+        assertNull(thread.getSpilledOutputFile());
+        assertEquals(3, thread.getExecutableOutput().trim().split(System.lineSeparator()).length);
+    }
+
+    @Test
+    public void testLargeOutputIsSpilled() throws Exception {
+        final File spillFile = File.createTempFile("detect-spill", ".txt");
+        spillFile.deleteOnExit();
+
+        final ExecutableStreamThread thread = run(spillFile, 10);
+
+        assertNotNull(thread.getSpilledOutputFile());
+        assertEquals("", thread.getExecutableOutput());
+        assertEquals(3, Files.readAllLines(spillFile.toPath(), StandardCharsets.UTF_8).size());
+
+        final ExecutableOutput output = new ExecutableOutput(0, "", thread.getSpilledOutputFile(), "", null);
+        try (BufferedReader reader = output.openStandardOutputReader()) {
+            final List<String> lines = reader.lines().collect(Collectors.toList());
+            assertEquals("line three", lines.get(2));
+        }
+        assertEquals("line one", output.getStandardOutputAsList().get(0));
+    }
+
+    @Test
+    public void testFailedSpillWriteStillDrainsTheStream() throws Exception {
+        final File spillFile = File.createTempFile("detect-spill", ".txt");
+        spillFile.deleteOnExit();
+        final List<String> logged = new ArrayList<>();
+        final ByteArrayInputStream stream = new ByteArrayInputStream(OUTPUT.getBytes(StandardCharsets.UTF_8));
+        final ExecutableStreamThread thread = new ExecutableStreamThread(stream, logged::add, line -> {}, null, spillFile, 10) {
+            @Override
+            Writer openSpillWriter() {
+                // the output kept so far is spilled, then the disk fills up
+                return new Writer() {
+                    private boolean written = false;
+
+                    @Override
+                    public void write(final char[] buffer, final int offset, final int length) throws IOException {
+                        if (written) {
+                            throw new IOException("No space left on device");
+                        }
+                        written = true;
+                    }
+
+                    @Override
+                    public void flush() {
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                };
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertNotNull(thread.getSpillWriteException());
+        assertEquals(3, logged.size());
+        assertEquals("line three", logged.get(2));
+    }
+
+    @Test
+    public void testOutputIsLoggedWithTheStartingThreadsContext() throws Exception {
+        final List<String> loggedUnder = new ArrayList<>();
+        final ByteArrayInputStream stream = new ByteArrayInputStream(OUTPUT.getBytes(StandardCharsets.UTF_8));
+        MDC.put("extractionId", "NPM-0");
+        final ExecutableStreamThread thread;
+        try {
+            thread = new ExecutableStreamThread(stream, line -> loggedUnder.add(MDC.get("extractionId")), line -> {});
+        } finally {
+            MDC.remove("extractionId");
+        }
+        thread.start();
+        thread.join();
+
+        assertEquals(3, loggedUnder.size());
+        assertEquals("NPM-0", loggedUnder.get(2));
+    }
+
+    private ExecutableStreamThread run(final File spillFile, final long spillThreshold) throws InterruptedException {
+        final ByteArrayInputStream stream = new ByteArrayInputStream(OUTPUT.getBytes(StandardCharsets.UTF_8));
+        final ExecutableStreamThread thread = new ExecutableStreamThread(stream, line -> {}, line -> {}, null, spillFile, spillThreshold);
+        thread.start();
+        thread.join();
+        return thread;
+    }
+}
@@ -0,0 +1,34 @@
+package com.blackducksoftware.integration.hub.detect.workflow.diagnostic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+public class DiagnosticLoggerTest {
+    @Test
+    public void testExtractionFilterOnlyAcceptsItsOwnExtraction() {
+        final ExtractionId npm = new ExtractionId(DetectorType.NPM, "0");
+        final ExtractionId gradle = new ExtractionId(DetectorType.GRADLE, "1");
+        final Filter<ILoggingEvent> filter = DiagnosticLogger.createExtractionFilter(npm);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(loggedUnder(npm.toUniqueString())));
+        assertEquals(FilterReply.DENY, filter.decide(loggedUnder(gradle.toUniqueString())));
+        assertEquals(FilterReply.DENY, filter.decide(new LoggingEvent()));
+    }
+
+    private LoggingEvent loggedUnder(final String extractionId) {
+        final LoggingEvent event = new LoggingEvent();
+        event.setMDCPropertyMap(Collections.singletonMap(DiagnosticLogger.EXTRACTION_MDC_KEY, extractionId));
+        return event;
+    }
+}
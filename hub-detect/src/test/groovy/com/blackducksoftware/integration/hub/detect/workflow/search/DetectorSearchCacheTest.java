@@ -0,0 +1,71 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoVendorDetector;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockDetector;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+
+public class DetectorSearchCacheTest {
+    private static final long OLD_MODIFICATION = System.currentTimeMillis() - 60 * 60 * 1000;
+
+    @Test
+    public void testNestedFileIsNotHiddenByCachedMiss() throws Exception {
+        final File cacheFile = new File(Files.createTempDirectory("search-cache").toFile(), "cache.json");
+        final File directory = Files.createTempDirectory("go-vendor").toFile();
+        final File vendor = new File(directory, GoVendorDetector.VENDOR_JSON_DIRNAME);
+        assertTrue(vendor.mkdir());
+        assertTrue(directory.setLastModified(OLD_MODIFICATION));
+
+        final DetectorSearchCache firstRun = new DetectorSearchCache(cacheFile);
+        firstRun.load();
+        final DetectorEnvironment firstEnvironment = createEnvironment(directory);
+        final List<DetectorEvaluation> firstEvaluations = Arrays.asList(evaluate(new GoVendorDetector(firstEnvironment, new DetectFileFinder(), null)),
+            evaluate(new GemlockDetector(firstEnvironment, new DetectFileFinder(), null)));
+        assertFalse(firstEvaluations.get(0).isApplicable());
+        firstRun.getDirectoryState(directory).record(Collections.emptyList(), firstEvaluations);
+        firstRun.save();
+
+        // creating vendor/vendor.json changes vendor's modification time, not the searched directory's
+        assertTrue(new File(vendor, GoVendorDetector.VENDOR_JSON_FILENAME).createNewFile());
+        assertTrue(directory.setLastModified(OLD_MODIFICATION));
+
+        final DetectorSearchCache secondRun = new DetectorSearchCache(cacheFile);
+        secondRun.load();
+        final Map<String, DetectorResult> cachedResults = secondRun.getDirectoryState(directory).getCachedResults();
+        final DetectorEnvironment secondEnvironment = createEnvironment(directory);
+        final GoVendorDetector goVendorDetector = new GoVendorDetector(secondEnvironment, new DetectFileFinder(), null);
+        final GemlockDetector gemlockDetector = new GemlockDetector(secondEnvironment, new DetectFileFinder(), null);
+
+        assertFalse(cachedResults.containsKey(goVendorDetector.getDescriptiveName()));
+        assertTrue(cachedResults.containsKey(gemlockDetector.getDescriptiveName()));
+        assertTrue(evaluate(goVendorDetector).isApplicable());
+    }
+
+    private DetectorEnvironment createEnvironment(final File directory) {
+        return new DetectorEnvironment(directory, new HashSet<>(), 0, null, false);
+    }
+
+    private DetectorEvaluation evaluate(final Detector detector) {
+        final DetectorEvaluation evaluation = new DetectorEvaluation(detector, detector.getEnvironment());
+        evaluation.setSearchable(new PassedDetectorResult());
+        evaluation.setApplicable(detector.applicable());
+        return evaluation;
+    }
+}
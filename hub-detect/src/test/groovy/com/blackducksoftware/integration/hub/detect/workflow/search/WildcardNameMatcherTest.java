@@ -0,0 +1,59 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.IOCase;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WildcardNameMatcherTest {
+    @Test
+    public void matchesExactNames() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("node_modules", "target"), IOCase.SENSITIVE);
+
+        Assert.assertTrue(matcher.matches("node_modules"));
+        Assert.assertTrue(matcher.matches("target"));
+        Assert.assertFalse(matcher.matches("Target"));
+        Assert.assertFalse(matcher.matches("targets"));
+    }
+
+    @Test
+    public void matchesWildcardPatterns() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("*.bak", "tmp?", "build*output", "**"), IOCase.SENSITIVE);
+
+        Assert.assertTrue(matcher.matches("old.bak"));
+        Assert.assertTrue(matcher.matches(".bak"));
+        Assert.assertTrue(matcher.matches("tmp1"));
+        Assert.assertTrue(matcher.matches("buildoutput"));
+        Assert.assertTrue(matcher.matches("build-test-output"));
+        Assert.assertTrue(matcher.matches("anything"));
+    }
+
+    @Test
+    public void rejectsNonMatchingNames() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("*.bak", "tmp?", "build*output"), IOCase.SENSITIVE);
+
+        Assert.assertFalse(matcher.matches("old.bak1"));
+        Assert.assertFalse(matcher.matches("tmp"));
+        Assert.assertFalse(matcher.matches("tmp12"));
+        Assert.assertFalse(matcher.matches("build-output-old"));
+    }
+
+    @Test
+    public void ignoresCaseWhenInsensitive() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Arrays.asList("Target", "*.BAK"), IOCase.INSENSITIVE);
+
+        Assert.assertTrue(matcher.matches("target"));
+        Assert.assertTrue(matcher.matches("old.bak"));
+        Assert.assertFalse(matcher.matches("old.bac"));
+    }
+
+    @Test
+    public void matchesNothingWithoutPatterns() {
+        final WildcardNameMatcher matcher = new WildcardNameMatcher(Collections.emptyList(), IOCase.SENSITIVE);
+
+        Assert.assertFalse(matcher.matches("target"));
+        Assert.assertFalse(matcher.matches(""));
+    }
+}